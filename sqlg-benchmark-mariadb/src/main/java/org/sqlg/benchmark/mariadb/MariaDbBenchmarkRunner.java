@@ -0,0 +1,28 @@
+package org.sqlg.benchmark.mariadb;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+/**
+ * Starts an embedded MariaDB on port 3307 and runs the jmh benchmarks against it.
+ * The arguments are jmh's, e.g. {@code java -jar target/benchmarks.jar SimpleInsertBenchmark}.
+ * Run the same benchmarks from sqlg-benchmark-postgres for the postgres numbers.
+ */
+public class MariaDbBenchmarkRunner {
+
+    private static final int PORT = 3307;
+
+    public static void main(String[] args) throws Exception {
+        DBConfigurationBuilder configurationBuilder = DBConfigurationBuilder.newBuilder();
+        configurationBuilder.setPort(PORT);
+        DB db = DB.newEmbeddedDB(configurationBuilder.build());
+        db.start();
+        try {
+            new Runner(new CommandLineOptions(args)).run();
+        } finally {
+            db.stop();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.sqlg.benchmark;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Updates one property on every vertex of a label in normal batch mode.
+ * On postgres a copyThreshold of 1 updates from a copied temporary table,
+ * Integer.MAX_VALUE updates with the values inlined in the UPDATE statement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 1)
+@Fork(value = 1)
+@Measurement(iterations = 10, time = 5)
+public class BatchUpdateBenchmark extends BaseBenchmark {
+
+    private static final String BATCH_UPDATE_COPY_THRESHOLD = "batch.update.copy.threshold";
+
+    @Param({"1", "2147483647"})
+    private int copyThreshold;
+    @Param({"10000", "100000"})
+    private int vertices;
+    private SqlgGraph sqlgGraph;
+    private List<Vertex> persons;
+    private int iteration;
+
+    @Benchmark
+    public long updateOneProperty() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        this.iteration++;
+        for (Vertex person : this.persons) {
+            person.property("score", this.iteration);
+        }
+        this.sqlgGraph.tx().commit();
+        return this.persons.size();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.sqlgGraph = getSqlgGraph();
+        SqlgUtil.dropDb(this.sqlgGraph);
+        this.sqlgGraph.tx().commit();
+        closeSqlgGraph(this.sqlgGraph);
+        Configuration configuration = getConfiguration();
+        configuration.setProperty(BATCH_UPDATE_COPY_THRESHOLD, this.copyThreshold);
+        this.sqlgGraph = SqlgGraph.open(configuration);
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("name", "john");
+        properties.put("score", 0);
+        for (int i = 0; i < this.vertices; i++) {
+            this.sqlgGraph.addVertex("Person", properties);
+        }
+        this.sqlgGraph.tx().commit();
+        this.persons = new ArrayList<>(this.sqlgGraph.traversal().V().hasLabel("Person").toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        closeSqlgGraph(this.sqlgGraph);
+    }
+}
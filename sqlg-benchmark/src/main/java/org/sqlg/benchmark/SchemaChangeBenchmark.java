@@ -0,0 +1,77 @@
+package org.sqlg.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.structure.*;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bootstraps a model of 500 vertex labels with 500 edge labels and an index per vertex label,
+ * one ensure call at a time versus one {@link SchemaChange}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 1)
+@Fork(value = 1)
+@Measurement(iterations = 5)
+public class SchemaChangeBenchmark extends BaseBenchmark {
+
+    private static final int SCHEMAS = 10;
+    private static final int VERTEX_LABELS = 500;
+    private SqlgGraph sqlgGraph;
+    private Map<String, PropertyType> properties;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        this.sqlgGraph = getSqlgGraph();
+        SqlgUtil.dropDb(this.sqlgGraph);
+        this.sqlgGraph.tx().commit();
+        closeSqlgGraph(this.sqlgGraph);
+        this.sqlgGraph = getSqlgGraph();
+        this.properties = new HashMap<>();
+        this.properties.put("name", PropertyType.STRING);
+        this.properties.put("createdOn", PropertyType.LOCALDATETIME);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        closeSqlgGraph(this.sqlgGraph);
+    }
+
+    @Benchmark
+    public int ensureOneAtATime() {
+        Topology topology = this.sqlgGraph.getTopology();
+        for (int i = 0; i < VERTEX_LABELS; i++) {
+            VertexLabel vertexLabel = topology.ensureVertexLabelExist("Schema" + (i % SCHEMAS), "Vertex" + i, this.properties);
+            vertexLabel.ensureIndexExists(IndexType.NON_UNIQUE, Collections.singletonList(vertexLabel.getProperty("name").get()));
+        }
+        for (int i = 0; i < VERTEX_LABELS; i++) {
+            VertexLabel outVertexLabel = topology.getVertexLabel("Schema" + (i % SCHEMAS), "Vertex" + i).get();
+            VertexLabel inVertexLabel = topology.getVertexLabel("Schema" + ((i + 1) % SCHEMAS), "Vertex" + ((i + 1) % VERTEX_LABELS)).get();
+            outVertexLabel.ensureEdgeLabelExist("edge" + i, inVertexLabel, this.properties);
+        }
+        this.sqlgGraph.tx().commit();
+        return topology.getAllTables().size();
+    }
+
+    @Benchmark
+    public int schemaChange() {
+        SchemaChange schemaChange = SchemaChange.build(this.sqlgGraph);
+        for (int i = 0; i < VERTEX_LABELS; i++) {
+            schemaChange.vertexLabel("Schema" + (i % SCHEMAS), "Vertex" + i, this.properties);
+            schemaChange.vertexIndex("Schema" + (i % SCHEMAS), "Vertex" + i, IndexType.NON_UNIQUE, Collections.singletonList("name"));
+            schemaChange.edgeLabel(
+                    "edge" + i,
+                    SchemaTable.of("Schema" + (i % SCHEMAS), "Vertex" + i),
+                    SchemaTable.of("Schema" + ((i + 1) % SCHEMAS), "Vertex" + ((i + 1) % VERTEX_LABELS)),
+                    this.properties
+            );
+        }
+        schemaChange.apply();
+        this.sqlgGraph.tx().commit();
+        return this.sqlgGraph.getTopology().getAllTables().size();
+    }
+}
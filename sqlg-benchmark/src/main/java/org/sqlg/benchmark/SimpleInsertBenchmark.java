@@ -36,6 +36,7 @@ import org.umlg.sqlg.structure.SqlgGraph;
 import org.umlg.sqlg.util.SqlgUtil;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @State(Scope.Thread)
@@ -67,6 +68,46 @@ public class SimpleInsertBenchmark extends BaseBenchmark {
         return 1000;
     }
 
+    @Benchmark
+    public long insert10LabelsWith10000VerticesInNormalBatchMode() {
+        return insert10LabelsWith10000Vertices(false);
+    }
+
+    @Benchmark
+    public long insert10LabelsWith10000VerticesInPipelinedNormalBatchMode() {
+        return insert10LabelsWith10000Vertices(true);
+    }
+
+    private long insert10LabelsWith10000Vertices(boolean pipelined) {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        this.sqlgGraph.tx().pipelinedFlush(pipelined);
+        Map<String, Object> properties = new HashMap<>();
+        for (int i = 1; i <= 10; i++) {
+            properties.put("a" + i, "aaaaaaaaaa" + i);
+        }
+        for (int label = 0; label < 10; label++) {
+            for (int i = 0; i < 10000; i++) {
+                this.sqlgGraph.addVertex("Person" + label, properties);
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        return 100000;
+    }
+
+    @Benchmark
+    public long insert100000VerticesInStreamingBatchMode() {
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        LinkedHashMap<String, Object> properties = new LinkedHashMap<>();
+        for (int i = 1; i <= 10; i++) {
+            properties.put("a" + i, "aaaaaaaaaa" + i);
+        }
+        for (int i = 0; i < 100000; i++) {
+            this.sqlgGraph.streamVertex("Person", properties);
+        }
+        this.sqlgGraph.tx().commit();
+        return 100000;
+    }
+
     @Setup(Level.Iteration)
     public void setup() throws Exception {
         this.sqlgGraph = getSqlgGraph();
@@ -0,0 +1,80 @@
+package org.sqlg.benchmark;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.predicate.Text;
+import org.umlg.sqlg.structure.IndexType;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.VertexLabel;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Compares substring search on a label with and without a trigram index.
+ * Date: 2017/05/22
+ * Time: 9:30 AM
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 1)
+@Fork(value = 1)
+@Measurement(iterations = 10, time = 5)
+public class TextContainsBenchmark extends BaseBenchmark {
+
+    @Param({"false", "true"})
+    private boolean trigram;
+    private SqlgGraph sqlgGraph;
+    private GraphTraversalSource gt;
+    private String needle;
+    private String suffix;
+
+    @Benchmark
+    public long contains() {
+        return this.gt.V().hasLabel("Person").has("name", Text.contains(this.needle)).count().next();
+    }
+
+    @Benchmark
+    public long containsCIS() {
+        return this.gt.V().hasLabel("Person").has("name", Text.containsCIS(this.needle.toUpperCase())).count().next();
+    }
+
+    @Benchmark
+    public long endsWith() {
+        return this.gt.V().hasLabel("Person").has("name", Text.endsWith(this.suffix)).count().next();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.sqlgGraph = getSqlgGraph();
+        SqlgUtil.dropDb(this.sqlgGraph);
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph = getSqlgGraph();
+        this.gt = this.sqlgGraph.traversal();
+        VertexLabel personVertexLabel = this.sqlgGraph.getTopology().ensureVertexLabelExist("Person", Collections.singletonMap("name", PropertyType.STRING));
+        if (this.trigram) {
+            personVertexLabel.ensureIndexExists(IndexType.getTrigram(false), Collections.singletonList(personVertexLabel.getProperty("name").get()));
+        }
+        this.sqlgGraph.tx().commit();
+        if (this.sqlgGraph.getSqlDialect().supportsBatchMode()) {
+            this.sqlgGraph.tx().normalBatchModeOn();
+        }
+        for (int i = 0; i < 1_000_000; i++) {
+            String name = UUID.randomUUID().toString();
+            if (i == 500_000) {
+                this.needle = name.substring(10, 20);
+                this.suffix = name.substring(26);
+            }
+            this.sqlgGraph.addVertex(T.label, "Person", "name", name);
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        closeSqlgGraph(this.sqlgGraph);
+    }
+}
@@ -0,0 +1,70 @@
+package org.sqlg.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.structure.IndexType;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.VertexLabel;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opens a graph whose topology has 4000 vertex labels and 6000 edge labels, spread over 10 schemas.
+ * Date: 2017/05/26
+ * Time: 10:05 AM
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 1)
+@Fork(value = 1)
+@Measurement(iterations = 10, time = 5)
+public class TopologyLoadBenchmark extends BaseBenchmark {
+
+    private static final int SCHEMAS = 10;
+    private static final int VERTEX_LABELS = 4_000;
+    private static final int EDGE_LABELS = 6_000;
+
+    @Benchmark
+    public int open() {
+        SqlgGraph sqlgGraph = getSqlgGraph();
+        int tables = sqlgGraph.getTopology().getAllTables().size();
+        closeSqlgGraph(sqlgGraph);
+        return tables;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        SqlgGraph sqlgGraph = getSqlgGraph();
+        SqlgUtil.dropDb(sqlgGraph);
+        sqlgGraph.tx().commit();
+        closeSqlgGraph(sqlgGraph);
+        sqlgGraph = getSqlgGraph();
+        Map<String, PropertyType> properties = new HashMap<>();
+        properties.put("name", PropertyType.STRING);
+        properties.put("createdOn", PropertyType.LOCALDATETIME);
+        List<VertexLabel> vertexLabels = new ArrayList<>();
+        for (int i = 0; i < VERTEX_LABELS; i++) {
+            VertexLabel vertexLabel = sqlgGraph.getTopology().ensureVertexLabelExist("Schema" + (i % SCHEMAS), "Vertex" + i, properties);
+            vertexLabel.ensureIndexExists(IndexType.NON_UNIQUE, new ArrayList<>(vertexLabel.getProperties().values()));
+            vertexLabels.add(vertexLabel);
+            if (i % 100 == 0) {
+                sqlgGraph.tx().commit();
+            }
+        }
+        sqlgGraph.tx().commit();
+        for (int i = 0; i < EDGE_LABELS; i++) {
+            VertexLabel outVertexLabel = vertexLabels.get(i % VERTEX_LABELS);
+            VertexLabel inVertexLabel = vertexLabels.get((i * 7 + 1) % VERTEX_LABELS);
+            outVertexLabel.ensureEdgeLabelExist("edge" + i, inVertexLabel, properties);
+            if (i % 100 == 0) {
+                sqlgGraph.tx().commit();
+            }
+        }
+        sqlgGraph.tx().commit();
+        closeSqlgGraph(sqlgGraph);
+    }
+}
@@ -0,0 +1,64 @@
+package org.sqlg.benchmark;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgUtil;
+
+/**
+ * Removes a vertex that is connected to many edge labels, all incident edge tables are deleted from in one batch.
+ * Date: 2017/05/25
+ * Time: 8:40 AM
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 1)
+@Fork(value = 1)
+@Measurement(iterations = 10, time = 5)
+public class VertexRemoveBenchmark extends BaseBenchmark {
+
+    @Param({"1", "30"})
+    private int edgeLabels;
+    private SqlgGraph sqlgGraph;
+    private Vertex vertex;
+
+    @Benchmark
+    public void remove() {
+        this.vertex.remove();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.sqlgGraph = getSqlgGraph();
+        SqlgUtil.dropDb(this.sqlgGraph);
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph = getSqlgGraph();
+        //create the edge labels up front, each removed vertex is only connected to one of them
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A");
+        for (int i = 0; i < this.edgeLabels; i++) {
+            Vertex b = this.sqlgGraph.addVertex(T.label, "B");
+            a.addEdge("ab" + i, b);
+            b.addEdge("ba" + i, a);
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        this.vertex = this.sqlgGraph.addVertex(T.label, "A");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B");
+        this.vertex.addEdge("ab0", b);
+        this.sqlgGraph.tx().commit();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownInvocation() {
+        this.sqlgGraph.tx().commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        closeSqlgGraph(this.sqlgGraph);
+    }
+}
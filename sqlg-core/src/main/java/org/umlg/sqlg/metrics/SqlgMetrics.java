@@ -0,0 +1,50 @@
+package org.umlg.sqlg.metrics;
+
+import java.util.Map;
+
+/**
+ * Instrumentation callbacks invoked by sqlg.
+ * The implementation is configured with the "metrics.class" property, it must have a no argument constructor.
+ * All methods default to doing nothing, {@link #NO_OP} is used when nothing is configured.
+ * Implementations must be thread safe.
+ * Date: 2017/05/06
+ * Time: 10:20 AM
+ */
+public interface SqlgMetrics {
+
+    String METRICS_CLASS = "metrics.class";
+
+    String VERTEX_CACHE = "vertex";
+
+    SqlgMetrics NO_OP = new SqlgMetrics() {
+    };
+
+    /**
+     * Callers check this before taking timestamps so that the no-op default costs nothing.
+     */
+    default boolean isEnabled() {
+        return false;
+    }
+
+    default void statement(StatementKind statementKind, long durationNanos) {
+    }
+
+    /**
+     * @param durationNanos  the time taken by {@link org.umlg.sqlg.structure.BatchManager#flush()}.
+     * @param rowsPerLabel   the number of flushed rows keyed by the label's 'schema.table'.
+     */
+    default void batchFlush(long durationNanos, Map<String, Long> rowsPerLabel) {
+    }
+
+    default void topologyLockWait(long durationNanos) {
+    }
+
+    default void topologyLockHold(long durationNanos) {
+    }
+
+    default void cacheHit(String cache) {
+    }
+
+    default void cacheMiss(String cache) {
+    }
+}
@@ -0,0 +1,158 @@
+package org.umlg.sqlg.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An in memory {@link SqlgMetrics} that keeps a {@link Histogram} per measurement.
+ * Durations are recorded in nanoseconds.
+ * Date: 2017/05/06
+ * Time: 10:41 AM
+ */
+public class SqlgMetricsRegistry implements SqlgMetrics {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Map<StatementKind, Histogram> statements = new EnumMap<>(StatementKind.class);
+    private final Histogram batchFlush = new Histogram();
+    private final Map<String, LongAdder> batchFlushRows = new ConcurrentHashMap<>();
+    private final Histogram topologyLockWait = new Histogram();
+    private final Histogram topologyLockHold = new Histogram();
+    private final Map<String, LongAdder> cacheHits = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> cacheMisses = new ConcurrentHashMap<>();
+
+    public SqlgMetricsRegistry() {
+        for (StatementKind statementKind : StatementKind.values()) {
+            this.statements.put(statementKind, new Histogram());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void statement(StatementKind statementKind, long durationNanos) {
+        this.statements.get(statementKind).record(durationNanos);
+    }
+
+    @Override
+    public void batchFlush(long durationNanos, Map<String, Long> rowsPerLabel) {
+        this.batchFlush.record(durationNanos);
+        for (Map.Entry<String, Long> entry : rowsPerLabel.entrySet()) {
+            this.batchFlushRows.computeIfAbsent(entry.getKey(), k -> new LongAdder()).add(entry.getValue());
+        }
+    }
+
+    @Override
+    public void topologyLockWait(long durationNanos) {
+        this.topologyLockWait.record(durationNanos);
+    }
+
+    @Override
+    public void topologyLockHold(long durationNanos) {
+        this.topologyLockHold.record(durationNanos);
+    }
+
+    @Override
+    public void cacheHit(String cache) {
+        this.cacheHits.computeIfAbsent(cache, k -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void cacheMiss(String cache) {
+        this.cacheMisses.computeIfAbsent(cache, k -> new LongAdder()).increment();
+    }
+
+    public Histogram getStatementHistogram(StatementKind statementKind) {
+        return this.statements.get(statementKind);
+    }
+
+    public Histogram getBatchFlushHistogram() {
+        return this.batchFlush;
+    }
+
+    public long getBatchFlushRows(String label) {
+        LongAdder rows = this.batchFlushRows.get(label);
+        return rows == null ? 0 : rows.sum();
+    }
+
+    public Histogram getTopologyLockWaitHistogram() {
+        return this.topologyLockWait;
+    }
+
+    public Histogram getTopologyLockHoldHistogram() {
+        return this.topologyLockHold;
+    }
+
+    public long getCacheHits(String cache) {
+        LongAdder hits = this.cacheHits.get(cache);
+        return hits == null ? 0 : hits.sum();
+    }
+
+    public long getCacheMisses(String cache) {
+        LongAdder misses = this.cacheMisses.get(cache);
+        return misses == null ? 0 : misses.sum();
+    }
+
+    /**
+     * @return hits / (hits + misses), 0 if the cache has not been accessed.
+     */
+    public double getCacheHitRate(String cache) {
+        long hits = getCacheHits(cache);
+        long total = hits + getCacheMisses(cache);
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public void reset() {
+        this.statements.values().forEach(Histogram::reset);
+        this.batchFlush.reset();
+        this.batchFlushRows.clear();
+        this.topologyLockWait.reset();
+        this.topologyLockHold.reset();
+        this.cacheHits.clear();
+        this.cacheMisses.clear();
+    }
+
+    public String toJson() {
+        ObjectNode result = OBJECT_MAPPER.createObjectNode();
+        ObjectNode statementsNode = result.putObject("statements");
+        for (Map.Entry<StatementKind, Histogram> entry : this.statements.entrySet()) {
+            putHistogram(statementsNode.putObject(entry.getKey().name().toLowerCase()), entry.getValue());
+        }
+        ObjectNode batchFlushNode = result.putObject("batchFlush");
+        putHistogram(batchFlushNode, this.batchFlush);
+        ObjectNode rowsNode = batchFlushNode.putObject("rows");
+        this.batchFlushRows.forEach((label, rows) -> rowsNode.put(label, rows.sum()));
+        putHistogram(result.putObject("topologyLockWait"), this.topologyLockWait);
+        putHistogram(result.putObject("topologyLockHold"), this.topologyLockHold);
+        ObjectNode cachesNode = result.putObject("caches");
+        for (String cache : this.cacheHits.keySet()) {
+            cachesNode.putObject(cache);
+        }
+        for (String cache : this.cacheMisses.keySet()) {
+            cachesNode.putObject(cache);
+        }
+        cachesNode.fieldNames().forEachRemaining(cache -> {
+            ObjectNode cacheNode = (ObjectNode) cachesNode.get(cache);
+            cacheNode.put("hits", getCacheHits(cache));
+            cacheNode.put("misses", getCacheMisses(cache));
+            cacheNode.put("hitRate", getCacheHitRate(cache));
+        });
+        return result.toString();
+    }
+
+    private static void putHistogram(ObjectNode node, Histogram histogram) {
+        node.put("count", histogram.getCount());
+        node.put("meanNanos", histogram.getMean());
+        node.put("p50Nanos", histogram.getPercentile(0.5));
+        node.put("p99Nanos", histogram.getPercentile(0.99));
+        node.put("maxNanos", histogram.getMax());
+    }
+}
@@ -0,0 +1,14 @@
+package org.umlg.sqlg.metrics;
+
+/**
+ * The kind of sql statement whose latency is being recorded.
+ * Date: 2017/05/06
+ * Time: 10:12 AM
+ */
+public enum StatementKind {
+    QUERY,
+    INSERT,
+    UPDATE,
+    DELETE,
+    COPY
+}
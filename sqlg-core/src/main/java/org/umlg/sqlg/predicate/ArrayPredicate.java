@@ -0,0 +1,125 @@
+package org.umlg.sqlg.predicate;
+
+import com.google.common.base.Preconditions;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Predicates on array properties.
+ * On Postgres they compile to {@code @>}, {@code &&}, {@code <@} and {@code = ANY(col)} and can use a
+ * {@link org.umlg.sqlg.structure.IndexType#getArrayGIN()} index.
+ * Date: 2017/05/21
+ * Time: 9:12 AM
+ */
+public enum ArrayPredicate implements SqlgPredicate<Object, Object> {
+
+    /**
+     * The property contains every element of the value.
+     */
+    contains {
+        @Override
+        public boolean test(final Object first, final Object second) {
+            return first != null && toSet(first).containsAll(toList(second));
+        }
+    },
+    /**
+     * The property and the value have at least one element in common.
+     */
+    overlaps {
+        @Override
+        public boolean test(final Object first, final Object second) {
+            if (first == null) {
+                return false;
+            }
+            Set<Object> elements = toSet(first);
+            for (Object element : toList(second)) {
+                if (elements.contains(element)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    },
+    /**
+     * Every element of the property is in the value.
+     */
+    containedBy {
+        @Override
+        public boolean test(final Object first, final Object second) {
+            return first != null && toSet(second).containsAll(toList(first));
+        }
+    },
+    /**
+     * The property has an element equal to the value.
+     */
+    anyEquals {
+        @Override
+        public boolean test(final Object first, final Object second) {
+            return first != null && toList(first).contains(second);
+        }
+    };
+
+    public static P<Object> contains(final Object value) {
+        return new P<>(ArrayPredicate.contains, checkArray(value));
+    }
+
+    public static P<Object> overlaps(final Object value) {
+        return new P<>(ArrayPredicate.overlaps, checkArray(value));
+    }
+
+    public static P<Object> containedBy(final Object value) {
+        return new P<>(ArrayPredicate.containedBy, checkArray(value));
+    }
+
+    public static P<Object> anyEquals(final Object value) {
+        Preconditions.checkArgument(value != null && !value.getClass().isArray(), "ArrayPredicate.anyEquals takes a single element.");
+        return new P<>(ArrayPredicate.anyEquals, value);
+    }
+
+    @Override
+    public boolean supports(SqlDialect sqlDialect) {
+        return sqlDialect.supportsArrayPredicates();
+    }
+
+    @Override
+    public String toSql(SqlDialect sqlDialect, String column, Object value) {
+        return sqlDialect.getArrayQueryText(this, value, column);
+    }
+
+    @Override
+    public List<Object> getParameters(Object value) {
+        return Collections.singletonList(value);
+    }
+
+    /**
+     * @return true if the value bound to the statement is an array, false if it is a single element.
+     */
+    public boolean isArrayValue() {
+        return this != anyEquals;
+    }
+
+    private static <V> V checkArray(V value) {
+        Preconditions.checkArgument(value != null && value.getClass().isArray(), "ArrayPredicate takes an array, found %s", value);
+        return value;
+    }
+
+    private static List<Object> toList(Object array) {
+        int length = Array.getLength(array);
+        List<Object> result = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            result.add(Array.get(array, i));
+        }
+        return result;
+    }
+
+    private static Set<Object> toSet(Object array) {
+        return new HashSet<>(toList(array));
+    }
+}
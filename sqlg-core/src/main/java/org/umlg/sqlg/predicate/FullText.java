@@ -10,6 +10,7 @@ import java.util.function.BiPredicate;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
 
 /**
  * Full text match predicate
@@ -88,6 +89,22 @@ public class FullText implements BiPredicate<String, String> {
 		return new P<>(new FullText(configuration,query.toString(),plain),value);
 	}
 	
+	/**
+	 * Build a comparator that orders on the full text rank of the property, best match first (use in order().by(column,...))
+	 * Together with a fullTextMatch on the same property and a limit this is a top-K search.
+	 * @param configuration the full text configuration to use
+	 * @param plain should we use plain mode?
+	 * @param value the value the rank is computed for
+	 * @return the comparator
+	 */
+	public static Rank rank(String configuration, boolean plain, final String value){
+		return new Rank(new FullText(configuration,null,plain),value);
+	}
+	
+	public static Rank rank(String configuration, final String value){
+		return rank(configuration, false, value);
+	}
+	
 	/**
 	 * full constructor
 	 * @param configuration the full text configuration
@@ -124,4 +141,62 @@ public class FullText implements BiPredicate<String, String> {
 	public String toString() {
 		return "FullText('"+configuration+"')";
 	}
+	
+	/**
+	 * Orders on ts_rank, descending. The value is written into the order by as a literal.
+	 */
+	public static class Rank implements SqlgComparator<String> {
+		private final FullText fullText;
+		private final String value;
+		
+		private Rank(FullText fullText, String value) {
+			this.fullText = fullText;
+			this.value = value;
+		}
+		
+		public FullText getFullText() {
+			return fullText;
+		}
+		
+		public String getValue() {
+			return value;
+		}
+		
+		@Override
+		public boolean supports(SqlDialect sqlDialect) {
+			return sqlDialect.isPostgresql();
+		}
+		
+		@Override
+		public String toOrderBySql(SqlDialect sqlDialect, String column) {
+			return sqlDialect.getFullTextRankText(this, column);
+		}
+		
+		/**
+		 * In memory the rank is the number of query words found in the property.
+		 */
+		@Override
+		public int compare(String first, String second) {
+			return Integer.compare(matches(second), matches(first));
+		}
+		
+		private int matches(String text) {
+			if (text == null) {
+				return 0;
+			}
+			Set<String> words=new HashSet<>(Arrays.asList(text.toLowerCase(Locale.ENGLISH).split("\\s")));
+			int count = 0;
+			for (String word : value.toLowerCase(Locale.ENGLISH).split("\\s")) {
+				if (words.contains(word)) {
+					count++;
+				}
+			}
+			return count;
+		}
+		
+		@Override
+		public String toString() {
+			return "FullText.rank('"+fullText.getConfiguration()+"')";
+		}
+	}
 }
@@ -0,0 +1,171 @@
+package org.umlg.sqlg.predicate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Preconditions;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Predicates on json properties, they are compiled into sql on dialects that support json.
+ * <ul>
+ * <li>{@link #pathEquals(List, String)}, the text at the path equals the value, {@code ->>} or {@code #>>}</li>
+ * <li>{@link #contains(JsonNode)}, the property contains the json document, {@code @>}</li>
+ * <li>{@link #pathExists(String)}, the sql/json path matches, {@code jsonb_path_exists}</li>
+ * </ul>
+ * Date: 2017/05/20
+ * Time: 11:02 AM
+ */
+public class Json implements SqlgPredicate<Object, Object> {
+
+    public enum Operator {
+        PATH_EQUALS, CONTAINS, PATH_EXISTS
+    }
+
+    private final Operator operator;
+    private final List<String> path;
+
+    private Json(Operator operator, List<String> path) {
+        this.operator = operator;
+        this.path = path;
+    }
+
+    /**
+     * has(key, Json.keyEquals("name", "john")) matches {"name": "john"}
+     */
+    public static P<Object> keyEquals(String key, String value) {
+        return pathEquals(Collections.singletonList(key), value);
+    }
+
+    /**
+     * has(key, Json.pathEquals(Arrays.asList("address", "city"), "Paris")) matches {"address": {"city": "Paris"}}
+     * Array elements are addressed by their index.
+     */
+    public static P<Object> pathEquals(List<String> path, String value) {
+        Preconditions.checkArgument(!path.isEmpty(), "Json path may not be empty");
+        return new P<>(new Json(Operator.PATH_EQUALS, path), value);
+    }
+
+    public static P<Object> contains(JsonNode value) {
+        return new P<>(new Json(Operator.CONTAINS, Collections.emptyList()), value);
+    }
+
+    /**
+     * @param jsonPath A sql/json path expression, i.e. '$.tags[*] ? (@ == "a")'.
+     *                 Only member accessors, i.e. '$.address.city', can be evaluated outside the database.
+     */
+    public static P<Object> pathExists(String jsonPath) {
+        return new P<>(new Json(Operator.PATH_EXISTS, Collections.emptyList()), jsonPath);
+    }
+
+    public Operator getOperator() {
+        return this.operator;
+    }
+
+    public List<String> getPath() {
+        return this.path;
+    }
+
+    @Override
+    public boolean supports(SqlDialect sqlDialect) {
+        return sqlDialect.supportsJsonPredicates();
+    }
+
+    @Override
+    public String toSql(SqlDialect sqlDialect, String column, Object value) {
+        return sqlDialect.getJsonQueryText(this, column);
+    }
+
+    @Override
+    public List<Object> getParameters(Object value) {
+        return Collections.singletonList(value);
+    }
+
+    @Override
+    public boolean test(Object first, Object second) {
+        if (!(first instanceof JsonNode)) {
+            return false;
+        }
+        JsonNode jsonNode = (JsonNode) first;
+        switch (this.operator) {
+            case PATH_EQUALS:
+                JsonNode value = at(jsonNode, this.path);
+                return value != null && !value.isNull() && (value.isValueNode() ? value.asText() : value.toString()).equals(second);
+            case CONTAINS:
+                return contains(jsonNode, (JsonNode) second);
+            case PATH_EXISTS:
+                String jsonPath = (String) second;
+                Preconditions.checkState(jsonPath.matches("\\$(\\.\\w+)*"), "Json.pathExists('%s') can only be evaluated by the database.", jsonPath);
+                List<String> members = jsonPath.length() == 1 ? Collections.emptyList() : Arrays.asList(jsonPath.substring(2).split("\\."));
+                return at(jsonNode, members) != null;
+            default:
+                throw new IllegalStateException("Unhandled operator " + this.operator.name());
+        }
+    }
+
+    private static JsonNode at(JsonNode jsonNode, List<String> path) {
+        JsonNode result = jsonNode;
+        for (String element : path) {
+            if (result == null) {
+                return null;
+            }
+            if (result.isArray()) {
+                try {
+                    result = result.get(Integer.parseInt(element));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            } else {
+                result = result.get(element);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Follows postgres' jsonb containment, an array contains a primitive and an array contains every element of a contained array.
+     */
+    private static boolean contains(JsonNode container, JsonNode contained) {
+        if (container.isObject() && contained.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = contained.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode value = container.get(field.getKey());
+                if (value == null || !contains(value, field.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (container.isArray() && contained.isArray()) {
+            for (JsonNode containedElement : contained) {
+                if (!containsElement(container, containedElement)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (container.isArray() && contained.isValueNode()) {
+            return containsElement(container, contained);
+        } else {
+            return container.equals(contained);
+        }
+    }
+
+    private static boolean containsElement(JsonNode array, JsonNode element) {
+        for (JsonNode arrayElement : array) {
+            if (contains(arrayElement, element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "Json(" + this.operator.name().toLowerCase() + (this.path.isEmpty() ? "" : ", " + this.path) + ")";
+    }
+}
@@ -0,0 +1,176 @@
+package org.umlg.sqlg.predicate;
+
+import com.google.common.base.Preconditions;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.RecordId;
+
+import java.util.Comparator;
+import java.util.function.BiPredicate;
+
+/**
+ * Keyset (seek) pagination on {@code order().by(key)}. Instead of skipping rows with an OFFSET the next page
+ * starts after the sort key and id of the last element of the previous page.
+ * Ties on the sort key are ordered on the element's id.
+ * <pre>
+ * List&lt;Vertex&gt; page = g.V().hasLabel("Item").has("createdOn", Keyset.first()).order().by("createdOn").limit(50).toList();
+ * Keyset.Token token = Keyset.Token.of(page.get(page.size() - 1), "createdOn");
+ * page = g.V().hasLabel("Item").has("createdOn", Keyset.after(token)).order().by("createdOn").limit(50).toList();
+ * </pre>
+ * Use {@link #before(Token)} with {@code order().by(key, decr)}.
+ * Elements without the sort key are not paged.
+ * Date: 2017/05/24
+ * Time: 9:15 AM
+ */
+public class Keyset implements BiPredicate<Object, Object> {
+
+    private final boolean ascending;
+
+    private Keyset(boolean ascending) {
+        this.ascending = ascending;
+    }
+
+    /**
+     * The first page, it only adds the id to the order so that the following pages are stable.
+     */
+    public static P<Object> first() {
+        return new P<>(new Keyset(true), null);
+    }
+
+    /**
+     * The first page of a descending order.
+     */
+    public static P<Object> firstDescending() {
+        return new P<>(new Keyset(false), null);
+    }
+
+    /**
+     * The page after the token for {@code order().by(key, incr)}
+     */
+    public static P<Object> after(Token token) {
+        Preconditions.checkNotNull(token, "Keyset.after expects a token");
+        return new P<>(new Keyset(true), token);
+    }
+
+    /**
+     * The page after the token for {@code order().by(key, decr)}
+     */
+    public static P<Object> before(Token token) {
+        Preconditions.checkNotNull(token, "Keyset.before expects a token");
+        return new P<>(new Keyset(false), token);
+    }
+
+    public boolean isAscending() {
+        return this.ascending;
+    }
+
+    /**
+     * Orders elements with the same sort key on their id, in the direction of the keyset.
+     */
+    public Comparator<Element> idComparator() {
+        return new IdComparator(this.ascending);
+    }
+
+    /**
+     * @param first  the element's {@link Token}, or only its sort key.
+     * @param second the keyset's token.
+     *               Ties on the sort key are broken on the id of the first token, as in the sql the id compares first on the label then on the id.
+     *               A sort key without an id that ties with the token is taken to have the largest id.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean test(Object first, Object second) {
+        if (first == null) {
+            return false;
+        }
+        if (second == null) {
+            return true;
+        }
+        Token token = (Token) second;
+        int compare;
+        if (first instanceof Token) {
+            compare = ((Comparable) ((Token) first).getValue()).compareTo(token.getValue());
+            if (compare == 0) {
+                compare = ((Token) first).getRecordId().compareTo(token.getRecordId());
+            }
+        } else {
+            compare = ((Comparable) first).compareTo(token.getValue());
+            if (compare == 0) {
+                return this.ascending;
+            }
+        }
+        return this.ascending ? compare > 0 : compare < 0;
+    }
+
+    /**
+     * Evaluates the keyset on the element itself, ties on the sort key are broken on the element's id.
+     */
+    public boolean test(Element element, String key, Token token) {
+        Property<Object> property = element.property(key);
+        if (!property.isPresent() || property.value() == null) {
+            return false;
+        }
+        return test(new Token(property.value(), (RecordId) element.id()), token);
+    }
+
+    @Override
+    public String toString() {
+        return this.ascending ? "after" : "before";
+    }
+
+    /**
+     * The sort key and id of the last element of a page.
+     */
+    public static class Token {
+
+        private final Object value;
+        private final RecordId recordId;
+
+        private Token(Object value, RecordId recordId) {
+            this.value = value;
+            this.recordId = recordId;
+        }
+
+        public static Token of(Object value, RecordId recordId) {
+            Preconditions.checkNotNull(value, "Keyset.Token value may not be null");
+            Preconditions.checkNotNull(recordId, "Keyset.Token recordId may not be null");
+            Preconditions.checkArgument(PropertyType.from(value).getPostFixes().length == 0,
+                    "Keyset.Token does not support %s values", value.getClass().getSimpleName());
+            return new Token(value, recordId);
+        }
+
+        public static Token of(Element element, String key) {
+            return of(element.value(key), (RecordId) element.id());
+        }
+
+        public Object getValue() {
+            return this.value;
+        }
+
+        public RecordId getRecordId() {
+            return this.recordId;
+        }
+
+        @Override
+        public String toString() {
+            return this.value + "/" + this.recordId;
+        }
+    }
+
+    private static class IdComparator implements Comparator<Element> {
+
+        private final boolean ascending;
+
+        private IdComparator(boolean ascending) {
+            this.ascending = ascending;
+        }
+
+        @Override
+        public int compare(Element first, Element second) {
+            int compare = ((RecordId) first.id()).compareTo(second.id());
+            return this.ascending ? compare : -compare;
+        }
+    }
+}
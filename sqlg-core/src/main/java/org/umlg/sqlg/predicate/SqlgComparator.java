@@ -0,0 +1,22 @@
+package org.umlg.sqlg.predicate;
+
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+
+import java.util.Comparator;
+
+/**
+ * A comparator for {@code order().by(key, comparator)} that writes its own ORDER BY expression.
+ * If the dialect is not supported the comparator is evaluated in memory.
+ * Date: 2017/05/21
+ * Time: 3:45 PM
+ */
+public interface SqlgComparator<T> extends Comparator<T> {
+
+    boolean supports(SqlDialect sqlDialect);
+
+    /**
+     * @param column the fully qualified column or its alias.
+     * @return the order by expression including the direction, it may not contain parameters.
+     */
+    String toOrderBySql(SqlDialect sqlDialect, String column);
+}
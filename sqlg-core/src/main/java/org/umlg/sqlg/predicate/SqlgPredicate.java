@@ -0,0 +1,29 @@
+package org.umlg.sqlg.predicate;
+
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * A predicate that writes its own sql, i.e. the {@link Json}, {@link ArrayPredicate} and gis predicates.
+ * If the dialect is not supported the predicate is evaluated in memory.
+ * Date: 2017/05/21
+ * Time: 3:40 PM
+ */
+public interface SqlgPredicate<T, U> extends BiPredicate<T, U> {
+
+    boolean supports(SqlDialect sqlDialect);
+
+    /**
+     * @param column the fully qualified column.
+     * @param value  the value of the {@link org.apache.tinkerpop.gremlin.process.traversal.P}
+     */
+    String toSql(SqlDialect sqlDialect, String column, U value);
+
+    /**
+     * @param value the value of the {@link org.apache.tinkerpop.gremlin.process.traversal.P}
+     * @return the parameters to bind to the sql, in order.
+     */
+    List<Object> getParameters(U value);
+}
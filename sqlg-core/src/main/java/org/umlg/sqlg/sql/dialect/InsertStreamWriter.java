@@ -0,0 +1,108 @@
+package org.umlg.sqlg.sql.dialect;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.umlg.sqlg.metrics.SqlgMetrics;
+import org.umlg.sqlg.metrics.StatementKind;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The streaming batch mode's writer for dialects without a COPY command.
+ * Rows are bound to one reused INSERT statement and executed as a jdbc batch every {@link #BATCH_ROWS} rows,
+ * so memory stays constant however many rows are streamed.
+ * Rows are added with {@link #addRow(List)}, writing characters is not supported.
+ */
+public class InsertStreamWriter extends Writer {
+
+    /**
+     * The number of rows per jdbc batch, defaults to 1000.
+     */
+    public static final String BATCH_ROWS = "batch.streaming.rows";
+    private static final int DEFAULT_BATCH_ROWS = 1000;
+
+    private final SqlgGraph sqlgGraph;
+    private final PreparedStatement preparedStatement;
+    private final int batchRows;
+    //rows added since the last executed batch
+    private int pendingRows;
+
+    InsertStreamWriter(SqlgGraph sqlgGraph, Connection connection, String sql) throws SQLException {
+        this.sqlgGraph = sqlgGraph;
+        this.preparedStatement = connection.prepareStatement(sql);
+        this.batchRows = sqlgGraph.configuration().getInt(BATCH_ROWS, DEFAULT_BATCH_ROWS);
+    }
+
+    /**
+     * @param row the values in the order of the INSERT statement's columns, a null value binds a null for each of its type's columns.
+     */
+    public void addRow(List<ImmutablePair<PropertyType, Object>> row) {
+        try {
+            int parameterIndex = 1;
+            for (ImmutablePair<PropertyType, Object> typeAndValue : row) {
+                if (typeAndValue.getRight() == null) {
+                    for (int i = 0; i < this.sqlgGraph.getSqlDialect().propertyTypeToSqlDefinition(typeAndValue.getLeft()).length; i++) {
+                        this.preparedStatement.setNull(parameterIndex++, Types.NULL);
+                    }
+                } else {
+                    parameterIndex = SqlgUtil.setKeyValuesAsParameter(this.sqlgGraph, true, parameterIndex, this.preparedStatement, Collections.singletonList(typeAndValue));
+                }
+            }
+            this.preparedStatement.addBatch();
+            if (++this.pendingRows == this.batchRows) {
+                executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void executeBatch() throws SQLException {
+        SqlgMetrics metrics = this.sqlgGraph.getMetrics();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0L;
+        this.preparedStatement.executeBatch();
+        if (metrics.isEnabled()) {
+            metrics.statement(StatementKind.INSERT, System.nanoTime() - start);
+        }
+        this.pendingRows = 0;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        throw new UnsupportedOperationException("InsertStreamWriter only accepts rows, use addRow");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        try {
+            if (this.pendingRows > 0) {
+                executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            try {
+                this.preparedStatement.close();
+            } catch (SQLException e) {
+                //noinspection ThrowFromFinallyBlock
+                throw new IOException(e);
+            }
+        }
+    }
+}
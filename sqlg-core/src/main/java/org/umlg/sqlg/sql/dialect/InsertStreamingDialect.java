@@ -0,0 +1,151 @@
+package org.umlg.sqlg.sql.dialect;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.umlg.sqlg.structure.*;
+
+import java.io.Writer;
+import java.sql.SQLException;
+import java.util.*;
+
+import static org.umlg.sqlg.structure.SchemaManager.EDGE_PREFIX;
+import static org.umlg.sqlg.structure.SchemaManager.VERTEX_PREFIX;
+
+/**
+ * Streaming batch mode for dialects without a COPY command.
+ * The copy command is a parameterized INSERT and the stream is an {@link InsertStreamWriter} that executes it as a jdbc batch.
+ * Only {@link BatchManager.BatchModeType#STREAMING} is supported, normal batch mode and streaming with lock are not.
+ */
+public interface InsertStreamingDialect extends SqlBulkDialect {
+
+    @Override
+    default boolean supportsStreamingBatchMode() {
+        return true;
+    }
+
+    @Override
+    default String constructCompleteCopyCommandTemporarySqlVertex(SqlgGraph sqlgGraph, SqlgVertex vertex, Map<String, Object> keyValueMap) {
+        return insertStreamingVertexSql(sqlgGraph, true, vertex.getSchema(), vertex.getTable(), keyValueMap);
+    }
+
+    @Override
+    default String constructCompleteCopyCommandSqlVertex(SqlgGraph sqlgGraph, SqlgVertex vertex, Map<String, Object> keyValueMap) {
+        return insertStreamingVertexSql(sqlgGraph, false, vertex.getSchema(), vertex.getTable(), keyValueMap);
+    }
+
+    @Override
+    default String constructCompleteCopyCommandSqlVertex(SqlgGraph sqlgGraph, String schema, String table, Set<String> keys) {
+        Map<String, Object> keyValueMap = new LinkedHashMap<>();
+        keys.forEach(k -> keyValueMap.put(k, null));
+        return insertStreamingVertexSql(sqlgGraph, false, schema, table, keyValueMap);
+    }
+
+    default String insertStreamingVertexSql(SqlgGraph sqlgGraph, boolean isTemp, String schema, String table, Map<String, Object> keyValueMap) {
+        Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(SchemaTable.of((!isTemp ? schema : ""), VERTEX_PREFIX + table));
+        StringBuilder sql = new StringBuilder("INSERT INTO ");
+        if (!isTemp) {
+            sql.append(maybeWrapInQoutes(schema));
+            sql.append(".");
+        }
+        sql.append(maybeWrapInQoutes(VERTEX_PREFIX + table));
+        if (keyValueMap.isEmpty()) {
+            sql.append(insertDefaultValues());
+        } else {
+            List<String> columns = new ArrayList<>();
+            for (Map.Entry<String, Object> entry : keyValueMap.entrySet()) {
+                appendStreamingColumns(columns, entry.getKey(), streamingPropertyType(propertyTypeMap, entry.getKey(), entry.getValue()));
+            }
+            appendColumnsAndParameters(sql, columns);
+        }
+        if (needsSemicolon()) {
+            sql.append(";");
+        }
+        return sql.toString();
+    }
+
+    @Override
+    default String constructCompleteCopyCommandSqlEdge(SqlgGraph sqlgGraph, SqlgEdge sqlgEdge, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) {
+        Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(SchemaTable.of(sqlgEdge.getSchema(), EDGE_PREFIX + sqlgEdge.getTable()));
+        StringBuilder sql = new StringBuilder("INSERT INTO ");
+        sql.append(maybeWrapInQoutes(sqlgEdge.getSchema()));
+        sql.append(".");
+        sql.append(maybeWrapInQoutes(EDGE_PREFIX + sqlgEdge.getTable()));
+        List<String> columns = new ArrayList<>();
+        columns.add(outVertex.getSchema() + "." + outVertex.getTable() + SchemaManager.OUT_VERTEX_COLUMN_END);
+        columns.add(inVertex.getSchema() + "." + inVertex.getTable() + SchemaManager.IN_VERTEX_COLUMN_END);
+        for (Map.Entry<String, Object> entry : keyValueMap.entrySet()) {
+            appendStreamingColumns(columns, entry.getKey(), streamingPropertyType(propertyTypeMap, entry.getKey(), entry.getValue()));
+        }
+        appendColumnsAndParameters(sql, columns);
+        if (needsSemicolon()) {
+            sql.append(";");
+        }
+        return sql.toString();
+    }
+
+    default PropertyType streamingPropertyType(Map<String, PropertyType> propertyTypeMap, String key, Object value) {
+        PropertyType propertyType = propertyTypeMap.get(key);
+        if (propertyType == null) {
+            propertyType = value != null ? PropertyType.from(value) : PropertyType.STRING;
+        }
+        return propertyType;
+    }
+
+    default void appendStreamingColumns(List<String> columns, String key, PropertyType propertyType) {
+        columns.add(key);
+        for (int i = 1; i < propertyTypeToSqlDefinition(propertyType).length; i++) {
+            columns.add(key + propertyType.getPostFixes()[i - 1]);
+        }
+    }
+
+    default void appendColumnsAndParameters(StringBuilder sql, List<String> columns) {
+        StringJoiner columnJoiner = new StringJoiner(", ", " (", ")");
+        StringJoiner parameterJoiner = new StringJoiner(", ", " VALUES (", ")");
+        for (String column : columns) {
+            columnJoiner.add(maybeWrapInQoutes(column));
+            parameterJoiner.add("?");
+        }
+        sql.append(columnJoiner.toString());
+        sql.append(parameterJoiner.toString());
+    }
+
+    @Override
+    default void writeStreamingVertex(Writer writer, Map<String, Object> keyValueMap) {
+        ((InsertStreamWriter) writer).addRow(typeAndValues(Collections.emptyMap(), keyValueMap));
+    }
+
+    @Override
+    default void writeStreamingVertex(Writer writer, SqlgVertex vertex, Map<String, Object> keyValueMap) {
+        Map<String, PropertyType> propertyTypeMap = ((SqlgGraph) vertex.graph()).getTopology().getTableFor(SchemaTable.of(vertex.getSchema(), VERTEX_PREFIX + vertex.getTable()));
+        ((InsertStreamWriter) writer).addRow(typeAndValues(propertyTypeMap, keyValueMap));
+    }
+
+    @Override
+    default void writeStreamingEdge(Writer writer, SqlgEdge sqlgEdge, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) {
+        List<ImmutablePair<PropertyType, Object>> row = new ArrayList<>(keyValueMap.size() + 2);
+        row.add(ImmutablePair.of(PropertyType.LONG, ((RecordId) outVertex.id()).getId()));
+        row.add(ImmutablePair.of(PropertyType.LONG, ((RecordId) inVertex.id()).getId()));
+        Map<String, PropertyType> propertyTypeMap = ((SqlgGraph) sqlgEdge.graph()).getTopology().getTableFor(SchemaTable.of(sqlgEdge.getSchema(), EDGE_PREFIX + sqlgEdge.getTable()));
+        row.addAll(typeAndValues(propertyTypeMap, keyValueMap));
+        ((InsertStreamWriter) writer).addRow(row);
+    }
+
+    /**
+     * The values typed as the INSERT statement's columns, see {@link #streamingPropertyType(Map, String, Object)}.
+     */
+    default List<ImmutablePair<PropertyType, Object>> typeAndValues(Map<String, PropertyType> propertyTypeMap, Map<String, Object> keyValueMap) {
+        List<ImmutablePair<PropertyType, Object>> result = new ArrayList<>(keyValueMap.size());
+        for (Map.Entry<String, Object> entry : keyValueMap.entrySet()) {
+            result.add(ImmutablePair.of(streamingPropertyType(propertyTypeMap, entry.getKey(), entry.getValue()), entry.getValue()));
+        }
+        return result;
+    }
+
+    @Override
+    default Writer streamSql(SqlgGraph sqlgGraph, String sql) {
+        try {
+            return new InsertStreamWriter(sqlgGraph, sqlgGraph.tx().getConnection(), sql);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.umlg.sqlg.structure.*;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Writer;
+import java.sql.Connection;
 import java.util.*;
 
 import static javax.swing.JOptionPane.ERROR_MESSAGE;
@@ -17,15 +18,29 @@ import static javax.swing.JOptionPane.ERROR_MESSAGE;
  */
 public interface SqlBulkDialect extends SqlDialect {
 
-    default Map<SchemaTable, Pair<Long, Long>> flushVertexCache(SqlgGraph sqlgGraph, Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexCache) {
+    default Map<SchemaTable, Pair<Long, Long>> flushVertexCache(SqlgGraph sqlgGraph, Map<SchemaTable, VertexBatch> vertexCache) {
         throw SqlgExceptions.batchModeNotSupported(dialectName());
     }
 
+    /**
+     * Upserts the vertices of {@link SqlgGraph#upsertVertex(String, List, Map)} made in normal batch mode.
+     *
+     * The id of each row's vertex is set once it is upserted.
+     *
+     * @param vertexUpsertCache per label and unique keys the rows' vertices and properties keyed by their unique key values.
+     *                          A row only sets the properties it has, the rows of a label need not have the same properties.
+     */
+    default void flushVertexUpsertCache(SqlgGraph sqlgGraph, Map<Pair<SchemaTable, List<String>>, Map<List<Object>, Pair<SqlgVertex, Map<String, Object>>>> vertexUpsertCache) {
+        if (!vertexUpsertCache.isEmpty()) {
+            throw SqlgExceptions.batchModeNotSupported(dialectName());
+        }
+    }
+
     default void flushEdgeCache(SqlgGraph sqlgGraph, Map<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> edgeCache) {
         throw SqlgExceptions.batchModeNotSupported(dialectName());
     }
 
-    default void flushVertexGlobalUniqueIndexes(SqlgGraph sqlgGraph, Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexCache) {
+    default void flushVertexGlobalUniqueIndexes(SqlgGraph sqlgGraph, Map<SchemaTable, VertexBatch> vertexCache) {
         throw SqlgExceptions.batchModeNotSupported(dialectName());
     }
 
@@ -89,10 +104,57 @@ public interface SqlBulkDialect extends SqlDialect {
         throw SqlgExceptions.batchModeNotSupported(dialectName());
     }
 
+    /**
+     * As {@link #writeStreamingVertex(Writer, Map)} for a row of the vertex's label.
+     */
+    default void writeStreamingVertex(Writer writer, SqlgVertex vertex, Map<String, Object> keyValueMap) {
+        writeStreamingVertex(writer, keyValueMap);
+    }
+
     default void writeStreamingEdge(Writer writer, SqlgEdge sqlgEdge, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) throws IOException {
         throw SqlgExceptions.batchModeNotSupported(dialectName());
     }
 
+    /**
+     * @return true if ids can be claimed up front with {@link #reserveIds(SqlgGraph, SchemaTable, String, int)}.
+     * {@link BatchManager.BatchModeType#STREAMING_WITH_LOCK} then copies the ids explicitly instead of locking the table.
+     */
+    default boolean supportsIdReservation() {
+        return false;
+    }
+
+    /**
+     * Claims ids from the table's sequence, concurrent callers never receive the same id.
+     *
+     * @param prefix {@link SchemaManager#VERTEX_PREFIX} or {@link SchemaManager#EDGE_PREFIX}
+     * @return the ids in ascending order.
+     */
+    default long[] reserveIds(SqlgGraph sqlgGraph, SchemaTable schemaTable, String prefix, int count) {
+        throw SqlgExceptions.batchModeNotSupported(dialectName());
+    }
+
+    /**
+     * As {@link #constructCompleteCopyCommandSqlVertex(SqlgGraph, SqlgVertex, Map)} with the ID as the first column.
+     */
+    default String constructCompleteCopyCommandSqlVertexWithId(SqlgGraph sqlgGraph, SqlgVertex vertex, Map<String, Object> keyValueMap) {
+        throw SqlgExceptions.batchModeNotSupported(dialectName());
+    }
+
+    /**
+     * As {@link #constructCompleteCopyCommandSqlEdge(SqlgGraph, SqlgEdge, SqlgVertex, SqlgVertex, Map)} with the ID as the first column.
+     */
+    default String constructCompleteCopyCommandSqlEdgeWithId(SqlgGraph sqlgGraph, SqlgEdge sqlgEdge, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) {
+        throw SqlgExceptions.batchModeNotSupported(dialectName());
+    }
+
+    default void writeStreamingVertex(Writer writer, long id, Map<String, Object> keyValueMap) {
+        throw SqlgExceptions.batchModeNotSupported(dialectName());
+    }
+
+    default void writeStreamingEdge(Writer writer, long id, SqlgEdge sqlgEdge, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) throws IOException {
+        throw SqlgExceptions.batchModeNotSupported(dialectName());
+    }
+
     default String temporaryTableCopyCommandSqlVertex(SqlgGraph sqlgGraph, SchemaTable schemaTable, Set<String> keys) {
         throw new UnsupportedOperationException(ERROR_MESSAGE + dialectName());
     }
@@ -105,4 +167,31 @@ public interface SqlBulkDialect extends SqlDialect {
         throw SqlgExceptions.batchModeNotSupported(dialectName());
     }
 
+    /**
+     * Streams through the given connection instead of the transaction's connection.
+     */
+    default Writer streamSql(Connection connection, String sql) {
+        throw SqlgExceptions.batchModeNotSupported(dialectName());
+    }
+
+    /**
+     * The copy command used by {@link BulkLoader}. The internal columns, i.e. the ID and foreign keys, come before the properties.
+     *
+     * @param schemaTable The prefixed table.
+     */
+    default String constructCompleteCopyCommandSqlBulkLoad(SqlgGraph sqlgGraph, SchemaTable schemaTable, List<String> internalColumns, Set<String> keys) {
+        throw SqlgExceptions.batchModeNotSupported(dialectName());
+    }
+
+    /**
+     * Drops the table's indexes and foreign keys, the primary key, the unique indexes and the indexes that back a constraint are kept.
+     * A unique index is kept so that the load itself fails on a duplicate instead of the index's recreation after the load.
+     *
+     * @param schemaTable The prefixed table.
+     * @return the statements that recreate what was dropped.
+     */
+    default List<String> dropIndexesAndForeignKeys(SqlgGraph sqlgGraph, SchemaTable schemaTable) {
+        throw SqlgExceptions.batchModeNotSupported(dialectName());
+    }
+
 }
@@ -8,7 +8,9 @@ import com.google.common.base.Preconditions;
 import org.apache.commons.lang3.Range;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.umlg.sqlg.predicate.ArrayPredicate;
 import org.umlg.sqlg.predicate.FullText;
+import org.umlg.sqlg.predicate.Json;
 import org.umlg.sqlg.structure.PropertyType;
 import org.umlg.sqlg.structure.SchemaTable;
 import org.umlg.sqlg.structure.SqlgGraph;
@@ -296,6 +298,14 @@ public interface SqlDialect {
         return sb.toString();
     }
 
+    /**
+     * The column as it appears in a CREATE INDEX statement.
+     * Databases that can only index a prefix of a text or blob column add the prefix length here.
+     */
+    default String indexColumn(String column, PropertyType propertyType) {
+        return maybeWrapInQoutes(column);
+    }
+
     String existIndexQuery(SchemaTable schemaTable, String prefix, String indexName);
 
     //This is needed for mariadb, which does not support schemas, so need to drop the database instead
@@ -307,6 +317,14 @@ public interface SqlDialect {
         return false;
     }
 
+    /**
+     * @return true if {@link org.umlg.sqlg.structure.BatchManager.BatchModeType#STREAMING} is supported.
+     * Dialects that only support streaming leave property updates and removes unbatched.
+     */
+    default boolean supportsStreamingBatchMode() {
+        return supportsBatchMode();
+    }
+
     default boolean supportsJson() {
         return false;
     }
@@ -417,6 +435,63 @@ public interface SqlDialect {
 
     void setArray(PreparedStatement statement, int index, PropertyType type, Object[] values) throws SQLException;
 
+    /**
+     * Reads an array column, the result is passed to {@link #convertArray(PropertyType, java.sql.Array)}.
+     * Databases without an array type return their own representation of the column here.
+     */
+    default java.sql.Array getArray(ResultSet resultSet, int columnIndex) throws SQLException {
+        return resultSet.getArray(columnIndex);
+    }
+
+    default java.sql.Array getArray(ResultSet resultSet, String columnLabel) throws SQLException {
+        return resultSet.getArray(columnLabel);
+    }
+
+    /**
+     * The tail of an INSERT statement for a row without values.
+     */
+    default String insertDefaultValues() {
+        return " DEFAULT VALUES";
+    }
+
+    default boolean supportsUpsert() {
+        return false;
+    }
+
+    /**
+     * @return true if the statement of {@link #upsertVertexSql(String, String, List, Map)} returns the vertex's id,
+     * else the id is selected on the unique keys after the upsert.
+     */
+    default boolean upsertReturnsId() {
+        return false;
+    }
+
+    /**
+     * Inserts the row or, if a row with the same unique key values exists, updates its other columns.
+     * There is one parameter per column of {@link #sqlColumnNames(Map)} in the same order.
+     *
+     * @param table      The prefixed table.
+     * @param uniqueKeys The columns of a unique index.
+     * @param columns    All the properties, the unique keys included.
+     */
+    default String upsertVertexSql(String schema, String table, List<String> uniqueKeys, Map<String, PropertyType> columns) {
+        throw new UnsupportedOperationException("Upsert is not supported by " + dialectName());
+    }
+
+    /**
+     * @return the column names of the properties, a property whose type spans more than one column includes its postfixed columns.
+     */
+    default List<String> sqlColumnNames(Map<String, PropertyType> columns) {
+        List<String> result = new ArrayList<>();
+        for (Map.Entry<String, PropertyType> column : columns.entrySet()) {
+            result.add(column.getKey());
+            for (int i = 1; i < propertyTypeToSqlDefinition(column.getValue()).length; i++) {
+                result.add(column.getKey() + column.getValue().getPostFixes()[i - 1]);
+            }
+        }
+        return result;
+    }
+
     /**
      * range condition
      *
@@ -440,6 +515,88 @@ public interface SqlDialect {
     	throw new UnsupportedOperationException("FullText search is not supported on this database");
     }
 
+    /**
+     * get the full text query on the tsvector column of a stored full text index
+     * @param fullText
+     * @param tsvectorColumn
+     * @return
+     */
+    default String getStoredFullTextQueryText(FullText fullText, String tsvectorColumn) {
+        throw new UnsupportedOperationException("FullText search is not supported on this database");
+    }
+
+    /**
+     * @return the ddl that adds the generated tsvector column of a stored full text index.
+     */
+    default String addStoredFullTextColumn(String schema, String table, String column, String configuration, List<String> properties) {
+        throw new UnsupportedOperationException("FullText search is not supported on this database");
+    }
+
+    /**
+     * @return the order by expression, including the direction, for {@link FullText#rank(String, boolean, String)}
+     */
+    default String getFullTextRankText(FullText.Rank rank, String column) {
+        throw new UnsupportedOperationException("FullText search is not supported on this database");
+    }
+
+    /**
+     * If false {@link Json} predicates are evaluated in memory.
+     */
+    default boolean supportsJsonPredicates() {
+        return false;
+    }
+
+    /**
+     * @param column the fully qualified column.
+     * @return the condition for the {@link Json} predicate, with a parameter for the predicate's value.
+     */
+    default String getJsonQueryText(Json json, String column) {
+        throw new UnsupportedOperationException("Json predicates are not supported on this database");
+    }
+
+    /**
+     * If false {@link org.umlg.sqlg.structure.IndexType#getTrigram(boolean)} creates a plain index.
+     */
+    default boolean supportsTrigramIndex() {
+        return false;
+    }
+
+    default String createTrigramExtension() {
+        throw new UnsupportedOperationException("Trigram indexes are not supported on this database");
+    }
+
+    /**
+     * If true {@link org.umlg.sqlg.structure.AbstractLabel#ensureIndexExistsAsync(org.umlg.sqlg.structure.IndexType, java.util.List)}
+     * builds the index with CREATE INDEX CONCURRENTLY, without blocking writes to the table.
+     * If false the index is created with a plain CREATE INDEX in a transaction of its own.
+     */
+    default boolean supportsConcurrentIndexBuild() {
+        return false;
+    }
+
+    /**
+     * Drops the index if a failed concurrent build left it behind as invalid. A valid index is left as is.
+     */
+    default void dropInvalidIndex(Connection connection, String schema, String indexName) throws SQLException {
+        throw new UnsupportedOperationException("Concurrent index builds are not supported on this database");
+    }
+
+    /**
+     * If false {@link ArrayPredicate}s are evaluated in memory.
+     */
+    default boolean supportsArrayPredicates() {
+        return false;
+    }
+
+    /**
+     * @param value  the value of the predicate, an array except for {@link ArrayPredicate#anyEquals}
+     * @param column the fully qualified column.
+     * @return the condition for the {@link ArrayPredicate}, with a parameter for the value.
+     */
+    default String getArrayQueryText(ArrayPredicate arrayPredicate, Object value, String column) {
+        throw new UnsupportedOperationException("Array predicates are not supported on this database");
+    }
+
     default boolean schemaExists(DatabaseMetaData metadata, String catalog, String schema) throws SQLException {
         ResultSet schemaRs = metadata.getSchemas(catalog, schema);
         return schemaRs.next();
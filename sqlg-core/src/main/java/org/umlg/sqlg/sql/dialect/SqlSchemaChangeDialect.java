@@ -16,6 +16,12 @@ public interface SqlSchemaChangeDialect extends SqlDialect {
         throw SqlgExceptions.multipleJvmNotSupported(dialectName());
     }
 
+    /**
+     * Starts listening for the topology changes other graphs send via {@link #notifyChange(SqlgGraph, LocalDateTime, JsonNode)}.
+     * Received changes are loaded via {@link org.umlg.sqlg.structure.Topology#fromNotifyJson(int, LocalDateTime)} as soon as they arrive,
+     * changes missed while the listener was not listening via {@link org.umlg.sqlg.structure.Topology#fromNotifyJsonSinceLastNotification()}.
+     * Only returns once the listener is listening.
+     */
     default void registerListener(SqlgGraph sqlgGraph) {
         throw SqlgExceptions.multipleJvmNotSupported(dialectName());
     }
@@ -24,6 +30,11 @@ public interface SqlSchemaChangeDialect extends SqlDialect {
         throw SqlgExceptions.multipleJvmNotSupported(dialectName());
     }
 
+    /**
+     * Writes the topology change to the log and notifies the other graphs of it once the transaction commits.
+     *
+     * @return the pid the notification is sent from, the graph ignores notifications from its own pids.
+     */
     default int notifyChange(SqlgGraph sqlgGraph, LocalDateTime timestamp, JsonNode jsonNode) {
         throw SqlgExceptions.multipleJvmNotSupported(dialectName());
     }
@@ -16,6 +16,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.*;
+import org.umlg.sqlg.predicate.Keyset;
 import org.umlg.sqlg.strategy.BaseSqlgStrategy;
 import org.umlg.sqlg.strategy.TopologyStrategy;
 import org.umlg.sqlg.structure.PropertyType;
@@ -90,6 +91,16 @@ public class ReplacedStep<S, E> {
         return this.hasContainers;
     }
 
+    /**
+     * @return the {@link Keyset} predicate of this step if it pages on a keyset.
+     */
+    public Optional<Keyset> getKeyset() {
+        return this.hasContainers.stream()
+                .filter(h -> h.getBiPredicate() instanceof Keyset)
+                .map(h -> (Keyset) h.getBiPredicate())
+                .findAny();
+    }
+
     public List<org.javatuples.Pair<Traversal.Admin, Comparator>> getComparators() {
         return this.comparators;
     }
@@ -13,7 +13,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.ElementValueComp
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.*;
 import org.umlg.sqlg.predicate.FullText;
+import org.umlg.sqlg.predicate.Keyset;
+import org.umlg.sqlg.predicate.SqlgComparator;
 import org.umlg.sqlg.sql.dialect.SqlBulkDialect;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
 import org.umlg.sqlg.strategy.BaseSqlgStrategy;
 import org.umlg.sqlg.strategy.TopologyStrategy;
 import org.umlg.sqlg.structure.PropertyType;
@@ -41,6 +44,9 @@ public class SchemaTableTree {
     private static final String CONSTRUCT_SQL_MAY_ONLY_BE_CALLED_ON_THE_ROOT_OBJECT = "constructSql may only be called on the root object";
     private static final String WITHIN = "within";
     private static final String WITHOUT = "without";
+    public static final String UNION_PART = "sqlgUnionPart";
+    public static final String UNION_START = "sqlgUnionStart";
+    public static final String GROUPED_BULK = "sqlgBulk";
     //stepDepth indicates the depth of the replaced steps. i.e. v1.out().out().out() existVertexLabel stepDepth 0,1,2,3
     private int stepDepth;
     private SchemaTable schemaTable;
@@ -346,6 +352,117 @@ public class SchemaTableTree {
         }
     }
 
+    /**
+     * Constructs the one query for a tree that qualifies for {@link #singleLeftJoinOptionalStack()}.
+     */
+    public String constructSqlForSingleLeftJoinOptional(LinkedList<SchemaTableTree> singleLeftJoinStack) {
+        Preconditions.checkState(this.parent == null, CONSTRUCT_SQL_MAY_ONLY_BE_CALLED_ON_THE_ROOT_OBJECT);
+        return constructSinglePathSql(this.sqlgGraph, false, singleLeftJoinStack, null, null, Collections.emptySet(), true);
+    }
+
+    /**
+     * A stack can be part of a UNION ALL statement if it has no duplicates and ends on a vertex.
+     */
+    public static boolean isUnionStack(LinkedList<SchemaTableTree> distinctQueryStack) {
+        return !duplicatesInStack(distinctQueryStack) && distinctQueryStack.getLast().getSchemaTable().isVertexTable();
+    }
+
+    /**
+     * Wraps the select of the stack to return only its leaf's id and properties, named as in the vertex's table.
+     * The selects of stacks ending on the same label then have the same columns and can be combined with UNION ALL.
+     *
+     * @param part       returned in the {@link #UNION_PART} column to tell which stack a row comes from.
+     * @param startDepth if not -1 the id of the labeled element at this depth is returned in the {@link #UNION_START} column.
+     */
+    public String constructSqlForUnion(LinkedList<SchemaTableTree> distinctQueryStack, int part, int startDepth) {
+        Preconditions.checkState(this.parent == null, CONSTRUCT_SQL_MAY_ONLY_BE_CALLED_ON_THE_ROOT_OBJECT);
+        Preconditions.checkState(isUnionStack(distinctQueryStack), "constructSqlForUnion expects a stack without duplicates ending on a vertex");
+        SqlDialect sqlDialect = this.sqlgGraph.getSqlDialect();
+        String singlePathSql = constructSinglePathSql(this.sqlgGraph, false, distinctQueryStack, null, null);
+        SchemaTableTree leaf = distinctQueryStack.getLast();
+        StringBuilder sql = new StringBuilder("\nSELECT\n\tu.");
+        sql.append(sqlDialect.maybeWrapInQoutes(getColumnNameAliasMap().get(leaf.idProperty())));
+        sql.append(" AS ").append(sqlDialect.maybeWrapInQoutes(SchemaManager.ID));
+        Map<String, PropertyType> propertyTypeMap = new TreeMap<>(leaf.getFilteredAllTables().get(leaf.getSchemaTable().toString()));
+        for (Map.Entry<String, PropertyType> propertyTypeMapEntry : propertyTypeMap.entrySet()) {
+            List<String> columns = new ArrayList<>();
+            columns.add(propertyTypeMapEntry.getKey());
+            for (String postFix : propertyTypeMapEntry.getValue().getPostFixes()) {
+                columns.add(propertyTypeMapEntry.getKey() + postFix);
+            }
+            for (String column : columns) {
+                String columnName = leaf.stepDepth + ALIAS_SEPARATOR + leaf.getSchemaTable().getSchema() + ALIAS_SEPARATOR + leaf.getSchemaTable().getTable() + ALIAS_SEPARATOR + column;
+                sql.append(", u.").append(sqlDialect.maybeWrapInQoutes(getColumnNameAliasMap().get(columnName)));
+                sql.append(" AS ").append(sqlDialect.maybeWrapInQoutes(column));
+            }
+        }
+        sql.append(", ").append(part).append(" AS ").append(sqlDialect.maybeWrapInQoutes(UNION_PART));
+        if (startDepth != -1) {
+            SchemaTableTree start = distinctQueryStack.stream()
+                    .filter(s -> s.stepDepth == startDepth && !s.labels.isEmpty())
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("BUG: no labeled element found at depth " + startDepth));
+            sql.append(", u.").append(sqlDialect.maybeWrapInQoutes(getColumnNameAliasMap().get(start.labeledAliasId())));
+            sql.append(" AS ").append(sqlDialect.maybeWrapInQoutes(UNION_START));
+        }
+        sql.append("\nFROM (").append(singlePathSql).append("\n) u");
+        return sql.toString();
+    }
+
+    /**
+     * The leaf of the stack can be grouped if the stack is a union stack and the dedup key, if any, is a simple property of the leaf.
+     */
+    public static boolean canGroupLeaf(LinkedList<SchemaTableTree> distinctQueryStack, String dedupKey) {
+        if (!isUnionStack(distinctQueryStack)) {
+            return false;
+        }
+        if (dedupKey == null) {
+            return true;
+        }
+        SchemaTableTree leaf = distinctQueryStack.getLast();
+        PropertyType propertyType = leaf.getFilteredAllTables().get(leaf.getSchemaTable().toString()).get(dedupKey);
+        return propertyType != null && propertyType.getPostFixes().length == 0 && propertyType != PropertyType.JSON;
+    }
+
+    /**
+     * Selects every distinct leaf element of the stack once instead of once per path.
+     * <p>
+     * With dedup the leaf's ids are selected distinct, or for dedup().by(key) the lowest id per key value.
+     * Without dedup the leaf's ids are grouped and their count returned in the {@link #GROUPED_BULK} column,
+     * it is the bulk of the leaf's traverser.
+     * The leaf's table is joined on the ids so that only the ids need to be compared.
+     */
+    public String constructSqlForGroupedLeaf(LinkedList<SchemaTableTree> distinctQueryStack, boolean dedup, String dedupKey) {
+        Preconditions.checkState(this.parent == null, CONSTRUCT_SQL_MAY_ONLY_BE_CALLED_ON_THE_ROOT_OBJECT);
+        Preconditions.checkState(canGroupLeaf(distinctQueryStack, dedupKey), "constructSqlForGroupedLeaf expects a stack whose leaf can be grouped");
+        SqlDialect sqlDialect = this.sqlgGraph.getSqlDialect();
+        String singlePathSql = constructSinglePathSql(this.sqlgGraph, false, distinctQueryStack, null, null);
+        SchemaTableTree leaf = distinctQueryStack.getLast();
+        String id = "u." + sqlDialect.maybeWrapInQoutes(getColumnNameAliasMap().get(leaf.idProperty()));
+        String groupedSql;
+        if (dedup && dedupKey != null) {
+            String keyColumnName = leaf.stepDepth + ALIAS_SEPARATOR + leaf.getSchemaTable().getSchema() + ALIAS_SEPARATOR + leaf.getSchemaTable().getTable() + ALIAS_SEPARATOR + dedupKey;
+            groupedSql = "SELECT MIN(" + id + ") AS " + sqlDialect.maybeWrapInQoutes(SchemaManager.ID) +
+                    " FROM (" + singlePathSql + "\n) u GROUP BY u." + sqlDialect.maybeWrapInQoutes(getColumnNameAliasMap().get(keyColumnName));
+        } else if (dedup) {
+            groupedSql = "SELECT DISTINCT " + id + " AS " + sqlDialect.maybeWrapInQoutes(SchemaManager.ID) +
+                    " FROM (" + singlePathSql + "\n) u";
+        } else {
+            groupedSql = "SELECT " + id + " AS " + sqlDialect.maybeWrapInQoutes(SchemaManager.ID) + ", COUNT(*) AS " + sqlDialect.maybeWrapInQoutes(GROUPED_BULK) +
+                    " FROM (" + singlePathSql + "\n) u GROUP BY " + id;
+        }
+        String sql = "\nSELECT\n\tl.*";
+        if (!dedup) {
+            sql += ", c." + sqlDialect.maybeWrapInQoutes(GROUPED_BULK);
+        }
+        sql += "\nFROM\n\t" + sqlDialect.maybeWrapInQoutes(leaf.getSchemaTable().getSchema()) + "." + sqlDialect.maybeWrapInQoutes(leaf.getSchemaTable().getTable()) + " l";
+        sql += " INNER JOIN (" + groupedSql + "\n) c ON l." + sqlDialect.maybeWrapInQoutes(SchemaManager.ID) + " = c." + sqlDialect.maybeWrapInQoutes(SchemaManager.ID);
+        if (sqlDialect.needsSemicolon()) {
+            sql += ";";
+        }
+        return sql;
+    }
+
     public String constructSqlForEmit(LinkedList<SchemaTableTree> innerJoinStack) {
         Preconditions.checkState(this.parent == null, CONSTRUCT_SQL_MAY_ONLY_BE_CALLED_ON_THE_ROOT_OBJECT);
         if (duplicatesInStack(innerJoinStack)) {
@@ -403,10 +520,47 @@ public class SchemaTableTree {
         return result;
     }
 
+    /**
+     * A tree without branches, whose optional elements are not followed by has containers, comparators, ranges or emits,
+     * is loaded with one query that left joins from the first optional element onwards.
+     * This replaces the regular query and the query per optional element of {@link #constructDistinctOptionalQueries(SchemaTableTree, List)}.
+     * A path that stops at an optional element is recognized by the null id of the optional element's child.
+     *
+     * @return the query stack from the root to the leaf, empty if the tree does not qualify.
+     */
+    public Optional<LinkedList<SchemaTableTree>> singleLeftJoinOptionalStack() {
+        Preconditions.checkState(this.parent == null, "singleLeftJoinOptionalStack may only be called on the root object");
+        LinkedList<SchemaTableTree> stack = new LinkedList<>();
+        boolean optional = false;
+        SchemaTableTree current = this;
+        while (current != null) {
+            if (current.children.size() > 1 || current.isEmit() || !current.getComparators().isEmpty() || current.range != null) {
+                return Optional.empty();
+            }
+            if (optional && !current.getHasContainers().isEmpty()) {
+                return Optional.empty();
+            }
+            stack.add(current);
+            optional = optional || current.isOptionalLeftJoinBeforeLeaf();
+            current = current.children.isEmpty() ? null : current.children.get(0);
+        }
+        if (!optional || stack.getLast().getStepDepth() != this.replacedStepDepth || duplicatesInStack(stack)) {
+            return Optional.empty();
+        }
+        return Optional.of(stack);
+    }
+
+    /**
+     * The leaf nodes are already present in the regular query, only the optional elements before them need a left join.
+     */
+    public boolean isOptionalLeftJoinBeforeLeaf() {
+        return this.isOptionalLeftJoin() && (this.getStepDepth() < this.getReplacedStepDepth());
+    }
+
     public static void constructDistinctOptionalQueries(SchemaTableTree current, List<Pair<LinkedList<SchemaTableTree>, Set<SchemaTableTree>>> result) {
         LinkedList<SchemaTableTree> stack = current.constructQueryStackFromLeaf();
         //left joins but not the leave nodes as they are already present in the main sql result set.
-        if (current.isOptionalLeftJoin() && (current.getStepDepth() < current.getReplacedStepDepth())) {
+        if (current.isOptionalLeftJoinBeforeLeaf()) {
             Set<SchemaTableTree> leftyChildren = new HashSet<>();
             leftyChildren.addAll(current.children);
             Pair p = Pair.of(stack, leftyChildren);
@@ -658,22 +812,39 @@ public class SchemaTableTree {
             SchemaTableTree firstOfNextStack,
             Set<SchemaTableTree> leftJoinOn) {
 
+        return constructSinglePathSql(sqlgGraph, partOfDuplicateQuery, distinctQueryStack, lastOfPrevious, firstOfNextStack, leftJoinOn, false);
+    }
+
+    /**
+     * @param singleLeftJoinOptional left join from the first optional element onwards, see {@link #singleLeftJoinOptionalStack()}
+     */
+    private static String constructSinglePathSql(
+            SqlgGraph sqlgGraph,
+            boolean partOfDuplicateQuery,
+            LinkedList<SchemaTableTree> distinctQueryStack,
+            SchemaTableTree lastOfPrevious,
+            SchemaTableTree firstOfNextStack,
+            Set<SchemaTableTree> leftJoinOn,
+            boolean singleLeftJoinOptional) {
+
         String singlePathSql = "\nSELECT\n\t";
         SchemaTableTree firstSchemaTableTree = distinctQueryStack.getFirst();
         SchemaTable firstSchemaTable = firstSchemaTableTree.getSchemaTable();
-        singlePathSql += constructFromClause(sqlgGraph, distinctQueryStack, lastOfPrevious, firstOfNextStack);
+        singlePathSql += constructFromClause(sqlgGraph, distinctQueryStack, lastOfPrevious, firstOfNextStack, singleLeftJoinOptional);
         singlePathSql += "\nFROM\n\t";
         singlePathSql += sqlgGraph.getSqlDialect().maybeWrapInQoutes(firstSchemaTableTree.getSchemaTable().getSchema());
         singlePathSql += ".";
         singlePathSql += sqlgGraph.getSqlDialect().maybeWrapInQoutes(firstSchemaTableTree.getSchemaTable().getTable());
         SchemaTableTree previous = firstSchemaTableTree;
         boolean skipFirst = true;
+        boolean leftJoin = false;
         for (SchemaTableTree schemaTableTree : distinctQueryStack) {
             if (skipFirst) {
                 skipFirst = false;
                 continue;
             }
-            singlePathSql += constructJoinBetweenSchemaTables(sqlgGraph, previous, schemaTableTree);
+            leftJoin = leftJoin || (singleLeftJoinOptional && previous.isOptionalLeftJoinBeforeLeaf());
+            singlePathSql += constructJoinBetweenSchemaTables(sqlgGraph, previous, schemaTableTree, leftJoin);
             previous = schemaTableTree;
         }
 
@@ -933,6 +1104,25 @@ public class SchemaTableTree {
                 } else {
                     throw new RuntimeException("Only handle Order.incr and Order.decr, not " + comparator.getValue1().toString());
                 }
+            } else if (comparator.getValue0() instanceof ElementValueTraversal<?> && comparator.getValue1() instanceof SqlgComparator) {
+                ElementValueTraversal elementValueTraversal = (ElementValueTraversal) comparator.getValue0();
+                String column;
+                if (counter == -1) {
+                    //the select's aliases can not be used in an expression, use the column itself
+                    column = sqlgGraph.getSqlDialect().maybeWrapInQoutes(this.getSchemaTable().getSchema()) + "." +
+                            sqlgGraph.getSqlDialect().maybeWrapInQoutes(this.getSchemaTable().getTable()) + "." +
+                            sqlgGraph.getSqlDialect().maybeWrapInQoutes(elementValueTraversal.getPropertyKey());
+                } else {
+                    String prefix = String.valueOf(this.stepDepth);
+                    prefix += SchemaTableTree.ALIAS_SEPARATOR;
+                    prefix += this.getSchemaTable().getSchema();
+                    prefix += SchemaTableTree.ALIAS_SEPARATOR;
+                    prefix += this.getSchemaTable().getTable();
+                    prefix += SchemaTableTree.ALIAS_SEPARATOR;
+                    prefix += elementValueTraversal.getPropertyKey();
+                    column = "a" + counter + "." + sqlgGraph.getSqlDialect().maybeWrapInQoutes(this.getColumnNameAliasMap().get(prefix));
+                }
+                result += " " + ((SqlgComparator) comparator.getValue1()).toOrderBySql(sqlgGraph.getSqlDialect(), column);
             } else {
                 Preconditions.checkState(comparator.getValue0().getSteps().size() == 1, "toOrderByClause expects a TraversalComparator to have exactly one step!");
                 Preconditions.checkState(comparator.getValue0().getSteps().get(0) instanceof SelectOneStep, "toOrderByClause expects a TraversalComparator to have exactly one SelectOneStep!");
@@ -979,9 +1169,27 @@ public class SchemaTableTree {
                 }
             }
         }
+        Optional<Keyset> keyset = getKeyset();
+        if (!result.isEmpty() && keyset.isPresent()) {
+            //keyset pages need a total order, ties on the sort key are ordered on the id
+            String alias;
+            if (counter == -1) {
+                alias = sqlgGraph.getSqlDialect().maybeWrapInQoutes(this.getColumnNameAliasMap().get(idProperty()));
+            } else {
+                alias = "a" + counter + "." + sqlgGraph.getSqlDialect().maybeWrapInQoutes(this.getColumnNameAliasMap().get(idProperty()));
+            }
+            result += ",\n\t " + alias + (keyset.get().isAscending() ? " ASC" : " DESC");
+        }
         return result;
     }
 
+    private Optional<Keyset> getKeyset() {
+        return this.hasContainers.stream()
+                .filter(h -> h.getBiPredicate() instanceof Keyset)
+                .map(h -> (Keyset) h.getBiPredicate())
+                .findAny();
+    }
+
     private String toRangeClause(SqlgGraph sqlgGraph) {
         if (range != null) {
             return " " + sqlgGraph.getSqlDialect().getRangeClause(range);
@@ -1056,7 +1264,8 @@ public class SchemaTableTree {
             SqlgGraph sqlgGraph,
             LinkedList<SchemaTableTree> distinctQueryStack,
             SchemaTableTree previousSchemaTableTree,
-            SchemaTableTree nextSchemaTableTree) {
+            SchemaTableTree nextSchemaTableTree,
+            boolean singleLeftJoinOptional) {
 
         SchemaTableTree firstSchemaTableTree = distinctQueryStack.getFirst();
         SchemaTableTree lastSchemaTableTree = distinctQueryStack.getLast();
@@ -1193,6 +1402,19 @@ public class SchemaTableTree {
             constructAllLabeledFromClause(distinctQueryStack, columnList);
             constructEmitFromClause(distinctQueryStack, columnList);
         }
+        if (singleLeftJoinOptional) {
+            //the optional elements and their children's ids show where a path stops
+            for (int i = 0; i < distinctQueryStack.size() - 1; i++) {
+                SchemaTableTree schemaTableTree = distinctQueryStack.get(i);
+                if (schemaTableTree.isOptionalLeftJoinBeforeLeaf()) {
+                    for (SchemaTableTree idSchemaTableTree : Arrays.asList(schemaTableTree, distinctQueryStack.get(i + 1))) {
+                        if (columnList.getAlias(idSchemaTableTree, SchemaManager.ID) == null) {
+                            printIDFromClauseFor(idSchemaTableTree, columnList);
+                        }
+                    }
+                }
+            }
+        }
         return columnList.toString();
     }
 
@@ -10,12 +10,22 @@ import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
 import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.umlg.sqlg.predicate.FullText;
+import org.umlg.sqlg.predicate.Keyset;
+import org.umlg.sqlg.predicate.SqlgPredicate;
 import org.umlg.sqlg.predicate.Text;
 import org.umlg.sqlg.sql.dialect.SqlDialect;
+import org.umlg.sqlg.structure.AbstractLabel;
+import org.umlg.sqlg.structure.Index;
+import org.umlg.sqlg.structure.IndexType;
+import org.umlg.sqlg.structure.SchemaManager;
+import org.umlg.sqlg.structure.SchemaTable;
 import org.umlg.sqlg.structure.SqlgGraph;
 import org.umlg.sqlg.util.SqlgUtil;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Created by pieter on 2015/08/03.
@@ -94,10 +104,29 @@ public class WhereClause {
             result += textToSql(sqlgGraph.getSqlDialect(), prefix, (Text) p.getBiPredicate());
             return result;
         } else if (p.getBiPredicate() instanceof FullText){
-        	prefix += "." + sqlgGraph.getSqlDialect().maybeWrapInQoutes(hasContainer.getKey());
         	FullText ft=(FullText)p.getBiPredicate();
-        	result += sqlgGraph.getSqlDialect().getFullTextQueryText(ft, prefix);
+        	Optional<String> tsvectorColumn = storedFullTextColumn(sqlgGraph, schemaTableTree.getSchemaTable(), hasContainer.getKey(), ft);
+        	if (tsvectorColumn.isPresent()) {
+        	    prefix += "." + sqlgGraph.getSqlDialect().maybeWrapInQoutes(tsvectorColumn.get());
+        	    result += sqlgGraph.getSqlDialect().getStoredFullTextQueryText(ft, prefix);
+        	} else {
+        	    prefix += "." + sqlgGraph.getSqlDialect().maybeWrapInQoutes(hasContainer.getKey());
+        	    result += sqlgGraph.getSqlDialect().getFullTextQueryText(ft, prefix);
+        	}
         	return result;
+        } else if (p.getBiPredicate() instanceof Keyset) {
+            String column = prefix + "." + sqlgGraph.getSqlDialect().maybeWrapInQoutes(hasContainer.getKey());
+            if (p.getValue() == null) {
+                return column + " IS NOT NULL";
+            }
+            //(column, ID) > (?, ?) written out, H2 and HSQLDB do not compare row values.
+            String id = prefix + "." + sqlgGraph.getSqlDialect().maybeWrapInQoutes(SchemaManager.ID);
+            String compare = ((Keyset) p.getBiPredicate()).isAscending() ? ">" : "<";
+            return "(" + column + " " + compare + "= ? AND (" + column + " " + compare + " ? OR " + id + " " + compare + " ?))";
+        } else if (p.getBiPredicate() instanceof SqlgPredicate) {
+            prefix += "." + sqlgGraph.getSqlDialect().maybeWrapInQoutes(hasContainer.getKey());
+            result += ((SqlgPredicate<?, Object>) p.getBiPredicate()).toSql(sqlgGraph.getSqlDialect(), prefix, p.getValue());
+            return result;
         }
         throw new IllegalStateException("Unhandled BiPredicate " + p.getBiPredicate().toString());
     }
@@ -157,6 +186,37 @@ public class WhereClause {
         return result;
     }
 
+    /**
+     * A FullText on the property itself, with the configuration of a stored full text index on exactly that property,
+     * is answered from the index's tsvector column.
+     */
+    private static Optional<String> storedFullTextColumn(SqlgGraph sqlgGraph, SchemaTable schemaTable, String key, FullText fullText) {
+        if (fullText.getQuery() != null) {
+            return Optional.empty();
+        }
+        SchemaTable withOutPrefix = schemaTable.withOutPrefix();
+        Optional<? extends AbstractLabel> abstractLabelOptional;
+        if (schemaTable.isVertexTable()) {
+            abstractLabelOptional = sqlgGraph.getTopology().getVertexLabel(withOutPrefix.getSchema(), withOutPrefix.getTable());
+        } else {
+            abstractLabelOptional = sqlgGraph.getTopology().getEdgeLabel(withOutPrefix.getSchema(), withOutPrefix.getTable());
+        }
+        if (!abstractLabelOptional.isPresent()) {
+            return Optional.empty();
+        }
+        for (Index index : abstractLabelOptional.get().getIndexes().values()) {
+            IndexType indexType = index.getIndexType();
+            if (indexType != null && indexType.isStoredFullText() &&
+                    Objects.equals(indexType.getProperties().get(IndexType.GIN_CONFIGURATION), fullText.getConfiguration()) &&
+                    index.getProperties().size() == 1 &&
+                    index.getProperties().get(0).getName().equals(key)) {
+
+                return Optional.of(Index.tsvectorColumnName(Collections.singletonList(key)));
+            }
+        }
+        return Optional.empty();
+    }
+
     private static String textToSql(SqlDialect sqlDialect, String prefix, Text text) {
         String result;
         switch (text) {
@@ -204,7 +264,7 @@ public class WhereClause {
         return prefix + result;
     }
 
-    public void putKeyValueMap(HasContainer hasContainer, Multimap<String, Object> keyValueMap) {
+    public void putKeyValueMap(SchemaTableTree schemaTableTree, HasContainer hasContainer, Multimap<String, Object> keyValueMap) {
         if (p instanceof OrP) {
             OrP<?> orP = (OrP<?>) p;
             Preconditions.checkState(orP.getPredicates().size() == 2, "Only handling OrP with 2 predicates!");
@@ -235,8 +295,32 @@ public class WhereClause {
             keyValueMap.put(hasContainer.getKey(), hasContainer.getValue() + "%");
         } else if (p.getBiPredicate() == Text.endsWith || p.getBiPredicate() == Text.nendsWith) {
             keyValueMap.put(hasContainer.getKey(), "%" + hasContainer.getValue());
+        } else if (p.getBiPredicate() instanceof Keyset) {
+            if (p.getValue() != null) {
+                Keyset.Token token = (Keyset.Token) p.getValue();
+                keyValueMap.put(hasContainer.getKey(), token.getValue());
+                keyValueMap.put(hasContainer.getKey(), token.getValue());
+                keyValueMap.put(SchemaManager.ID, keysetId(schemaTableTree.getSchemaTable(), (Keyset) p.getBiPredicate(), token));
+            }
+        } else if (p.getBiPredicate() instanceof SqlgPredicate) {
+            for (Object parameter : ((SqlgPredicate<?, Object>) p.getBiPredicate()).getParameters(hasContainer.getValue())) {
+                keyValueMap.put(hasContainer.getKey(), parameter);
+            }
         } else {
             keyValueMap.put(hasContainer.getKey(), hasContainer.getValue());
         }
     }
+
+    /**
+     * Elements with the same sort key are ordered on their {@link org.umlg.sqlg.structure.RecordId}, first on the label then on the id.
+     * On the token's label the id continues after the token's id, other labels include all or none of their ties.
+     */
+    private static long keysetId(SchemaTable schemaTable, Keyset keyset, Keyset.Token token) {
+        int compare = schemaTable.withOutPrefix().compareTo(token.getRecordId().getSchemaTable());
+        if (compare == 0) {
+            return token.getRecordId().getId();
+        }
+        boolean includeTies = (compare > 0) == keyset.isAscending();
+        return includeTies == keyset.isAscending() ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
 }
@@ -11,7 +11,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.ChooseStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.LocalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.UnionStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.CyclicPathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.SimplePathStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.*;
@@ -19,6 +21,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentitySt
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SackValueStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.TreeSideEffectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ElementValueComparator;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
@@ -33,9 +36,14 @@ import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.umlg.sqlg.predicate.FullText;
+import org.umlg.sqlg.predicate.Keyset;
+import org.umlg.sqlg.predicate.SqlgComparator;
+import org.umlg.sqlg.predicate.SqlgPredicate;
 import org.umlg.sqlg.predicate.Text;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
 import org.umlg.sqlg.sql.parse.ReplacedStep;
 import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.Topology;
 
 import java.time.Duration;
 import java.time.Period;
@@ -205,6 +213,18 @@ public abstract class BaseSqlgStrategy extends AbstractTraversalStrategy<Travers
                     lastReplacedStep = replacedStep;
                     chooseStepAdded = false;
                 } else {
+                    if (lastReplacedStep != null && sqlgStep instanceof SqlgGraphStepCompiled && step instanceof DedupGlobalStep) {
+                        //the dedup is compiled into the leaf's query, later steps are not optimized
+                        if (foldDedup(traversal, (SqlgGraphStepCompiled<?, ?>) sqlgStep, (DedupGlobalStep<?>) step)) {
+                            break;
+                        }
+                    }
+                    if (lastReplacedStep != null && sqlgStep instanceof SqlgGraphStepCompiled && (step instanceof UnionStep || step instanceof CoalesceStep)) {
+                        //the branches are compiled into the graph step, later steps are not optimized
+                        if (foldBranches(traversal, (SqlgGraphStepCompiled<?, ?>) sqlgStep, step, pathCount)) {
+                            break;
+                        }
+                    }
                     if (lastReplacedStep != null) {
                         boolean doLastEntry = step instanceof OrderGlobalStep || step instanceof RangeGlobalStep;
                         if (!doLastEntry && (step instanceof SelectStep || step instanceof SelectOneStep || step instanceof EmptyStep) && stepIterator.hasNext()) {
@@ -226,6 +246,105 @@ public abstract class BaseSqlgStrategy extends AbstractTraversalStrategy<Travers
         if (lastReplacedStep != null && !lastReplacedStep.isEmit() && lastReplacedStep.getLabels().isEmpty()) {
             lastReplacedStep.addLabel((pathCount) + BaseSqlgStrategy.PATH_LABEL_SUFFIX + BaseSqlgStrategy.SQLG_PATH_FAKE_LABEL);
         }
+        //multi hop paths without path requirements fan out to many duplicate leaf elements, they are returned once as a bulked traverser
+        if (sqlgStep instanceof SqlgGraphStepCompiled && sqlgStep.getReplacedSteps().size() > 2 &&
+                needsLeafOnly(traversal, (SqlgGraphStepCompiled<?, ?>) sqlgStep)) {
+            ((SqlgGraphStepCompiled<?, ?>) sqlgStep).groupLeaf(false, null);
+        }
+    }
+
+    /**
+     * Compiles the branches of a union() or coalesce() that directly follows the compiled steps.
+     * Every branch must consist of vertex steps with optimizable has steps and end on a vertex.
+     * The traversal may not have labels nor need paths as only the branches' leaf vertices are loaded.
+     *
+     * @return true if the branches were compiled and the step removed from the traversal.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean foldBranches(Traversal.Admin<?, ?> traversal, SqlgGraphStepCompiled sqlgStep, Step<?, ?> step, int pathCount) {
+        if (!needsLeafOnly(traversal, sqlgStep)) {
+            return false;
+        }
+        List<Traversal.Admin<?, ?>> branchTraversals = new ArrayList<>();
+        if (step instanceof UnionStep) {
+            branchTraversals.addAll(((UnionStep<?, ?>) step).getGlobalChildren());
+        } else {
+            branchTraversals.addAll(((CoalesceStep<?, ?>) step).getLocalChildren());
+        }
+        Topology topology = ((SqlgGraph) traversal.getGraph().get()).getTopology();
+        List<List<ReplacedStep<?, ?>>> branches = new ArrayList<>();
+        for (Traversal.Admin<?, ?> branchTraversal : branchTraversals) {
+            //the has steps are collected from a clone so that the branch is untouched if it can not be compiled
+            Traversal.Admin<?, ?> branchClone = branchTraversal.clone();
+            List<Step> branchSteps = new ArrayList<>(branchClone.getSteps());
+            ListIterator<Step> branchStepIterator = branchSteps.listIterator();
+            List<ReplacedStep<?, ?>> branch = new ArrayList<>();
+            int branchPathCount = pathCount;
+            Step<?, ?> lastBranchStep = null;
+            while (branchStepIterator.hasNext()) {
+                Step<?, ?> branchStep = branchStepIterator.next();
+                if (branchStep instanceof ComputerAwareStep.EndStep && !branchStepIterator.hasNext()) {
+                    break;
+                }
+                if (!(branchStep instanceof VertexStep) && !(branchStep instanceof EdgeVertexStep)) {
+                    return false;
+                }
+                branchPathCount++;
+                ReplacedStep<?, ?> replacedStep = ReplacedStep.from(topology, (AbstractStep) branchStep, branchPathCount);
+                branch.add(replacedStep);
+                collectHasSteps(branchStepIterator, branchClone, replacedStep, branchPathCount);
+                lastBranchStep = branchStep;
+            }
+            boolean endsOnVertex = lastBranchStep instanceof EdgeVertexStep ||
+                    (lastBranchStep instanceof VertexStep && ((VertexStep) lastBranchStep).returnsVertex());
+            //has steps that could not be optimized remain in the branch
+            if (!endsOnVertex || branchClone.getSteps().stream().anyMatch(s -> s instanceof HasContainerHolder)) {
+                return false;
+            }
+            branch.get(branch.size() - 1).addLabel(branchPathCount + BaseSqlgStrategy.PATH_LABEL_SUFFIX + BaseSqlgStrategy.SQLG_PATH_FAKE_LABEL);
+            branches.add(branch);
+        }
+        sqlgStep.addBranches(branches, step instanceof CoalesceStep);
+        traversal.removeStep(step);
+        return true;
+    }
+
+    /**
+     * Compiles a dedup() or dedup().by(key) that directly follows the compiled steps into the leaf's query.
+     * The dedup step is removed if there is only one query, else it removes the duplicates across the queries.
+     */
+    private boolean foldDedup(Traversal.Admin<?, ?> traversal, SqlgGraphStepCompiled sqlgStep, DedupGlobalStep<?> step) {
+        if (!needsLeafOnly(traversal, sqlgStep) || sqlgStep.getReplacedSteps().size() < 2 || !step.getScopeKeys().isEmpty()) {
+            return false;
+        }
+        String dedupKey = null;
+        if (!step.getLocalChildren().isEmpty()) {
+            if (!(step.getLocalChildren().get(0) instanceof ElementValueTraversal)) {
+                return false;
+            }
+            dedupKey = ((ElementValueTraversal<?>) step.getLocalChildren().get(0)).getPropertyKey();
+        }
+        sqlgStep.groupLeaf(true, dedupKey);
+        sqlgStep.parseForStrategy();
+        if (sqlgStep.isSingleGroupedLeafQuery()) {
+            traversal.removeStep(step);
+        }
+        return true;
+    }
+
+    /**
+     * True if only the leaf elements of the compiled steps are needed, i.e. there are no labels, paths,
+     * emits, optionals, order or range.
+     */
+    private boolean needsLeafOnly(Traversal.Admin<?, ?> traversal, SqlgGraphStepCompiled<?, ?> sqlgStep) {
+        if (sqlgStep.hasBranches() || sqlgStep.isGroupLeaf()) {
+            return false;
+        }
+        if (precedesPathOrTreeStep(traversal) || !TraversalHelper.getLabels(TraversalHelper.getRootTraversal(traversal)).isEmpty()) {
+            return false;
+        }
+        List<? extends ReplacedStep<?, ?>> replacedSteps = sqlgStep.getReplacedSteps();
+        return replacedSteps.stream().noneMatch(r -> r.isEmit() || r.isLeftJoin() || !r.getComparators().isEmpty() || r.getRange() != null);
     }
 
     private boolean unoptimizableChooseStep(List<Step> steps, int index) {
@@ -365,6 +484,7 @@ public abstract class BaseSqlgStrategy extends AbstractTraversalStrategy<Travers
                     toRemoveHasContainers.addAll(optimizeInside(replacedStep, hasContainers));
                     toRemoveHasContainers.addAll(optimizeOutside(replacedStep, hasContainers));
                     toRemoveHasContainers.addAll(optimizeTextContains(replacedStep, hasContainers));
+                    toRemoveHasContainers.addAll(optimizeSqlgPredicates(((SqlgGraph) traversal.getGraph().get()).getSqlDialect(), replacedStep, hasContainers));
                     if (toRemoveHasContainers.size() == hasContainers.size()) {
                         if (!currentStep.getLabels().isEmpty()) {
                             final IdentityStep identityStep = new IdentityStep<>(traversal);
@@ -533,7 +653,8 @@ public abstract class BaseSqlgStrategy extends AbstractTraversalStrategy<Travers
         List<HasContainer> result = new ArrayList<>();
         for (HasContainer hasContainer : hasContainers) {
             if (hasContainer.getBiPredicate() instanceof Text ||
-                    hasContainer.getBiPredicate() instanceof FullText
+                    hasContainer.getBiPredicate() instanceof FullText ||
+                    hasContainer.getBiPredicate() instanceof Keyset
                     ) {
                 replacedStep.addHasContainer(hasContainer);
                 result.add(hasContainer);
@@ -542,12 +663,15 @@ public abstract class BaseSqlgStrategy extends AbstractTraversalStrategy<Travers
         return result;
     }
 
-    private boolean isTextContains(List<HasContainer> hasContainers) {
-        return (hasContainers.size() == 1 && !hasContainers.get(0).getKey().equals(T.label.getAccessor()) &&
-                !hasContainers.get(0).getKey().equals(T.id.getAccessor()) &&
-                (hasContainers.get(0).getBiPredicate() instanceof Text ||
-                        hasContainers.get(0).getBiPredicate() instanceof FullText
-                ));
+    private List<HasContainer> optimizeSqlgPredicates(SqlDialect sqlDialect, ReplacedStep<?, ?> replacedStep, List<HasContainer> hasContainers) {
+        List<HasContainer> result = new ArrayList<>();
+        for (HasContainer hasContainer : hasContainers) {
+            if (hasContainer.getBiPredicate() instanceof SqlgPredicate && ((SqlgPredicate) hasContainer.getBiPredicate()).supports(sqlDialect)) {
+                replacedStep.addHasContainer(hasContainer);
+                result.add(hasContainer);
+            }
+        }
+        return result;
     }
 
     static boolean isElementValueComparator(OrderGlobalStep orderGlobalStep) {
@@ -556,10 +680,17 @@ public abstract class BaseSqlgStrategy extends AbstractTraversalStrategy<Travers
                 ((ElementValueComparator) c).getValueComparator() == Order.decr))
                 || (c instanceof Pair<?, ?>
                 && ((Pair<?, ?>) c).getValue0() instanceof ElementValueTraversal<?>
-                && ((Pair<?, ?>) c).getValue1() instanceof Order)
+                && (((Pair<?, ?>) c).getValue1() instanceof Order || isSupportedSqlgComparator(orderGlobalStep, ((Pair<?, ?>) c).getValue1())))
         );
     }
 
+    private static boolean isSupportedSqlgComparator(OrderGlobalStep orderGlobalStep, Object comparator) {
+        return comparator instanceof SqlgComparator &&
+                orderGlobalStep.getTraversal().getGraph().isPresent() &&
+                orderGlobalStep.getTraversal().getGraph().get() instanceof SqlgGraph &&
+                ((SqlgComparator) comparator).supports(((SqlgGraph) orderGlobalStep.getTraversal().getGraph().get()).getSqlDialect());
+    }
+
     static boolean isTraversalComparatorWithSelectOneStep(OrderGlobalStep orderGlobalStep) {
         for (final Pair<Traversal.Admin<Object, Comparable>, Comparator<Comparable>> pair : ((ComparatorHolder<Object, Comparable>) orderGlobalStep).getComparators()) {
             Traversal.Admin<Object, Comparable> traversal = pair.getValue0();
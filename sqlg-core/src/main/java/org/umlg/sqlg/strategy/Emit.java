@@ -19,6 +19,8 @@ public class Emit<E extends SqlgElement> {
     //This is set to true for local optional step where the query has no labels, i.e. for a single SchemaTableTree only.
     //In this case the element will already be on the traverser i.e. the incoming element.
     private boolean incomingOnlyLocalOptionalStep;
+    //The number of traversers this emit stands for, see SchemaTableTree.constructSqlForGroupedLeaf
+    private long bulk = 1;
 
     public Emit() {
         this.fake = true;
@@ -73,6 +75,14 @@ public class Emit<E extends SqlgElement> {
         this.incomingOnlyLocalOptionalStep = incomingOnlyLocalOptionalStep;
     }
 
+    public long getBulk() {
+        return bulk;
+    }
+
+    public void setBulk(long bulk) {
+        this.bulk = bulk;
+    }
+
     @Override
     public String toString() {
         String result = "";
@@ -20,6 +20,7 @@ import org.umlg.sqlg.sql.parse.SchemaTableTree;
 import org.umlg.sqlg.structure.SqlgCompiledResultIterator;
 import org.umlg.sqlg.structure.SqlgElement;
 import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.SqlgUnionResultIterator;
 
 import java.util.*;
 import java.util.function.Supplier;
@@ -35,6 +36,17 @@ public class SqlgGraphStepCompiled<S extends SqlgElement, E extends SqlgElement>
     private List<ReplacedStep<S, E>> replacedSteps = new ArrayList<>();
     private SqlgGraph sqlgGraph;
     private Map<SchemaTableTree, List<Pair<LinkedList<SchemaTableTree>, String>>> parsedForStrategySql = new HashMap<>();
+    /**
+     * The replaced steps of the branches of a union() or coalesce() that follows the replaced steps.
+     */
+    private List<List<ReplacedStep<S, E>>> branches = new ArrayList<>();
+    private boolean coalesce;
+    /**
+     * Load the distinct leaf elements only, see {@link SqlgCompiledResultIterator#groupLeaf(boolean, String)}
+     */
+    private boolean groupLeaf;
+    private boolean dedup;
+    private String dedupKey;
 
     private transient Supplier<Iterator<Emit<E>>> iteratorSupplier;
     private Iterator<Emit<E>> iterator = EmptyIterator.instance();
@@ -82,6 +94,9 @@ public class SqlgGraphStepCompiled<S extends SqlgElement, E extends SqlgElement>
                         traverser = ((B_LP_O_P_S_SE_SL_Traverser) traverser).split(e, this);
                     }
                 }
+                if (emit.getBulk() != 1 && traverser != null) {
+                    traverser.setBulk(traverser.bulk() * emit.getBulk());
+                }
                 return traverser;
             } else {
                 if (this.isStart) {
@@ -130,8 +145,23 @@ public class SqlgGraphStepCompiled<S extends SqlgElement, E extends SqlgElement>
         stopWatch.start();
         Preconditions.checkState(this.replacedSteps.size() > 0, "There must be at least one replacedStep");
         Preconditions.checkState(this.replacedSteps.get(0).isGraphStep(), "The first step must a SqlgGraphStep");
-        Set<SchemaTableTree> rootSchemaTableTrees = this.sqlgGraph.getGremlinParser().parse(this.replacedSteps);
-        SqlgCompiledResultIterator<List<Emit<E>>> resultIterator = new SqlgCompiledResultIterator<>(this.sqlgGraph, rootSchemaTableTrees);
+        Iterator<List<Emit<E>>> resultIterator;
+        if (this.branches.isEmpty()) {
+            Set<SchemaTableTree> rootSchemaTableTrees = this.sqlgGraph.getGremlinParser().parse(this.replacedSteps);
+            SqlgCompiledResultIterator<List<Emit<E>>> compiledResultIterator = new SqlgCompiledResultIterator<>(this.sqlgGraph, rootSchemaTableTrees);
+            if (this.groupLeaf) {
+                compiledResultIterator.groupLeaf(this.dedup, this.dedupKey);
+            }
+            resultIterator = compiledResultIterator;
+        } else {
+            List<Set<SchemaTableTree>> branchRootSchemaTableTrees = new ArrayList<>();
+            for (List<ReplacedStep<S, E>> branch : this.branches) {
+                List<ReplacedStep<S, E>> replacedSteps = new ArrayList<>(this.replacedSteps);
+                replacedSteps.addAll(branch);
+                branchRootSchemaTableTrees.add(this.sqlgGraph.getGremlinParser().parse(replacedSteps));
+            }
+            resultIterator = new SqlgUnionResultIterator<>(this.sqlgGraph, branchRootSchemaTableTrees, this.replacedSteps.size() - 1, this.coalesce);
+        }
         stopWatch.stop();
         if (logger.isDebugEnabled()) {
             logger.debug("SqlgGraphStepCompiled finished, time taken {}", stopWatch.toString());
@@ -146,6 +176,50 @@ public class SqlgGraphStepCompiled<S extends SqlgElement, E extends SqlgElement>
         this.replacedSteps.add(replacedStep);
     }
 
+    /**
+     * The branches continue from the last replaced step, their results replace the results of the replaced steps.
+     */
+    void addBranches(List<List<ReplacedStep<S, E>>> branches, boolean coalesce) {
+        Preconditions.checkState(this.branches.isEmpty(), "The branches have already been added");
+        for (List<ReplacedStep<S, E>> branch : branches) {
+            for (int i = 0; i < branch.size(); i++) {
+                branch.get(i).setDepth(this.replacedSteps.size() + i);
+            }
+        }
+        this.branches.addAll(branches);
+        this.coalesce = coalesce;
+    }
+
+    boolean hasBranches() {
+        return !this.branches.isEmpty();
+    }
+
+    /**
+     * @param dedup    the leaf elements are deduplicated, else their number of paths is returned as the traverser's bulk.
+     * @param dedupKey the property to deduplicate on, null to deduplicate on the element.
+     */
+    void groupLeaf(boolean dedup, String dedupKey) {
+        this.groupLeaf = true;
+        this.dedup = dedup;
+        this.dedupKey = dedupKey;
+    }
+
+    boolean isGroupLeaf() {
+        return this.groupLeaf;
+    }
+
+    /**
+     * After {@link #parseForStrategy()}, true if there is one query and its leaf can be grouped.
+     * The grouped query then returns no duplicates at all.
+     */
+    boolean isSingleGroupedLeafQuery() {
+        if (this.parsedForStrategySql.size() != 1) {
+            return false;
+        }
+        List<Pair<LinkedList<SchemaTableTree>, String>> sqlStatements = this.parsedForStrategySql.values().iterator().next();
+        return sqlStatements.size() == 1 && SchemaTableTree.canGroupLeaf(sqlStatements.get(0).getLeft(), this.dedupKey);
+    }
+
     @Override
     public void parseForStrategy() {
         this.parsedForStrategySql.clear();
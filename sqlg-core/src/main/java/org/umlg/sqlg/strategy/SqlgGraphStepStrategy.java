@@ -6,6 +6,7 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.optimization.MessagePassingReductionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.*;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
@@ -16,6 +17,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.predicate.Keyset;
 import org.umlg.sqlg.sql.parse.ReplacedStep;
 import org.umlg.sqlg.structure.SqlgGraph;
 
@@ -97,10 +99,26 @@ public class SqlgGraphStepStrategy extends BaseSqlgStrategy {
         } else {
         	// check if next step isn't a range
             if (stepIterator.hasNext()){
-            	step=stepIterator.next();
-            	if (!collectRangeGlobalStep(step, stepIterator, traversal, lastReplacedStep,true,pathCount)){
-            		stepIterator.previous();
-            	}
+                Optional<Keyset> keyset = lastReplacedStep.getKeyset();
+                if (keyset.isPresent() && step instanceof OrderGlobalStep && isElementValueComparator((OrderGlobalStep) step)) {
+                    //each label's page is ordered and limited, the order and range steps then merge the pages
+                    Step nextStep = stepIterator.next();
+                    if (!collectRangeGlobalStep(nextStep, stepIterator, traversal, lastReplacedStep, true, pathCount)) {
+                        stepIterator.previous();
+                    }
+                    if (lastReplacedStep.getRange() != null) {
+                        lastReplacedStep.getComparators().addAll(((OrderGlobalStep) step).getComparators());
+                        //ties on the sort key are merged in the keyset's order, on a copy of the traversal's step
+                        OrderGlobalStep orderGlobalStep = ((OrderGlobalStep) step).clone();
+                        orderGlobalStep.addComparator(new IdentityTraversal<>(), keyset.get().idComparator());
+                        TraversalHelper.replaceStep(step, orderGlobalStep, traversal);
+                    }
+                } else {
+                    step=stepIterator.next();
+                    if (!collectRangeGlobalStep(step, stepIterator, traversal, lastReplacedStep,true,pathCount)){
+                        stepIterator.previous();
+                    }
+                }
             }
         }
     }
@@ -0,0 +1,35 @@
+package org.umlg.sqlg.strategy;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.umlg.sqlg.predicate.Keyset;
+
+/**
+ * Evaluates a {@link Keyset} predicate that could not be added to the sql, ties on the sort key are broken on the element's id.
+ */
+class SqlgKeysetFilterStep<S extends Element> extends FilterStep<S> {
+
+    private final String key;
+    private final Keyset keyset;
+    private final Keyset.Token token;
+
+    SqlgKeysetFilterStep(Traversal.Admin traversal, String key, Keyset keyset, Keyset.Token token) {
+        super(traversal);
+        this.key = key;
+        this.keyset = keyset;
+        this.token = token;
+    }
+
+    @Override
+    protected boolean filter(Traverser.Admin<S> traverser) {
+        return this.keyset.test(traverser.get(), this.key, this.token);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.key, this.keyset, this.token);
+    }
+}
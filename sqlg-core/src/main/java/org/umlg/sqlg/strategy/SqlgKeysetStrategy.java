@@ -0,0 +1,70 @@
+package org.umlg.sqlg.strategy;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.InlineFilterStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.umlg.sqlg.predicate.Keyset;
+import org.umlg.sqlg.structure.SqlgGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link Keyset} predicates that remain in a {@link HasStep} after the sql optimizations are evaluated in memory.
+ * The {@link HasContainer} only sees the property value, so the predicate is moved to a {@link SqlgKeysetFilterStep}
+ * that breaks ties on the element's id the same way the sql does.
+ */
+public class SqlgKeysetStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    public SqlgKeysetStrategy() {
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void apply(Traversal.Admin<?, ?> traversal) {
+        if (!(traversal.getGraph().orElse(null) instanceof SqlgGraph)) {
+            return;
+        }
+        for (HasStep<?> hasStep : TraversalHelper.getStepsOfClass(HasStep.class, traversal)) {
+            List<HasContainer> keysets = new ArrayList<>();
+            List<HasContainer> others = new ArrayList<>();
+            for (HasContainer hasContainer : hasStep.getHasContainers()) {
+                if (hasContainer.getBiPredicate() instanceof Keyset) {
+                    keysets.add(hasContainer);
+                } else {
+                    others.add(hasContainer);
+                }
+            }
+            if (keysets.isEmpty()) {
+                continue;
+            }
+            int index = traversal.getSteps().indexOf(hasStep);
+            traversal.removeStep(index);
+            Step<?, ?> last = null;
+            if (!others.isEmpty()) {
+                last = new HasStep(traversal, others.toArray(new HasContainer[others.size()]));
+                traversal.addStep(index++, last);
+            }
+            for (HasContainer keyset : keysets) {
+                last = new SqlgKeysetFilterStep<>(traversal, keyset.getKey(), (Keyset) keyset.getBiPredicate(), (Keyset.Token) keyset.getValue());
+                traversal.addStep(index++, last);
+            }
+            for (String label : hasStep.getLabels()) {
+                last.addLabel(label);
+            }
+        }
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPrior() {
+        return Stream.of(SqlgGraphStepStrategy.class, SqlgVertexStepStrategy.class, InlineFilterStrategy.class).collect(Collectors.toSet());
+    }
+}
@@ -4,6 +4,8 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.metrics.SqlgMetrics;
+import org.umlg.sqlg.metrics.StatementKind;
 import org.umlg.sqlg.sql.parse.SchemaTableTree;
 import org.umlg.sqlg.structure.RecordId;
 import org.umlg.sqlg.structure.SqlgGraph;
@@ -11,6 +13,7 @@ import org.umlg.sqlg.util.SqlgUtil;
 
 import java.sql.*;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -34,6 +37,14 @@ public class SqlgSqlExecutor {
         return executeQuery(sqlgGraph, recordId, sql, distinctQueryStack);
     }
 
+    public static Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeGroupedLeafQuery(
+            SqlgGraph sqlgGraph, SchemaTableTree rootSchemaTableTree, RecordId recordId,
+            LinkedList<SchemaTableTree> distinctQueryStack, boolean dedup, String dedupKey) {
+
+        String sql = rootSchemaTableTree.constructSqlForGroupedLeaf(distinctQueryStack, dedup, dedupKey);
+        return executeQuery(sqlgGraph, recordId, sql, distinctQueryStack);
+    }
+
     public static Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeOptionalQuery(
             SqlgGraph sqlgGraph, SchemaTableTree rootSchemaTableTree, RecordId recordId,
             Pair<LinkedList<SchemaTableTree>, Set<SchemaTableTree>> leftJoinQuery) {
@@ -43,6 +54,14 @@ public class SqlgSqlExecutor {
         return executeQuery(sqlgGraph, recordId, sql, distinctQueryStack);
     }
 
+    public static Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeSingleLeftJoinOptionalQuery(
+            SqlgGraph sqlgGraph, SchemaTableTree rootSchemaTableTree, RecordId recordId,
+            LinkedList<SchemaTableTree> singleLeftJoinStack) {
+
+        String sql = rootSchemaTableTree.constructSqlForSingleLeftJoinOptional(singleLeftJoinStack);
+        return executeQuery(sqlgGraph, recordId, sql, singleLeftJoinStack);
+    }
+
     public static Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeEmitQuery(
             SqlgGraph sqlgGraph, SchemaTableTree rootSchemaTableTree, RecordId recordId,
             LinkedList<SchemaTableTree> leftJoinQuery) {
@@ -51,6 +70,36 @@ public class SqlgSqlExecutor {
         return executeQuery(sqlgGraph, recordId, sql, leftJoinQuery);
     }
 
+    /**
+     * Executes the UNION ALL of the stacks' selects, the parameters are set in the order of the stacks.
+     */
+    public static Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeUnionQuery(
+            SqlgGraph sqlgGraph, String sql, List<LinkedList<SchemaTableTree>> distinctQueryStacks) {
+
+        try {
+            Connection conn = sqlgGraph.tx().getConnection();
+            if (logger.isDebugEnabled()) {
+                logger.debug(sql);
+            }
+            PreparedStatement preparedStatement = conn.prepareStatement(sql);
+            sqlgGraph.tx().add(preparedStatement);
+            int parameterCount = 1;
+            for (LinkedList<SchemaTableTree> distinctQueryStack : distinctQueryStacks) {
+                parameterCount = SqlgUtil.setParametersOnStatement(sqlgGraph, distinctQueryStack, conn, preparedStatement, parameterCount);
+            }
+            SqlgMetrics metrics = sqlgGraph.getMetrics();
+            long start = metrics.isEnabled() ? System.nanoTime() : 0L;
+            ResultSet resultSet = preparedStatement.executeQuery();
+            if (metrics.isEnabled()) {
+                metrics.statement(StatementKind.QUERY, System.nanoTime() - start);
+            }
+            ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
+            return Triple.of(resultSet, resultSetMetaData, preparedStatement);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private static Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeQuery(SqlgGraph sqlgGraph, RecordId recordId, String sql, LinkedList<SchemaTableTree> distinctQueryStack) {
         try {
             Connection conn = sqlgGraph.tx().getConnection();
@@ -89,7 +138,12 @@ public class SqlgSqlExecutor {
             }
             SqlgUtil.setParametersOnStatement(sqlgGraph, distinctQueryStack, conn, preparedStatement, parameterCount);
 //            preparedStatement.setFetchSize(100_000);
+            SqlgMetrics metrics = sqlgGraph.getMetrics();
+            long start = metrics.isEnabled() ? System.nanoTime() : 0L;
             ResultSet resultSet = preparedStatement.executeQuery();
+            if (metrics.isEnabled()) {
+                metrics.statement(StatementKind.QUERY, System.nanoTime() - start);
+            }
             ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
             return Triple.of(resultSet, resultSetMetaData, preparedStatement);
         } catch (SQLException e) {
@@ -5,16 +5,15 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Preconditions;
 import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
-import static org.umlg.sqlg.structure.Topology.SQLG_SCHEMA_PROPERTY_NAME;
-import static org.umlg.sqlg.structure.Topology.SQLG_SCHEMA_PROPERTY_TYPE;
 
 /**
  * Date: 2016/09/14
@@ -32,6 +31,8 @@ public abstract class AbstractLabel implements TopologyInf {
     Map<String, PropertyColumn> uncommittedGlobalUniqueIndexProperties = new HashMap<>();
     private Map<String, Index> indexes = new HashMap<>();
     private Map<String, Index> uncommittedIndexes = new HashMap<>();
+    //the indexes being built by ensureIndexExistsAsync, they are not part of the topology till they are valid.
+    private final Map<String, CompletableFuture<Index>> buildingIndexes = new ConcurrentHashMap<>();
 
     /**
      * Only called for a new vertex/edge label being added.
@@ -79,12 +80,83 @@ public abstract class AbstractLabel implements TopologyInf {
     }
 
     private Index createIndex(String indexName, IndexType indexType, List<PropertyColumn> properties) {
-        Index index = Index.createIndex(this.sqlgGraph, this, indexName, indexType, properties);
-        this.uncommittedIndexes.put(indexName, index);
+        return addUncommittedIndex(Index.createIndex(this.sqlgGraph, this, indexName, indexType, properties));
+    }
+
+    private Index addUncommittedIndex(Index index) {
+        this.uncommittedIndexes.put(index.getName(), index);
         this.getSchema().getTopology().fire(index, "", TopologyChangeAction.CREATE);
         return index;
     }
 
+    /**
+     * Ensures that the index exists without blocking writes to the label for the duration of the build.
+     * The index is built outside of the current transaction, with CREATE INDEX CONCURRENTLY if the dialect supports it
+     * else with a plain CREATE INDEX in a transaction of its own.
+     * While it builds the index is not part of the topology, see {@link #isIndexBuilding(String)}.
+     * Once it is valid it is added to the topology and committed, which notifies the other graphs.
+     * <p>
+     * A concurrent build waits for the transactions that are open when it starts,
+     * do not wait on the returned future while the current transaction is open.
+     *
+     * @param indexType  The index's type.
+     * @param properties The committed properties to index.
+     * @return The index, completed once it is built and committed.
+     */
+    public CompletableFuture<Index> ensureIndexExistsAsync(final IndexType indexType, final List<PropertyColumn> properties) {
+        Preconditions.checkState(this.isCommitted(), "%s must be committed before it can be indexed asynchronously", this.label);
+        Preconditions.checkArgument(properties.stream().allMatch(PropertyColumn::isCommitted), "The properties must be committed before they can be indexed asynchronously");
+        String prefix = this instanceof VertexLabel ? SchemaManager.VERTEX_PREFIX : SchemaManager.EDGE_PREFIX;
+        SchemaTable schemaTable = SchemaTable.of(this.getSchema().getName(), this.getLabel());
+        String indexName = this.sqlgGraph.getSqlDialect().indexName(schemaTable, prefix, properties.stream().map(PropertyColumn::getName).collect(Collectors.toList()));
+
+        Optional<Index> indexOptional = this.getIndex(indexName);
+        if (indexOptional.isPresent()) {
+            return CompletableFuture.completedFuture(indexOptional.get());
+        }
+        CompletableFuture<Index> result = new CompletableFuture<>();
+        CompletableFuture<Index> building = this.buildingIndexes.putIfAbsent(indexName, result);
+        if (building != null) {
+            return building;
+        }
+        this.getSchema().getTopology().buildIndex(() -> buildIndex(indexName, indexType, properties)).whenComplete((index, e) -> {
+            this.buildingIndexes.remove(indexName);
+            if (e != null) {
+                result.completeExceptionally(e);
+            } else {
+                result.complete(index);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return true if the index is being built by {@link #ensureIndexExistsAsync(IndexType, List)} and is not yet part of the topology.
+     */
+    public boolean isIndexBuilding(String indexName) {
+        return this.buildingIndexes.containsKey(indexName);
+    }
+
+    private Index buildIndex(String indexName, IndexType indexType, List<PropertyColumn> properties) {
+        try {
+            Index index;
+            if (this.sqlgGraph.getSqlDialect().supportsConcurrentIndexBuild()) {
+                Index.buildIndexConcurrently(this.sqlgGraph, this, indexName, indexType, properties);
+                //the index is valid, add it to the topology.
+                this.getSchema().getTopology().lock();
+                Optional<Index> indexOptional = this.getIndex(indexName);
+                index = indexOptional.orElseGet(() -> addUncommittedIndex(Index.createBuiltIndex(this.sqlgGraph, this, indexName, indexType, properties)));
+            } else {
+                index = ensureIndexExists(indexType, properties);
+            }
+            this.sqlgGraph.tx().commit();
+            return index;
+        } catch (RuntimeException e) {
+            this.sqlgGraph.tx().rollback();
+            throw e;
+        }
+    }
+
     void addIndex(Index i) {
         this.indexes.put(i.getName(), i);
     }
@@ -210,21 +282,13 @@ public abstract class AbstractLabel implements TopologyInf {
             if (sqlgGraph.getSqlDialect().needsSemicolon()) {
                 sql.append(";");
             }
-            if (logger.isDebugEnabled()) {
-                logger.debug(sql.toString());
-            }
-            Connection conn = sqlgGraph.tx().getConnection();
-            try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-                preparedStatement.executeUpdate();
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
-            }
+            this.getSchema().getTopology().executeDdl(sql.toString());
         }
     }
 
-    void addProperty(Vertex propertyVertex) {
-        PropertyColumn property = new PropertyColumn(this, propertyVertex.value(SQLG_SCHEMA_PROPERTY_NAME), PropertyType.valueOf(propertyVertex.value(SQLG_SCHEMA_PROPERTY_TYPE)));
-        this.properties.put(propertyVertex.value(SQLG_SCHEMA_PROPERTY_NAME), property);
+    PropertyColumn addProperty(String propertyName, PropertyType propertyType) {
+        //in lazy mode a notified property might already be present.
+        return this.properties.computeIfAbsent(propertyName, k -> new PropertyColumn(this, propertyName, propertyType));
     }
 
     void afterCommit() {
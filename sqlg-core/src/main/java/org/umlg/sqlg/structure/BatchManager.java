@@ -1,12 +1,15 @@
 package org.umlg.sqlg.structure;
 
+import com.google.common.base.Preconditions;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.umlg.sqlg.metrics.SqlgMetrics;
 import org.umlg.sqlg.sql.dialect.SqlBulkDialect;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.lang.reflect.Array;
 import java.util.*;
 
 /**
@@ -18,8 +21,12 @@ public class BatchManager {
     private SqlgGraph sqlgGraph;
     private SqlBulkDialect sqlDialect;
 
-    //map per label/keys, contains a map of vertices with a triple representing outLabels, inLabels and vertex properties
-    private Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexCache = new HashMap<>();
+    //map per label, contains the label's pending vertices and their properties in columns
+    private Map<SchemaTable, VertexBatch> vertexCache = new HashMap<>();
+    //map per label and unique keys, contains the pending upserts' vertices and properties keyed by their unique key values
+    private Map<Pair<SchemaTable, List<String>>, Map<List<Object>, Pair<SqlgVertex, Map<String, Object>>>> vertexUpsertCache = new LinkedHashMap<>();
+    //the pending upserts' unique keys and properties per vertex, the vertices have no id until they are flushed
+    private Map<SqlgVertex, Pair<List<String>, Map<String, Object>>> upsertVertices = new IdentityHashMap<>();
     //map per label, contains a map edges. The triple is outVertex, inVertex, edge properties
 
     private Map<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> edgeCache = new HashMap<>();
@@ -44,8 +51,37 @@ public class BatchManager {
 
     private int batchCount;
     private long batchIndex;
+
+    static final String ID_BLOCK_SIZE = "batch.id.block.size";
+    //the number of ids streaming with lock reserves per round trip when the dialect supports id reservation
+    private final int idBlockSize;
+    //the prefixed table the reserved ids belong to and the ids not yet used
+    private SchemaTable reservedIdsSchemaTable;
+    private long[] reservedIds;
+    private int reservedIdIndex;
     private boolean isBusyFlushing;
 
+    static final String PIPELINED_FLUSH = "batch.pipelined.flush";
+    static final String PIPELINED_FLUSH_BUFFER = "batch.pipelined.buffer";
+    static final String PIPELINED_FLUSH_CHUNK_ROWS = "batch.pipelined.chunk.rows";
+    //encode the bulk payload on a worker thread while the previously encoded rows are streamed
+    private boolean pipelinedFlush;
+    //the number of encoded chunks that may be waiting to be streamed
+    private final int pipelinedFlushBuffer;
+    //the number of rows per encoded chunk
+    private final int pipelinedFlushChunkRows;
+
+    static final String BUDGET_ELEMENTS = "batch.budget.elements";
+    static final String BUDGET_BYTES = "batch.budget.bytes";
+    //in normal batch mode flush automatically when either budget is crossed, 0 means no limit
+    private long budgetElements;
+    private long budgetBytes;
+    //pending inserts, updates and removes since the last flush and their estimated size
+    private long pendingElements;
+    private long pendingBytes;
+    //estimated per element overhead of the caches, excluding the property values
+    private static final int ELEMENT_OVERHEAD_BYTES = 96;
+
     public enum BatchModeType {
         NONE, NORMAL, STREAMING, STREAMING_WITH_LOCK
     }
@@ -55,6 +91,94 @@ public class BatchManager {
     BatchManager(SqlgGraph sqlgGraph, SqlBulkDialect sqlDialect) {
         this.sqlgGraph = sqlgGraph;
         this.sqlDialect = sqlDialect;
+        this.pipelinedFlush = sqlgGraph.getConfiguration().getBoolean(PIPELINED_FLUSH, false);
+        this.pipelinedFlushBuffer = sqlgGraph.getConfiguration().getInt(PIPELINED_FLUSH_BUFFER, 2);
+        this.pipelinedFlushChunkRows = sqlgGraph.getConfiguration().getInt(PIPELINED_FLUSH_CHUNK_ROWS, 1000);
+        this.budgetElements = sqlgGraph.getConfiguration().getLong(BUDGET_ELEMENTS, 0L);
+        this.budgetBytes = sqlgGraph.getConfiguration().getLong(BUDGET_BYTES, 0L);
+        this.idBlockSize = sqlgGraph.getConfiguration().getInt(ID_BLOCK_SIZE, 1000);
+    }
+
+    /**
+     * @return true if the dialect should overlap encoding the rows with streaming the previously encoded rows on flush.
+     * Dialects that do not support it ignore it.
+     */
+    public boolean isPipelinedFlush() {
+        return this.pipelinedFlush;
+    }
+
+    void setPipelinedFlush(boolean pipelinedFlush) {
+        this.pipelinedFlush = pipelinedFlush;
+    }
+
+    public int getPipelinedFlushBuffer() {
+        return this.pipelinedFlushBuffer;
+    }
+
+    public int getPipelinedFlushChunkRows() {
+        return this.pipelinedFlushChunkRows;
+    }
+
+    void setBudget(long budgetElements, long budgetBytes) {
+        Preconditions.checkArgument(budgetElements >= 0, "budgetElements must be >= 0, found %s", budgetElements);
+        Preconditions.checkArgument(budgetBytes >= 0, "budgetBytes must be >= 0, found %s", budgetBytes);
+        this.budgetElements = budgetElements;
+        this.budgetBytes = budgetBytes;
+    }
+
+    public long getPendingElements() {
+        return this.pendingElements;
+    }
+
+    public long getPendingBytes() {
+        return this.pendingBytes;
+    }
+
+    /**
+     * Called after every pending insert, update or remove in normal batch mode.
+     * Flushes if the element or byte budget has been crossed.
+     * This happens after the element is completely in the cache, so vertices are flushed before the edges referencing them
+     * and ids are assigned the same way as an explicit flush.
+     */
+    private void pending(long elements, long bytes) {
+        this.pendingElements += elements;
+        this.pendingBytes += bytes;
+        if (this.isInNormalMode() && !this.isBusyFlushing &&
+                ((this.budgetElements > 0 && this.pendingElements >= this.budgetElements) ||
+                        (this.budgetBytes > 0 && this.pendingBytes >= this.budgetBytes))) {
+
+            flush();
+        }
+    }
+
+    static long estimateBytes(Map<String, Object> keyValueMap) {
+        long result = ELEMENT_OVERHEAD_BYTES;
+        for (Map.Entry<String, Object> entry : keyValueMap.entrySet()) {
+            result += estimateBytes(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    private static long estimateBytes(String key, Object value) {
+        //map entry plus the key, which is usually shared
+        long result = 32;
+        if (value == null) {
+            return result;
+        } else if (value instanceof String) {
+            return result + 40 + 2 * ((String) value).length();
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Class<?> componentType = value.getClass().getComponentType();
+            if (componentType == byte.class || componentType == boolean.class) {
+                return result + 16 + length;
+            } else if (componentType.isPrimitive()) {
+                return result + 16 + 8 * length;
+            } else {
+                return result + 16 + 32 * length;
+            }
+        } else {
+            return result + 24;
+        }
     }
 
     public boolean isInNormalMode() {
@@ -96,15 +220,8 @@ public class BatchManager {
     void addVertex(boolean streaming, SqlgVertex sqlgVertex, Map<String, Object> keyValueMap) {
         SchemaTable schemaTable = SchemaTable.of(sqlgVertex.getSchema(), sqlgVertex.getTable());
         if (!streaming) {
-            Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> pairs = this.vertexCache.get(schemaTable);
-            if (pairs == null) {
-                pairs = Pair.of(new TreeSet<>(keyValueMap.keySet()), new LinkedHashMap<>());
-                pairs.getRight().put(sqlgVertex, keyValueMap);
-                this.vertexCache.put(schemaTable, pairs);
-            } else {
-                pairs.getLeft().addAll(keyValueMap.keySet());
-                pairs.getRight().put(sqlgVertex, keyValueMap);
-            }
+            this.vertexCache.computeIfAbsent(schemaTable, k -> new VertexBatch()).add(sqlgVertex, keyValueMap);
+            pending(1, estimateBytes(keyValueMap));
         } else {
             if (this.streamingBatchModeVertexSchemaTable == null) {
                 this.streamingBatchModeVertexSchemaTable = sqlgVertex.getSchemaTable();
@@ -115,27 +232,88 @@ public class BatchManager {
             if (this.isStreamingEdges()) {
                 throw new IllegalStateException("streaming edge is in progress, first flush or commit before streaming vertices.");
             }
-            if (this.isInStreamingModeWithLock() && this.batchCount == 0) {
-                //lock the table,
-                this.sqlDialect.lockTable(sqlgGraph, schemaTable, SchemaManager.VERTEX_PREFIX);
-                this.batchIndex = this.sqlDialect.nextSequenceVal(sqlgGraph, schemaTable, SchemaManager.VERTEX_PREFIX);
-            }
-            if (this.isInStreamingModeWithLock()) {
-                sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, ++this.batchIndex));
+            boolean withReservedIds = this.isInStreamingModeWithLock() && this.sqlDialect.supportsIdReservation();
+            long id = -1;
+            if (withReservedIds) {
+                id = nextReservedId(schemaTable, SchemaManager.VERTEX_PREFIX);
+                sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, id));
+            } else {
+                if (this.isInStreamingModeWithLock() && this.batchCount == 0) {
+                    //lock the table,
+                    this.sqlDialect.lockTable(sqlgGraph, schemaTable, SchemaManager.VERTEX_PREFIX);
+                    this.batchIndex = this.sqlDialect.nextSequenceVal(sqlgGraph, schemaTable, SchemaManager.VERTEX_PREFIX);
+                }
+                if (this.isInStreamingModeWithLock()) {
+                    sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, ++this.batchIndex));
+                }
             }
             Writer writer = this.streamingVertexOutputStreamCache.get(schemaTable);
             if (writer == null) {
-                String sql = this.sqlDialect.constructCompleteCopyCommandSqlVertex(sqlgGraph, sqlgVertex, keyValueMap);
+                String sql;
+                if (withReservedIds) {
+                    sql = this.sqlDialect.constructCompleteCopyCommandSqlVertexWithId(sqlgGraph, sqlgVertex, keyValueMap);
+                } else {
+                    sql = this.sqlDialect.constructCompleteCopyCommandSqlVertex(sqlgGraph, sqlgVertex, keyValueMap);
+                }
                 writer = this.sqlDialect.streamSql(this.sqlgGraph, sql);
                 this.streamingVertexOutputStreamCache.put(schemaTable, writer);
             }
-            this.sqlDialect.writeStreamingVertex(writer, keyValueMap);
+            if (withReservedIds) {
+                this.sqlDialect.writeStreamingVertex(writer, id, keyValueMap);
+            } else {
+                this.sqlDialect.writeStreamingVertex(writer, sqlgVertex, keyValueMap);
+            }
             if (this.isInStreamingModeWithLock()) {
                 this.batchCount++;
             }
         }
     }
 
+    /**
+     * An upsert for a unique key that is already pending is merged into the pending one, the last value of a property wins.
+     * Pending property updates and removals of the label are flushed first as the upserts are flushed before them.
+     *
+     * @return the pending upsert's vertex, its id is set when the upsert is flushed.
+     */
+    SqlgVertex upsertVertex(SchemaTable schemaTable, List<String> uniqueKeys, Map<String, Object> keyValueMap) {
+        if (this.vertexPropertyCache.containsKey(schemaTable) || this.removeVertexCache.containsKey(schemaTable)) {
+            this.sqlgGraph.tx().flush();
+        }
+        List<Object> uniqueValues = new ArrayList<>(uniqueKeys.size());
+        for (String uniqueKey : uniqueKeys) {
+            uniqueValues.add(keyValueMap.get(uniqueKey));
+        }
+        Pair<SqlgVertex, Map<String, Object>> upsert = this.vertexUpsertCache
+                .computeIfAbsent(Pair.of(schemaTable, uniqueKeys), k -> new LinkedHashMap<>())
+                .computeIfAbsent(uniqueValues, k -> Pair.of(new SqlgVertex(this.sqlgGraph, schemaTable), new HashMap<>()));
+        SqlgVertex sqlgVertex = upsert.getLeft();
+        upsert.getRight().putAll(keyValueMap);
+        this.upsertVertices.put(sqlgVertex, Pair.of(uniqueKeys, upsert.getRight()));
+        for (Map.Entry<String, Object> keyValue : keyValueMap.entrySet()) {
+            if (keyValue.getValue() == null) {
+                sqlgVertex.properties.remove(keyValue.getKey());
+            } else {
+                sqlgVertex.properties.put(keyValue.getKey(), keyValue.getValue());
+            }
+        }
+        pending(1, estimateBytes(keyValueMap));
+        return sqlgVertex;
+    }
+
+    /**
+     * Ids are reserved in blocks of {@link #ID_BLOCK_SIZE}, the table is not locked so other transactions may stream into it at the same time.
+     * The ids left in a block when the streamed table changes or the stream is flushed are not used.
+     */
+    private long nextReservedId(SchemaTable schemaTable, String prefix) {
+        SchemaTable prefixedSchemaTable = schemaTable.withPrefix(prefix);
+        if (this.reservedIds == null || this.reservedIdIndex == this.reservedIds.length || !prefixedSchemaTable.equals(this.reservedIdsSchemaTable)) {
+            this.reservedIds = this.sqlDialect.reserveIds(this.sqlgGraph, schemaTable, prefix, this.idBlockSize);
+            this.reservedIdsSchemaTable = prefixedSchemaTable;
+            this.reservedIdIndex = 0;
+        }
+        return this.reservedIds[this.reservedIdIndex++];
+    }
+
     void addEdge(boolean streaming, SqlgEdge sqlgEdge, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) {
         SchemaTable outSchemaTable = SchemaTable.of(outVertex.getSchema(), sqlgEdge.getTable());
         MetaEdge metaEdge = MetaEdge.from(outSchemaTable, outVertex, inVertex);
@@ -149,6 +327,7 @@ public class BatchManager {
                 triples.getLeft().addAll(keyValueMap.keySet());
                 triples.getRight().put(sqlgEdge, Triple.of(outVertex, inVertex, keyValueMap));
             }
+            pending(1, estimateBytes(keyValueMap));
         } else {
             if (this.streamingBatchModeEdgeSchemaTable == null) {
                 this.streamingBatchModeEdgeSchemaTable = sqlgEdge.getSchemaTablePrefixed();
@@ -159,22 +338,38 @@ public class BatchManager {
             if (this.isStreamingVertices()) {
                 throw new IllegalStateException("streaming vertex is in progress, first flush or commit before streaming edges.");
             }
-            if (this.isInStreamingModeWithLock() && this.batchCount == 0) {
-                //lock the table,
-                this.sqlDialect.lockTable(sqlgGraph, outSchemaTable, SchemaManager.EDGE_PREFIX);
-                this.batchIndex = this.sqlDialect.nextSequenceVal(sqlgGraph, outSchemaTable, SchemaManager.EDGE_PREFIX);
-            }
-            if (this.isInStreamingModeWithLock()) {
-                sqlgEdge.setInternalPrimaryKey(RecordId.from(outSchemaTable, ++this.batchIndex));
+            boolean withReservedIds = this.isInStreamingModeWithLock() && this.sqlDialect.supportsIdReservation();
+            long id = -1;
+            if (withReservedIds) {
+                id = nextReservedId(outSchemaTable, SchemaManager.EDGE_PREFIX);
+                sqlgEdge.setInternalPrimaryKey(RecordId.from(outSchemaTable, id));
+            } else {
+                if (this.isInStreamingModeWithLock() && this.batchCount == 0) {
+                    //lock the table,
+                    this.sqlDialect.lockTable(sqlgGraph, outSchemaTable, SchemaManager.EDGE_PREFIX);
+                    this.batchIndex = this.sqlDialect.nextSequenceVal(sqlgGraph, outSchemaTable, SchemaManager.EDGE_PREFIX);
+                }
+                if (this.isInStreamingModeWithLock()) {
+                    sqlgEdge.setInternalPrimaryKey(RecordId.from(outSchemaTable, ++this.batchIndex));
+                }
             }
             Writer writer = this.streamingEdgeOutputStreamCache.get(outSchemaTable);
             if (writer == null) {
-                String sql = this.sqlDialect.constructCompleteCopyCommandSqlEdge(sqlgGraph, sqlgEdge, outVertex, inVertex, keyValueMap);
+                String sql;
+                if (withReservedIds) {
+                    sql = this.sqlDialect.constructCompleteCopyCommandSqlEdgeWithId(sqlgGraph, sqlgEdge, outVertex, inVertex, keyValueMap);
+                } else {
+                    sql = this.sqlDialect.constructCompleteCopyCommandSqlEdge(sqlgGraph, sqlgEdge, outVertex, inVertex, keyValueMap);
+                }
                 writer = this.sqlDialect.streamSql(this.sqlgGraph, sql);
                 this.streamingEdgeOutputStreamCache.put(outSchemaTable, writer);
             }
             try {
-                this.sqlDialect.writeStreamingEdge(writer, sqlgEdge, outVertex, inVertex, keyValueMap);
+                if (withReservedIds) {
+                    this.sqlDialect.writeStreamingEdge(writer, id, sqlgEdge, outVertex, inVertex, keyValueMap);
+                } else {
+                    this.sqlDialect.writeStreamingEdge(writer, sqlgEdge, outVertex, inVertex, keyValueMap);
+                }
                 if (this.isInStreamingModeWithLock()) {
                     this.batchCount++;
                 }
@@ -185,8 +380,23 @@ public class BatchManager {
     }
 
     public Map<SchemaTable, Pair<Long, Long>> flush() {
+        SqlgMetrics metrics = this.sqlgGraph.getMetrics();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0L;
+        Map<String, Long> rowsPerLabel = metrics.isEnabled() ? rowsPerLabel() : Collections.emptyMap();
         this.isBusyFlushing = true;
+        if (!this.sqlDialect.supportsBatchMode()) {
+            //a streaming only dialect caches nothing, closing the streams writes the remaining rows.
+            this.close();
+            this.isBusyFlushing = false;
+            if (metrics.isEnabled()) {
+                metrics.batchFlush(System.nanoTime() - start, rowsPerLabel);
+            }
+            return Collections.emptyMap();
+        }
         Map<SchemaTable, Pair<Long, Long>> verticesRange = this.sqlDialect.flushVertexCache(this.sqlgGraph, this.vertexCache);
+        this.sqlDialect.flushVertexUpsertCache(this.sqlgGraph, this.vertexUpsertCache);
+        //the upserted vertices reload their rows, an update only sets some of the properties
+        this.upsertVertices.keySet().forEach(sqlgVertex -> sqlgVertex.properties.clear());
         this.sqlDialect.flushEdgeCache(this.sqlgGraph, this.edgeCache);
         this.sqlDialect.flushVertexPropertyCache(this.sqlgGraph, this.vertexPropertyCache);
         this.sqlDialect.flushEdgePropertyCache(this.sqlgGraph, this.edgePropertyCache);
@@ -200,9 +410,27 @@ public class BatchManager {
         this.sqlDialect.flushEdgeGlobalUniqueIndexPropertyCache(this.sqlgGraph, this.edgePropertyCache);
         this.sqlDialect.flushRemovedGlobalUniqueIndexVertices(this.sqlgGraph, this.removeVertexCache);
         this.clear();
+        if (metrics.isEnabled()) {
+            metrics.batchFlush(System.nanoTime() - start, rowsPerLabel);
+        }
         return verticesRange;
     }
 
+    /**
+     * @return the number of inserted, updated and removed rows per prefixed 'schema.table' that are waiting to be flushed.
+     */
+    private Map<String, Long> rowsPerLabel() {
+        Map<String, Long> result = new HashMap<>();
+        this.vertexCache.forEach((schemaTable, vertices) -> result.merge(schemaTable.withPrefix(SchemaManager.VERTEX_PREFIX).toString(), (long) vertices.size(), Long::sum));
+        this.vertexUpsertCache.forEach((upsert, vertices) -> result.merge(upsert.getLeft().withPrefix(SchemaManager.VERTEX_PREFIX).toString(), (long) vertices.size(), Long::sum));
+        this.vertexPropertyCache.forEach((schemaTable, vertices) -> result.merge(schemaTable.withPrefix(SchemaManager.VERTEX_PREFIX).toString(), (long) vertices.getRight().size(), Long::sum));
+        this.removeVertexCache.forEach((schemaTable, vertices) -> result.merge(schemaTable.withPrefix(SchemaManager.VERTEX_PREFIX).toString(), (long) vertices.size(), Long::sum));
+        this.edgeCache.forEach((metaEdge, edges) -> result.merge(metaEdge.getSchemaTable().withPrefix(SchemaManager.EDGE_PREFIX).toString(), (long) edges.getRight().size(), Long::sum));
+        this.edgePropertyCache.forEach((schemaTable, edges) -> result.merge(schemaTable.withPrefix(SchemaManager.EDGE_PREFIX).toString(), (long) edges.getRight().size(), Long::sum));
+        this.removeEdgeCache.forEach((schemaTable, edges) -> result.merge(schemaTable.withPrefix(SchemaManager.EDGE_PREFIX).toString(), (long) edges.size(), Long::sum));
+        return result;
+    }
+
     public void close() {
         this.streamingVertexOutputStreamCache.values().forEach(o -> {
             try {
@@ -222,6 +450,8 @@ public class BatchManager {
         if (this.isInStreamingModeWithLock()) {
             this.batchCount = 0;
         }
+        this.reservedIdsSchemaTable = null;
+        this.reservedIds = null;
         this.streamingEdgeOutputStreamCache.clear();
         this.streamingBatchModeVertexSchemaTable = null;
         if (this.streamingBatchModeVertexKeys != null)
@@ -234,14 +464,29 @@ public class BatchManager {
     }
 
     boolean updateProperty(SqlgElement sqlgElement, String key, Object value) {
+        boolean cached = internalUpdateProperty(sqlgElement, key, value);
+        if (cached) {
+            pending(1, estimateBytes(key, value));
+        }
+        return cached;
+    }
+
+    private boolean internalUpdateProperty(SqlgElement sqlgElement, String key, Object value) {
         SchemaTable schemaTable = SchemaTable.of(sqlgElement.getSchema(), sqlgElement.getTable());
         if (Vertex.class.isAssignableFrom(sqlgElement.getClass())) {
-            Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> triples = this.vertexCache.get(schemaTable);
-            if (triples != null) {
-                Map<String, Object> triple = triples.getRight().get(sqlgElement);
-                if (triple != null) {
-                    triple.put(key, value);
-                    triples.getLeft().add(key);
+            Pair<List<String>, Map<String, Object>> upsert = this.upsertVertices.get(sqlgElement);
+            if (upsert != null) {
+                if (!upsert.getLeft().contains(key)) {
+                    upsert.getRight().put(key, value);
+                    return true;
+                }
+                //the upsert is keyed by its unique key values, it is flushed before a unique key changes
+                this.sqlgGraph.tx().flush();
+            }
+            VertexBatch vertexBatch = this.vertexCache.get(schemaTable);
+            if (vertexBatch != null) {
+                if (vertexBatch.contains((SqlgVertex) sqlgElement)) {
+                    vertexBatch.set((SqlgVertex) sqlgElement, key, value);
                     return true;
                 }
             } else {
@@ -296,13 +541,18 @@ public class BatchManager {
         SqlgElement sqlgElement = (SqlgElement) sqlgProperty.element();
         SchemaTable schemaTable = SchemaTable.of(sqlgElement.getSchema(), sqlgElement.getTable());
         if (Vertex.class.isAssignableFrom(sqlgElement.getClass())) {
-            Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> triples = this.vertexCache.get(schemaTable);
-            if (triples != null) {
-                Map<String, Object> triple = triples.getRight().get(sqlgElement);
-                if (triple != null) {
-                    triple.remove(key);
+            Pair<List<String>, Map<String, Object>> upsert = this.upsertVertices.get(sqlgElement);
+            if (upsert != null) {
+                if (!upsert.getLeft().contains(key)) {
+                    upsert.getRight().put(key, null);
                     return true;
                 }
+                this.sqlgGraph.tx().flush();
+            }
+            VertexBatch vertexBatch = this.vertexCache.get(schemaTable);
+            if (vertexBatch != null && vertexBatch.contains((SqlgVertex) sqlgElement)) {
+                vertexBatch.set((SqlgVertex) sqlgElement, key, null);
+                return true;
             }
         } else {
             SqlgEdge sqlgEdge = (SqlgEdge)sqlgElement;
@@ -320,12 +570,19 @@ public class BatchManager {
     }
 
     boolean vertexIsCached(SqlgVertex vertex) {
-        Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> map = this.vertexCache.get(SchemaTable.of(vertex.getSchema(), vertex.getTable()));
-        return map != null && map.getRight().containsKey(vertex);
+        if (this.upsertVertices.containsKey(vertex)) {
+            return true;
+        }
+        VertexBatch vertexBatch = this.vertexCache.get(SchemaTable.of(vertex.getSchema(), vertex.getTable()));
+        return vertexBatch != null && vertexBatch.contains(vertex);
     }
 
     public void clear() {
+        this.pendingElements = 0;
+        this.pendingBytes = 0;
         this.vertexCache.clear();
+        this.vertexUpsertCache.clear();
+        this.upsertVertices.clear();
         this.edgeCache.clear();
         this.removeEdgeCache.clear();
         this.removeVertexCache.clear();
@@ -334,11 +591,15 @@ public class BatchManager {
     }
 
     void removeVertex(String schema, String table, SqlgVertex vertex) {
+        internalRemoveVertex(schema, table, vertex);
+        pending(1, ELEMENT_OVERHEAD_BYTES);
+    }
+
+    private void internalRemoveVertex(String schema, String table, SqlgVertex vertex) {
         SchemaTable schemaTable = SchemaTable.of(schema, table);
         //check if the vertex is in the newly inserted cache
-        Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> vertexSortedSetMapPair = this.vertexCache.get(schemaTable);
-        if (vertexSortedSetMapPair != null && vertexSortedSetMapPair.getRight().containsKey(vertex)) {
-            vertexSortedSetMapPair.getRight().remove(vertex);
+        VertexBatch vertexBatch = this.vertexCache.get(schemaTable);
+        if (vertexBatch != null && vertexBatch.remove(vertex)) {
             //all the edges of a new vertex must also be new
             Set<MetaEdge> toRemoveMetaEdges = new HashSet<>();
             for (Map.Entry<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> metaEdgePairEntry : this.edgeCache.entrySet()) {
@@ -373,6 +634,11 @@ public class BatchManager {
     }
 
     void removeEdge(String schema, String table, SqlgEdge edge) {
+        internalRemoveEdge(schema, table, edge);
+        pending(1, ELEMENT_OVERHEAD_BYTES);
+    }
+
+    private void internalRemoveEdge(String schema, String table, SqlgEdge edge) {
         SchemaTable schemaTable = SchemaTable.of(schema, table);
         //check it the edge is in the newly inserted cache
 
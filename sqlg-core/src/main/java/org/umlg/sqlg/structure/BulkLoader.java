@@ -0,0 +1,353 @@
+package org.umlg.sqlg.structure;
+
+import com.google.common.base.Preconditions;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.sql.dialect.SqlBulkDialect;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.umlg.sqlg.structure.SchemaManager.*;
+
+/**
+ * Loads vertices and edges through several pooled connections in parallel, meant for the initial import of a large graph.
+ * <p>
+ * Every {@link #addVertices} and {@link #addEdges} call loads one label. The rows are cut into chunks,
+ * each chunk gets its ids reserved from the table's sequence on the calling thread's transaction and is copied and committed on its own connection.
+ * The ids are reserved in input order so the n-th row of a label gets the n-th id of the returned ranges.
+ * A chunk's ids form one range unless other writers use the sequence at the same time.
+ * <p>
+ * With deferred indexes the indexes and foreign keys of a table are dropped before its first chunk is loaded and
+ * recreated by {@link #finish()}, which also checks that every reserved id was loaded.
+ * Chunks that committed before a failure stay committed.
+ * Date: 2017/05/18
+ * Time: 7:12 PM
+ */
+public class BulkLoader implements AutoCloseable {
+
+    private static Logger logger = LoggerFactory.getLogger(BulkLoader.class.getName());
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final SqlgGraph sqlgGraph;
+    private final SqlBulkDialect sqlDialect;
+    private final int connections;
+    private final int chunkSize;
+    private final boolean deferIndexes;
+    private final ExecutorService executor;
+    //limits the chunks held in memory to the ones being copied
+    private final Semaphore inFlight;
+    //the statements that recreate the dropped indexes and foreign keys, per prefixed table
+    private final Map<SchemaTable, List<String>> deferred = new LinkedHashMap<>();
+    //the reserved id ranges per prefixed table
+    private final Map<SchemaTable, List<Pair<Long, Long>>> loaded = new LinkedHashMap<>();
+    private boolean finished = false;
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(Writer writer, long id, T row) throws IOException;
+    }
+
+    private BulkLoader(final Builder builder) {
+        this.sqlgGraph = builder.sqlgGraph;
+        this.sqlDialect = (SqlBulkDialect) builder.sqlgGraph.getSqlDialect();
+        this.connections = builder.connections;
+        this.chunkSize = builder.chunkSize;
+        this.deferIndexes = builder.deferIndexes;
+        this.inFlight = new Semaphore(this.connections);
+        this.executor = Executors.newFixedThreadPool(this.connections, r -> {
+            Thread thread = new Thread(r, "sqlg-bulk-loader-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static Builder build(SqlgGraph sqlgGraph) {
+        return new Builder(sqlgGraph);
+    }
+
+    /**
+     * Loads the vertices of one label.
+     *
+     * @param label   The vertex label, optionally prefixed with its schema.
+     * @param columns The label's properties and their types, the label and properties are created if they do not exist.
+     * @param rows    The properties of each vertex. Missing keys are loaded as null.
+     * @return the reserved id ranges in input order.
+     */
+    public List<Pair<Long, Long>> addVertices(String label, Map<String, PropertyType> columns, Iterator<Map<String, Object>> rows) {
+        SchemaTable schemaTable = SchemaTable.from(this.sqlgGraph, label);
+        this.sqlgGraph.getTopology().ensureVertexLabelExist(schemaTable.getSchema(), schemaTable.getTable(), columns);
+        this.sqlgGraph.tx().commit();
+        List<String> keys = new ArrayList<>(columns.keySet());
+        SchemaTable table = schemaTable.withPrefix(VERTEX_PREFIX);
+        String sql = prepare(table, Collections.singletonList(ID), keys);
+        return load(schemaTable, VERTEX_PREFIX, sql, rows, (writer, id, row) -> {
+            LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+            values.put(ID, id);
+            for (String key : keys) {
+                values.put(key, row.get(key));
+            }
+            this.sqlDialect.writeStreamingVertex(writer, values);
+        });
+    }
+
+    /**
+     * Loads the edges of one label between two vertex labels.
+     *
+     * @param edgeLabel The edge label.
+     * @param outLabel  The out vertex label, optionally prefixed with its schema. It must already exist.
+     * @param inLabel   The in vertex label, optionally prefixed with its schema. It must already exist.
+     * @param columns   The edge's properties and their types, the label and properties are created if they do not exist.
+     * @param rows      Per edge the out vertex id, the in vertex id and the edge's properties.
+     * @return the reserved id ranges in input order.
+     */
+    public List<Pair<Long, Long>> addEdges(String edgeLabel, String outLabel, String inLabel, Map<String, PropertyType> columns, Iterator<Triple<Long, Long, Map<String, Object>>> rows) {
+        SchemaTable outSchemaTable = SchemaTable.from(this.sqlgGraph, outLabel);
+        SchemaTable inSchemaTable = SchemaTable.from(this.sqlgGraph, inLabel);
+        SchemaTable schemaTable = this.sqlgGraph.getTopology().ensureEdgeLabelExist(edgeLabel, outSchemaTable, inSchemaTable, columns);
+        this.sqlgGraph.tx().commit();
+        List<String> keys = new ArrayList<>(columns.keySet());
+        SchemaTable table = schemaTable.withPrefix(EDGE_PREFIX);
+        String outForeignKey = outSchemaTable.getSchema() + "." + outSchemaTable.getTable() + OUT_VERTEX_COLUMN_END;
+        String inForeignKey = inSchemaTable.getSchema() + "." + inSchemaTable.getTable() + IN_VERTEX_COLUMN_END;
+        String sql = prepare(table, Arrays.asList(ID, outForeignKey, inForeignKey), keys);
+        return load(schemaTable, EDGE_PREFIX, sql, rows, (writer, id, row) -> {
+            LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+            values.put(ID, id);
+            values.put(outForeignKey, row.getLeft());
+            values.put(inForeignKey, row.getMiddle());
+            for (String key : keys) {
+                values.put(key, row.getRight().get(key));
+            }
+            this.sqlDialect.writeStreamingVertex(writer, values);
+        });
+    }
+
+    private String prepare(SchemaTable table, List<String> internalColumns, List<String> keys) {
+        Preconditions.checkState(!this.finished, "BulkLoader is already finished");
+        if (this.deferIndexes && !this.deferred.containsKey(table)) {
+            this.deferred.put(table, this.sqlDialect.dropIndexesAndForeignKeys(this.sqlgGraph, table));
+            this.sqlgGraph.tx().commit();
+        }
+        return this.sqlDialect.constructCompleteCopyCommandSqlBulkLoad(this.sqlgGraph, table, internalColumns, new LinkedHashSet<>(keys));
+    }
+
+    private <T> List<Pair<Long, Long>> load(SchemaTable schemaTable, String prefix, String sql, Iterator<T> rows, RowWriter<T> rowWriter) {
+        List<Pair<Long, Long>> ranges = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            while (rows.hasNext()) {
+                List<T> chunk = new ArrayList<>(this.chunkSize);
+                while (rows.hasNext() && chunk.size() < this.chunkSize) {
+                    chunk.add(rows.next());
+                }
+                long[] ids = reserve(schemaTable, prefix, chunk.size());
+                ranges.addAll(ranges(ids));
+                this.inFlight.acquire();
+                try {
+                    futures.add(this.executor.submit(() -> {
+                        try {
+                            copy(sql, chunk, ids, rowWriter);
+                        } finally {
+                            this.inFlight.release();
+                        }
+                        return null;
+                    }));
+                } catch (RejectedExecutionException e) {
+                    this.inFlight.release();
+                    throw e;
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new RuntimeException("Bulk loading " + schemaTable + " failed", e.getCause());
+        }
+        this.loaded.computeIfAbsent(schemaTable.withPrefix(prefix), k -> new ArrayList<>()).addAll(ranges);
+        return ranges;
+    }
+
+    /**
+     * Reserves the chunk's ids with {@link SqlBulkDialect#reserveIds(SqlgGraph, SchemaTable, String, int)}.
+     * The sequence itself is not altered, concurrent sessions never receive the same id.
+     */
+    private long[] reserve(SchemaTable schemaTable, String prefix, int size) {
+        long[] ids = this.sqlDialect.reserveIds(this.sqlgGraph, schemaTable, prefix, size);
+        this.sqlgGraph.tx().commit();
+        return ids;
+    }
+
+    /**
+     * @return the ascending ids as ranges of consecutive ids.
+     */
+    private static List<Pair<Long, Long>> ranges(long[] ids) {
+        List<Pair<Long, Long>> result = new ArrayList<>();
+        int first = 0;
+        for (int i = 1; i <= ids.length; i++) {
+            if (i == ids.length || ids[i] != ids[i - 1] + 1) {
+                result.add(Pair.of(ids[first], ids[i - 1]));
+                first = i;
+            }
+        }
+        return result;
+    }
+
+    private <T> void copy(String sql, List<T> chunk, long[] ids, RowWriter<T> rowWriter) throws SQLException, IOException {
+        try (Connection connection = this.sqlgGraph.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                int index = 0;
+                try (Writer writer = this.sqlDialect.streamSql(connection, sql)) {
+                    for (T row : chunk) {
+                        rowWriter.write(writer, ids[index++], row);
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Recreates the deferred indexes and foreign keys in parallel and checks that every reserved id has been loaded.
+     *
+     * @return the number of loaded rows per prefixed table.
+     */
+    public Map<SchemaTable, Long> finish() {
+        Preconditions.checkState(!this.finished, "BulkLoader is already finished");
+        this.finished = true;
+        List<Future<?>> futures = new ArrayList<>();
+        for (List<String> statements : this.deferred.values()) {
+            for (String statement : statements) {
+                futures.add(this.executor.submit(() -> {
+                    try (Connection connection = this.sqlgGraph.getConnection()) {
+                        connection.setAutoCommit(true);
+                        try (PreparedStatement preparedStatement = connection.prepareStatement(statement)) {
+                            preparedStatement.executeUpdate();
+                        }
+                    }
+                    return null;
+                }));
+            }
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Recreating the deferred indexes and foreign keys failed", e.getCause());
+        }
+        Map<SchemaTable, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<SchemaTable, List<Pair<Long, Long>>> entry : this.loaded.entrySet()) {
+            long expected = 0;
+            long actual = 0;
+            for (Pair<Long, Long> range : entry.getValue()) {
+                expected += range.getRight() - range.getLeft() + 1;
+                actual += count(entry.getKey(), range);
+            }
+            if (expected != actual) {
+                throw new IllegalStateException(String.format("Bulk load of %s is inconsistent, expected %d rows found %d", entry.getKey(), expected, actual));
+            }
+            result.put(entry.getKey(), actual);
+        }
+        this.sqlgGraph.tx().commit();
+        return result;
+    }
+
+    private long count(SchemaTable table, Pair<Long, Long> range) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT COUNT(*) FROM ");
+        sql.append(this.sqlDialect.maybeWrapInQoutes(table.getSchema()));
+        sql.append(".");
+        sql.append(this.sqlDialect.maybeWrapInQoutes(table.getTable()));
+        sql.append(" WHERE ");
+        sql.append(this.sqlDialect.maybeWrapInQoutes(ID));
+        sql.append(" BETWEEN ? AND ?");
+        if (this.sqlDialect.needsSemicolon()) {
+            sql.append(";");
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql.toString());
+        }
+        Connection conn = this.sqlgGraph.tx().getConnection();
+        try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
+            preparedStatement.setLong(1, range.getLeft());
+            preparedStatement.setLong(2, range.getRight());
+            ResultSet resultSet = preparedStatement.executeQuery();
+            resultSet.next();
+            return resultSet.getLong(1);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+        if (!this.finished && !this.deferred.isEmpty()) {
+            logger.warn("BulkLoader closed without finish(), the deferred indexes and foreign keys of " + this.deferred.keySet() + " have not been recreated.");
+        }
+    }
+
+    public final static class Builder {
+
+        private final SqlgGraph sqlgGraph;
+        private int connections = 4;
+        private int chunkSize = 100_000;
+        private boolean deferIndexes = false;
+
+        private Builder(SqlgGraph sqlgGraph) {
+            this.sqlgGraph = sqlgGraph;
+        }
+
+        public BulkLoader create() {
+            if (!this.sqlgGraph.getSqlDialect().supportsBatchMode()) {
+                throw SqlgExceptions.batchModeNotSupported(this.sqlgGraph.getSqlDialect().dialectName());
+            }
+            return new BulkLoader(this);
+        }
+
+        /**
+         * The number of connections copying in parallel, they are taken from the graph's pool.
+         */
+        public Builder connections(int connections) {
+            Preconditions.checkArgument(connections > 0, "connections must be > 0, found %s", connections);
+            this.connections = connections;
+            return this;
+        }
+
+        public Builder chunkSize(int chunkSize) {
+            Preconditions.checkArgument(chunkSize > 0, "chunkSize must be > 0, found %s", chunkSize);
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Drop the indexes and foreign keys of the loaded tables and recreate them in {@link BulkLoader#finish()}.
+         */
+        public Builder deferIndexes(boolean deferIndexes) {
+            this.deferIndexes = deferIndexes;
+            return this;
+        }
+    }
+}
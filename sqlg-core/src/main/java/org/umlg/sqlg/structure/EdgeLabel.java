@@ -175,15 +175,7 @@ public class EdgeLabel extends AbstractLabel {
             sql.append(");");
         }
 
-        if (logger.isDebugEnabled()) {
-            logger.debug(sql.toString());
-        }
-        Connection conn = this.sqlgGraph.tx().getConnection();
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute(sql.toString());
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        outVertexLabel.getSchema().getTopology().executeDdl(sql.toString());
     }
 
     void afterCommit() {
@@ -345,15 +337,8 @@ public class EdgeLabel extends AbstractLabel {
         if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
             sql.append(";");
         }
-        if (logger.isDebugEnabled()) {
-            logger.debug(sql.toString());
-        }
-        Connection conn = this.sqlgGraph.tx().getConnection();
-        try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-            preparedStatement.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        Topology topology = this.getSchema().getTopology();
+        topology.executeDdl(sql.toString());
         sql.setLength(0);
         //foreign key definition start
         if (this.sqlgGraph.isImplementForeignKeys()) {
@@ -375,14 +360,7 @@ public class EdgeLabel extends AbstractLabel {
             if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
                 sql.append(";");
             }
-            if (logger.isDebugEnabled()) {
-                logger.debug(sql.toString());
-            }
-            try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-                preparedStatement.executeUpdate();
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
-            }
+            topology.executeDdl(sql.toString());
         }
         sql.setLength(0);
         if (this.sqlgGraph.getSqlDialect().needForeignKeyIndex()) {
@@ -396,14 +374,7 @@ public class EdgeLabel extends AbstractLabel {
             if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
                 sql.append(";");
             }
-            if (logger.isDebugEnabled()) {
-                logger.debug(sql.toString());
-            }
-            try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-                preparedStatement.executeUpdate();
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
-            }
+            topology.executeDdl(sql.toString());
         }
     }
 
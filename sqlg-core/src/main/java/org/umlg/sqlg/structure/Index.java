@@ -93,6 +93,10 @@ public class Index implements TopologyInf {
         return indexType;
     }
 
+    public List<PropertyColumn> getProperties() {
+        return Collections.unmodifiableList(this.properties);
+    }
+
     /**
      * add a committed property (when loading topology from existing schema)
      *
@@ -121,25 +125,58 @@ public class Index implements TopologyInf {
     }
 
     private void addIndex(SqlgGraph sqlgGraph, SchemaTable schemaTable, IndexType indexType, List<PropertyColumn> properties) {
+        for (String sql : addIndexSql(sqlgGraph, schemaTable, indexType, properties, false)) {
+            executeIndexSql(sql);
+        }
+    }
+
+    private List<String> addIndexSql(SqlgGraph sqlgGraph, SchemaTable schemaTable, IndexType indexType, List<PropertyColumn> properties, boolean concurrently) {
+        List<String> statements = new ArrayList<>();
         String prefix = this.abstractLabel instanceof VertexLabel ? VERTEX_PREFIX : EDGE_PREFIX;
         StringBuilder sql = new StringBuilder("CREATE ");
         if (IndexType.UNIQUE.equals(indexType)) {
             sql.append("UNIQUE ");
         }
         sql.append("INDEX ");
+        if (concurrently) {
+            sql.append("CONCURRENTLY ");
+        }
         SqlDialect sqlDialect = sqlgGraph.getSqlDialect();
-        sql.append(sqlDialect.maybeWrapInQoutes(sqlDialect.indexName(schemaTable, prefix, properties.stream().map(PropertyColumn::getName).collect(Collectors.toList()))));
+        boolean plainIndex = indexType.isTrigram() && !sqlDialect.supportsTrigramIndex();
+        if (plainIndex) {
+            logger.warn(String.format("%s does not support trigram indexes, creating a plain index on %s instead", sqlDialect.dialectName(), schemaTable.toString()));
+        } else if (indexType.isTrigram()) {
+            statements.add(sqlDialect.createTrigramExtension());
+        }
+        List<String> propertyNames = properties.stream().map(PropertyColumn::getName).collect(Collectors.toList());
+        String tsvectorColumn = null;
+        if (indexType.isStoredFullText()) {
+            tsvectorColumn = tsvectorColumnName(propertyNames);
+            statements.add(sqlDialect.addStoredFullTextColumn(
+                    schemaTable.getSchema(),
+                    prefix + schemaTable.getTable(),
+                    tsvectorColumn,
+                    indexType.getProperties().get(IndexType.GIN_CONFIGURATION),
+                    propertyNames));
+        }
+        sql.append(sqlDialect.maybeWrapInQoutes(sqlDialect.indexName(schemaTable, prefix, propertyNames)));
         sql.append(" ON ");
         sql.append(sqlDialect.maybeWrapInQoutes(schemaTable.getSchema()));
         sql.append(".");
         sql.append(sqlDialect.maybeWrapInQoutes(prefix + schemaTable.getTable()));
         
-        if (indexType.isGIN()){
+        if (plainIndex) {
+            //no access method
+        } else if (indexType.isGIN()){
         	sql.append(" USING GIN");
+        } else if (indexType.isGIST()) {
+            sql.append(" USING GIST");
         }
         
         sql.append(" (");
-        if(IndexType.GIN_FULLTEXT.equals(indexType.getName())){
+        if (tsvectorColumn != null) {
+            sql.append(sqlDialect.maybeWrapInQoutes(tsvectorColumn));
+        } else if(IndexType.GIN_FULLTEXT.equals(indexType.getName())){
         	sql.append("to_tsvector(");
         	String conf=indexType.getProperties().get(IndexType.GIN_CONFIGURATION);
         	if (conf!=null){
@@ -157,7 +194,10 @@ public class Index implements TopologyInf {
         } else {
 	        int count = 1;
 	        for (PropertyColumn property : properties) {
-	            sql.append(sqlDialect.maybeWrapInQoutes(property.getName()));
+	            sql.append(sqlDialect.indexColumn(property.getName(), property.getPropertyType()));
+	            if (!plainIndex && indexType.getProperties().containsKey(IndexType.GIN_OPERATOR_CLASS)) {
+	                sql.append(" ").append(indexType.getProperties().get(IndexType.GIN_OPERATOR_CLASS));
+	            }
 	            if (count++ < properties.size()) {
 	                sql.append(",");
 	            }
@@ -168,15 +208,20 @@ public class Index implements TopologyInf {
         if (sqlDialect.needsSemicolon()) {
             sql.append(";");
         }
-        if (logger.isDebugEnabled()) {
-            logger.debug(sql.toString());
-        }
-        Connection conn = sqlgGraph.tx().getConnection();
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute(sql.toString());
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        statements.add(sql.toString());
+        return statements;
+    }
+
+    /**
+     * The generated column that holds the tsvector of a stored full text index.
+     * It is not a property, {@link SqlgElement} skips it when loading a row.
+     */
+    public static String tsvectorColumnName(List<String> propertyNames) {
+        return String.join("_", propertyNames) + SchemaManager.TSVECTOR;
+    }
+
+    private void executeIndexSql(String sql) {
+        this.abstractLabel.getSchema().getTopology().executeDdl(sql);
     }
 
     protected Optional<JsonNode> toNotifyJson() {
@@ -218,6 +263,48 @@ public class Index implements TopologyInf {
         return index;
     }
 
+    /**
+     * Builds the index with CREATE INDEX CONCURRENTLY on its own connection, outside of any transaction.
+     * The statement only returns once the index is valid. If it fails the invalid index it leaves behind is dropped.
+     * The index is not added to the topology, see {@link #createBuiltIndex(SqlgGraph, AbstractLabel, String, IndexType, List)}.
+     */
+    static void buildIndexConcurrently(SqlgGraph sqlgGraph, AbstractLabel abstractLabel, String indexName, IndexType indexType, List<PropertyColumn> properties) {
+        Preconditions.checkArgument(!indexType.isStoredFullText(), "A stored full text index adds a column to the table, it can not be built concurrently");
+        Index index = new Index(indexName, indexType, abstractLabel, properties);
+        SchemaTable schemaTable = SchemaTable.of(abstractLabel.getSchema().getName(), abstractLabel.getLabel());
+        SqlDialect sqlDialect = sqlgGraph.getSqlDialect();
+        try (Connection connection = sqlgGraph.getConnection()) {
+            connection.setAutoCommit(true);
+            try (Statement stmt = connection.createStatement()) {
+                for (String sql : index.addIndexSql(sqlgGraph, schemaTable, indexType, properties, true)) {
+                    if (index.logger.isDebugEnabled()) {
+                        index.logger.debug(sql);
+                    }
+                    stmt.execute(sql);
+                }
+            } catch (SQLException e) {
+                try {
+                    sqlDialect.dropInvalidIndex(connection, schemaTable.getSchema(), indexName);
+                } catch (SQLException e1) {
+                    e.addSuppressed(e1);
+                }
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Adds an index that has already been built on the database to the topology.
+     */
+    static Index createBuiltIndex(SqlgGraph sqlgGraph, AbstractLabel abstractLabel, String indexName, IndexType indexType, List<PropertyColumn> properties) {
+        Index index = new Index(indexName, indexType, abstractLabel, properties);
+        TopologyManager.addIndex(sqlgGraph, abstractLabel, index, indexType, properties);
+        index.committed = false;
+        return index;
+    }
+
     List<Topology.TopologyValidationError> validateTopology(DatabaseMetaData metadata) throws SQLException {
         List<Topology.TopologyValidationError> validationErrors = new ArrayList<>();
         try (ResultSet propertyRs = metadata.getIndexInfo(null, this.abstractLabel.getSchema().getName(), this.abstractLabel.getPrefix() + this.abstractLabel.getLabel(), false, false)) {
@@ -15,15 +15,66 @@ public class IndexType {
 
 	public static final IndexType UNIQUE=new IndexType("UNIQUE");
 	public static final IndexType NON_UNIQUE=new IndexType("NON_UNIQUE");
+	/**
+	 * A GiST index, used by the spatial predicates and nearest neighbour ordering on the gis types.
+	 */
+	public static final IndexType GIST=new IndexType("GIST");
 
 	public static final String GIN_FULLTEXT="GIN_FULLTEXT";
 	public static final String GIN_CONFIGURATION="config";
+	public static final String GIN_STORED="stored";
+	public static final String GIN_JSON="GIN_JSON";
+	public static final String GIN_OPERATOR_CLASS="opclass";
+	public static final String GIN_ARRAY="GIN_ARRAY";
+	public static final String GIN_TRIGRAM="GIN_TRIGRAM";
+	public static final String GIST_TRIGRAM="GIST_TRIGRAM";
 	
 	public static IndexType getFullTextGIN(String configuration){
 		IndexType it=new IndexType(GIN_FULLTEXT);
 		it.getProperties().put(GIN_CONFIGURATION, configuration);
 		return it;
 	}
+
+	/**
+	 * @param stored if true the tsvector is kept in a generated column that is indexed and used by
+	 *               {@link org.umlg.sqlg.predicate.FullText} on the property, instead of being computed per row.
+	 */
+	public static IndexType getFullTextGIN(String configuration, boolean stored){
+		IndexType it=getFullTextGIN(configuration);
+		if (stored){
+			it.getProperties().put(GIN_STORED, Boolean.TRUE.toString());
+		}
+		return it;
+	}
+
+	/**
+	 * @param pathOps jsonb_path_ops indexes are smaller and faster but only support the containment operator.
+	 */
+	public static IndexType getJsonGIN(boolean pathOps){
+		IndexType it=new IndexType(GIN_JSON);
+		if (pathOps){
+			it.getProperties().put(GIN_OPERATOR_CLASS, "jsonb_path_ops");
+		}
+		return it;
+	}
+
+	/**
+	 * A GIN index on an array column, used by the array containment and overlap predicates.
+	 */
+	public static IndexType getArrayGIN(){
+		return new IndexType(GIN_ARRAY);
+	}
+
+	/**
+	 * A trigram index (pg_trgm) that serves the Text contains, containsCIS and endsWith predicates.
+	 * GIN is faster to search, GiST is faster to update.
+	 * On dialects without trigram support a plain index is created instead, it only serves startsWith.
+	 */
+	public static IndexType getTrigram(boolean gist){
+		IndexType it=new IndexType(gist ? GIST_TRIGRAM : GIN_TRIGRAM);
+		it.getProperties().put(GIN_OPERATOR_CLASS, gist ? "gist_trgm_ops" : "gin_trgm_ops");
+		return it;
+	}
 	
     private String name;
     private Map<String,String> properties=new HashMap<>();
@@ -41,8 +92,20 @@ public class IndexType {
 		return properties;
 	}
 
+	public boolean isGIST(){
+		return GIST.getName().equals(name) || GIST_TRIGRAM.equals(name);
+	}
+
 	public boolean isGIN(){
-		return GIN_FULLTEXT.equals(name);
+		return GIN_FULLTEXT.equals(name) || GIN_JSON.equals(name) || GIN_ARRAY.equals(name) || GIN_TRIGRAM.equals(name);
+	}
+
+	public boolean isStoredFullText(){
+		return GIN_FULLTEXT.equals(name) && Boolean.parseBoolean(properties.get(GIN_STORED));
+	}
+
+	public boolean isTrigram(){
+		return GIN_TRIGRAM.equals(name) || GIST_TRIGRAM.equals(name);
 	}
 	
 	@Override
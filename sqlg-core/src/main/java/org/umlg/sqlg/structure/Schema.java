@@ -5,11 +5,7 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Preconditions;
 import org.apache.commons.lang3.tuple.Pair;
-import org.apache.tinkerpop.gremlin.process.traversal.Path;
-import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
-import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Direction;
-import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.umlg.sqlg.sql.dialect.SqlDialect;
@@ -33,17 +29,19 @@ public class Schema implements TopologyInf {
     private Topology topology;
     private String name;
     private boolean committed = true;
+    //false while the topology is lazy and the schema's labels are not loaded yet
+    private volatile boolean loaded = true;
     //The key is schema + "." + VERTEX_PREFIX + vertex label. i.e. "A.V_A"
-    private Map<String, VertexLabel> vertexLabels = new HashMap<>();
+    //Unloading swaps in new maps rather than clearing them, readers that got the map while the schema was loaded keep a complete map.
+    private volatile Map<String, VertexLabel> vertexLabels = new HashMap<>();
     private Map<String, VertexLabel> uncommittedVertexLabels = new HashMap<>();
 
-    private Map<String, EdgeLabel> outEdgeLabels = new HashMap<>();
+    private volatile Map<String, EdgeLabel> outEdgeLabels = new HashMap<>();
     private Map<String, EdgeLabel> uncommittedOutEdgeLabels = new HashMap<>();
 
     public static final String GLOBAL_UNIQUE_INDEX_SCHEMA = "gui_schema";
     private Map<String, GlobalUniqueIndex> uncommittedGlobalUniqueIndexes = new HashMap<>();
     private Map<String, GlobalUniqueIndex> globalUniqueIndexes = new HashMap<>();
-    private static final String MARKER = "~gremlin.incidentToAdjacent";
 
     /**
      * Creates the SqlgSchema. The sqlg_schema always exist and is created via sql in {@link SqlDialect#sqlgTopologyCreationScripts()}
@@ -107,6 +105,65 @@ public class Schema implements TopologyInf {
         return this.sqlgGraph;
     }
 
+    /**
+     * @return false if the topology is lazy and the schema's labels have not been loaded yet.
+     */
+    public boolean isLoaded() {
+        return this.loaded;
+    }
+
+    void setLoaded(boolean loaded) {
+        this.loaded = loaded;
+    }
+
+    private void loadIfLazy() {
+        if (this.topology.isLazy()) {
+            this.topology.loadSchema(this);
+        }
+    }
+
+    /**
+     * @return the committed vertex labels, loaded if the topology is lazy.
+     */
+    private Map<String, VertexLabel> loadedVertexLabels() {
+        loadIfLazy();
+        Map<String, VertexLabel> result = this.vertexLabels;
+        //the map is read before the flag, if the schema is still loaded the map is complete.
+        if (isStable()) {
+            return result;
+        }
+        //unloaded by another thread in between, read it while it can not be unloaded.
+        return this.topology.readLoadedSchema(this, () -> this.vertexLabels);
+    }
+
+    /**
+     * @return the committed out edge labels, loaded if the topology is lazy.
+     */
+    private Map<String, EdgeLabel> loadedOutEdgeLabels() {
+        loadIfLazy();
+        Map<String, EdgeLabel> result = this.outEdgeLabels;
+        if (isStable()) {
+            return result;
+        }
+        return this.topology.readLoadedSchema(this, () -> this.outEdgeLabels);
+    }
+
+    //Unloading takes the write lock, the thread that holds it sees the maps as they are, i.e. while applying a notification.
+    private boolean isStable() {
+        return this.loaded || !this.topology.isLazy() || this.topology.isWriteLockHeldByCurrentThread();
+    }
+
+    /**
+     * Drops the labels of the schema in lazy mode, they are loaded again when the schema is next referenced.
+     * The maps are replaced, not cleared, as other threads may still be reading them.
+     */
+    void unload() {
+        Preconditions.checkState(this.uncommittedVertexLabels.isEmpty() && this.uncommittedOutEdgeLabels.isEmpty(), "A schema with uncommitted labels can not be unloaded");
+        this.loaded = false;
+        this.vertexLabels = new HashMap<>();
+        this.outEdgeLabels = new HashMap<>();
+    }
+
     @Override
     public boolean isCommitted() {
         return this.committed;
@@ -234,16 +291,7 @@ public class Schema implements TopologyInf {
         if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
             sql.append(";");
         }
-        if (logger.isDebugEnabled()) {
-            logger.debug(sql.toString());
-        }
-        Connection conn = this.sqlgGraph.tx().getConnection();
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute(sql.toString());
-        } catch (SQLException e) {
-            logger.error("schema creation failed " + this.sqlgGraph.toString(), e);
-            throw new RuntimeException(e);
-        }
+        this.topology.executeDdl(sql.toString());
     }
 
     /**
@@ -272,7 +320,7 @@ public class Schema implements TopologyInf {
 
     public Optional<VertexLabel> getVertexLabel(String vertexLabelName) {
         Preconditions.checkArgument(!vertexLabelName.startsWith(VERTEX_PREFIX), "vertex label may not start with \"%s\"", SchemaManager.VERTEX_PREFIX);
-        VertexLabel result = this.vertexLabels.get(this.name + "." + VERTEX_PREFIX + vertexLabelName);
+        VertexLabel result = loadedVertexLabels().get(this.name + "." + VERTEX_PREFIX + vertexLabelName);
         if (result == null && this.topology.isWriteLockHeldByCurrentThread()) {
             result = this.uncommittedVertexLabels.get(this.name + "." + VERTEX_PREFIX + vertexLabelName);
         }
@@ -281,7 +329,7 @@ public class Schema implements TopologyInf {
 
     Map<String, EdgeLabel> getEdgeLabels() {
         Map<String, EdgeLabel> result = new HashMap<>();
-        result.putAll(this.outEdgeLabels);
+        result.putAll(loadedOutEdgeLabels());
         if (this.topology.isWriteLockHeldByCurrentThread()) {
             result.putAll(this.uncommittedOutEdgeLabels);
         }
@@ -303,7 +351,7 @@ public class Schema implements TopologyInf {
 
     public Optional<EdgeLabel> getEdgeLabel(String edgeLabelName) {
         Preconditions.checkArgument(!edgeLabelName.startsWith(SchemaManager.EDGE_PREFIX), "edge label may not start with \"%s\"", SchemaManager.EDGE_PREFIX);
-        EdgeLabel edgeLabel = this.outEdgeLabels.get(this.name + "." + EDGE_PREFIX + edgeLabelName);
+        EdgeLabel edgeLabel = loadedOutEdgeLabels().get(this.name + "." + EDGE_PREFIX + edgeLabelName);
         if (edgeLabel != null) {
             return Optional.of(edgeLabel);
         }
@@ -319,7 +367,7 @@ public class Schema implements TopologyInf {
     //remove in favour of PropertyColumn
     Map<String, Map<String, PropertyType>> getAllTables() {
         Map<String, Map<String, PropertyType>> result = new HashMap<>();
-        for (Map.Entry<String, VertexLabel> vertexLabelEntry : this.vertexLabels.entrySet()) {
+        for (Map.Entry<String, VertexLabel> vertexLabelEntry : loadedVertexLabels().entrySet()) {
             String vertexQualifiedName = this.name + "." + VERTEX_PREFIX + vertexLabelEntry.getValue().getLabel();
             result.put(vertexQualifiedName, vertexLabelEntry.getValue().getPropertyTypeMap());
         }
@@ -343,7 +391,7 @@ public class Schema implements TopologyInf {
 
     public Map<String, VertexLabel> getVertexLabels() {
         Map<String, VertexLabel> result = new HashMap<>();
-        result.putAll(this.vertexLabels);
+        result.putAll(loadedVertexLabels());
         if (this.topology.isWriteLockHeldByCurrentThread()) {
             result.putAll(this.uncommittedVertexLabels);
         }
@@ -452,7 +500,7 @@ public class Schema implements TopologyInf {
 
     Map<SchemaTable, Pair<Set<SchemaTable>, Set<SchemaTable>>> getTableLabels() {
         Map<SchemaTable, Pair<Set<SchemaTable>, Set<SchemaTable>>> result = new HashMap<>();
-        for (Map.Entry<String, VertexLabel> vertexLabelEntry : this.vertexLabels.entrySet()) {
+        for (Map.Entry<String, VertexLabel> vertexLabelEntry : loadedVertexLabels().entrySet()) {
             Preconditions.checkState(!vertexLabelEntry.getValue().getLabel().startsWith(VERTEX_PREFIX), "vertexLabel may not start with " + VERTEX_PREFIX);
             String prefixedVertexName = VERTEX_PREFIX + vertexLabelEntry.getValue().getLabel();
             SchemaTable schemaTable = SchemaTable.of(this.getName(), prefixedVertexName);
@@ -590,350 +638,36 @@ public class Schema implements TopologyInf {
         return this.name.equals(SQLG_SCHEMA);
     }
 
-    void loadVertexOutEdgesAndProperties(GraphTraversalSource traversalSource, Vertex schemaVertex) {
-        //First load the vertex and its properties
-        List<Path> vertices = traversalSource
-                .V(schemaVertex)
-                .out(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE).as("vertex")
-                //a vertex does not necessarily have properties so use optional.
-                .optional(
-                        __.out(SQLG_SCHEMA_VERTEX_PROPERTIES_EDGE).as("property")
-                )
-                .path()
-                .toList();
-        for (Path vertexProperties : vertices) {
-            Vertex vertexVertex = null;
-            Vertex propertyVertex = null;
-            List<Set<String>> labelsList = vertexProperties.labels();
-            for (Set<String> labels : labelsList) {
-                for (String label : labels) {
-                    switch (label) {
-                        case "vertex":
-                            vertexVertex = vertexProperties.get("vertex");
-                            break;
-                        case "property":
-                            propertyVertex = vertexProperties.get("property");
-                            break;
-                        case "sqlgPathFakeLabel":
-                            break;
-                        case MARKER:
-                            break;
-                        default:
-                            throw new IllegalStateException(String.format("BUG: Only \"vertex\" and \"property\" is expected as a label. Found %s", label));
-                    }
-                }
-            }
-            Preconditions.checkState(vertexVertex != null, "BUG: Topology vertex not found.");
-            String schemaName = schemaVertex.value(SQLG_SCHEMA_SCHEMA_NAME);
-            String tableName = vertexVertex.value(SQLG_SCHEMA_VERTEX_LABEL_NAME);
-            VertexLabel vertexLabel = this.vertexLabels.get(schemaName + "." + VERTEX_PREFIX + tableName);
-            if (vertexLabel == null) {
-                vertexLabel = new VertexLabel(this, tableName);
-                this.vertexLabels.put(schemaName + "." + VERTEX_PREFIX + tableName, vertexLabel);
-            }
-            if (propertyVertex != null) {
-                vertexLabel.addProperty(propertyVertex);
-            }
-        }
-
-        //Load the out edges. This will load all edges as all edges have a out vertex.
-        List<Path> outEdges = traversalSource
-                .V(schemaVertex)
-                .out(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE).as("vertex")
-                //a vertex does not necessarily have properties so use optional.
-                .optional(
-                        __.out(SQLG_SCHEMA_OUT_EDGES_EDGE).as("outEdgeVertex")
-                                .optional(
-                                        __.out(SQLG_SCHEMA_EDGE_PROPERTIES_EDGE).as("property")
-                                )
-                )
-                .path()
-                .toList();
-        for (Path outEdgePath : outEdges) {
-            List<Set<String>> labelsList = outEdgePath.labels();
-            Vertex vertexVertex = null;
-            Vertex outEdgeVertex = null;
-            Vertex edgePropertyVertex = null;
-            for (Set<String> labels : labelsList) {
-                for (String label : labels) {
-                    switch (label) {
-                        case "vertex":
-                            vertexVertex = outEdgePath.get("vertex");
-                            break;
-                        case "outEdgeVertex":
-                            outEdgeVertex = outEdgePath.get("outEdgeVertex");
-                            break;
-                        case "property":
-                            edgePropertyVertex = outEdgePath.get("property");
-                            break;
-                        case "sqlgPathFakeLabel":
-                            break;
-                        case MARKER:
-                            break;
-                        default:
-                            throw new IllegalStateException(String.format("BUG: Only \"vertex\", \"outEdgeVertex\" and \"property\" is expected as a label. Found \"%s\"", label));
-                    }
-                }
-            }
-            Preconditions.checkState(vertexVertex != null, "BUG: Topology vertex not found.");
-            String schemaName = schemaVertex.value(SQLG_SCHEMA_SCHEMA_NAME);
-            String tableName = vertexVertex.value(SQLG_SCHEMA_VERTEX_LABEL_NAME);
-            VertexLabel vertexLabel = this.vertexLabels.get(schemaName + "." + VERTEX_PREFIX + tableName);
-            Preconditions.checkState(vertexLabel != null, "vertexLabel must be present when loading outEdges. Not found for \"%s\"", schemaName + "." + VERTEX_PREFIX + tableName);
-            if (outEdgeVertex != null) {
-                //load the EdgeLabel
-                String edgeLabelName = outEdgeVertex.value(SQLG_SCHEMA_EDGE_LABEL_NAME);
-                Optional<EdgeLabel> edgeLabelOptional = this.getEdgeLabel(edgeLabelName);
-                EdgeLabel edgeLabel;
-                if (!edgeLabelOptional.isPresent()) {
-                    edgeLabel = EdgeLabel.loadFromDb(vertexLabel.getSchema().getTopology(), edgeLabelName);
-                    vertexLabel.addToOutEdgeLabels(schemaName, edgeLabel);
-                } else {
-                    edgeLabel = edgeLabelOptional.get();
-                    vertexLabel.addToOutEdgeLabels(schemaName, edgeLabel);
-                }
-                if (edgePropertyVertex != null) {
-                    //load the property
-                    edgeLabel.addProperty(edgePropertyVertex);
-                }
-                this.outEdgeLabels.put(schemaName + "." + EDGE_PREFIX + edgeLabelName, edgeLabel);
-            }
-        }
-
-    }
-
     /**
-     * load indices for all vertices in schema
+     * Loads a committed {@link VertexLabel} of this schema from the topology tables.
      *
-     * @param traversalSource
-     * @param schemaVertex
+     * @param vertexLabelName The vertex label's name.
+     * @return The loaded VertexLabel.
      */
-    void loadVertexIndices(GraphTraversalSource traversalSource, Vertex schemaVertex) {
-        List<Path> indices = traversalSource
-                .V(schemaVertex)
-                .out(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE).as("vertex")
-                //a vertex does not necessarily have properties so use optional.
-                .optional(
-                        __.out(SQLG_SCHEMA_VERTEX_INDEX_EDGE).as("index")
-                                .optional(
-                                        __.out(SQLG_SCHEMA_INDEX_PROPERTY_EDGE).as("property")
-                                )
-                )
-                .path()
-                .toList();
-        for (Path vertexIndices : indices) {
-            Vertex vertexVertex = null;
-            Vertex vertexIndex = null;
-            Vertex propertyIndex = null;
-            List<Set<String>> labelsList = vertexIndices.labels();
-            for (Set<String> labels : labelsList) {
-                for (String label : labels) {
-                    switch (label) {
-                        case "vertex":
-                            vertexVertex = vertexIndices.get("vertex");
-                            break;
-                        case "index":
-                            vertexIndex = vertexIndices.get("index");
-                            break;
-                        case "property":
-                            propertyIndex = vertexIndices.get("property");
-                            break;
-                        case "sqlgPathFakeLabel":
-                            break;
-                        case Schema.MARKER:
-                            break;
-                        default:
-                            throw new IllegalStateException(String.format("BUG: Only \"vertex\",\"index\" and \"property\" is expected as a label. Found %s", label));
-                    }
-                }
-            }
-            Preconditions.checkState(vertexVertex != null, "BUG: Topology vertex not found.");
-            String schemaName = schemaVertex.value(SQLG_SCHEMA_SCHEMA_NAME);
-            String tableName = vertexVertex.value(SQLG_SCHEMA_VERTEX_LABEL_NAME);
-            VertexLabel vertexLabel = this.vertexLabels.get(schemaName + "." + VERTEX_PREFIX + tableName);
-            if (vertexLabel == null) {
-                vertexLabel = new VertexLabel(this, tableName);
-                this.vertexLabels.put(schemaName + "." + VERTEX_PREFIX + tableName, vertexLabel);
-            }
-            if (vertexIndex != null) {
-                String indexName = vertexIndex.value(SQLG_SCHEMA_INDEX_NAME);
-                Optional<Index> oidx = vertexLabel.getIndex(indexName);
-                Index idx;
-                if (oidx.isPresent()) {
-                    idx = oidx.get();
-                } else {
-                    idx = new Index(indexName, IndexType.fromString(vertexIndex.value(SQLG_SCHEMA_INDEX_INDEX_TYPE)), vertexLabel);
-                    vertexLabel.addIndex(idx);
-                }
-                if (propertyIndex != null) {
-                    String propertyName = propertyIndex.value(SQLG_SCHEMA_PROPERTY_NAME);
-                    vertexLabel.getProperty(propertyName).ifPresent((PropertyColumn pc) -> idx.addProperty(pc));
-                }
-
-            }
-        }
-    }
-
-    void loadInEdgeLabels(GraphTraversalSource traversalSource, Vertex schemaVertex) {
-        //Load the in edges via the out edges. This is necessary as the out vertex is needed to know the schema the edge is in.
-        //As all edges are already loaded via the out edges this will only set the in edge association.
-        List<Path> inEdges = traversalSource
-                .V(schemaVertex)
-                .out(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE).as("vertex")
-                //a vertex does not necessarily have properties so use optional.
-                .optional(
-                        __.out(SQLG_SCHEMA_OUT_EDGES_EDGE).as("outEdgeVertex")
-                                .in(SQLG_SCHEMA_IN_EDGES_EDGE).as("inVertex")
-                                .in(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE).as("inSchema")
-                )
-                .path()
-                .toList();
-        for (Path inEdgePath : inEdges) {
-            List<Set<String>> labelsList = inEdgePath.labels();
-            Vertex vertexVertex = null;
-            Vertex outEdgeVertex = null;
-            Vertex inVertex = null;
-            Vertex inSchemaVertex = null;
-            for (Set<String> labels : labelsList) {
-                for (String label : labels) {
-                    switch (label) {
-                        case "vertex":
-                            vertexVertex = inEdgePath.get("vertex");
-                            break;
-                        case "outEdgeVertex":
-                            outEdgeVertex = inEdgePath.get("outEdgeVertex");
-                            break;
-                        case "inVertex":
-                            inVertex = inEdgePath.get("inVertex");
-                            break;
-                        case "inSchema":
-                            inSchemaVertex = inEdgePath.get("inSchema");
-                            break;
-                        case "sqlgPathFakeLabel":
-                            break;
-                        case MARKER:
-                            break;
-                        default:
-                            throw new IllegalStateException(String.format("BUG: Only \"vertex\", \"outEdgeVertex\" and \"inVertex\" are expected as a label. Found %s", label));
-                    }
-                }
-            }
-            Preconditions.checkState(vertexVertex != null, "BUG: Topology vertex not found.");
-            String schemaName = schemaVertex.value(SQLG_SCHEMA_SCHEMA_NAME);
-            String tableName = vertexVertex.value(SQLG_SCHEMA_VERTEX_LABEL_NAME);
-            VertexLabel vertexLabel = this.vertexLabels.get(schemaName + "." + VERTEX_PREFIX + tableName);
-            Preconditions.checkState(vertexLabel != null, "vertexLabel must be present when loading inEdges. Not found for %s", schemaName + "." + VERTEX_PREFIX + tableName);
-            if (outEdgeVertex != null) {
-                String edgeLabelName = outEdgeVertex.value(SQLG_SCHEMA_EDGE_LABEL_NAME);
-
-                //inVertex and inSchema must be present.
-                Preconditions.checkState(inVertex != null, "BUG: In vertex not found edge for \"%s\"", edgeLabelName);
-                Preconditions.checkState(inSchemaVertex != null, "BUG: In schema vertex not found for edge \"%s\"", edgeLabelName);
-
-                Optional<EdgeLabel> outEdgeLabelOptional = this.topology.getEdgeLabel(getName(), edgeLabelName);
-                Preconditions.checkState(outEdgeLabelOptional.isPresent(), "BUG: EdgeLabel for \"%s\" should already be loaded", getName() + "." + edgeLabelName);
-                //noinspection OptionalGetWithoutIsPresent
-                EdgeLabel outEdgeLabel = outEdgeLabelOptional.get();
-
-                String inVertexLabelName = inVertex.value(SQLG_SCHEMA_VERTEX_LABEL_NAME);
-                String inSchemaVertexLabelName = inSchemaVertex.value(SQLG_SCHEMA_SCHEMA_NAME);
-                Optional<VertexLabel> vertexLabelOptional = this.topology.getVertexLabel(inSchemaVertexLabelName, inVertexLabelName);
-                Preconditions.checkState(vertexLabelOptional.isPresent(), "BUG: VertexLabel not found for schema %s and label %s", inSchemaVertexLabelName, inVertexLabelName);
-                //noinspection OptionalGetWithoutIsPresent
-                VertexLabel inVertexLabel = vertexLabelOptional.get();
-
-                inVertexLabel.addToInEdgeLabels(outEdgeLabel);
-            }
-        }
+    VertexLabel loadVertexLabel(String vertexLabelName) {
+        return this.vertexLabels.computeIfAbsent(this.name + "." + VERTEX_PREFIX + vertexLabelName, k -> new VertexLabel(this, vertexLabelName));
     }
 
     /**
-     * load indices for (out) edges on all vertices of schema
+     * Loads a committed {@link EdgeLabel} of this schema from the topology tables and adds it to the out vertex label's out edges.
+     * Edges are in the schema of their out vertex.
      *
-     * @param traversalSource
-     * @param schemaVertex
+     * @param outVertexLabel The out vertex label of the edge label.
+     * @param edgeLabelName  The edge label's name.
+     * @return The loaded EdgeLabel.
      */
-    void loadEdgeIndices(GraphTraversalSource traversalSource, Vertex schemaVertex) {
-        List<Path> indices = traversalSource
-                .V(schemaVertex)
-                .out(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE).as("vertex")
-                //a vertex does not necessarily have properties so use optional.
-                .optional(
-                        __.out(SQLG_SCHEMA_OUT_EDGES_EDGE).as("outEdgeVertex")
-                                .optional(
-                                        __.out(SQLG_SCHEMA_EDGE_INDEX_EDGE).as("index")
-                                                .optional(
-                                                        __.out(SQLG_SCHEMA_INDEX_PROPERTY_EDGE).as("property")
-                                                )
-                                )
-                )
-                .path()
-                .toList();
-        for (Path vertexIndices : indices) {
-            Vertex vertexVertex = null;
-            Vertex vertexEdge = null;
-            Vertex vertexIndex = null;
-            Vertex propertyIndex = null;
-            List<Set<String>> labelsList = vertexIndices.labels();
-            for (Set<String> labels : labelsList) {
-                for (String label : labels) {
-                    switch (label) {
-                        case "vertex":
-                            vertexVertex = vertexIndices.get("vertex");
-                            break;
-                        case "outEdgeVertex":
-                            vertexEdge = vertexIndices.get("outEdgeVertex");
-                            break;
-                        case "index":
-                            vertexIndex = vertexIndices.get("index");
-                            break;
-                        case "property":
-                            propertyIndex = vertexIndices.get("property");
-                            break;
-                        case "sqlgPathFakeLabel":
-                            break;
-                        case MARKER:
-                            break;
-                        default:
-                            throw new IllegalStateException(String.format("BUG: Only \"vertex\",\"outEdgeVertex\",\"index\" and \"property\" is expected as a label. Found %s", label));
-                    }
-                }
-            }
-            Preconditions.checkState(vertexVertex != null, "BUG: Topology vertex not found.");
-            String schemaName = schemaVertex.value(SQLG_SCHEMA_SCHEMA_NAME);
-            String tableName = vertexVertex.value(SQLG_SCHEMA_VERTEX_LABEL_NAME);
-            VertexLabel vertexLabel = this.vertexLabels.get(schemaName + "." + VERTEX_PREFIX + tableName);
-            if (vertexLabel == null) {
-                vertexLabel = new VertexLabel(this, tableName);
-                this.vertexLabels.put(schemaName + "." + VERTEX_PREFIX + tableName, vertexLabel);
-            }
-            if (vertexEdge != null) {
-                String edgeName = vertexEdge.value(SQLG_SCHEMA_EDGE_LABEL_NAME);
-                Optional<EdgeLabel> oel = vertexLabel.getOutEdgeLabel(edgeName);
-                if (oel.isPresent()) {
-                    EdgeLabel edgeLabel = oel.get();
-                    if (vertexIndex != null) {
-                        String indexName = vertexIndex.value(SQLG_SCHEMA_INDEX_NAME);
-                        Optional<Index> oidx = edgeLabel.getIndex(indexName);
-                        Index idx;
-                        if (oidx.isPresent()) {
-                            idx = oidx.get();
-                        } else {
-                            idx = new Index(indexName, IndexType.fromString(vertexIndex.value(SQLG_SCHEMA_INDEX_INDEX_TYPE)), edgeLabel);
-                            edgeLabel.addIndex(idx);
-                        }
-                        if (propertyIndex != null) {
-                            String propertyName = propertyIndex.value(SQLG_SCHEMA_PROPERTY_NAME);
-                            edgeLabel.getProperty(propertyName).ifPresent((PropertyColumn pc) -> idx.addProperty(pc));
-                        }
-
-                    }
-                }
-            }
+    EdgeLabel loadOutEdgeLabel(VertexLabel outVertexLabel, String edgeLabelName) {
+        EdgeLabel edgeLabel = this.outEdgeLabels.get(this.name + "." + EDGE_PREFIX + edgeLabelName);
+        if (edgeLabel == null) {
+            edgeLabel = EdgeLabel.loadFromDb(this.topology, edgeLabelName);
+            this.outEdgeLabels.put(this.name + "." + EDGE_PREFIX + edgeLabelName, edgeLabel);
         }
+        outVertexLabel.addToOutEdgeLabels(this.name, edgeLabel);
+        return edgeLabel;
     }
 
     JsonNode toJson() {
+        loadIfLazy();
         ObjectNode schemaNode = new ObjectNode(Topology.OBJECT_MAPPER.getNodeFactory());
         schemaNode.put("name", this.getName());
         ArrayNode vertexLabelArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
@@ -995,18 +729,23 @@ public class Schema implements TopologyInf {
                 for (JsonNode vertexLabelJson : vertexLabels) {
                     String vertexLabelName = vertexLabelJson.get("label").asText();
                     Optional<VertexLabel> vertexLabelOptional = getVertexLabel(vertexLabelName);
+                    //a schema that is not loaded only has the notified labels, the cache knows if the label already existed.
+                    boolean existed = vertexLabelOptional.isPresent() ||
+                            (!this.loaded && this.topology.isCachedTable(this.name + "." + VERTEX_PREFIX + vertexLabelName));
                     VertexLabel vertexLabel;
                     if (vertexLabelOptional.isPresent()) {
                         vertexLabel = vertexLabelOptional.get();
                     } else {
                         vertexLabel = new VertexLabel(this, vertexLabelName);
                         this.vertexLabels.put(this.name + "." + VERTEX_PREFIX + vertexLabelName, vertexLabel);
-                        this.getTopology().fire(vertexLabel, "", TopologyChangeAction.CREATE);
+                        if (!existed) {
+                            this.getTopology().fire(vertexLabel, "", TopologyChangeAction.CREATE);
+                        }
                     }
                     //The order of the next two statements matter.
                     //fromNotifyJsonOutEdge needs to happen first to ensure the properties are on the VertexLabel
                     // fire only if we didn't create the vertex label
-                    vertexLabel.fromNotifyJsonOutEdge(vertexLabelJson,vertexLabelOptional.isPresent());
+                    vertexLabel.fromNotifyJsonOutEdge(vertexLabelJson, existed);
                     this.getTopology().addToAllTables(this.getName() + "." + VERTEX_PREFIX + vertexLabelName, vertexLabel.getPropertyTypeMap());
                 }
             }
@@ -1049,13 +788,14 @@ public class Schema implements TopologyInf {
 
     boolean deepEquals(Schema other) {
         Preconditions.checkState(this.name.equals(other.name), "deepEquals is called after the regular equals. i.e. the names must be equals");
-        if (!(this.vertexLabels.equals(other.getVertexLabels()))) {
+        Map<String, VertexLabel> vertexLabels = loadedVertexLabels();
+        if (!(vertexLabels.equals(other.getVertexLabels()))) {
             return false;
         } else {
-            if (!this.vertexLabels.equals(other.getVertexLabels())) {
+            if (!vertexLabels.equals(other.getVertexLabels())) {
                 return false;
             }
-            for (Map.Entry<String, VertexLabel> vertexLabelEntry : this.vertexLabels.entrySet()) {
+            for (Map.Entry<String, VertexLabel> vertexLabelEntry : vertexLabels.entrySet()) {
                 VertexLabel vertexLabel = vertexLabelEntry.getValue();
                 VertexLabel otherVertexLabel = other.getVertexLabels().get(vertexLabelEntry.getKey());
                 if (!vertexLabel.deepEquals(otherVertexLabel)) {
@@ -1084,6 +824,7 @@ public class Schema implements TopologyInf {
     }
 
     List<Topology.TopologyValidationError> validateTopology(DatabaseMetaData metadata) throws SQLException {
+        loadIfLazy();
         List<Topology.TopologyValidationError> validationErrors = new ArrayList<>();
         for (VertexLabel vertexLabel : getVertexLabels().values()) {
             try (ResultSet tableRs = metadata.getTables(null, this.getName(), "V_" + vertexLabel.getLabel(), null)) {
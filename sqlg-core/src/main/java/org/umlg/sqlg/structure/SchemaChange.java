@@ -0,0 +1,190 @@
+package org.umlg.sqlg.structure;
+
+import com.google.common.base.Preconditions;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.umlg.sqlg.structure.SchemaManager.EDGE_PREFIX;
+import static org.umlg.sqlg.structure.SchemaManager.VERTEX_PREFIX;
+
+/**
+ * Collects the definitions of many labels, properties and indexes and creates the missing ones in one go.
+ * <p>
+ * {@link #apply()} takes the topology lock once and executes all the ddl as one jdbc batch in the current transaction.
+ * On dialects that support batch mode the sqlg_schema rows are written in normal batch mode, the user's pending batch is flushed first.
+ * The topology's rows and the notification to other graphs are written when the transaction commits, as one change.
+ * Calling the ensure methods one at a time executes every ddl statement on its own.
+ * <pre>
+ * SchemaChange.build(sqlgGraph)
+ *         .vertexLabel("A", "Person", properties)
+ *         .edgeLabel("knows", SchemaTable.of("A", "Person"), SchemaTable.of("A", "Person"), Collections.emptyMap())
+ *         .vertexIndex("A", "Person", IndexType.UNIQUE, Collections.singletonList("name"))
+ *         .apply();
+ * sqlgGraph.tx().commit();
+ * </pre>
+ * Vertex labels are created first, then the edge labels, the edge properties and lastly the indexes,
+ * so definitions may refer to labels defined later on the same SchemaChange.
+ */
+public class SchemaChange {
+
+    private final SqlgGraph sqlgGraph;
+    //the properties per vertex label
+    private final Map<SchemaTable, Map<String, PropertyType>> vertexLabels = new LinkedHashMap<>();
+    private final List<EdgeLabelDefinition> edgeLabels = new ArrayList<>();
+    //the properties per edge label
+    private final Map<SchemaTable, Map<String, PropertyType>> edgeProperties = new LinkedHashMap<>();
+    private final List<IndexDefinition> indexes = new ArrayList<>();
+    private boolean applied = false;
+
+    private SchemaChange(SqlgGraph sqlgGraph) {
+        this.sqlgGraph = sqlgGraph;
+    }
+
+    public static SchemaChange build(SqlgGraph sqlgGraph) {
+        return new SchemaChange(sqlgGraph);
+    }
+
+    public SchemaChange vertexLabel(String schema, String label) {
+        return vertexLabel(schema, label, Collections.emptyMap());
+    }
+
+    /**
+     * The vertex label with its properties, the properties are added to those of an existing label.
+     */
+    public SchemaChange vertexLabel(String schema, String label, Map<String, PropertyType> properties) {
+        Objects.requireNonNull(schema, "schema may not be null");
+        Objects.requireNonNull(label, "label may not be null");
+        Preconditions.checkArgument(!label.startsWith(VERTEX_PREFIX), "label may not be prefixed with %s", VERTEX_PREFIX);
+        this.vertexLabels.computeIfAbsent(SchemaTable.of(schema, label), k -> new LinkedHashMap<>()).putAll(properties);
+        return this;
+    }
+
+    /**
+     * The edge label between the out and in vertex labels, it resides in the out vertex label's schema.
+     *
+     * @param edgeLabel      The edge's label.
+     * @param outVertexLabel The schema and label of the out vertex label.
+     * @param inVertexLabel  The schema and label of the in vertex label.
+     * @param properties     The edge's properties.
+     */
+    public SchemaChange edgeLabel(String edgeLabel, SchemaTable outVertexLabel, SchemaTable inVertexLabel, Map<String, PropertyType> properties) {
+        Objects.requireNonNull(edgeLabel, "edgeLabel may not be null");
+        Objects.requireNonNull(outVertexLabel, "outVertexLabel may not be null");
+        Objects.requireNonNull(inVertexLabel, "inVertexLabel may not be null");
+        Preconditions.checkArgument(!edgeLabel.startsWith(EDGE_PREFIX), "edgeLabel may not be prefixed with %s", EDGE_PREFIX);
+        this.edgeLabels.add(new EdgeLabelDefinition(edgeLabel, outVertexLabel, inVertexLabel, properties));
+        return this;
+    }
+
+    /**
+     * Properties for an existing edge label or one defined by {@link #edgeLabel(String, SchemaTable, SchemaTable, Map)}.
+     */
+    public SchemaChange edgeProperties(String schema, String label, Map<String, PropertyType> properties) {
+        Objects.requireNonNull(schema, "schema may not be null");
+        Objects.requireNonNull(label, "label may not be null");
+        Preconditions.checkArgument(!label.startsWith(EDGE_PREFIX), "label may not be prefixed with %s", EDGE_PREFIX);
+        this.edgeProperties.computeIfAbsent(SchemaTable.of(schema, label), k -> new LinkedHashMap<>()).putAll(properties);
+        return this;
+    }
+
+    public SchemaChange vertexIndex(String schema, String label, IndexType indexType, List<String> properties) {
+        this.indexes.add(new IndexDefinition(SchemaTable.of(schema, label), true, indexType, properties));
+        return this;
+    }
+
+    public SchemaChange edgeIndex(String schema, String label, IndexType indexType, List<String> properties) {
+        this.indexes.add(new IndexDefinition(SchemaTable.of(schema, label), false, indexType, properties));
+        return this;
+    }
+
+    /**
+     * Creates the labels, properties and indexes that do not exist yet.
+     * The changes are part of the current transaction, they become visible to other transactions and graphs on commit.
+     */
+    public void apply() {
+        Preconditions.checkState(!this.applied, "SchemaChange has already been applied");
+        this.applied = true;
+        Topology topology = this.sqlgGraph.getTopology();
+        SqlgTransaction tx = this.sqlgGraph.tx();
+        tx.readWrite();
+        BatchManager.BatchModeType batchModeType = tx.getBatchModeType();
+        boolean batchRows = this.sqlgGraph.features().supportsBatchMode();
+        if (batchRows) {
+            if (tx.isInBatchMode()) {
+                tx.flush();
+            }
+            tx.normalBatchModeOn();
+        }
+        topology.lock();
+        topology.deferDdl();
+        List<String> ddl;
+        try {
+            for (Map.Entry<SchemaTable, Map<String, PropertyType>> vertexLabelEntry : this.vertexLabels.entrySet()) {
+                SchemaTable schemaTable = vertexLabelEntry.getKey();
+                topology.ensureVertexLabelExist(schemaTable.getSchema(), schemaTable.getTable(), vertexLabelEntry.getValue());
+            }
+            for (EdgeLabelDefinition edgeLabel : this.edgeLabels) {
+                topology.ensureEdgeLabelExist(edgeLabel.label, edgeLabel.outVertexLabel, edgeLabel.inVertexLabel, edgeLabel.properties);
+            }
+            for (Map.Entry<SchemaTable, Map<String, PropertyType>> edgePropertiesEntry : this.edgeProperties.entrySet()) {
+                SchemaTable schemaTable = edgePropertiesEntry.getKey();
+                topology.ensureEdgePropertiesExist(schemaTable.getSchema(), schemaTable.getTable(), edgePropertiesEntry.getValue());
+            }
+            for (IndexDefinition index : this.indexes) {
+                SchemaTable schemaTable = index.abstractLabel;
+                Optional<? extends AbstractLabel> abstractLabelOptional;
+                if (index.vertex) {
+                    abstractLabelOptional = topology.getVertexLabel(schemaTable.getSchema(), schemaTable.getTable());
+                } else {
+                    abstractLabelOptional = topology.getEdgeLabel(schemaTable.getSchema(), schemaTable.getTable());
+                }
+                AbstractLabel abstractLabel = abstractLabelOptional.orElseThrow(
+                        () -> new IllegalStateException(String.format("Label %s does not exist for the index on %s", schemaTable.toString(), index.properties.toString()))
+                );
+                List<PropertyColumn> propertyColumns = index.properties.stream()
+                        .map(p -> abstractLabel.getProperty(p).orElseThrow(
+                                () -> new IllegalStateException(String.format("Property %s does not exist on %s", p, schemaTable.toString()))))
+                        .collect(Collectors.toList());
+                abstractLabel.ensureIndexExists(index.indexType, propertyColumns);
+            }
+            if (batchRows) {
+                tx.flush();
+            }
+        } finally {
+            ddl = topology.stopDeferringDdl();
+            if (batchRows) {
+                tx.batchMode(batchModeType);
+            }
+        }
+        topology.executeDdlBatch(ddl);
+    }
+
+    private static class EdgeLabelDefinition {
+        private final String label;
+        private final SchemaTable outVertexLabel;
+        private final SchemaTable inVertexLabel;
+        private final Map<String, PropertyType> properties;
+
+        private EdgeLabelDefinition(String label, SchemaTable outVertexLabel, SchemaTable inVertexLabel, Map<String, PropertyType> properties) {
+            this.label = label;
+            this.outVertexLabel = outVertexLabel;
+            this.inVertexLabel = inVertexLabel;
+            this.properties = properties;
+        }
+    }
+
+    private static class IndexDefinition {
+        private final SchemaTable abstractLabel;
+        private final boolean vertex;
+        private final IndexType indexType;
+        private final List<String> properties;
+
+        private IndexDefinition(SchemaTable abstractLabel, boolean vertex, IndexType indexType, List<String> properties) {
+            this.abstractLabel = abstractLabel;
+            this.vertex = vertex;
+            this.indexType = indexType;
+            this.properties = properties;
+        }
+    }
+}
@@ -33,7 +33,10 @@ public class SchemaManager {
     public static final String MONTHS = "~~~MONTHS";
     public static final String DAYS = "~~~DAYS";
     public static final String DURATION_NANOS = "~~~NANOS";
+    public static final String TSVECTOR = "~~~TSVECTOR";
     public static final String BULK_TEMP_EDGE = "BULK_TEMP_EDGE";
+    public static final String BULK_TEMP_UPSERT = "BULK_TEMP_UPSERT";
+    public static final String BULK_TEMP_UPDATE = "BULK_TEMP_UPDATE";
 
 
     private SqlgGraph sqlgGraph;
@@ -37,6 +37,19 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
 
     private List<LinkedList<SchemaTableTree>> subQueryStacks;
 
+    /**
+     * The root trees whose optional paths are loaded with their regular query, see {@link SchemaTableTree#singleLeftJoinOptionalStack()}
+     */
+    private Set<SchemaTableTree> singleLeftJoinOptionalRoots = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Load only the distinct leaf elements of the regular queries, see {@link SchemaTableTree#constructSqlForGroupedLeaf}
+     */
+    private boolean groupLeaf = false;
+    private boolean dedup = false;
+    private String dedupKey;
+    private boolean groupedLeafQuery = false;
+
     private Triple<ResultSet, ResultSetMetaData, PreparedStatement> queryResult;
 
     private List<Emit<SqlgElement>> elements = null;
@@ -72,6 +85,16 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
         this.lazy = sqlgGraph.tx().isLazyQueries();
     }
 
+    /**
+     * The regular queries whose leaf can be grouped return each leaf element once.
+     * Without dedup the element's number of paths is its bulk.
+     */
+    public void groupLeaf(boolean dedup, String dedupKey) {
+        this.groupLeaf = true;
+        this.dedup = dedup;
+        this.dedupKey = dedupKey;
+    }
+
     @Override
     public boolean hasNext() {
     	if (lazy){
@@ -118,7 +141,13 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
                                     //try the next rootSchemaTableTree
                                     if (this.rootSchemaTableTreeIterator.hasNext()) {
                                         this.currentRootSchemaTableTree = this.rootSchemaTableTreeIterator.next();
-                                        this.distinctQueriesIterator = this.currentRootSchemaTableTree.constructDistinctQueries().iterator();
+                                        Optional<LinkedList<SchemaTableTree>> singleLeftJoinStack = this.currentRootSchemaTableTree.singleLeftJoinOptionalStack();
+                                        if (singleLeftJoinStack.isPresent()) {
+                                            this.singleLeftJoinOptionalRoots.add(this.currentRootSchemaTableTree);
+                                            this.distinctQueriesIterator = Collections.singletonList(singleLeftJoinStack.get()).iterator();
+                                        } else {
+                                            this.distinctQueriesIterator = this.currentRootSchemaTableTree.constructDistinctQueries().iterator();
+                                        }
                                     } else {
                                         if (this.currentRootSchemaTableTree != null) {
                                             this.currentRootSchemaTableTree.resetColumnAliasMaps();
@@ -153,7 +182,9 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
                                     if (this.rootSchemaTableTreeIterator.hasNext()) {
                                         this.currentRootSchemaTableTree = this.rootSchemaTableTreeIterator.next();
                                         List<Pair<LinkedList<SchemaTableTree>, Set<SchemaTableTree>>> leftJoinResult = new ArrayList<>();
-                                        SchemaTableTree.constructDistinctOptionalQueries(this.currentRootSchemaTableTree, leftJoinResult);
+                                        if (!this.singleLeftJoinOptionalRoots.contains(this.currentRootSchemaTableTree)) {
+                                            SchemaTableTree.constructDistinctOptionalQueries(this.currentRootSchemaTableTree, leftJoinResult);
+                                        }
                                         this.optionalLeftJoinResultsIterator = leftJoinResult.iterator();
                                     } else {
                                         if (this.currentRootSchemaTableTree != null) {
@@ -234,7 +265,14 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
     }
 
     private void executeRegularQuery() {
-        this.queryResult = SqlgSqlExecutor.executeRegularQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.recordId, this.currentDistinctQueryStack);
+        this.groupedLeafQuery = this.groupLeaf && SchemaTableTree.canGroupLeaf(this.currentDistinctQueryStack, this.dedupKey);
+        if (this.groupedLeafQuery) {
+            this.queryResult = SqlgSqlExecutor.executeGroupedLeafQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.recordId, this.currentDistinctQueryStack, this.dedup, this.dedupKey);
+        } else if (this.singleLeftJoinOptionalRoots.contains(this.currentRootSchemaTableTree)) {
+            this.queryResult = SqlgSqlExecutor.executeSingleLeftJoinOptionalQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.recordId, this.currentDistinctQueryStack);
+        } else {
+            this.queryResult = SqlgSqlExecutor.executeRegularQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.recordId, this.currentDistinctQueryStack);
+        }
     }
 
     private void executeOptionalQuery() {
@@ -246,20 +284,61 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
     }
 
     private void iterateRegularQueries() throws SQLException {
-        List<Emit<SqlgElement>> result = SqlgUtil.loadResultSetIntoResultIterator(
-                this.sqlgGraph,
-                this.queryResult.getMiddle(),
-                this.queryResult.getLeft(),
-                this.currentRootSchemaTableTree,
-                this.subQueryStacks,
-                this.first,
-                this.lastElementIdCountMap
-        );
+        List<Emit<SqlgElement>> result;
+        if (this.groupedLeafQuery) {
+            result = loadGroupedLeaf();
+        } else if (this.singleLeftJoinOptionalRoots.contains(this.currentRootSchemaTableTree)) {
+            result = SqlgUtil.loadSingleLeftJoinOptionalResultSetIntoResultIterator(
+                    this.sqlgGraph,
+                    this.queryResult.getMiddle(),
+                    this.queryResult.getLeft(),
+                    this.currentRootSchemaTableTree,
+                    this.currentDistinctQueryStack,
+                    this.first,
+                    this.lastElementIdCountMap
+            );
+        } else {
+            result = SqlgUtil.loadResultSetIntoResultIterator(
+                    this.sqlgGraph,
+                    this.queryResult.getMiddle(),
+                    this.queryResult.getLeft(),
+                    this.currentRootSchemaTableTree,
+                    this.subQueryStacks,
+                    this.first,
+                    this.lastElementIdCountMap
+            );
+        }
         if (!result.isEmpty()) {
             this.elements = result;
         }
     }
 
+    private List<Emit<SqlgElement>> loadGroupedLeaf() throws SQLException {
+        ResultSet resultSet = this.queryResult.getLeft();
+        if (!resultSet.next()) {
+            return Collections.emptyList();
+        }
+        SchemaTable schemaTable = this.currentDistinctQueryStack.getLast().getSchemaTable();
+        SqlgVertex sqlgVertex = SqlgVertex.of(
+                this.sqlgGraph,
+                resultSet.getLong(SchemaManager.ID),
+                schemaTable.getSchema(),
+                schemaTable.getTable().substring(SchemaManager.VERTEX_PREFIX.length()));
+        long bulk = 1;
+        ResultSetMetaData resultSetMetaData = this.queryResult.getMiddle();
+        for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
+            String columnName = resultSetMetaData.getColumnLabel(i);
+            if (columnName.equals(SchemaTableTree.GROUPED_BULK)) {
+                bulk = resultSet.getLong(i);
+            } else if (!columnName.equals(SchemaManager.ID) && !this.sqlgGraph.getSqlDialect().columnsToIgnore().contains(columnName)) {
+                sqlgVertex.loadProperty(resultSet, columnName, i);
+            }
+        }
+        Emit<SqlgElement> emit = new Emit<>(sqlgVertex, Collections.emptySet());
+        emit.setBulk(bulk);
+        return Collections.singletonList(emit);
+    }
+
     private void iterateOptionalQueries() throws SQLException {
         List<Emit<SqlgElement>> result = SqlgUtil.loadResultSetIntoResultIterator(
                 this.sqlgGraph,
@@ -113,11 +113,11 @@ public class SqlgDataSource {
                     json.append("\"numConnections\":\"")
                             .append(String.valueOf(comboPooledDataSource.getNumConnections())).append("\",");
                     json.append("\"numBusyConnections\":\"")
-                            .append(String.valueOf(comboPooledDataSource.getNumConnections())).append("\",");
+                            .append(String.valueOf(comboPooledDataSource.getNumBusyConnections())).append("\",");
                     json.append("\"numIdleConnections\":\"")
-                            .append(String.valueOf(comboPooledDataSource.getNumConnections())).append("\",");
+                            .append(String.valueOf(comboPooledDataSource.getNumIdleConnections())).append("\",");
                     json.append("\"numUnclosedOrphanedConnections\":\"")
-                            .append(String.valueOf(comboPooledDataSource.getNumConnections())).append("\",");
+                            .append(String.valueOf(comboPooledDataSource.getNumUnclosedOrphanedConnections())).append("\",");
                     json.append("\"numMinPoolSize\":\"").append(String.valueOf(comboPooledDataSource.getMinPoolSize()))
                             .append("\",");
                     json.append("\"numMaxPoolSize\":\"").append(String.valueOf(comboPooledDataSource.getMaxPoolSize()))
@@ -5,6 +5,8 @@ import org.apache.tinkerpop.gremlin.structure.*;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.metrics.SqlgMetrics;
+import org.umlg.sqlg.metrics.StatementKind;
 import org.umlg.sqlg.util.SqlgUtil;
 
 import java.sql.*;
@@ -130,7 +132,7 @@ public class SqlgEdge extends SqlgElement implements Edge {
     private void insertEdge(boolean complete, Pair<Map<String, Object>, Map<String, Object>> keyValueMapPair) throws SQLException {
         Map<String, Object> allKeyValueMap = keyValueMapPair.getLeft();
         Map<String, Object> notNullKeyValueMap = keyValueMapPair.getRight();
-        if (this.sqlgGraph.features().supportsBatchMode() && this.sqlgGraph.tx().isInBatchMode()) {
+        if (this.sqlgGraph.tx().isInBatchMode()) {
             internalBatchAddEdge(complete, allKeyValueMap);
         } else {
             internalAddEdge(notNullKeyValueMap);
@@ -191,7 +193,12 @@ public class SqlgEdge extends SqlgElement implements Edge {
             i = SqlgUtil.setKeyValuesAsParameterUsingPropertyColumn(this.sqlgGraph, i, preparedStatement, propertyColumnValueMap);
             preparedStatement.setLong(i++, this.inVertex.recordId.getId());
             preparedStatement.setLong(i, this.outVertex.recordId.getId());
+            SqlgMetrics metrics = this.sqlgGraph.getMetrics();
+            long start = metrics.isEnabled() ? System.nanoTime() : 0L;
             preparedStatement.executeUpdate();
+            if (metrics.isEnabled()) {
+                metrics.statement(StatementKind.INSERT, System.nanoTime() - start);
+            }
             ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
             if (generatedKeys.next()) {
                 this.recordId = RecordId.from(SchemaTable.of(this.schema, this.table), generatedKeys.getLong(1));
@@ -250,7 +257,12 @@ public class SqlgEdge extends SqlgElement implements Edge {
             try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
                 preparedStatement.setCursorName("");
                 preparedStatement.setLong(1, this.recordId.getId());
+                SqlgMetrics metrics = this.sqlgGraph.getMetrics();
+                long start = metrics.isEnabled() ? System.nanoTime() : 0L;
                 ResultSet resultSet = preparedStatement.executeQuery();
+                if (metrics.isEnabled()) {
+                    metrics.statement(StatementKind.QUERY, System.nanoTime() - start);
+                }
                 if (resultSet.next()) {
                     loadResultSet(resultSet);
                 }
@@ -8,9 +8,12 @@ import org.apache.tinkerpop.gremlin.structure.*;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.metrics.SqlgMetrics;
+import org.umlg.sqlg.metrics.StatementKind;
 import org.umlg.sqlg.sql.parse.ReplacedStep;
 import org.umlg.sqlg.sql.parse.SchemaTableTree;
 import org.umlg.sqlg.strategy.Emit;
+import org.umlg.sqlg.util.SqlgJson;
 import org.umlg.sqlg.util.SqlgUtil;
 
 import java.sql.*;
@@ -118,7 +121,12 @@ public abstract class SqlgElement implements Element {
         Connection conn = this.sqlgGraph.tx().getConnection();
         try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
             preparedStatement.setLong(1, ((RecordId) this.id()).getId());
+            SqlgMetrics metrics = this.sqlgGraph.getMetrics();
+            long start = metrics.isEnabled() ? System.nanoTime() : 0L;
             preparedStatement.executeUpdate();
+            if (metrics.isEnabled()) {
+                metrics.statement(StatementKind.DELETE, System.nanoTime() - start);
+            }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -126,7 +134,7 @@ public abstract class SqlgElement implements Element {
         removeGlobalUniqueIndex();
     }
 
-    private void removeGlobalUniqueIndex() {
+    void removeGlobalUniqueIndex() {
         Map<String, PropertyColumn> properties = this.sqlgGraph.getTopology().getPropertiesWithGlobalUniqueIndexFor(this.getSchemaTablePrefixed());
         for (PropertyColumn propertyColumn : properties.values()) {
             for (GlobalUniqueIndex globalUniqueIndex : propertyColumn.getGlobalUniqueIndices()) {
@@ -309,7 +317,12 @@ public abstract class SqlgElement implements Element {
                 // the index of the id column in the statement depend on how many columns we had to use to store that data type
                 int idx=setKeyValuesAsParameter(this.sqlgGraph, 1, preparedStatement, keyValue);
                 preparedStatement.setLong(idx, ((RecordId) this.id()).getId());
+                SqlgMetrics metrics = this.sqlgGraph.getMetrics();
+                long start = metrics.isEnabled() ? System.nanoTime() : 0L;
                 preparedStatement.executeUpdate();
+                if (metrics.isEnabled()) {
+                    metrics.statement(StatementKind.UPDATE, System.nanoTime() - start);
+                }
                 preparedStatement.close();
             } catch (SQLException e) {
                 throw new RuntimeException(e);
@@ -411,7 +424,7 @@ public abstract class SqlgElement implements Element {
                 .filter(entry -> propertyKeys.length == 0 || Stream.of(propertyKeys).filter(k -> k.equals(entry.getKey())).findAny().isPresent())
                 .filter(entry -> !entry.getKey().equals("ID"))
                 .filter(entry -> entry.getValue() != null)
-                .forEach(entry -> properties.put(entry.getKey(), instantiateProperty(entry.getKey(), (V) entry.getValue())));
+                .forEach(entry -> properties.put(entry.getKey(), instantiateProperty(entry.getKey(), (V) SqlgJson.resolve(entry.getValue()))));
         return properties;
     }
 
@@ -520,7 +533,8 @@ public abstract class SqlgElement implements Element {
         if (propertyName.endsWith(SchemaManager.ZONEID) ||
                 propertyName.endsWith(SchemaManager.MONTHS) ||
                 propertyName.endsWith(SchemaManager.DAYS) ||
-                propertyName.endsWith(SchemaManager.DURATION_NANOS)
+                propertyName.endsWith(SchemaManager.DURATION_NANOS) ||
+                propertyName.endsWith(SchemaManager.TSVECTOR)
                 ) {
             return;
         }
@@ -674,13 +688,13 @@ public abstract class SqlgElement implements Element {
                 }
                 break;
             case boolean_ARRAY:
-                java.sql.Array array = resultSet.getArray(columnIndex);
+                java.sql.Array array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null)  {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
                 break;
             case BOOLEAN_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
@@ -698,98 +712,98 @@ public abstract class SqlgElement implements Element {
                 }
                 break;
             case short_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
                 break;
             case SHORT_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
                 break;
             case int_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
                 break;
             case INTEGER_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
                 break;
             case long_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
                 break;
             case LONG_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
                 break;
             case float_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
                 break;
             case FLOAT_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
                 break;
             case double_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
                 break;
             case DOUBLE_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
                 break;
             case STRING_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
                 break;
             case LOCALDATETIME_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
                 break;
             case LOCALDATE_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
                 break;
             case LOCALTIME_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
                 break;
             case ZONEDDATETIME_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     String zoneIdColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyType.getPostFixes()[0];
                     String zonedId = columnNameAliasMap.get(zoneIdColumn);
                     if (zonedId == null) {
                         zonedId = propertyName + propertyType.getPostFixes()[0];
                     }
-                    java.sql.Array zoneIdArray = resultSet.getArray(zonedId);
+                    java.sql.Array zoneIdArray = this.sqlgGraph.getSqlDialect().getArray(resultSet, zonedId);
                     String[] objectZoneIdArray = (String[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.STRING_ARRAY, zoneIdArray);
                     LocalDateTime[] localDateTimes = (LocalDateTime[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.LOCALDATETIME_ARRAY, array);
                     ZonedDateTime[] zonedDateTimes = new ZonedDateTime[localDateTimes.length];
@@ -803,7 +817,7 @@ public abstract class SqlgElement implements Element {
                 }
                 break;
             case DURATION_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     String nanosColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyType.getPostFixes()[0];
                     String aliasedNanos = columnNameAliasMap.get(nanosColumn);
@@ -811,7 +825,7 @@ public abstract class SqlgElement implements Element {
                         aliasedNanos = propertyName + propertyType.getPostFixes()[0];
                     }
                     long[] secondsArray = (long[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.long_ARRAY, array);
-                    java.sql.Array nanosArray = resultSet.getArray(aliasedNanos);
+                    java.sql.Array nanosArray = this.sqlgGraph.getSqlDialect().getArray(resultSet, aliasedNanos);
                     int[] nanoArray = (int[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.int_ARRAY, nanosArray);
                     Duration[] durations = new Duration[secondsArray.length];
                     int count = 0;
@@ -822,7 +836,7 @@ public abstract class SqlgElement implements Element {
                 }
                 break;
             case PERIOD_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     String monthsColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyType.getPostFixes()[0];
                     String aliasedMonths = columnNameAliasMap.get(monthsColumn);
@@ -835,9 +849,9 @@ public abstract class SqlgElement implements Element {
                         aliasedDays = propertyName + propertyType.getPostFixes()[1];
                     }
                     Integer[] yearsIntegers = (Integer[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.INTEGER_ARRAY, array);
-                    java.sql.Array monthsArray = resultSet.getArray(aliasedMonths);
+                    java.sql.Array monthsArray = this.sqlgGraph.getSqlDialect().getArray(resultSet, aliasedMonths);
                     Integer[] monthsIntegers = (Integer[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.INTEGER_ARRAY, monthsArray);
-                    java.sql.Array daysArray = resultSet.getArray(aliasedDays);
+                    java.sql.Array daysArray = this.sqlgGraph.getSqlDialect().getArray(resultSet, aliasedDays);
                     Integer[] daysIntegers = (Integer[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.INTEGER_ARRAY, daysArray);
                     Period[] periods = new Period[yearsIntegers.length];
                     int count = 0;
@@ -848,7 +862,7 @@ public abstract class SqlgElement implements Element {
                 }
                 break;
             case JSON_ARRAY:
-                array = resultSet.getArray(columnIndex);
+                array = this.sqlgGraph.getSqlDialect().getArray(resultSet, columnIndex);
                 if (array != null) {
                     this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyType, array));
                 }
@@ -863,7 +877,8 @@ public abstract class SqlgElement implements Element {
         if (propertyName.endsWith(SchemaManager.ZONEID) ||
                 propertyName.endsWith(SchemaManager.MONTHS) ||
                 propertyName.endsWith(SchemaManager.DAYS) ||
-                propertyName.endsWith(SchemaManager.DURATION_NANOS)
+                propertyName.endsWith(SchemaManager.DURATION_NANOS) ||
+                propertyName.endsWith(SchemaManager.TSVECTOR)
                 ) {
             return;
         }
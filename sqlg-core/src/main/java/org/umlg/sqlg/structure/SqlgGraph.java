@@ -3,6 +3,7 @@ package org.umlg.sqlg.structure;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Preconditions;
 import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 import org.apache.commons.configuration.ConfigurationException;
@@ -20,10 +21,12 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.umlg.sqlg.SqlgPlugin;
+import org.umlg.sqlg.metrics.SqlgMetrics;
 import org.umlg.sqlg.sql.dialect.SqlBulkDialect;
 import org.umlg.sqlg.sql.dialect.SqlDialect;
 import org.umlg.sqlg.sql.parse.GremlinParser;
 import org.umlg.sqlg.strategy.SqlgGraphStepStrategy;
+import org.umlg.sqlg.strategy.SqlgKeysetStrategy;
 import org.umlg.sqlg.strategy.SqlgVertexStepStrategy;
 import org.umlg.sqlg.strategy.SqlgWhereStrategy;
 import org.umlg.sqlg.strategy.TopologyStrategy;
@@ -206,11 +209,12 @@ public class SqlgGraph implements Graph {
     private boolean implementForeignKeys;
     private Configuration configuration = new BaseConfiguration();
     private final ISqlGFeatures features = new SqlGFeatures();
+    private final SqlgMetrics metrics;
 
     //This has some static suckness
     static {
         TraversalStrategies.GlobalCache.registerStrategies(Graph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class)
-                .addStrategies(new SqlgGraphStepStrategy(), new SqlgVertexStepStrategy(), new SqlgWhereStrategy(),TopologyStrategy.build().create()));
+                .addStrategies(new SqlgGraphStepStrategy(), new SqlgVertexStepStrategy(), new SqlgWhereStrategy(), new SqlgKeysetStrategy(), TopologyStrategy.build().create()));
     }
 
     public static <G extends Graph> G open(final Configuration configuration) {
@@ -241,6 +245,18 @@ public class SqlgGraph implements Graph {
         return open(configuration, createDataSourceFactory(configuration));
     }
 
+    private static SqlgMetrics createMetrics(Configuration configuration) {
+        String metricsClass = configuration.getString(SqlgMetrics.METRICS_CLASS);
+        if (metricsClass == null) {
+            return SqlgMetrics.NO_OP;
+        }
+        try {
+            return (SqlgMetrics) Class.forName(metricsClass).newInstance();
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not create sqlg metrics " + metricsClass, ex);
+        }
+    }
+
     public static SqlgDataSourceFactory createDataSourceFactory(Configuration configuration) {
         try {
             return (SqlgDataSourceFactory) Class.forName(configuration.getString("jdbc.factory", C3p0DataSourceFactory.class.getCanonicalName())).newInstance();
@@ -252,6 +268,7 @@ public class SqlgGraph implements Graph {
     private SqlgGraph(final Configuration configuration, SqlgDataSourceFactory dataSourceFactory) {
         this.implementForeignKeys = configuration.getBoolean("implement.foreign.keys", true);
         this.configuration = configuration;
+        this.metrics = createMetrics(configuration);
 
         try {
             this.jdbcUrl = this.configuration.getString(JDBC_URL);
@@ -345,6 +362,50 @@ public class SqlgGraph implements Graph {
         return addVertex(SqlgUtil.mapTokeyValues(tmp));
     }
 
+    /**
+     * Inserts the vertex or, if a vertex of the label with the same values for the unique keys exists, updates its other properties.
+     * A unique index on the unique keys is created if it does not exist.
+     * This is one statement, on postgres an INSERT ... ON CONFLICT DO UPDATE and a MERGE on H2 and HSQLDB.
+     * In normal batch mode the upserts are flushed through a temporary table with one set based upsert per label.
+     * Global unique indexes are not maintained by an upsert.
+     *
+     * @param label      The vertex's label.
+     * @param uniqueKeys The properties that identify the vertex, their values may not be null.
+     * @param keyValues  The vertex's properties, including the unique keys.
+     * @return the upserted vertex. In normal batch mode its id is set when the upsert is flushed.
+     */
+    public Vertex upsertVertex(String label, List<String> uniqueKeys, Map<String, Object> keyValues) {
+        if (!this.sqlDialect.supportsUpsert()) {
+            throw new UnsupportedOperationException(String.format("Upsert is not supported for %s", this.sqlDialect.dialectName()));
+        }
+        if (this.tx().isInStreamingBatchMode() || this.tx().isInStreamingWithLockBatchMode()) {
+            throw SqlgExceptions.invalidMode(String.format("Transaction is in %s, upsertVertex is not supported in streaming batch mode", this.tx().getBatchModeType().toString()));
+        }
+        Preconditions.checkArgument(!uniqueKeys.isEmpty(), "upsertVertex needs at least one unique key");
+        for (String uniqueKey : uniqueKeys) {
+            Preconditions.checkArgument(keyValues.get(uniqueKey) != null, "upsertVertex unique key \"%s\" must have a value", uniqueKey);
+        }
+        Map<Object, Object> tmp = new LinkedHashMap<>(keyValues);
+        tmp.put(T.label, label);
+        Triple<Map<String, PropertyType>, Map<String, Object>, Map<String, Object>> keyValueMapTriple = SqlgUtil.validateVertexKeysValues(this.sqlDialect, SqlgUtil.mapTokeyValues(tmp));
+        SchemaTable schemaTable = SchemaTable.from(this, label);
+        this.tx().readWrite();
+        VertexLabel vertexLabel = this.getTopology().ensureVertexLabelExist(schemaTable.getSchema(), schemaTable.getTable(), keyValueMapTriple.getLeft());
+        List<PropertyColumn> uniquePropertyColumns = new ArrayList<>();
+        for (String uniqueKey : uniqueKeys) {
+            PropertyColumn propertyColumn = vertexLabel.getProperty(uniqueKey).orElseThrow(() -> new IllegalStateException(String.format("BUG: property %s not found", uniqueKey)));
+            Preconditions.checkArgument(this.sqlDialect.propertyTypeToSqlDefinition(propertyColumn.getPropertyType()).length == 1,
+                    "upsertVertex unique key \"%s\" must be a single column property, found %s", uniqueKey, propertyColumn.getPropertyType());
+            uniquePropertyColumns.add(propertyColumn);
+        }
+        vertexLabel.ensureIndexExists(IndexType.UNIQUE, uniquePropertyColumns);
+        if (this.tx().isInNormalBatchMode()) {
+            return this.tx().getBatchManager().upsertVertex(schemaTable, uniqueKeys, keyValueMapTriple.getMiddle());
+        } else {
+            return SqlgVertex.upsert(this, schemaTable.getSchema(), schemaTable.getTable(), uniqueKeys, keyValueMapTriple.getMiddle());
+        }
+    }
+
     @Override
     public Vertex addVertex(Object... keyValues) {
         if (this.tx().isInStreamingBatchMode()) {
@@ -451,6 +512,13 @@ public class SqlgGraph implements Graph {
         }
     }
 
+    /**
+     * @return a builder for a {@link BulkLoader} that loads through several connections in parallel.
+     */
+    public BulkLoader.Builder bulkLoader() {
+        return BulkLoader.build(this);
+    }
+
 
 
     @Override
@@ -1254,4 +1322,8 @@ public class SqlgGraph implements Graph {
         return sqlgDataSource;
     }
 
+    public SqlgMetrics getMetrics() {
+        return metrics;
+    }
+
 }
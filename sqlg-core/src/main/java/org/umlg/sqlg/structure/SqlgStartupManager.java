@@ -174,7 +174,7 @@ class SqlgStartupManager {
                         String columnName = tripple.getLeft();
                         int columnType = tripple.getMiddle();
                         String typeName = tripple.getRight();
-                        if (!columnName.equals(SchemaManager.ID)) {
+                        if (!columnName.equals(SchemaManager.ID) && !columnName.endsWith(SchemaManager.TSVECTOR)) {
                             extractProperty(schema, table, columnName, columnType, typeName, columns, metaDataIter);
                         }
                     }
@@ -291,7 +291,7 @@ class SqlgStartupManager {
                         String columnName = tripple.getLeft();
                         String typeName = tripple.getRight();
                         int columnType = tripple.getMiddle();
-                        if (!columnName.equals(SchemaManager.ID)) {
+                        if (!columnName.equals(SchemaManager.ID) && !columnName.endsWith(SchemaManager.TSVECTOR)) {
                             extractProperty(schema, table, columnName, columnType, typeName, columns, metaDataIter);
                         }
                     }
@@ -431,12 +431,8 @@ class SqlgStartupManager {
     private boolean existSqlgSchema() {
         Connection conn = this.sqlgGraph.tx().getConnection();
         try {
-            if (this.sqlDialect.supportSchemas()) {
-                DatabaseMetaData metadata = conn.getMetaData();
-                return this.sqlDialect.schemaExists(metadata, null /*catalog*/, SQLG_SCHEMA);
-            } else {
-                throw new IllegalStateException("schemas not supported not supported, i.e. probably MariaDB not supported.");
-            }
+            DatabaseMetaData metadata = conn.getMetaData();
+            return this.sqlDialect.schemaExists(metadata, null /*catalog*/, SQLG_SCHEMA);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -445,12 +441,8 @@ class SqlgStartupManager {
     private boolean existGuiSchema() {
         Connection conn = this.sqlgGraph.tx().getConnection();
         try {
-            if (this.sqlDialect.supportSchemas()) {
-                DatabaseMetaData metadata = conn.getMetaData();
-                return this.sqlDialect.schemaExists(metadata, null /*catalog*/, Schema.GLOBAL_UNIQUE_INDEX_SCHEMA);
-            } else {
-                throw new IllegalStateException("schemas not supported not supported, i.e. probably MariaDB not supported.");
-            }
+            DatabaseMetaData metadata = conn.getMetaData();
+            return this.sqlDialect.schemaExists(metadata, null /*catalog*/, Schema.GLOBAL_UNIQUE_INDEX_SCHEMA);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -140,6 +140,11 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         }
     }
 
+    /**
+     * Streaming batch mode where the streamed elements have their ids.
+     * Dialects that support id reservation reserve the ids in blocks and do not lock the table,
+     * so concurrent transactions can stream into the same table. Other dialects lock the table.
+     */
     public void streamingWithLockBatchModeOn() {
         if (this.sqlgGraph.features().supportsBatchMode()) {
             readWrite();
@@ -150,7 +155,7 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
     }
 
     public void streamingBatchModeOn() {
-        if (this.sqlgGraph.features().supportsBatchMode()) {
+        if (this.sqlgGraph.getSqlDialect().supportsStreamingBatchMode()) {
             readWrite();
             this.threadLocalTx.get().getBatchManager().batchModeOn(BatchManager.BatchModeType.STREAMING);
         } else {
@@ -187,6 +192,27 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         }
     }
 
+    /**
+     * On flush encode the rows on a worker thread, in chunks, while the previously encoded chunks are being copied to the database.
+     * Only applies to normal batch mode on dialects that support it.
+     */
+    public void pipelinedFlush(boolean pipelinedFlush) {
+        readWrite();
+        this.threadLocalTx.get().getBatchManager().setPipelinedFlush(pipelinedFlush);
+    }
+
+    /**
+     * In normal batch mode flush automatically once the pending elements or their estimated size in bytes cross the budget.
+     * Defaults to the "batch.budget.elements" and "batch.budget.bytes" properties.
+     *
+     * @param elements the number of pending inserts, updates and removes, 0 for no limit.
+     * @param bytes    the estimated size of the pending elements, 0 for no limit.
+     */
+    public void batchBudget(long elements, long bytes) {
+        readWrite();
+        this.threadLocalTx.get().getBatchManager().setBudget(elements, bytes);
+    }
+
     @SuppressWarnings("WeakerAccess")
     public boolean isInBatchMode() {
         return isInNormalBatchMode() || isInStreamingBatchMode() || isInStreamingWithLockBatchMode();
@@ -0,0 +1,251 @@
+package org.umlg.sqlg.structure;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
+import org.umlg.sqlg.sql.parse.SchemaTableTree;
+import org.umlg.sqlg.strategy.Emit;
+import org.umlg.sqlg.strategy.SqlgSqlExecutor;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Iterates the leaf vertices of the branches of a union() or coalesce() that follows a compiled graph step.
+ * The stacks of all branches ending on the same label are loaded with one UNION ALL statement.
+ * Stacks that can not be combined, i.e. stacks with duplicate labels, are loaded per branch with {@link SqlgCompiledResultIterator}.
+ * <p>
+ * For coalesce() the results of the first branch that returns anything for an incoming element are returned.
+ * This needs all rows to be read before the first result is returned.
+ * Date: 2017/05/23
+ * Time: 8:10 AM
+ */
+public class SqlgUnionResultIterator<E extends SqlgElement> implements Iterator<List<Emit<E>>> {
+
+    private SqlgGraph sqlgGraph;
+    private List<Set<SchemaTableTree>> branchRootSchemaTableTrees;
+    private int startDepth;
+    private boolean coalesce;
+
+    private List<UnionPart> unionParts = new ArrayList<>();
+    private Iterator<List<UnionPart>> unionQueriesIterator = EmptyIterator.instance();
+    private Iterator<Pair<Integer, Set<SchemaTableTree>>> branchQueriesIterator = EmptyIterator.instance();
+    private Iterator<List<Emit<E>>> currentBranchIterator = EmptyIterator.instance();
+    private Triple<ResultSet, ResultSetMetaData, PreparedStatement> queryResult;
+
+    private Iterator<List<Emit<E>>> coalesced;
+    private List<Emit<E>> elements;
+    private boolean started = false;
+
+    /**
+     * @param branchRootSchemaTableTrees the parsed root trees of the compiled steps followed by each branch in turn.
+     * @param startDepth                 the depth of the element entering the branches.
+     */
+    public SqlgUnionResultIterator(SqlgGraph sqlgGraph, List<Set<SchemaTableTree>> branchRootSchemaTableTrees, int startDepth, boolean coalesce) {
+        this.sqlgGraph = sqlgGraph;
+        this.branchRootSchemaTableTrees = branchRootSchemaTableTrees;
+        this.startDepth = startDepth;
+        this.coalesce = coalesce;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!this.started) {
+            this.started = true;
+            groupBranches();
+            if (this.coalesce) {
+                this.coalesced = coalesce();
+            }
+        }
+        if (this.coalesce) {
+            return this.coalesced.hasNext();
+        }
+        try {
+            while (this.elements == null) {
+                if (this.queryResult != null) {
+                    ResultSet resultSet = this.queryResult.getLeft();
+                    if (resultSet.next()) {
+                        this.elements = Collections.singletonList(new Emit<>(loadVertex(resultSet), Collections.emptySet()));
+                    } else {
+                        closePreparedStatement();
+                    }
+                } else if (this.unionQueriesIterator.hasNext()) {
+                    this.queryResult = executeUnionQuery(this.unionQueriesIterator.next());
+                } else if (this.currentBranchIterator.hasNext()) {
+                    List<Emit<E>> emits = this.currentBranchIterator.next();
+                    this.elements = Collections.singletonList(emits.get(emits.size() - 1));
+                } else if (this.branchQueriesIterator.hasNext()) {
+                    this.currentBranchIterator = new SqlgCompiledResultIterator<>(this.sqlgGraph, this.branchQueriesIterator.next().getRight());
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public List<Emit<E>> next() {
+        if (this.coalesce) {
+            return this.coalesced.next();
+        }
+        List<Emit<E>> result = this.elements;
+        this.elements = null;
+        return result;
+    }
+
+    /**
+     * Groups the union stacks on the label they end on, roots with other stacks are loaded per branch.
+     */
+    private void groupBranches() {
+        Map<SchemaTable, List<UnionPart>> unionQueries = new LinkedHashMap<>();
+        List<Pair<Integer, Set<SchemaTableTree>>> branchQueries = new ArrayList<>();
+        for (int branch = 0; branch < this.branchRootSchemaTableTrees.size(); branch++) {
+            Set<SchemaTableTree> branchRoots = new LinkedHashSet<>();
+            for (SchemaTableTree rootSchemaTableTree : this.branchRootSchemaTableTrees.get(branch)) {
+                List<LinkedList<SchemaTableTree>> distinctQueryStacks = rootSchemaTableTree.constructDistinctQueries();
+                if (distinctQueryStacks.stream().allMatch(SchemaTableTree::isUnionStack)) {
+                    for (LinkedList<SchemaTableTree> distinctQueryStack : distinctQueryStacks) {
+                        UnionPart unionPart = new UnionPart(this.unionParts.size(), branch, rootSchemaTableTree, distinctQueryStack, this.startDepth);
+                        this.unionParts.add(unionPart);
+                        unionQueries.computeIfAbsent(distinctQueryStack.getLast().getSchemaTable(), k -> new ArrayList<>()).add(unionPart);
+                    }
+                } else {
+                    branchRoots.add(rootSchemaTableTree);
+                }
+            }
+            if (!branchRoots.isEmpty()) {
+                branchQueries.add(Pair.of(branch, branchRoots));
+            }
+        }
+        this.unionQueriesIterator = unionQueries.values().iterator();
+        this.branchQueriesIterator = branchQueries.iterator();
+    }
+
+    private Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeUnionQuery(List<UnionPart> unionParts) {
+        StringBuilder sql = new StringBuilder();
+        List<LinkedList<SchemaTableTree>> distinctQueryStacks = new ArrayList<>();
+        for (UnionPart unionPart : unionParts) {
+            if (sql.length() > 0) {
+                sql.append("\nUNION ALL");
+            }
+            try {
+                sql.append(unionPart.rootSchemaTableTree.constructSqlForUnion(unionPart.distinctQueryStack, unionPart.part, this.coalesce ? this.startDepth : -1));
+            } finally {
+                unionPart.rootSchemaTableTree.resetColumnAliasMaps();
+            }
+            distinctQueryStacks.add(unionPart.distinctQueryStack);
+        }
+        if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
+            sql.append(";");
+        }
+        return SqlgSqlExecutor.executeUnionQuery(this.sqlgGraph, sql.toString(), distinctQueryStacks);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E loadVertex(ResultSet resultSet) throws SQLException {
+        UnionPart unionPart = this.unionParts.get(resultSet.getInt(SchemaTableTree.UNION_PART));
+        SchemaTable schemaTable = unionPart.distinctQueryStack.getLast().getSchemaTable();
+        SqlgVertex sqlgVertex = SqlgVertex.of(
+                this.sqlgGraph,
+                resultSet.getLong(SchemaManager.ID),
+                schemaTable.getSchema(),
+                schemaTable.getTable().substring(SchemaManager.VERTEX_PREFIX.length()));
+        ResultSetMetaData resultSetMetaData = this.queryResult.getMiddle();
+        for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
+            String columnName = resultSetMetaData.getColumnLabel(i);
+            if (!columnName.equals(SchemaManager.ID) && !columnName.equals(SchemaTableTree.UNION_PART) && !columnName.equals(SchemaTableTree.UNION_START)) {
+                sqlgVertex.loadProperty(resultSet, columnName, i);
+            }
+        }
+        return (E) sqlgVertex;
+    }
+
+    /**
+     * Reads all the branches and keeps, per incoming element, the results of the first branch with results.
+     */
+    private Iterator<List<Emit<E>>> coalesce() {
+        Map<RecordId, Pair<Integer, List<List<Emit<E>>>>> results = new LinkedHashMap<>();
+        try {
+            while (this.unionQueriesIterator.hasNext()) {
+                this.queryResult = executeUnionQuery(this.unionQueriesIterator.next());
+                ResultSet resultSet = this.queryResult.getLeft();
+                while (resultSet.next()) {
+                    UnionPart unionPart = this.unionParts.get(resultSet.getInt(SchemaTableTree.UNION_PART));
+                    RecordId start = RecordId.from(unionPart.startSchemaTable().withOutPrefix(), resultSet.getLong(SchemaTableTree.UNION_START));
+                    coalesce(results, start, unionPart.branch, Collections.singletonList(new Emit<>(loadVertex(resultSet), Collections.emptySet())));
+                }
+                closePreparedStatement();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        while (this.branchQueriesIterator.hasNext()) {
+            Pair<Integer, Set<SchemaTableTree>> branchQuery = this.branchQueriesIterator.next();
+            SqlgCompiledResultIterator<List<Emit<E>>> resultIterator = new SqlgCompiledResultIterator<>(this.sqlgGraph, branchQuery.getRight());
+            while (resultIterator.hasNext()) {
+                //the element entering the branches is labeled, it is the first element of the path
+                List<Emit<E>> emits = resultIterator.next();
+                RecordId start = (RecordId) emits.get(0).getElement().id();
+                coalesce(results, start, branchQuery.getLeft(), Collections.singletonList(emits.get(emits.size() - 1)));
+            }
+        }
+        List<List<Emit<E>>> coalesced = new ArrayList<>();
+        for (Pair<Integer, List<List<Emit<E>>>> result : results.values()) {
+            coalesced.addAll(result.getRight());
+        }
+        return coalesced.iterator();
+    }
+
+    private void coalesce(Map<RecordId, Pair<Integer, List<List<Emit<E>>>>> results, RecordId start, int branch, List<Emit<E>> emits) {
+        Pair<Integer, List<List<Emit<E>>>> result = results.get(start);
+        if (result == null || branch < result.getLeft()) {
+            result = Pair.of(branch, new ArrayList<>());
+            results.put(start, result);
+        }
+        if (result.getLeft() == branch) {
+            result.getRight().add(emits);
+        }
+    }
+
+    private void closePreparedStatement() {
+        if (this.queryResult != null) {
+            try {
+                this.queryResult.getRight().close();
+                this.queryResult = null;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private static class UnionPart {
+
+        private final int part;
+        private final int branch;
+        private final SchemaTableTree rootSchemaTableTree;
+        private final LinkedList<SchemaTableTree> distinctQueryStack;
+        private final SchemaTable startSchemaTable;
+
+        private UnionPart(int part, int branch, SchemaTableTree rootSchemaTableTree, LinkedList<SchemaTableTree> distinctQueryStack, int startDepth) {
+            this.part = part;
+            this.branch = branch;
+            this.rootSchemaTableTree = rootSchemaTableTree;
+            this.distinctQueryStack = distinctQueryStack;
+            this.startSchemaTable = distinctQueryStack.stream()
+                    .filter(s -> s.getStepDepth() == startDepth && !s.getLabels().isEmpty())
+                    .findFirst()
+                    .map(SchemaTableTree::getSchemaTable)
+                    .orElse(null);
+        }
+
+        private SchemaTable startSchemaTable() {
+            return this.startSchemaTable;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.umlg.sqlg.structure;
 
 import com.google.common.base.Preconditions;
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
@@ -10,6 +11,9 @@ import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.metrics.SqlgMetrics;
+import org.umlg.sqlg.metrics.StatementKind;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
 import org.umlg.sqlg.util.SqlgUtil;
 
 import java.sql.*;
@@ -24,7 +28,9 @@ import static org.umlg.sqlg.structure.SchemaManager.VERTEX_TABLE;
 public class SqlgVertex extends SqlgElement implements Vertex {
 
     public static final String WHERE = " WHERE ";
-    private Logger logger = LoggerFactory.getLogger(SqlgVertex.class.getName());
+    private static final Logger logger = LoggerFactory.getLogger(SqlgVertex.class.getName());
+    //the vertex's row in its label's VertexBatch while it is pending in normal batch mode
+    int batchRow = -1;
 
     /**
      * Called from SqlG.addVertex
@@ -59,6 +65,14 @@ public class SqlgVertex extends SqlgElement implements Vertex {
         this.sqlgGraph.tx().getBatchManager().addTemporaryVertex(this, keyValueMap);
     }
 
+    /**
+     * Only called for upserts in normal batch mode. {@link BatchManager#upsertVertex(SchemaTable, List, Map)}
+     * The id is set when the upsert is flushed.
+     */
+    SqlgVertex(SqlgGraph sqlgGraph, SchemaTable schemaTable) {
+        super(sqlgGraph, schemaTable.getSchema(), schemaTable.getTable());
+    }
+
     public static SqlgVertex of(SqlgGraph sqlgGraph, Long id, String schema, String table) {
         if (!sqlgGraph.tx().isInBatchMode()) {
             return sqlgGraph.tx().putVertexIfAbsent(sqlgGraph, schema, table, id);
@@ -239,55 +253,88 @@ public class SqlgVertex extends SqlgElement implements Vertex {
         if (this.sqlgGraph.features().supportsBatchMode() && this.sqlgGraph.tx().isInBatchMode()) {
             this.sqlgGraph.tx().getBatchManager().removeVertex(this.schema, this.table, this);
         } else {
-            //Remove all internalEdges
+            //Remove all internalEdges and the vertex in one batch, one statement per edge table
             Pair<Set<SchemaTable>, Set<SchemaTable>> foreignKeys = this.sqlgGraph.getTopology().getTableLabels(this.getSchemaTablePrefixed());
+            Map<SchemaTable, List<Direction>> edgeTables = new LinkedHashMap<>();
             //in edges
             for (SchemaTable schemaTable : foreignKeys.getLeft()) {
-                deleteEdgesWithInKey(schemaTable, this.id());
+                edgeTables.computeIfAbsent(schemaTable, k -> new ArrayList<>()).add(Direction.IN);
             }
             //out edges
             for (SchemaTable schemaTable : foreignKeys.getRight()) {
-                deleteEdgesWithOutKey(schemaTable, this.id());
+                edgeTables.computeIfAbsent(schemaTable, k -> new ArrayList<>()).add(Direction.OUT);
+            }
+            Connection conn = this.sqlgGraph.tx().getConnection();
+            try (Statement statement = conn.createStatement()) {
+                for (Map.Entry<SchemaTable, List<Direction>> edgeTable : edgeTables.entrySet()) {
+                    statement.addBatch(deleteEdgesSql(edgeTable.getKey(), edgeTable.getValue()));
+                }
+                statement.addBatch(deleteVertexSql());
+                SqlgMetrics metrics = this.sqlgGraph.getMetrics();
+                long start = metrics.isEnabled() ? System.nanoTime() : 0L;
+                statement.executeBatch();
+                if (metrics.isEnabled()) {
+                    metrics.statement(StatementKind.DELETE, System.nanoTime() - start);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
             }
-            super.remove();
+            this.removed = true;
+            removeGlobalUniqueIndex();
         }
     }
 
-    private void deleteEdgesWithOutKey(SchemaTable edgeSchemaTable, Object id) {
-        deleteEdges(Direction.OUT, edgeSchemaTable);
-    }
-
-    private void deleteEdgesWithInKey(SchemaTable edgeSchemaTable, Object id) {
-        deleteEdges(Direction.IN, edgeSchemaTable);
-    }
-
-    private void deleteEdges(Direction direction, SchemaTable edgeSchemaTable) {
+    /**
+     * The id is a long, it is written into the sql so that the statements of different tables can be batched together.
+     */
+    private String deleteEdgesSql(SchemaTable edgeSchemaTable, List<Direction> directions) {
+        long id = ((RecordId) this.id()).getId();
         StringBuilder sql = new StringBuilder("DELETE FROM ");
         sql.append(this.sqlgGraph.getSchemaManager().getSqlDialect().maybeWrapInQoutes(edgeSchemaTable.getSchema()));
         sql.append(".");
         sql.append(this.sqlgGraph.getSchemaManager().getSqlDialect().maybeWrapInQoutes(edgeSchemaTable.getTable()));
         sql.append(WHERE);
-        sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(this.schema + "." + this.table + (direction == Direction.OUT ? SchemaManager.OUT_VERTEX_COLUMN_END : SchemaManager.IN_VERTEX_COLUMN_END)));
-        sql.append(" = ?");
+        boolean first = true;
+        for (Direction direction : directions) {
+            if (!first) {
+                sql.append(" OR ");
+            }
+            first = false;
+            sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(this.schema + "." + this.table + (direction == Direction.OUT ? SchemaManager.OUT_VERTEX_COLUMN_END : SchemaManager.IN_VERTEX_COLUMN_END)));
+            sql.append(" = ");
+            sql.append(id);
+        }
         if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
             sql.append(";");
         }
         if (logger.isDebugEnabled()) {
             logger.debug(sql.toString());
         }
-        Connection conn = this.sqlgGraph.tx().getConnection();
-        try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-            preparedStatement.setLong(1, ((RecordId) this.id()).getId());
-            preparedStatement.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+        return sql.toString();
+    }
+
+    private String deleteVertexSql() {
+        StringBuilder sql = new StringBuilder("DELETE FROM ");
+        sql.append(this.sqlgGraph.getSchemaManager().getSqlDialect().maybeWrapInQoutes(this.schema));
+        sql.append(".");
+        sql.append(this.sqlgGraph.getSchemaManager().getSqlDialect().maybeWrapInQoutes(SchemaManager.VERTEX_PREFIX + this.table));
+        sql.append(WHERE);
+        sql.append(this.sqlgGraph.getSchemaManager().getSqlDialect().maybeWrapInQoutes("ID"));
+        sql.append(" = ");
+        sql.append(((RecordId) this.id()).getId());
+        if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
+            sql.append(";");
         }
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql.toString());
+        }
+        return sql.toString();
     }
 
     private void insertVertex(boolean complete, Pair<Map<String, Object>, Map<String, Object>> keyValueMapPair) {
         Map<String, Object> keyAllValueMap = keyValueMapPair.getLeft();
         Map<String, Object> keyNotNullValueMap = keyValueMapPair.getRight();
-        if (this.sqlgGraph.features().supportsBatchMode() && this.sqlgGraph.tx().isInBatchMode()) {
+        if (this.sqlgGraph.tx().isInBatchMode()) {
             internalBatchAddVertex(complete, keyAllValueMap);
         } else {
             internalAddVertex(keyNotNullValueMap);
@@ -324,7 +371,7 @@ public class SqlgVertex extends SqlgElement implements Vertex {
             writeColumnParameters(propertyColumnValueMap, sql);
             sql.append(")");
         } else {
-            sql.append(" DEFAULT VALUES");
+            sql.append(this.sqlgGraph.getSqlDialect().insertDefaultValues());
         }
         if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
             sql.append(";");
@@ -336,7 +383,12 @@ public class SqlgVertex extends SqlgElement implements Vertex {
         Connection conn = this.sqlgGraph.tx().getConnection();
         try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS)) {
             SqlgUtil.setKeyValuesAsParameterUsingPropertyColumn(this.sqlgGraph, i, preparedStatement, propertyColumnValueMap);
+            SqlgMetrics metrics = this.sqlgGraph.getMetrics();
+            long start = metrics.isEnabled() ? System.nanoTime() : 0L;
             preparedStatement.executeUpdate();
+            if (metrics.isEnabled()) {
+                metrics.statement(StatementKind.INSERT, System.nanoTime() - start);
+            }
             ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
             if (generatedKeys.next()) {
                 this.recordId = RecordId.from(SchemaTable.of(this.schema, this.table), generatedKeys.getLong(1));
@@ -350,6 +402,102 @@ public class SqlgVertex extends SqlgElement implements Vertex {
     }
 
 
+    /**
+     * Executes the dialect's upsert for {@link SqlgGraph#upsertVertex(String, List, Map)}.
+     *
+     * @param keyValueMap all the properties, nulls included.
+     */
+    static SqlgVertex upsert(SqlgGraph sqlgGraph, String schema, String table, List<String> uniqueKeys, Map<String, Object> keyValueMap) {
+        SqlDialect sqlDialect = sqlgGraph.getSqlDialect();
+        Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(SchemaTable.of(schema, SchemaManager.VERTEX_PREFIX + table));
+        Map<String, PropertyType> columns = new LinkedHashMap<>();
+        for (String key : keyValueMap.keySet()) {
+            columns.put(key, propertyTypeMap.get(key));
+        }
+        String sql = sqlDialect.upsertVertexSql(schema, SchemaManager.VERTEX_PREFIX + table, uniqueKeys, columns);
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql);
+        }
+        Connection conn = sqlgGraph.tx().getConnection();
+        Long id = null;
+        try (PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
+            int parameterIndex = 1;
+            for (Map.Entry<String, Object> keyValue : keyValueMap.entrySet()) {
+                if (keyValue.getValue() == null) {
+                    for (int i = 0; i < sqlDialect.propertyTypeToSqlDefinition(columns.get(keyValue.getKey())).length; i++) {
+                        preparedStatement.setNull(parameterIndex++, Types.NULL);
+                    }
+                } else {
+                    parameterIndex = SqlgUtil.setKeyValuesAsParameter(sqlgGraph, true, parameterIndex, preparedStatement,
+                            Collections.singletonList(ImmutablePair.of(PropertyType.from(keyValue.getValue()), keyValue.getValue())));
+                }
+            }
+            SqlgMetrics metrics = sqlgGraph.getMetrics();
+            long start = metrics.isEnabled() ? System.nanoTime() : 0L;
+            if (sqlDialect.upsertReturnsId()) {
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        throw new IllegalStateException(String.format("Could not retrieve the id after an upsert into %s.%s", schema, table));
+                    }
+                    id = resultSet.getLong(1);
+                }
+            } else {
+                preparedStatement.executeUpdate();
+            }
+            if (metrics.isEnabled()) {
+                metrics.statement(StatementKind.INSERT, System.nanoTime() - start);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        if (id == null) {
+            id = selectIdOnUniqueKeys(sqlgGraph, schema, table, uniqueKeys, keyValueMap);
+        }
+        SqlgVertex sqlgVertex = SqlgVertex.of(sqlgGraph, id, schema, table);
+        //the vertex may be cached with the properties from before the update, reload them on access.
+        sqlgVertex.properties.clear();
+        return sqlgVertex;
+    }
+
+    private static long selectIdOnUniqueKeys(SqlgGraph sqlgGraph, String schema, String table, List<String> uniqueKeys, Map<String, Object> keyValueMap) {
+        SqlDialect sqlDialect = sqlgGraph.getSqlDialect();
+        StringBuilder sql = new StringBuilder("SELECT ");
+        sql.append(sqlDialect.maybeWrapInQoutes(SchemaManager.ID));
+        sql.append(" FROM ");
+        sql.append(sqlDialect.maybeWrapInQoutes(schema));
+        sql.append(".");
+        sql.append(sqlDialect.maybeWrapInQoutes(SchemaManager.VERTEX_PREFIX + table));
+        sql.append(" WHERE ");
+        List<ImmutablePair<PropertyType, Object>> typeAndValues = new ArrayList<>();
+        for (String uniqueKey : uniqueKeys) {
+            if (!typeAndValues.isEmpty()) {
+                sql.append(" AND ");
+            }
+            sql.append(sqlDialect.maybeWrapInQoutes(uniqueKey));
+            sql.append(" = ?");
+            Object value = keyValueMap.get(uniqueKey);
+            typeAndValues.add(ImmutablePair.of(PropertyType.from(value), value));
+        }
+        if (sqlDialect.needsSemicolon()) {
+            sql.append(";");
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql.toString());
+        }
+        Connection conn = sqlgGraph.tx().getConnection();
+        try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
+            SqlgUtil.setKeyValuesAsParameter(sqlgGraph, true, 1, preparedStatement, typeAndValues);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new IllegalStateException(String.format("Could not retrieve the id after an upsert into %s.%s", schema, table));
+                }
+                return resultSet.getLong(1);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private void retainLabels(Set<SchemaTable> vertexLabels, String... labels) {
         Set<SchemaTable> toRemove = new HashSet<>();
         for (SchemaTable schemaTable : vertexLabels) {
@@ -462,7 +610,12 @@ public class SqlgVertex extends SqlgElement implements Vertex {
             }
             try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
                 preparedStatement.setLong(1, this.recordId.getId());
+                SqlgMetrics metrics = this.sqlgGraph.getMetrics();
+                long start = metrics.isEnabled() ? System.nanoTime() : 0L;
                 ResultSet resultSet = preparedStatement.executeQuery();
+                if (metrics.isEnabled()) {
+                    metrics.statement(StatementKind.QUERY, System.nanoTime() - start);
+                }
                 if (resultSet.next()) {
                     loadResultSet(resultSet);
                 } else {
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
 import org.apache.commons.collections4.map.HashedMap;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
@@ -19,9 +20,14 @@ import org.umlg.sqlg.sql.dialect.SqlSchemaChangeDialect;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.umlg.sqlg.structure.SchemaManager.EDGE_PREFIX;
 import static org.umlg.sqlg.structure.SchemaManager.VERTEX_PREFIX;
@@ -69,7 +75,31 @@ public class Topology {
     private List<TopologyValidationError> validationErrors = new ArrayList<>();
     private List<TopologyListener> topologyListeners = new ArrayList<>();
 
+    //topology.lazy, a schema's labels are only loaded when the schema is first referenced.
+    //The query caches, allTableCache, schemaTableForeignKeyCache and edgeForeignKeyCache, are always complete.
+    private boolean lazy;
+    //topology.lazy.maxSchemas, the least recently used schemas are unloaded above this many loaded schemas, 0 never unloads.
+    private int lazyMaxSchemas;
+    //the last time a schema was referenced in lazy mode.
+    private Map<String, Long> schemaAccess = new ConcurrentHashMap<>();
+    //the schemas that are connected by edges. They are loaded and unloaded together.
+    private volatile Map<String, Set<String>> schemaComponents = new HashMap<>();
+    //schemas that are never unloaded as global unique indexes hold on to their properties.
+    private Set<String> pinnedSchemas = ConcurrentHashMap.newKeySet();
+    private final Object lazyLoadLock = new Object();
+    //true while a notification is being applied, the notified schemas must not be loaded as that would lose the notification's events.
+    //Only accessed by the thread owning the write lock.
+    private boolean applyingNotification;
+
+    //the ddl statements of the SchemaChange being applied on this thread, they are executed as one batch.
+    private final ThreadLocal<List<String>> deferredDdl = new ThreadLocal<>();
+
+    //builds the indexes of AbstractLabel.ensureIndexExistsAsync, created on first use.
+    private ExecutorService indexBuildExecutor;
+
     private static final int LOCK_TIMEOUT = 100;
+    //when the write lock was acquired, only accessed by the thread owning the write lock.
+    private long writeLockAcquiredNanos;
 
 
     @SuppressWarnings("WeakerAccess")
@@ -238,6 +268,8 @@ public class Topology {
     Topology(SqlgGraph sqlgGraph) {
         this.sqlgGraph = sqlgGraph;
         this.distributed = sqlgGraph.configuration().getBoolean(SqlgGraph.DISTRIBUTED, false);
+        this.lazy = sqlgGraph.configuration().getBoolean("topology.lazy", false);
+        this.lazyMaxSchemas = sqlgGraph.configuration().getInt("topology.lazy.maxSchemas", 0);
         this.reentrantReadWriteLock = new ReentrantReadWriteLock();
 
         //Pre-create the meta topology.
@@ -358,6 +390,25 @@ public class Topology {
     void close() {
         if (this.distributed)
             ((SqlSchemaChangeDialect) this.sqlgGraph.getSqlDialect()).unregisterListener();
+        synchronized (this) {
+            if (this.indexBuildExecutor != null) {
+                this.indexBuildExecutor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Runs an index build of {@link AbstractLabel#ensureIndexExistsAsync(IndexType, List)} on a thread, and so transaction, of its own.
+     */
+    synchronized <T> CompletableFuture<T> buildIndex(Supplier<T> build) {
+        if (this.indexBuildExecutor == null) {
+            this.indexBuildExecutor = Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "Sqlg index build " + this.sqlgGraph.toString());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return CompletableFuture.supplyAsync(build, this.indexBuildExecutor);
     }
 
     public List<TopologyValidationError> getValidationErrors() {
@@ -373,9 +424,11 @@ public class Topology {
         if (!isWriteLockHeldByCurrentThread()) {
             try {
                 this.sqlgGraph.tx().readWrite();
+                long start = System.nanoTime();
                 if (!this.reentrantReadWriteLock.writeLock().tryLock(LOCK_TIMEOUT, TimeUnit.SECONDS)) {
                     throw new RuntimeException("timeout lapsed to acquire lock schema creation.");
                 }
+                writeLockAcquired(start);
                 if (this.distributed) {
                     ((SqlSchemaChangeDialect) this.sqlgGraph.getSqlDialect()).lock(this.sqlgGraph);
                     //load the log to see if the schema has not already been created.
@@ -406,15 +459,27 @@ public class Topology {
         if (!isWriteLockHeldByCurrentThread()) {
             try {
                 this.sqlgGraph.tx().readWrite();
+                long start = System.nanoTime();
                 if (!this.reentrantReadWriteLock.writeLock().tryLock(LOCK_TIMEOUT, TimeUnit.SECONDS)) {
                     throw new RuntimeException("Timeout lapsed to acquire write lock for notification.");
                 }
+                writeLockAcquired(start);
             } catch (InterruptedException e) {
                 throw new RuntimeException(e);
             }
         }
     }
 
+    private void writeLockAcquired(long waitStart) {
+        this.writeLockAcquiredNanos = System.nanoTime();
+        this.sqlgGraph.getMetrics().topologyLockWait(this.writeLockAcquiredNanos - waitStart);
+    }
+
+    private void writeUnlock() {
+        this.sqlgGraph.getMetrics().topologyLockHold(System.nanoTime() - this.writeLockAcquiredNanos);
+        this.reentrantReadWriteLock.writeLock().unlock();
+    }
+
     /**
      * Not for public consumption.
      */
@@ -685,6 +750,67 @@ public class Topology {
     }
 
 
+    /**
+     * Executes a ddl statement of the topology, i.e. create schema, table, column or index.
+     * While a {@link SchemaChange} is being applied on this thread the statement is deferred to its batch instead.
+     */
+    void executeDdl(String sql) {
+        List<String> ddl = this.deferredDdl.get();
+        if (ddl != null) {
+            ddl.add(sql);
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql);
+        }
+        Connection conn = this.sqlgGraph.tx().getConnection();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    void deferDdl() {
+        Preconditions.checkState(isWriteLockHeldByCurrentThread(), "deferDdl must hold the write lock");
+        Preconditions.checkState(this.deferredDdl.get() == null, "ddl is already being deferred");
+        this.deferredDdl.set(new ArrayList<>());
+    }
+
+    /**
+     * @return true while a {@link SchemaChange} is being applied on this thread.
+     */
+    boolean isDeferringDdl() {
+        return this.deferredDdl.get() != null;
+    }
+
+    /**
+     * @return the ddl statements deferred since {@link #deferDdl()}.
+     */
+    List<String> stopDeferringDdl() {
+        List<String> ddl = this.deferredDdl.get();
+        this.deferredDdl.remove();
+        return ddl;
+    }
+
+    void executeDdlBatch(List<String> ddl) {
+        if (ddl.isEmpty()) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.join("\n", ddl));
+        }
+        Connection conn = this.sqlgGraph.tx().getConnection();
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : ddl) {
+                stmt.addBatch(sql);
+            }
+            stmt.executeBatch();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private void beforeCommit() {
         Optional<JsonNode> jsonNodeOptional = this.toNotifyJson();
         if (jsonNodeOptional.isPresent() && this.distributed) {
@@ -751,7 +877,15 @@ public class Topology {
             } finally {
                 z_internalReadUnLock();
             }
-            this.reentrantReadWriteLock.writeLock().unlock();
+            if (this.lazy) {
+                //global unique indexes hold on to their properties, their schemas may not be unloaded.
+                for (GlobalUniqueIndex globalUniqueIndex : this.globalUniqueIndexes) {
+                    for (PropertyColumn propertyColumn : globalUniqueIndex.getProperties()) {
+                        this.pinnedSchemas.add(propertyColumn.getParentLabel().getSchema().getName());
+                    }
+                }
+            }
+            writeUnlock();
         }
     }
 
@@ -772,7 +906,7 @@ public class Topology {
                 z_internalReadUnLock();
             }
             this.uncommittedGlobalUniqueIndexes.clear();
-            this.reentrantReadWriteLock.writeLock().unlock();
+            writeUnlock();
         }
     }
 
@@ -806,96 +940,681 @@ public class Topology {
             this.notificationTimestamps.add(LocalDateTime.now());
         }
 
-        //First load all VertexLabels, their out edges and properties
-        List<Vertex> schemaVertices = traversalSource.V().hasLabel(SQLG_SCHEMA + "." + SQLG_SCHEMA_SCHEMA).toList();
-        for (Vertex schemaVertex : schemaVertices) {
-            String schemaName = schemaVertex.value("name");
-            Optional<Schema> schemaOptional = getSchema(schemaName);
-            if (schemaName.equals(SQLG_SCHEMA)) {
-                Preconditions.checkState(schemaOptional.isPresent(), "\"public\" schema must always be present.");
+        //Load the topology with one query per sqlg_schema table and join the rows in memory.
+        TopologyRows rows = loadTopologyRows(this.sqlgGraph.tx().getConnection());
+        if (!this.lazy) {
+            Set<String> schemaNames = rows.schemas.values().stream().map(row -> row[0]).collect(Collectors.toSet());
+            loadGlobalUniqueIndexes(rows, loadSchemas(rows, schemaNames));
+
+            //populate the allTablesCache
+            for (Schema schema : this.schemas.values()) {
+                if (!schema.isSqlgSchema()) {
+                    this.allTableCache.putAll(schema.getAllTables());
+                }
             }
-            Schema schema;
-            if (!schemaOptional.isPresent()) {
+            //populate the schemaTableForeignKeyCache
+            this.schemaTableForeignKeyCache.putAll(loadTableLabels());
+            //populate the edgeForeignKey cache
+            this.edgeForeignKeyCache.putAll(loadAllEdgeForeignKeys());
+        } else {
+            //Only the schemas of the global unique indexes are loaded, the other schemas are loaded when first referenced.
+            for (String[] schemaRow : rows.schemas.values()) {
+                String schemaName = schemaRow[0];
+                if (!this.metaSchemas.containsKey(schemaName) && !this.schemas.containsKey(schemaName)) {
+                    Schema schema = Schema.loadUserSchema(this, schemaName);
+                    schema.setLoaded(false);
+                    this.schemas.put(schemaName, schema);
+                }
+            }
+            this.schemas.get(this.sqlgGraph.getSqlDialect().getPublicSchema()).setLoaded(false);
+            this.schemas.get(Schema.GLOBAL_UNIQUE_INDEX_SCHEMA).setLoaded(false);
+            this.pinnedSchemas.add(Schema.GLOBAL_UNIQUE_INDEX_SCHEMA);
+            cacheTopologyRows(rows);
+
+            this.schemaComponents = schemaComponents(rows);
+            Map<Long, String> propertySchemaNames = propertySchemaNames(rows);
+            Set<String> schemaNames = new HashSet<>();
+            schemaNames.add(Schema.GLOBAL_UNIQUE_INDEX_SCHEMA);
+            for (Pair<Long, Long> guiProperty : rows.globalUniqueIndexProperty) {
+                String schemaName = propertySchemaNames.get(guiProperty.getRight());
+                if (schemaName != null) {
+                    this.pinnedSchemas.add(schemaName);
+                    schemaNames.addAll(this.schemaComponents.getOrDefault(schemaName, Collections.singleton(schemaName)));
+                }
+            }
+            loadGlobalUniqueIndexes(rows, loadSchemas(rows, schemaNames));
+            for (String schemaName : schemaNames) {
+                Optional.ofNullable(this.schemas.get(schemaName)).ifPresent(s -> s.setLoaded(true));
+            }
+        }
+    }
+
+    /**
+     * Loads the labels, properties and indexes of the given schemas from the topology rows.
+     * Labels of already loaded schemas that have edges to the given schemas are linked to, not reloaded.
+     *
+     * @param rows        The sqlg_schema rows.
+     * @param schemaNames The schemas to load.
+     * @return The loaded properties by their topology id.
+     */
+    private Map<Long, PropertyColumn> loadSchemas(TopologyRows rows, Set<String> schemaNames) {
+        Map<Long, Schema> schemasById = new HashMap<>();
+        for (Map.Entry<Long, String[]> schemaRow : rows.schemas.entrySet()) {
+            String schemaName = schemaRow.getValue()[0];
+            Schema schema = this.schemas.get(schemaName);
+            if (schema == null) {
+                schema = this.metaSchemas.get(schemaName);
+            }
+            if (schema == null && schemaNames.contains(schemaName)) {
                 schema = Schema.loadUserSchema(this, schemaName);
                 this.schemas.put(schemaName, schema);
-            } else {
-                schema = schemaOptional.get();
+            }
+            if (schema != null && (schemaNames.contains(schemaName) || schema.isLoaded())) {
+                schemasById.put(schemaRow.getKey(), schema);
+            }
+        }
+        //First load all VertexLabels and their properties
+        Map<Long, VertexLabel> vertexLabelsById = new HashMap<>();
+        Set<VertexLabel> loadedVertexLabels = new HashSet<>();
+        for (Pair<Long, Long> schemaVertex : rows.schemaVertex) {
+            Schema schema = schemasById.get(schemaVertex.getLeft());
+            String[] vertexRow = rows.vertices.get(schemaVertex.getRight());
+            Preconditions.checkState(vertexRow != null, "BUG: Topology vertex %s not found.", schemaVertex.getRight());
+            if (schema != null && schemaNames.contains(schema.getName())) {
+                VertexLabel vertexLabel = schema.loadVertexLabel(vertexRow[0]);
+                vertexLabelsById.put(schemaVertex.getRight(), vertexLabel);
+                loadedVertexLabels.add(vertexLabel);
+            } else if (schema != null) {
+                schema.getVertexLabel(vertexRow[0]).ifPresent(vertexLabel -> vertexLabelsById.put(schemaVertex.getRight(), vertexLabel));
+            }
+        }
+        Map<Long, PropertyColumn> propertyColumnsById = new HashMap<>();
+        for (Pair<Long, Long> vertexProperty : rows.vertexProperty) {
+            VertexLabel vertexLabel = vertexLabelsById.get(vertexProperty.getLeft());
+            String[] propertyRow = rows.properties.get(vertexProperty.getRight());
+            if (vertexLabel != null && loadedVertexLabels.contains(vertexLabel) && propertyRow != null) {
+                propertyColumnsById.put(vertexProperty.getRight(), vertexLabel.addProperty(propertyRow[0], PropertyType.valueOf(propertyRow[1])));
+            }
+        }
 
+        //Load the out edges. This will load all edges as all edges have a out vertex.
+        Map<Long, List<EdgeLabel>> edgeLabelsById = new HashMap<>();
+        Set<EdgeLabel> loadedEdgeLabels = new HashSet<>();
+        for (Pair<Long, Long> outEdge : rows.outEdges) {
+            //the vertex is absent if its schema is not loaded
+            VertexLabel vertexLabel = vertexLabelsById.get(outEdge.getLeft());
+            String[] edgeRow = rows.edges.get(outEdge.getRight());
+            Preconditions.checkState(edgeRow != null, "BUG: Topology edge %s not found.", outEdge.getRight());
+            if (vertexLabel != null) {
+                Schema schema = vertexLabel.getSchema();
+                EdgeLabel edgeLabel;
+                if (loadedVertexLabels.contains(vertexLabel)) {
+                    edgeLabel = schema.loadOutEdgeLabel(vertexLabel, edgeRow[0]);
+                    loadedEdgeLabels.add(edgeLabel);
+                } else {
+                    edgeLabel = schema.getEdgeLabels().get(schema.getName() + "." + EDGE_PREFIX + edgeRow[0]);
+                }
+                if (edgeLabel != null) {
+                    List<EdgeLabel> edgeLabels = edgeLabelsById.computeIfAbsent(outEdge.getRight(), k -> new ArrayList<>());
+                    if (!edgeLabels.contains(edgeLabel)) {
+                        edgeLabels.add(edgeLabel);
+                    }
+                }
             }
-            schema.loadVertexOutEdgesAndProperties(traversalSource, schemaVertex);
-            // load vertex and edge indices
-            schema.loadVertexIndices(traversalSource, schemaVertex);
-            schema.loadEdgeIndices(traversalSource, schemaVertex);
         }
-        //Now load the in edges
-        schemaVertices = traversalSource.V().hasLabel(SQLG_SCHEMA + "." + SQLG_SCHEMA_SCHEMA).toList();
-        for (Vertex schemaVertex : schemaVertices) {
-            String schemaName = schemaVertex.value("name");
-            Optional<Schema> schemaOptional = getSchema(schemaName);
-            Preconditions.checkState(schemaOptional.isPresent(), "schema %s must be present when loading in edges.", schemaName);
-            @SuppressWarnings("OptionalGetWithoutIsPresent")
-            Schema schema = schemaOptional.get();
-            schema.loadInEdgeLabels(traversalSource, schemaVertex);
+        for (Pair<Long, Long> edgeProperty : rows.edgeProperty) {
+            String[] propertyRow = rows.properties.get(edgeProperty.getRight());
+            if (propertyRow != null) {
+                for (EdgeLabel edgeLabel : edgeLabelsById.getOrDefault(edgeProperty.getLeft(), Collections.emptyList())) {
+                    if (loadedEdgeLabels.contains(edgeLabel)) {
+                        PropertyColumn propertyColumn = edgeLabel.addProperty(propertyRow[0], PropertyType.valueOf(propertyRow[1]));
+                        propertyColumnsById.putIfAbsent(edgeProperty.getRight(), propertyColumn);
+                    }
+                }
+            }
+        }
+
+        //Now load the in edges, the edge labels are already loaded via the out edges, this only sets the in edge association.
+        for (Pair<Long, Long> inEdge : rows.inEdges) {
+            VertexLabel inVertexLabel = vertexLabelsById.get(inEdge.getLeft());
+            List<EdgeLabel> edgeLabels = edgeLabelsById.get(inEdge.getRight());
+            if (inVertexLabel != null && edgeLabels != null) {
+                for (EdgeLabel edgeLabel : edgeLabels) {
+                    if (loadedVertexLabels.contains(inVertexLabel) || loadedEdgeLabels.contains(edgeLabel)) {
+                        inVertexLabel.addToInEdgeLabels(edgeLabel);
+                    }
+                }
+            }
+        }
+
+        //load vertex and edge indices
+        Map<Long, List<Index>> indexesById = new HashMap<>();
+        for (Pair<Long, Long> vertexIndex : rows.vertexIndex) {
+            VertexLabel vertexLabel = vertexLabelsById.get(vertexIndex.getLeft());
+            String[] indexRow = rows.indexes.get(vertexIndex.getRight());
+            if (vertexLabel != null && loadedVertexLabels.contains(vertexLabel) && indexRow != null) {
+                indexesById.computeIfAbsent(vertexIndex.getRight(), k -> new ArrayList<>()).add(loadIndex(vertexLabel, indexRow));
+            }
+        }
+        for (Pair<Long, Long> edgeIndex : rows.edgeIndex) {
+            String[] indexRow = rows.indexes.get(edgeIndex.getRight());
+            if (indexRow != null) {
+                for (EdgeLabel edgeLabel : edgeLabelsById.getOrDefault(edgeIndex.getLeft(), Collections.emptyList())) {
+                    if (loadedEdgeLabels.contains(edgeLabel)) {
+                        indexesById.computeIfAbsent(edgeIndex.getRight(), k -> new ArrayList<>()).add(loadIndex(edgeLabel, indexRow));
+                    }
+                }
+            }
+        }
+        //the index_property edges are ordered on their id, i.e. in the order of the index's columns
+        for (Pair<Long, Long> indexProperty : rows.indexProperty) {
+            String[] propertyRow = rows.properties.get(indexProperty.getRight());
+            if (propertyRow != null) {
+                for (Index index : indexesById.getOrDefault(indexProperty.getLeft(), Collections.emptyList())) {
+                    index.getParentLabel().getProperty(propertyRow[0])
+                            .filter(propertyColumn -> !index.getProperties().contains(propertyColumn))
+                            .ifPresent(index::addProperty);
+                }
+            }
         }
+        return propertyColumnsById;
+    }
 
-        //Load the globalUniqueIndexes.
-        List<Vertex> globalUniqueIndexVertices = traversalSource.V().hasLabel(SQLG_SCHEMA + "." + SQLG_SCHEMA_GLOBAL_UNIQUE_INDEX).toList();
-        for (Vertex globalUniqueIndexVertex : globalUniqueIndexVertices) {
-            String globalUniqueIndexName = globalUniqueIndexVertex.value("name");
-            GlobalUniqueIndex globalUniqueIndex = GlobalUniqueIndex.instantiateGlobalUniqueIndex(this, globalUniqueIndexName);
+    private void loadGlobalUniqueIndexes(TopologyRows rows, Map<Long, PropertyColumn> propertyColumnsById) {
+        Map<Long, Set<PropertyColumn>> guiPropertyColumnsById = new HashMap<>();
+        for (Pair<Long, Long> guiProperty : rows.globalUniqueIndexProperty) {
+            PropertyColumn propertyColumn = propertyColumnsById.get(guiProperty.getRight());
+            Preconditions.checkState(propertyColumn != null, "BUG: GlobalUniqueIndex %s property %s has no path to a schema.", guiProperty.getLeft(), guiProperty.getRight());
+            guiPropertyColumnsById.computeIfAbsent(guiProperty.getLeft(), k -> new HashSet<>()).add(propertyColumn);
+        }
+        for (Map.Entry<Long, String[]> globalUniqueIndexRow : rows.globalUniqueIndexes.entrySet()) {
+            GlobalUniqueIndex globalUniqueIndex = GlobalUniqueIndex.instantiateGlobalUniqueIndex(this, globalUniqueIndexRow.getValue()[0]);
             this.globalUniqueIndexes.add(globalUniqueIndex);
+            globalUniqueIndex.addGlobalUniqueProperties(guiPropertyColumnsById.getOrDefault(globalUniqueIndexRow.getKey(), new HashSet<>()));
+        }
+    }
 
-            Set<Vertex> globalUniqueIndexProperties = traversalSource.V(globalUniqueIndexVertex).out(SQLG_SCHEMA_GLOBAL_UNIQUE_INDEX_PROPERTY_EDGE).toSet();
-            Set<PropertyColumn> guiPropertyColumns = new HashSet<>();
-            for (Vertex globalUniqueIndexPropertyVertex : globalUniqueIndexProperties) {
-                //get the path to the vertex
-                boolean isForVertex = true;
-                List<Map<String, Vertex>> vertexSchema = traversalSource
-                        .V(globalUniqueIndexPropertyVertex)
-                        .in(SQLG_SCHEMA_VERTEX_PROPERTIES_EDGE).as("vertex")
-                        .in(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE).as("schema")
-                        .<Vertex>select("vertex", "schema")
-                        .toList();
-                if (!vertexSchema.isEmpty()) {
-                    Preconditions.checkState(vertexSchema.size() == 1, "BUG: GlobalUniqueIndex %s property %s has more than one path to the schema.");
-                    Vertex schemaVertex = vertexSchema.get(0).get("schema");
-                    Vertex vertexVertex = vertexSchema.get(0).get("vertex");
-                    Schema guiPropertySchema = getSchema(schemaVertex.<String>property("name").value()).get();
-                    VertexLabel guiPropertyVertexLabel = guiPropertySchema.getVertexLabel(vertexVertex.<String>property("name").value()).get();
-                    PropertyColumn propertyColumn = guiPropertyVertexLabel.getProperty(globalUniqueIndexPropertyVertex.<String>property("name").value()).get();
-                    guiPropertyColumns.add(propertyColumn);
-                } else {
-                    vertexSchema = traversalSource
-                            .V(globalUniqueIndexPropertyVertex)
-                            .in(SQLG_SCHEMA_EDGE_PROPERTIES_EDGE).as("edge")
-                            .in(SQLG_SCHEMA_OUT_EDGES_EDGE).as("vertex")
-                            .in(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE).as("schema")
-                            .<Vertex>select("edge", "vertex", "schema")
-                            .toList();
-                    Preconditions.checkState(vertexSchema.size() == 1, "BUG: GlobalUniqueIndex %s property %s has more than one path to the schema.");
-                    Vertex schemaVertex = vertexSchema.get(0).get("schema");
-                    Vertex vertexVertex = vertexSchema.get(0).get("vertex");
-                    Vertex edgeVertex = vertexSchema.get(0).get("edge");
-                    Schema guiPropertySchema = getSchema(schemaVertex.<String>property("name").value()).get();
-                    VertexLabel guiPropertyVertexLabel = guiPropertySchema.getVertexLabel(vertexVertex.<String>property("name").value()).get();
-                    EdgeLabel guiPropertyEdgeLabel = guiPropertyVertexLabel.getOutEdgeLabel(edgeVertex.<String>property("name").value()).get();
-                    PropertyColumn propertyColumn = guiPropertyEdgeLabel.getProperty(globalUniqueIndexPropertyVertex.<String>property("name").value()).get();
-                    guiPropertyColumns.add(propertyColumn);
+    /**
+     * Populates the allTableCache, schemaTableForeignKeyCache and edgeForeignKeyCache directly from the topology rows,
+     * without loading the labels.
+     */
+    private void cacheTopologyRows(TopologyRows rows) {
+        Map<Long, SchemaTable> vertexSchemaTables = new HashMap<>();
+        for (Pair<Long, Long> schemaVertex : rows.schemaVertex) {
+            String schemaName = rows.schemas.get(schemaVertex.getLeft())[0];
+            SchemaTable vertexSchemaTable = SchemaTable.of(schemaName, VERTEX_PREFIX + rows.vertices.get(schemaVertex.getRight())[0]);
+            vertexSchemaTables.put(schemaVertex.getRight(), vertexSchemaTable);
+            this.allTableCache.put(vertexSchemaTable.toString(), new HashMap<>());
+            this.schemaTableForeignKeyCache.put(vertexSchemaTable, Pair.of(new HashSet<>(), new HashSet<>()));
+        }
+        for (Pair<Long, Long> vertexProperty : rows.vertexProperty) {
+            SchemaTable vertexSchemaTable = vertexSchemaTables.get(vertexProperty.getLeft());
+            String[] propertyRow = rows.properties.get(vertexProperty.getRight());
+            if (vertexSchemaTable != null && propertyRow != null) {
+                this.allTableCache.get(vertexSchemaTable.toString()).put(propertyRow[0], PropertyType.valueOf(propertyRow[1]));
+            }
+        }
+        //edges are in the schema of their out vertex
+        Map<Long, Set<SchemaTable>> edgeSchemaTables = new HashMap<>();
+        for (Pair<Long, Long> outEdge : rows.outEdges) {
+            SchemaTable vertexSchemaTable = vertexSchemaTables.get(outEdge.getLeft());
+            if (vertexSchemaTable != null) {
+                SchemaTable edgeSchemaTable = SchemaTable.of(vertexSchemaTable.getSchema(), EDGE_PREFIX + rows.edges.get(outEdge.getRight())[0]);
+                edgeSchemaTables.computeIfAbsent(outEdge.getRight(), k -> new HashSet<>()).add(edgeSchemaTable);
+                this.allTableCache.computeIfAbsent(edgeSchemaTable.toString(), k -> new HashMap<>());
+                this.schemaTableForeignKeyCache.get(vertexSchemaTable).getRight().add(edgeSchemaTable);
+                addToEdgeForeignKeyCache(edgeSchemaTable.toString(), vertexSchemaTable.getSchema() + "." + vertexSchemaTable.withOutPrefix().getTable() + SchemaManager.OUT_VERTEX_COLUMN_END);
+            }
+        }
+        for (Pair<Long, Long> edgeProperty : rows.edgeProperty) {
+            String[] propertyRow = rows.properties.get(edgeProperty.getRight());
+            if (propertyRow != null) {
+                for (SchemaTable edgeSchemaTable : edgeSchemaTables.getOrDefault(edgeProperty.getLeft(), Collections.emptySet())) {
+                    this.allTableCache.get(edgeSchemaTable.toString()).put(propertyRow[0], PropertyType.valueOf(propertyRow[1]));
+                }
+            }
+        }
+        for (Pair<Long, Long> inEdge : rows.inEdges) {
+            SchemaTable vertexSchemaTable = vertexSchemaTables.get(inEdge.getLeft());
+            if (vertexSchemaTable != null) {
+                for (SchemaTable edgeSchemaTable : edgeSchemaTables.getOrDefault(inEdge.getRight(), Collections.emptySet())) {
+                    this.schemaTableForeignKeyCache.get(vertexSchemaTable).getLeft().add(edgeSchemaTable);
+                    addToEdgeForeignKeyCache(edgeSchemaTable.toString(), vertexSchemaTable.getSchema() + "." + vertexSchemaTable.withOutPrefix().getTable() + SchemaManager.IN_VERTEX_COLUMN_END);
                 }
             }
-            globalUniqueIndex.addGlobalUniqueProperties(guiPropertyColumns);
         }
+    }
 
-        //populate the allTablesCache
-        for (Schema schema : this.schemas.values()) {
-            if (!schema.isSqlgSchema()) {
-                this.allTableCache.putAll(schema.getAllTables());
+    /**
+     * Groups the schemas that are connected by edges, a schema's labels can only be loaded together with the labels they have edges to.
+     *
+     * @return Every schema's group.
+     */
+    private static Map<String, Set<String>> schemaComponents(TopologyRows rows) {
+        Map<String, Set<String>> components = new HashMap<>();
+        for (String[] schemaRow : rows.schemas.values()) {
+            components.put(schemaRow[0], new HashSet<>(Collections.singleton(schemaRow[0])));
+        }
+        Map<Long, String> vertexSchemaNames = new HashMap<>();
+        for (Pair<Long, Long> schemaVertex : rows.schemaVertex) {
+            vertexSchemaNames.put(schemaVertex.getRight(), rows.schemas.get(schemaVertex.getLeft())[0]);
+        }
+        Map<Long, String> edgeSchemaNames = new HashMap<>();
+        for (Pair<Long, Long> vertexEdge : Iterables.concat(rows.outEdges, rows.inEdges)) {
+            String vertexSchemaName = vertexSchemaNames.get(vertexEdge.getLeft());
+            if (vertexSchemaName != null) {
+                String edgeSchemaName = edgeSchemaNames.putIfAbsent(vertexEdge.getRight(), vertexSchemaName);
+                if (edgeSchemaName != null) {
+                    Set<String> component = components.get(vertexSchemaName);
+                    Set<String> otherComponent = components.get(edgeSchemaName);
+                    if (component != otherComponent) {
+                        component.addAll(otherComponent);
+                        for (String schemaName : otherComponent) {
+                            components.put(schemaName, component);
+                        }
+                    }
+                }
+            }
+        }
+        return components;
+    }
+
+    private static Map<Long, String> propertySchemaNames(TopologyRows rows) {
+        Map<Long, String> vertexSchemaNames = new HashMap<>();
+        for (Pair<Long, Long> schemaVertex : rows.schemaVertex) {
+            vertexSchemaNames.put(schemaVertex.getRight(), rows.schemas.get(schemaVertex.getLeft())[0]);
+        }
+        Map<Long, String> result = new HashMap<>();
+        for (Pair<Long, Long> vertexProperty : rows.vertexProperty) {
+            result.put(vertexProperty.getRight(), vertexSchemaNames.get(vertexProperty.getLeft()));
+        }
+        Map<Long, String> edgeSchemaNames = new HashMap<>();
+        for (Pair<Long, Long> outEdge : rows.outEdges) {
+            edgeSchemaNames.putIfAbsent(outEdge.getRight(), vertexSchemaNames.get(outEdge.getLeft()));
+        }
+        for (Pair<Long, Long> edgeProperty : rows.edgeProperty) {
+            result.put(edgeProperty.getRight(), edgeSchemaNames.get(edgeProperty.getLeft()));
+        }
+        return result;
+    }
+
+    boolean isLazy() {
+        return this.lazy;
+    }
+
+    /**
+     * Called in lazy mode whenever a schema's labels are referenced.
+     * Loads the schema, together with the schemas it has edges to, if it is not loaded yet
+     * and then unloads the least recently used schemas above topology.lazy.maxSchemas.
+     *
+     * @param schema The referenced schema.
+     */
+    void loadSchema(Schema schema) {
+        this.schemaAccess.put(schema.getName(), System.nanoTime());
+        if (schema.isLoaded() || (this.applyingNotification && isWriteLockHeldByCurrentThread())) {
+            return;
+        }
+        synchronized (this.lazyLoadLock) {
+            if (schema.isLoaded()) {
+                return;
+            }
+            //Read on the transaction's connection if there is one, a connection of its own could wait on the transaction's own topology changes.
+            TopologyRows rows;
+            if (this.sqlgGraph.tx().isOpen()) {
+                rows = loadSchemaComponentRows(this.sqlgGraph.tx().getConnection(), schema);
+            } else {
+                try (Connection connection = this.sqlgGraph.getConnection()) {
+                    rows = loadSchemaComponentRows(connection, schema);
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            Set<String> component = rows.schemas.values().stream().map(row -> row[0]).collect(Collectors.toSet());
+            Map<String, Set<String>> schemaComponents = new HashMap<>(this.schemaComponents);
+            for (String schemaName : component) {
+                schemaComponents.put(schemaName, component);
+            }
+            this.schemaComponents = schemaComponents;
+            Set<String> schemaNames = new HashSet<>();
+            schemaNames.add(schema.getName());
+            for (String schemaName : component) {
+                Schema componentSchema = this.schemas.get(schemaName);
+                if (componentSchema == null || !componentSchema.isLoaded()) {
+                    schemaNames.add(schemaName);
+                }
+            }
+            loadSchemas(rows, schemaNames);
+            for (String schemaName : schemaNames) {
+                Optional.ofNullable(this.schemas.get(schemaName)).ifPresent(s -> s.setLoaded(true));
+            }
+            schema.setLoaded(true);
+        }
+        unloadSchemas(schema);
+    }
+
+    /**
+     * @return The rows of the schema and the schemas it has edges to, directly or through other schemas.
+     */
+    private TopologyRows loadSchemaComponentRows(Connection connection, Schema schema) {
+        Set<String> component = new HashSet<>();
+        component.add(schema.getName());
+        TopologyRows rows = loadTopologyRows(connection, component);
+        Set<String> connectedSchemaNames = connectedSchemaNames(connection, rows);
+        while (!component.containsAll(connectedSchemaNames)) {
+            component.addAll(connectedSchemaNames);
+            rows = loadTopologyRows(connection, component);
+            connectedSchemaNames = connectedSchemaNames(connection, rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Loads the schema and reads it while holding the lazy load lock, no other thread can unload it in between.
+     */
+    <T> T readLoadedSchema(Schema schema, Supplier<T> read) {
+        synchronized (this.lazyLoadLock) {
+            loadSchema(schema);
+            return read.get();
+        }
+    }
+
+    /**
+     * Unloads the least recently used schemas, with the schemas they have edges to, till no more than topology.lazy.maxSchemas are loaded.
+     * This only happens if no other thread is changing the topology.
+     *
+     * @param referenced The schema that is being referenced, it is not unloaded.
+     */
+    private void unloadSchemas(Schema referenced) {
+        if (this.lazyMaxSchemas <= 0 || isWriteLockHeldByCurrentThread() || !this.reentrantReadWriteLock.writeLock().tryLock()) {
+            return;
+        }
+        try {
+            synchronized (this.lazyLoadLock) {
+                List<Schema> loadedSchemas = this.schemas.values().stream()
+                        .filter(Schema::isLoaded)
+                        .filter(s -> !this.pinnedSchemas.contains(s.getName()))
+                        .sorted(Comparator.comparing(s -> this.schemaAccess.getOrDefault(s.getName(), 0L)))
+                        .collect(Collectors.toList());
+                int loaded = loadedSchemas.size();
+                for (Schema schema : loadedSchemas) {
+                    if (loaded <= this.lazyMaxSchemas) {
+                        break;
+                    }
+                    Set<String> component = this.schemaComponents.getOrDefault(schema.getName(), Collections.singleton(schema.getName()));
+                    if (!schema.isLoaded() || component.contains(referenced.getName()) || component.stream().anyMatch(this.pinnedSchemas::contains)) {
+                        continue;
+                    }
+                    for (String schemaName : component) {
+                        Schema componentSchema = this.schemas.get(schemaName);
+                        if (componentSchema != null && componentSchema.isLoaded()) {
+                            componentSchema.unload();
+                            this.schemaAccess.remove(schemaName);
+                            loaded--;
+                        }
+                    }
+                }
+            }
+        } finally {
+            this.reentrantReadWriteLock.writeLock().unlock();
+        }
+    }
+
+    private static Index loadIndex(AbstractLabel abstractLabel, String[] indexRow) {
+        Optional<Index> indexOptional = abstractLabel.getIndex(indexRow[0]);
+        if (indexOptional.isPresent()) {
+            return indexOptional.get();
+        } else {
+            Index index = new Index(indexRow[0], IndexType.fromString(indexRow[1]), abstractLabel);
+            abstractLabel.addIndex(index);
+            return index;
+        }
+    }
+
+    private TopologyRows loadTopologyRows(Connection connection) {
+        TopologyRows rows = new TopologyRows();
+        rows.schemas = loadTopologyVertices(connection, SQLG_SCHEMA_SCHEMA, null, SQLG_SCHEMA_SCHEMA_NAME);
+        rows.vertices = loadTopologyVertices(connection, SQLG_SCHEMA_VERTEX_LABEL, null, SQLG_SCHEMA_VERTEX_LABEL_NAME);
+        rows.edges = loadTopologyVertices(connection, SQLG_SCHEMA_EDGE_LABEL, null, SQLG_SCHEMA_EDGE_LABEL_NAME);
+        rows.properties = loadTopologyVertices(connection, SQLG_SCHEMA_PROPERTY, null, SQLG_SCHEMA_PROPERTY_NAME, SQLG_SCHEMA_PROPERTY_TYPE);
+        rows.indexes = loadTopologyVertices(connection, SQLG_SCHEMA_INDEX, null, SQLG_SCHEMA_INDEX_NAME, SQLG_SCHEMA_INDEX_INDEX_TYPE);
+        rows.globalUniqueIndexes = loadTopologyVertices(connection, SQLG_SCHEMA_GLOBAL_UNIQUE_INDEX, null, SQLG_SCHEMA_GLOBAL_UNIQUE_INDEX_NAME);
+        rows.schemaVertex = loadTopologyEdges(connection, SQLG_SCHEMA_SCHEMA_VERTEX_EDGE, SQLG_SCHEMA_SCHEMA, SQLG_SCHEMA_VERTEX_LABEL, null);
+        rows.vertexProperty = loadTopologyEdges(connection, SQLG_SCHEMA_VERTEX_PROPERTIES_EDGE, SQLG_SCHEMA_VERTEX_LABEL, SQLG_SCHEMA_PROPERTY, null);
+        rows.outEdges = loadTopologyEdges(connection, SQLG_SCHEMA_OUT_EDGES_EDGE, SQLG_SCHEMA_VERTEX_LABEL, SQLG_SCHEMA_EDGE_LABEL, null);
+        rows.edgeProperty = loadTopologyEdges(connection, SQLG_SCHEMA_EDGE_PROPERTIES_EDGE, SQLG_SCHEMA_EDGE_LABEL, SQLG_SCHEMA_PROPERTY, null);
+        rows.inEdges = loadTopologyEdges(connection, SQLG_SCHEMA_IN_EDGES_EDGE, SQLG_SCHEMA_VERTEX_LABEL, SQLG_SCHEMA_EDGE_LABEL, null);
+        rows.vertexIndex = loadTopologyEdges(connection, SQLG_SCHEMA_VERTEX_INDEX_EDGE, SQLG_SCHEMA_VERTEX_LABEL, SQLG_SCHEMA_INDEX, null);
+        rows.edgeIndex = loadTopologyEdges(connection, SQLG_SCHEMA_EDGE_INDEX_EDGE, SQLG_SCHEMA_EDGE_LABEL, SQLG_SCHEMA_INDEX, null);
+        rows.indexProperty = loadTopologyEdges(connection, SQLG_SCHEMA_INDEX_PROPERTY_EDGE, SQLG_SCHEMA_INDEX, SQLG_SCHEMA_PROPERTY, null);
+        rows.globalUniqueIndexProperty = loadTopologyEdges(connection, SQLG_SCHEMA_GLOBAL_UNIQUE_INDEX_PROPERTY_EDGE, SQLG_SCHEMA_GLOBAL_UNIQUE_INDEX, SQLG_SCHEMA_PROPERTY, null);
+        return rows;
+    }
+
+    /**
+     * Reads the rows of the given schemas only, i.e. their labels with the labels' properties and indexes.
+     * The in edges of the schemas' labels are included, also those that connect to another schema.
+     * The global unique indexes are not read.
+     *
+     * @param connection  The connection to read with.
+     * @param schemaNames The schemas to read.
+     * @return The sqlg_schema rows of the schemas.
+     */
+    private TopologyRows loadTopologyRows(Connection connection, Set<String> schemaNames) {
+        SqlDialect sqlDialect = this.sqlgGraph.getSqlDialect();
+        StringBuilder names = new StringBuilder();
+        for (String schemaName : schemaNames) {
+            if (names.length() > 0) {
+                names.append(", ");
+            }
+            names.append("'").append(schemaName.replace("'", "''")).append("'");
+        }
+        String schemaWhere = sqlDialect.maybeWrapInQoutes(SQLG_SCHEMA_SCHEMA_NAME) + " IN (" + names + ")";
+        String schemaIds = topologySelect(VERTEX_PREFIX + SQLG_SCHEMA_SCHEMA, SchemaManager.ID, schemaWhere);
+        String vertexIds = topologyEdgeSelect(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE, SQLG_SCHEMA_SCHEMA, SQLG_SCHEMA_VERTEX_LABEL, schemaIds);
+        String edgeIds = topologyEdgeSelect(SQLG_SCHEMA_OUT_EDGES_EDGE, SQLG_SCHEMA_VERTEX_LABEL, SQLG_SCHEMA_EDGE_LABEL, vertexIds);
+        String propertyIds = topologyEdgeSelect(SQLG_SCHEMA_VERTEX_PROPERTIES_EDGE, SQLG_SCHEMA_VERTEX_LABEL, SQLG_SCHEMA_PROPERTY, vertexIds) +
+                " UNION " + topologyEdgeSelect(SQLG_SCHEMA_EDGE_PROPERTIES_EDGE, SQLG_SCHEMA_EDGE_LABEL, SQLG_SCHEMA_PROPERTY, edgeIds);
+        String indexIds = topologyEdgeSelect(SQLG_SCHEMA_VERTEX_INDEX_EDGE, SQLG_SCHEMA_VERTEX_LABEL, SQLG_SCHEMA_INDEX, vertexIds) +
+                " UNION " + topologyEdgeSelect(SQLG_SCHEMA_EDGE_INDEX_EDGE, SQLG_SCHEMA_EDGE_LABEL, SQLG_SCHEMA_INDEX, edgeIds);
+        String id = sqlDialect.maybeWrapInQoutes(SchemaManager.ID);
+
+        TopologyRows rows = new TopologyRows();
+        rows.schemas = loadTopologyVertices(connection, SQLG_SCHEMA_SCHEMA, schemaWhere, SQLG_SCHEMA_SCHEMA_NAME);
+        rows.vertices = loadTopologyVertices(connection, SQLG_SCHEMA_VERTEX_LABEL, id + " IN (" + vertexIds + ")", SQLG_SCHEMA_VERTEX_LABEL_NAME);
+        rows.edges = loadTopologyVertices(connection, SQLG_SCHEMA_EDGE_LABEL, id + " IN (" + edgeIds + ")", SQLG_SCHEMA_EDGE_LABEL_NAME);
+        rows.properties = loadTopologyVertices(connection, SQLG_SCHEMA_PROPERTY, id + " IN (" + propertyIds + ")", SQLG_SCHEMA_PROPERTY_NAME, SQLG_SCHEMA_PROPERTY_TYPE);
+        rows.indexes = loadTopologyVertices(connection, SQLG_SCHEMA_INDEX, id + " IN (" + indexIds + ")", SQLG_SCHEMA_INDEX_NAME, SQLG_SCHEMA_INDEX_INDEX_TYPE);
+        rows.globalUniqueIndexes = new LinkedHashMap<>();
+        rows.schemaVertex = loadTopologyEdges(connection, SQLG_SCHEMA_SCHEMA_VERTEX_EDGE, SQLG_SCHEMA_SCHEMA, SQLG_SCHEMA_VERTEX_LABEL,
+                topologyEdgeColumn(SQLG_SCHEMA_SCHEMA, SchemaManager.OUT_VERTEX_COLUMN_END) + " IN (" + schemaIds + ")");
+        rows.vertexProperty = loadTopologyEdges(connection, SQLG_SCHEMA_VERTEX_PROPERTIES_EDGE, SQLG_SCHEMA_VERTEX_LABEL, SQLG_SCHEMA_PROPERTY,
+                topologyEdgeColumn(SQLG_SCHEMA_VERTEX_LABEL, SchemaManager.OUT_VERTEX_COLUMN_END) + " IN (" + vertexIds + ")");
+        rows.outEdges = loadTopologyEdges(connection, SQLG_SCHEMA_OUT_EDGES_EDGE, SQLG_SCHEMA_VERTEX_LABEL, SQLG_SCHEMA_EDGE_LABEL,
+                topologyEdgeColumn(SQLG_SCHEMA_VERTEX_LABEL, SchemaManager.OUT_VERTEX_COLUMN_END) + " IN (" + vertexIds + ")");
+        rows.edgeProperty = loadTopologyEdges(connection, SQLG_SCHEMA_EDGE_PROPERTIES_EDGE, SQLG_SCHEMA_EDGE_LABEL, SQLG_SCHEMA_PROPERTY,
+                topologyEdgeColumn(SQLG_SCHEMA_EDGE_LABEL, SchemaManager.OUT_VERTEX_COLUMN_END) + " IN (" + edgeIds + ")");
+        rows.inEdges = loadTopologyEdges(connection, SQLG_SCHEMA_IN_EDGES_EDGE, SQLG_SCHEMA_VERTEX_LABEL, SQLG_SCHEMA_EDGE_LABEL,
+                topologyEdgeColumn(SQLG_SCHEMA_VERTEX_LABEL, SchemaManager.OUT_VERTEX_COLUMN_END) + " IN (" + vertexIds + ") OR " +
+                        topologyEdgeColumn(SQLG_SCHEMA_EDGE_LABEL, SchemaManager.IN_VERTEX_COLUMN_END) + " IN (" + edgeIds + ")");
+        rows.vertexIndex = loadTopologyEdges(connection, SQLG_SCHEMA_VERTEX_INDEX_EDGE, SQLG_SCHEMA_VERTEX_LABEL, SQLG_SCHEMA_INDEX,
+                topologyEdgeColumn(SQLG_SCHEMA_VERTEX_LABEL, SchemaManager.OUT_VERTEX_COLUMN_END) + " IN (" + vertexIds + ")");
+        rows.edgeIndex = loadTopologyEdges(connection, SQLG_SCHEMA_EDGE_INDEX_EDGE, SQLG_SCHEMA_EDGE_LABEL, SQLG_SCHEMA_INDEX,
+                topologyEdgeColumn(SQLG_SCHEMA_EDGE_LABEL, SchemaManager.OUT_VERTEX_COLUMN_END) + " IN (" + edgeIds + ")");
+        rows.indexProperty = loadTopologyEdges(connection, SQLG_SCHEMA_INDEX_PROPERTY_EDGE, SQLG_SCHEMA_INDEX, SQLG_SCHEMA_PROPERTY,
+                topologyEdgeColumn(SQLG_SCHEMA_INDEX, SchemaManager.OUT_VERTEX_COLUMN_END) + " IN (" + indexIds + ")");
+        rows.globalUniqueIndexProperty = new ArrayList<>();
+        return rows;
+    }
+
+    /**
+     * The in edges read with {@link #loadTopologyRows(Connection, Set)} can connect to labels of schemas that were not read.
+     *
+     * @return The names of the schemas of the in edges' vertex and edge labels, including the read schemas.
+     */
+    private Set<String> connectedSchemaNames(Connection connection, TopologyRows rows) {
+        Set<String> result = rows.schemas.values().stream().map(row -> row[0]).collect(Collectors.toSet());
+        Set<Long> otherVertexIds = new HashSet<>();
+        Set<Long> otherEdgeIds = new HashSet<>();
+        for (Pair<Long, Long> inEdge : rows.inEdges) {
+            if (!rows.vertices.containsKey(inEdge.getLeft())) {
+                otherVertexIds.add(inEdge.getLeft());
+            }
+            if (!rows.edges.containsKey(inEdge.getRight())) {
+                otherEdgeIds.add(inEdge.getRight());
+            }
+        }
+        if (otherVertexIds.isEmpty() && otherEdgeIds.isEmpty()) {
+            return result;
+        }
+        //an edge label is in the schema of its out vertex
+        String outVertexIds = topologyEdgeSelect(SQLG_SCHEMA_OUT_EDGES_EDGE, SQLG_SCHEMA_EDGE_LABEL, SQLG_SCHEMA_VERTEX_LABEL, idList(otherEdgeIds));
+        String schemaIds = topologyEdgeSelect(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE, SQLG_SCHEMA_VERTEX_LABEL, SQLG_SCHEMA_SCHEMA, outVertexIds) +
+                " UNION " + topologyEdgeSelect(SQLG_SCHEMA_SCHEMA_VERTEX_EDGE, SQLG_SCHEMA_VERTEX_LABEL, SQLG_SCHEMA_SCHEMA, idList(otherVertexIds));
+        for (String[] schemaRow : loadTopologyVertices(connection, SQLG_SCHEMA_SCHEMA,
+                this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(SchemaManager.ID) + " IN (" + schemaIds + ")", SQLG_SCHEMA_SCHEMA_NAME).values()) {
+            result.add(schemaRow[0]);
+        }
+        return result;
+    }
+
+    private static String idList(Set<Long> ids) {
+        return ids.isEmpty() ? "NULL" : ids.stream().map(String::valueOf).collect(Collectors.joining(", "));
+    }
+
+    private String topologySelect(String table, String column, String where) {
+        SqlDialect sqlDialect = this.sqlgGraph.getSqlDialect();
+        return "SELECT " + sqlDialect.maybeWrapInQoutes(column) + " FROM " + sqlDialect.maybeWrapInQoutes(SQLG_SCHEMA) + "." +
+                sqlDialect.maybeWrapInQoutes(table) + " WHERE " + where;
+    }
+
+    /**
+     * Selects the ids at one end of a sqlg_schema edge table for the ids at the other end.
+     *
+     * @param label The sqlg_schema edge label.
+     * @param from  The sqlg_schema label of the end whose ids are given.
+     * @param to    The sqlg_schema label of the end whose ids are selected.
+     * @param ids   The ids, a select or a list.
+     */
+    private String topologyEdgeSelect(String label, String from, String to, String ids) {
+        boolean fromOut = isTopologyEdgeOut(label, from, to);
+        String toColumn = SQLG_SCHEMA + "." + to + (fromOut ? SchemaManager.IN_VERTEX_COLUMN_END : SchemaManager.OUT_VERTEX_COLUMN_END);
+        return topologySelect(EDGE_PREFIX + label, toColumn,
+                topologyEdgeColumn(from, fromOut ? SchemaManager.OUT_VERTEX_COLUMN_END : SchemaManager.IN_VERTEX_COLUMN_END) + " IN (" + ids + ")");
+    }
+
+    //out_edges and in_edges both go from the vertex label to the edge label.
+    private static boolean isTopologyEdgeOut(String label, String from, String to) {
+        switch (label) {
+            case SQLG_SCHEMA_SCHEMA_VERTEX_EDGE:
+                return from.equals(SQLG_SCHEMA_SCHEMA);
+            case SQLG_SCHEMA_OUT_EDGES_EDGE:
+            case SQLG_SCHEMA_IN_EDGES_EDGE:
+            case SQLG_SCHEMA_VERTEX_PROPERTIES_EDGE:
+            case SQLG_SCHEMA_VERTEX_INDEX_EDGE:
+                return from.equals(SQLG_SCHEMA_VERTEX_LABEL);
+            case SQLG_SCHEMA_EDGE_PROPERTIES_EDGE:
+            case SQLG_SCHEMA_EDGE_INDEX_EDGE:
+                return from.equals(SQLG_SCHEMA_EDGE_LABEL);
+            default:
+                throw new IllegalStateException("Unhandled sqlg_schema edge " + label);
+        }
+    }
+
+    private String topologyEdgeColumn(String vertexLabel, String columnEnd) {
+        return this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(SQLG_SCHEMA + "." + vertexLabel + columnEnd);
+    }
+
+    /**
+     * Reads the rows of a sqlg_schema vertex table in one query.
+     *
+     * @param connection The connection to read with.
+     * @param label   The sqlg_schema vertex label.
+     * @param where   The condition on the rows, null for all the rows.
+     * @param columns The string columns to read.
+     * @return The column values by ID, in ID order.
+     */
+    private Map<Long, String[]> loadTopologyVertices(Connection connection, String label, String where, String... columns) {
+        SqlDialect sqlDialect = this.sqlgGraph.getSqlDialect();
+        StringBuilder sql = new StringBuilder("SELECT ");
+        sql.append(sqlDialect.maybeWrapInQoutes(SchemaManager.ID));
+        for (String column : columns) {
+            sql.append(", ");
+            sql.append(sqlDialect.maybeWrapInQoutes(column));
+        }
+        sql.append(" FROM ");
+        sql.append(sqlDialect.maybeWrapInQoutes(SQLG_SCHEMA));
+        sql.append(".");
+        sql.append(sqlDialect.maybeWrapInQoutes(VERTEX_PREFIX + label));
+        if (where != null) {
+            sql.append(" WHERE ");
+            sql.append(where);
+        }
+        sql.append(" ORDER BY ");
+        sql.append(sqlDialect.maybeWrapInQoutes(SchemaManager.ID));
+        if (sqlDialect.needsSemicolon()) {
+            sql.append(";");
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql.toString());
+        }
+        Map<Long, String[]> result = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery(sql.toString());
+            while (resultSet.next()) {
+                String[] values = new String[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    values[i] = resultSet.getString(i + 2);
+                }
+                result.put(resultSet.getLong(1), values);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return result;
+    }
+
+    /**
+     * Reads the rows of a sqlg_schema edge table in one query.
+     *
+     * @param connection     The connection to read with.
+     * @param label          The sqlg_schema edge label.
+     * @param outVertexLabel The sqlg_schema label of the edge's out vertex.
+     * @param inVertexLabel  The sqlg_schema label of the edge's in vertex.
+     * @param where          The condition on the rows, null for all the rows.
+     * @return The out and in vertex ids of the edges, in ID order.
+     */
+    private List<Pair<Long, Long>> loadTopologyEdges(Connection connection, String label, String outVertexLabel, String inVertexLabel, String where) {
+        SqlDialect sqlDialect = this.sqlgGraph.getSqlDialect();
+        StringBuilder sql = new StringBuilder("SELECT ");
+        sql.append(sqlDialect.maybeWrapInQoutes(SQLG_SCHEMA + "." + outVertexLabel + SchemaManager.OUT_VERTEX_COLUMN_END));
+        sql.append(", ");
+        sql.append(sqlDialect.maybeWrapInQoutes(SQLG_SCHEMA + "." + inVertexLabel + SchemaManager.IN_VERTEX_COLUMN_END));
+        sql.append(" FROM ");
+        sql.append(sqlDialect.maybeWrapInQoutes(SQLG_SCHEMA));
+        sql.append(".");
+        sql.append(sqlDialect.maybeWrapInQoutes(EDGE_PREFIX + label));
+        if (where != null) {
+            sql.append(" WHERE ");
+            sql.append(where);
+        }
+        sql.append(" ORDER BY ");
+        sql.append(sqlDialect.maybeWrapInQoutes(SchemaManager.ID));
+        if (sqlDialect.needsSemicolon()) {
+            sql.append(";");
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql.toString());
+        }
+        List<Pair<Long, Long>> result = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery(sql.toString());
+            while (resultSet.next()) {
+                result.add(Pair.of(resultSet.getLong(1), resultSet.getLong(2)));
             }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
         }
-        //populate the schemaTableForeignKeyCache
-        this.schemaTableForeignKeyCache.putAll(loadTableLabels());
-        //populate the edgeForeignKey cache
-        this.edgeForeignKeyCache.putAll(loadAllEdgeForeignKeys());
+        return result;
     }
 
     void validateTopology() {
@@ -1034,46 +1753,42 @@ public class Topology {
         }
     }
 
-    @SuppressWarnings("OptionalGetWithoutIsPresent")
-    private void fromNotifyJson(LocalDateTime timestamp, ObjectNode log) {
-        //First do all the out edges. The in edge logic assumes the out edges are present.
-        for (String s : Arrays.asList("uncommittedSchemas", "schemas")) {
-            ArrayNode schemas = (ArrayNode) log.get(s);
-            if (schemas != null) {
-                //first load all the schema as they might be required later
-                for (JsonNode jsonSchema : schemas) {
-                    String schemaName = jsonSchema.get("name").asText();
-                    Optional<Schema> schemaOptional = getSchema(schemaName);
-                    Schema schema;
-                    if (!schemaOptional.isPresent()) {
-                        //add to map
-                        schema = Schema.instantiateSchema(this, schemaName);
-                        this.schemas.put(schemaName, schema);
-                        fire(schema, "", TopologyChangeAction.CREATE);
+    /**
+     * Loads the logs written after the last notification that was applied.
+     * Used by the notification listener after reconnecting as notifications sent while it was not listening are lost.
+     */
+    public void fromNotifyJsonSinceLastNotification() {
+        z_internalWriteLock();
+        try {
+            if (!this.notificationTimestamps.isEmpty()) {
+                LocalDateTime lastTimestamp = this.notificationTimestamps.last();
+                List<Vertex> logs = this.sqlgGraph.topology().V()
+                        .hasLabel(SQLG_SCHEMA + "." + SQLG_SCHEMA_LOG)
+                        .has(SQLG_SCHEMA_LOG_TIMESTAMP, P.gt(lastTimestamp))
+                        .order().by(SQLG_SCHEMA_LOG_TIMESTAMP, Order.incr)
+                        .toList();
+                for (Vertex logVertex : logs) {
+                    int pid = logVertex.value("pid");
+                    if (!this.ownPids.remove(pid)) {
+                        LocalDateTime timestamp = logVertex.value("timestamp");
+                        ObjectNode log = logVertex.value("log");
+                        fromNotifyJson(timestamp, log);
                     }
                 }
-                for (JsonNode jsonSchema : schemas) {
-                    String schemaName = jsonSchema.get("name").asText();
-                    Optional<Schema> schemaOptional = getSchema(schemaName);
-                    Preconditions.checkState(schemaOptional.isPresent(), "Schema must be present here");
-                    @SuppressWarnings("OptionalGetWithoutIsPresent")
-                    Schema schema = schemaOptional.get();
-                    schema.fromNotifyJsonOutEdges(jsonSchema);
-                }
             }
+        } finally {
+            this.sqlgGraph.tx().rollback();
         }
-        for (String s : Arrays.asList("uncommittedSchemas", "schemas")) {
-            ArrayNode schemas = (ArrayNode) log.get(s);
-            if (schemas != null) {
-                for (JsonNode jsonSchema : schemas) {
-                    String schemaName = jsonSchema.get("name").asText();
-                    Optional<Schema> schemaOptional = getSchema(schemaName);
-                    Preconditions.checkState(schemaOptional.isPresent(), "Schema must be present here");
-                    @SuppressWarnings("OptionalGetWithoutIsPresent")
-                    Schema schema = schemaOptional.get();
-                    schema.fromNotifyJsonInEdges(jsonSchema);
-                }
-            }
+    }
+
+    @SuppressWarnings("OptionalGetWithoutIsPresent")
+    private void fromNotifyJson(LocalDateTime timestamp, ObjectNode log) {
+        //In lazy mode the notification is applied to the schemas as is, loading them would swallow the notification's events.
+        this.applyingNotification = true;
+        try {
+            fromNotifyJsonSchemas(log);
+        } finally {
+            this.applyingNotification = false;
         }
 
         ArrayNode globalUniqueIndexes = (ArrayNode) log.get("uncommittedGlobalUniqueIndexes");
@@ -1094,6 +1809,8 @@ public class Topology {
                     ObjectNode propertyObjectNode = (ObjectNode) jsonProperty;
                     String propertyName = propertyObjectNode.get("name").asText();
                     String schemaName = propertyObjectNode.get("schemaName").asText();
+                    //global unique indexes hold on to their properties, their schemas may not be unloaded.
+                    this.pinnedSchemas.add(schemaName);
                     Optional<Schema> schemaOptional = getSchema(schemaName);
                     Preconditions.checkState(schemaOptional.isPresent(), "Schema must be present for GlobalUniqueIndexes fromNotifyJson");
                     Schema schema = schemaOptional.get();
@@ -1119,6 +1836,48 @@ public class Topology {
         this.notificationTimestamps.add(timestamp);
     }
 
+    private void fromNotifyJsonSchemas(ObjectNode log) {
+        //First do all the out edges. The in edge logic assumes the out edges are present.
+        for (String s : Arrays.asList("uncommittedSchemas", "schemas")) {
+            ArrayNode schemas = (ArrayNode) log.get(s);
+            if (schemas != null) {
+                //first load all the schema as they might be required later
+                for (JsonNode jsonSchema : schemas) {
+                    String schemaName = jsonSchema.get("name").asText();
+                    Optional<Schema> schemaOptional = getSchema(schemaName);
+                    Schema schema;
+                    if (!schemaOptional.isPresent()) {
+                        //add to map
+                        schema = Schema.instantiateSchema(this, schemaName);
+                        this.schemas.put(schemaName, schema);
+                        fire(schema, "", TopologyChangeAction.CREATE);
+                    }
+                }
+                for (JsonNode jsonSchema : schemas) {
+                    String schemaName = jsonSchema.get("name").asText();
+                    Optional<Schema> schemaOptional = getSchema(schemaName);
+                    Preconditions.checkState(schemaOptional.isPresent(), "Schema must be present here");
+                    @SuppressWarnings("OptionalGetWithoutIsPresent")
+                    Schema schema = schemaOptional.get();
+                    schema.fromNotifyJsonOutEdges(jsonSchema);
+                }
+            }
+        }
+        for (String s : Arrays.asList("uncommittedSchemas", "schemas")) {
+            ArrayNode schemas = (ArrayNode) log.get(s);
+            if (schemas != null) {
+                for (JsonNode jsonSchema : schemas) {
+                    String schemaName = jsonSchema.get("name").asText();
+                    Optional<Schema> schemaOptional = getSchema(schemaName);
+                    Preconditions.checkState(schemaOptional.isPresent(), "Schema must be present here");
+                    @SuppressWarnings("OptionalGetWithoutIsPresent")
+                    Schema schema = schemaOptional.get();
+                    schema.fromNotifyJsonInEdges(jsonSchema);
+                }
+            }
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         z_internalReadLock();
@@ -1406,7 +2165,8 @@ public class Topology {
         z_internalReadLock();
         try {
             Optional<Schema> schemaOptional = getSchema(schemaTable.getSchema());
-            if (schemaOptional.isPresent()) {
+            //the schemas of global unique indexes are always loaded
+            if (schemaOptional.isPresent() && schemaOptional.get().isLoaded()) {
                 return Collections.unmodifiableMap(schemaOptional.get().getPropertiesWithGlobalUniqueIndexFor(schemaTable));
             }
             return Collections.emptyMap();
@@ -1419,6 +2179,11 @@ public class Topology {
         z_internalReadLock();
         try {
             Optional<Schema> schemaOptional = getSchema(schemaTable.getSchema());
+            if (schemaOptional.isPresent() && !schemaOptional.get().isLoaded()) {
+                //lazy mode, the cache has the table without loading the schema
+                Map<String, PropertyType> table = this.allTableCache.get(schemaTable.toString());
+                return table != null ? new HashMap<>(table) : Collections.emptyMap();
+            }
             if (schemaOptional.isPresent()) {
                 return schemaOptional.get().getTableFor(schemaTable);
             }
@@ -1534,8 +2299,16 @@ public class Topology {
         }
     }
 
+    /**
+     * @return true if the table is in the allTableCache. In lazy mode a table can be cached while its schema is not loaded.
+     */
+    boolean isCachedTable(String tableName) {
+        return this.allTableCache.containsKey(tableName);
+    }
+
     void addToAllTables(String tableName, Map<String, PropertyType> propertyTypeMap) {
-        this.allTableCache.put(tableName, propertyTypeMap);
+        //merge, in lazy mode a notified label of a schema that is not loaded only has the notified properties.
+        this.allTableCache.computeIfAbsent(tableName, k -> new HashMap<>()).putAll(propertyTypeMap);
         SchemaTable schemaTable = SchemaTable.from(this.sqlgGraph, tableName);
         if (schemaTable.getTable().startsWith(SchemaManager.VERTEX_PREFIX) && !this.schemaTableForeignKeyCache.containsKey(schemaTable)) {
             //This happens for VertexLabel that have no edges,
@@ -1556,13 +2329,17 @@ public class Topology {
     }
 
     void addInForeignKeysToVertexLabel(VertexLabel vertexLabel, EdgeLabel edgeLabel) {
+        addInForeignKeysToVertexLabel(vertexLabel, SchemaTable.of(edgeLabel.getSchema().getName(), SchemaManager.EDGE_PREFIX + edgeLabel.getLabel()));
+    }
+
+    void addInForeignKeysToVertexLabel(VertexLabel vertexLabel, SchemaTable edgeSchemaTable) {
         SchemaTable schemaTable = SchemaTable.of(vertexLabel.getSchema().getName(), SchemaManager.VERTEX_PREFIX + vertexLabel.getLabel());
         Pair<Set<SchemaTable>, Set<SchemaTable>> foreignKeys = this.schemaTableForeignKeyCache.get(schemaTable);
         if (foreignKeys == null) {
             foreignKeys = Pair.of(new HashSet<>(), new HashSet<>());
             this.schemaTableForeignKeyCache.put(schemaTable, foreignKeys);
         }
-        foreignKeys.getLeft().add(SchemaTable.of(edgeLabel.getSchema().getName(), SchemaManager.EDGE_PREFIX + edgeLabel.getLabel()));
+        foreignKeys.getLeft().add(edgeSchemaTable);
     }
 
     void addToUncommittedGlobalUniqueIndexes(GlobalUniqueIndex globalUniqueIndex) {
@@ -1580,6 +2357,27 @@ public class Topology {
     }
 
 
+    /**
+     * The rows of the sqlg_schema tables. Vertex rows are the column values by ID, edge rows the out and in vertex ids.
+     */
+    private static class TopologyRows {
+        private Map<Long, String[]> schemas;
+        private Map<Long, String[]> vertices;
+        private Map<Long, String[]> edges;
+        private Map<Long, String[]> properties;
+        private Map<Long, String[]> indexes;
+        private Map<Long, String[]> globalUniqueIndexes;
+        private List<Pair<Long, Long>> schemaVertex;
+        private List<Pair<Long, Long>> vertexProperty;
+        private List<Pair<Long, Long>> outEdges;
+        private List<Pair<Long, Long>> edgeProperty;
+        private List<Pair<Long, Long>> inEdges;
+        private List<Pair<Long, Long>> vertexIndex;
+        private List<Pair<Long, Long>> edgeIndex;
+        private List<Pair<Long, Long>> indexProperty;
+        private List<Pair<Long, Long>> globalUniqueIndexProperty;
+    }
+
     static class TopologyValidationError {
         private TopologyInf error;
 
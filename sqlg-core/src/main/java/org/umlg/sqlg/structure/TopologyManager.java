@@ -491,6 +491,10 @@ public class TopologyManager {
     private static BatchManager.BatchModeType flushAndSetTxToNone(SqlgGraph sqlgGraph) {
         //topology elements can not be added in batch mode because on flushing the topology
         //needs to be queries and yet the elements are still in the cache.
+        //SchemaChange.apply flushes the user's elements up front, only topology elements are in its normal batch.
+        if (sqlgGraph.getTopology().isDeferringDdl() && sqlgGraph.tx().isInNormalBatchMode()) {
+            return BatchManager.BatchModeType.NORMAL;
+        }
         BatchManager.BatchModeType batchModeType = sqlgGraph.tx().getBatchModeType();
         if (sqlgGraph.tx().isInBatchMode()) {
             batchModeType = sqlgGraph.tx().getBatchModeType();
@@ -1,5 +1,7 @@
 package org.umlg.sqlg.structure;
 
+import org.umlg.sqlg.metrics.SqlgMetrics;
+
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Map;
@@ -80,10 +82,12 @@ class TransactionCache {
         if (this.cacheVertices) {
             sqlgVertex = this.vertexCache.get(recordId);
             if (sqlgVertex == null) {
+                sqlgGraph.getMetrics().cacheMiss(SqlgMetrics.VERTEX_CACHE);
                 sqlgVertex = new SqlgVertex(sqlgGraph, id, schema, table);
                 this.vertexCache.put(recordId, sqlgVertex);
                 return sqlgVertex;
             }
+            sqlgGraph.getMetrics().cacheHit(SqlgMetrics.VERTEX_CACHE);
         } else {
             sqlgVertex = new SqlgVertex(sqlgGraph, id, schema, table);
         }
@@ -96,12 +100,14 @@ class TransactionCache {
         if (this.cacheVertices) {
             sqlgVertexFromCache = this.vertexCache.get(vertexRecordId);
             if (sqlgVertexFromCache == null) {
+                sqlgVertex.sqlgGraph.getMetrics().cacheMiss(SqlgMetrics.VERTEX_CACHE);
                 //copy the RecordId so that the WeakHashMap value does not reference the key
                 SchemaTable schemaTable = vertexRecordId.getSchemaTable();
                 RecordId recordId = RecordId.from(SchemaTable.of(schemaTable.getSchema(), schemaTable.getTable()), vertexRecordId.getId());
                 this.vertexCache.put(recordId, sqlgVertex);
                 return sqlgVertex;
             } else {
+                sqlgVertex.sqlgGraph.getMetrics().cacheHit(SqlgMetrics.VERTEX_CACHE);
                 return sqlgVertexFromCache;
             }
 
@@ -0,0 +1,394 @@
+package org.umlg.sqlg.structure;
+
+import java.util.*;
+
+/**
+ * The pending vertices of one label in normal batch mode.
+ * The property values are held per column in growable arrays, numeric and boolean columns use primitive arrays
+ * with a bitmap marking the rows that have a value. A column falls back to an Object array when a value of another type arrives.
+ * The columns are in the order the keys were first seen, the flush writes them in that order.
+ * <p>
+ * Removing a pending vertex only marks its row as removed.
+ * Date: 2017/05/16
+ * Time: 8:47 PM
+ */
+public class VertexBatch {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final List<SqlgVertex> vertices = new ArrayList<>();
+    private final BitSet removed = new BitSet();
+    private int removedCount = 0;
+    private final Map<String, Integer> columnIndexes = new LinkedHashMap<>();
+    private final List<Column> columns = new ArrayList<>();
+    private int capacity = INITIAL_CAPACITY;
+
+    VertexBatch() {
+    }
+
+    void add(SqlgVertex sqlgVertex, Map<String, Object> keyValueMap) {
+        int row = this.vertices.size();
+        if (row == this.capacity) {
+            this.capacity = this.capacity * 2;
+            for (Column column : this.columns) {
+                column.grow(this.capacity);
+            }
+        }
+        this.vertices.add(sqlgVertex);
+        sqlgVertex.batchRow = row;
+        for (Map.Entry<String, Object> entry : keyValueMap.entrySet()) {
+            set(row, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * @return the vertex's row or -1 if the vertex is not pending in this batch.
+     */
+    private int rowOf(SqlgVertex sqlgVertex) {
+        int row = sqlgVertex.batchRow;
+        if (row >= 0 && row < this.vertices.size() && this.vertices.get(row) == sqlgVertex && !this.removed.get(row)) {
+            return row;
+        } else {
+            return -1;
+        }
+    }
+
+    boolean contains(SqlgVertex sqlgVertex) {
+        return rowOf(sqlgVertex) != -1;
+    }
+
+    void set(SqlgVertex sqlgVertex, String key, Object value) {
+        int row = rowOf(sqlgVertex);
+        if (row == -1) {
+            throw new IllegalStateException("Vertex " + sqlgVertex.label() + " is not pending in the batch.");
+        }
+        set(row, key, value);
+    }
+
+    private void set(int row, String key, Object value) {
+        Integer index = this.columnIndexes.get(key);
+        if (index == null) {
+            index = this.columns.size();
+            this.columnIndexes.put(key, index);
+            this.columns.add(Column.of(value, this.capacity));
+        }
+        Column column = this.columns.get(index);
+        if (value != null && column instanceof ObjectColumn && column.present.isEmpty()) {
+            //the column only had nulls so far, type it on the first value
+            column = Column.of(value, this.capacity);
+            this.columns.set(index, column);
+        } else if (value != null && !column.accepts(value)) {
+            column = column.toObjectColumn(this.vertices.size(), this.capacity);
+            this.columns.set(index, column);
+        }
+        column.set(row, value);
+    }
+
+    boolean remove(SqlgVertex sqlgVertex) {
+        int row = rowOf(sqlgVertex);
+        if (row == -1) {
+            return false;
+        }
+        this.removed.set(row);
+        this.removedCount++;
+        for (Column column : this.columns) {
+            column.set(row, null);
+        }
+        return true;
+    }
+
+    /**
+     * @return the keys in column order.
+     */
+    public Set<String> getKeys() {
+        return Collections.unmodifiableSet(this.columnIndexes.keySet());
+    }
+
+    /**
+     * @return the number of pending, not removed, vertices.
+     */
+    public int size() {
+        return this.vertices.size() - this.removedCount;
+    }
+
+    /**
+     * @return the number of rows including the removed ones.
+     */
+    public int rowCount() {
+        return this.vertices.size();
+    }
+
+    public boolean isRemoved(int row) {
+        return this.removed.get(row);
+    }
+
+    public SqlgVertex getVertex(int row) {
+        return this.vertices.get(row);
+    }
+
+    /**
+     * @param column the column's position in {@link #getKeys()}
+     */
+    public Object get(int row, int column) {
+        return this.columns.get(column).get(row);
+    }
+
+    public Object get(int row, String key) {
+        Integer index = this.columnIndexes.get(key);
+        return index == null ? null : get(row, index);
+    }
+
+    private abstract static class Column {
+
+        //set for the rows that have a non null value
+        final BitSet present = new BitSet();
+
+        static Column of(Object value, int capacity) {
+            if (value instanceof Long) {
+                return new LongColumn(capacity);
+            } else if (value instanceof Integer) {
+                return new IntColumn(capacity);
+            } else if (value instanceof Short) {
+                return new ShortColumn(capacity);
+            } else if (value instanceof Double) {
+                return new DoubleColumn(capacity);
+            } else if (value instanceof Float) {
+                return new FloatColumn(capacity);
+            } else if (value instanceof Boolean) {
+                return new BooleanColumn();
+            } else {
+                return new ObjectColumn(capacity);
+            }
+        }
+
+        abstract boolean accepts(Object value);
+
+        abstract void grow(int capacity);
+
+        abstract void setValue(int row, Object value);
+
+        abstract Object getValue(int row);
+
+        void set(int row, Object value) {
+            if (value == null) {
+                this.present.clear(row);
+            } else {
+                setValue(row, value);
+                this.present.set(row);
+            }
+        }
+
+        Object get(int row) {
+            return this.present.get(row) ? getValue(row) : null;
+        }
+
+        ObjectColumn toObjectColumn(int rows, int capacity) {
+            ObjectColumn result = new ObjectColumn(capacity);
+            for (int row = this.present.nextSetBit(0); row >= 0 && row < rows; row = this.present.nextSetBit(row + 1)) {
+                result.set(row, getValue(row));
+            }
+            return result;
+        }
+    }
+
+    private static class LongColumn extends Column {
+        private long[] values;
+
+        LongColumn(int capacity) {
+            this.values = new long[capacity];
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Long;
+        }
+
+        @Override
+        void grow(int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            this.values[row] = (Long) value;
+        }
+
+        @Override
+        Object getValue(int row) {
+            return this.values[row];
+        }
+    }
+
+    private static class IntColumn extends Column {
+        private int[] values;
+
+        IntColumn(int capacity) {
+            this.values = new int[capacity];
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Integer;
+        }
+
+        @Override
+        void grow(int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            this.values[row] = (Integer) value;
+        }
+
+        @Override
+        Object getValue(int row) {
+            return this.values[row];
+        }
+    }
+
+    private static class ShortColumn extends Column {
+        private short[] values;
+
+        ShortColumn(int capacity) {
+            this.values = new short[capacity];
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Short;
+        }
+
+        @Override
+        void grow(int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            this.values[row] = (Short) value;
+        }
+
+        @Override
+        Object getValue(int row) {
+            return this.values[row];
+        }
+    }
+
+    private static class DoubleColumn extends Column {
+        private double[] values;
+
+        DoubleColumn(int capacity) {
+            this.values = new double[capacity];
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Double;
+        }
+
+        @Override
+        void grow(int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            this.values[row] = (Double) value;
+        }
+
+        @Override
+        Object getValue(int row) {
+            return this.values[row];
+        }
+    }
+
+    private static class FloatColumn extends Column {
+        private float[] values;
+
+        FloatColumn(int capacity) {
+            this.values = new float[capacity];
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Float;
+        }
+
+        @Override
+        void grow(int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            this.values[row] = (Float) value;
+        }
+
+        @Override
+        Object getValue(int row) {
+            return this.values[row];
+        }
+    }
+
+    private static class BooleanColumn extends Column {
+        private final BitSet values = new BitSet();
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Boolean;
+        }
+
+        @Override
+        void grow(int capacity) {
+            //BitSet grows on its own
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            this.values.set(row, (Boolean) value);
+        }
+
+        @Override
+        Object getValue(int row) {
+            return this.values.get(row);
+        }
+    }
+
+    private static class ObjectColumn extends Column {
+        private Object[] values;
+
+        ObjectColumn(int capacity) {
+            this.values = new Object[capacity];
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return true;
+        }
+
+        @Override
+        void grow(int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        void set(int row, Object value) {
+            super.set(row, value);
+            if (value == null) {
+                //do not hold on to removed values
+                this.values[row] = null;
+            }
+        }
+
+        @Override
+        void setValue(int row, Object value) {
+            this.values[row] = value;
+        }
+
+        @Override
+        Object getValue(int row) {
+            return this.values[row];
+        }
+    }
+}
@@ -254,15 +254,7 @@ public class VertexLabel extends AbstractLabel {
         if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
             sql.append(";");
         }
-        if (logger.isDebugEnabled()) {
-            logger.debug(sql.toString());
-        }
-        Connection conn = this.sqlgGraph.tx().getConnection();
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute(sql.toString());
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        this.schema.getTopology().executeDdl(sql.toString());
     }
 
 
@@ -470,6 +462,9 @@ public class VertexLabel extends AbstractLabel {
                     Preconditions.checkState(schemaName.equals(getSchema().getName()), "out edges must be for the same schema that the edge specifies");
                     String edgeLabelName = uncommittedOutEdgeLabel.get("label").asText();
                     Optional<EdgeLabel> edgeLabelOptional = this.schema.getEdgeLabel(edgeLabelName);
+                    //a schema that is not loaded only has the notified labels, the cache knows if the label already existed.
+                    boolean existed = edgeLabelOptional.isPresent() ||
+                            (!this.schema.isLoaded() && this.schema.getTopology().isCachedTable(schemaName + "." + EDGE_PREFIX + edgeLabelName));
                     EdgeLabel edgeLabel;
                     if (!edgeLabelOptional.isPresent()) {
                         edgeLabel = new EdgeLabel(this.getSchema().getTopology(), edgeLabelName);
@@ -479,7 +474,7 @@ public class VertexLabel extends AbstractLabel {
                     edgeLabel.addToOutVertexLabel(this);
                     this.outEdgeLabels.put(schemaName + "." + edgeLabel.getLabel(), edgeLabel);
                     // fire if we didn't create the edge label
-                    edgeLabel.fromPropertyNotifyJson(uncommittedOutEdgeLabel,edgeLabelOptional.isPresent());
+                    edgeLabel.fromPropertyNotifyJson(uncommittedOutEdgeLabel, existed);
                     //Babysit the cache
                     this.getSchema().getTopology().addToAllTables(getSchema().getName() + "." + EDGE_PREFIX + edgeLabel.getLabel(), edgeLabel.getPropertyTypeMap());
                     this.getSchema().addToAllEdgeCache(edgeLabel);
@@ -488,7 +483,7 @@ public class VertexLabel extends AbstractLabel {
                             this.getSchema().getName() + "." + EDGE_PREFIX + edgeLabel.getLabel(),
                             this.getSchema().getName() + "." + this.getLabel() + SchemaManager.OUT_VERTEX_COLUMN_END);
                     // fire only applies to top level, fire for new edges
-                    if (!edgeLabelOptional.isPresent()){
+                    if (!existed) {
                     	this.getSchema().getTopology().fire(edgeLabel, "", TopologyChangeAction.CREATE);
                     }
                 }
@@ -506,7 +501,17 @@ public class VertexLabel extends AbstractLabel {
                     Optional<Schema> schemaOptional = getSchema().getTopology().getSchema(schemaName);
                     Preconditions.checkState(schemaOptional.isPresent(), "Schema %s must be present", schemaName);
                     @SuppressWarnings("OptionalGetWithoutIsPresent")
-                    Optional<EdgeLabel> edgeLabelOptional = schemaOptional.get().getEdgeLabel(edgeLabelName);
+                    Schema edgeSchema = schemaOptional.get();
+                    Optional<EdgeLabel> edgeLabelOptional = edgeSchema.getEdgeLabel(edgeLabelName);
+                    if (!edgeLabelOptional.isPresent() && !edgeSchema.isLoaded()) {
+                        //The edge label is in a schema that is not loaded, only the caches are updated.
+                        //The in edge is linked when the edge label's schema is loaded.
+                        this.getSchema().getTopology().addInForeignKeysToVertexLabel(this, SchemaTable.of(schemaName, EDGE_PREFIX + edgeLabelName));
+                        this.getSchema().getTopology().addToEdgeForeignKeyCache(
+                                schemaName + "." + EDGE_PREFIX + edgeLabelName,
+                                this.getSchema().getName() + "." + this.getLabel() + SchemaManager.IN_VERTEX_COLUMN_END);
+                        continue;
+                    }
                     Preconditions.checkState(edgeLabelOptional.isPresent(), "edge label must be present as the in can not be there without the out. EdgeLabel: %s", edgeLabelName);
                     @SuppressWarnings("OptionalGetWithoutIsPresent")
                     EdgeLabel edgeLabel = edgeLabelOptional.get();
@@ -60,11 +60,11 @@ public class C3P0DataSource implements SqlgDataSourceFactory.SqlgDataSource{
                 json.append("\"numConnections\":\"")
                         .append(String.valueOf(dss.getNumConnections())).append("\",");
                 json.append("\"numBusyConnections\":\"")
-                        .append(String.valueOf(dss.getNumConnections())).append("\",");
+                        .append(String.valueOf(dss.getNumBusyConnections())).append("\",");
                 json.append("\"numIdleConnections\":\"")
-                        .append(String.valueOf(dss.getNumConnections())).append("\",");
+                        .append(String.valueOf(dss.getNumIdleConnections())).append("\",");
                 json.append("\"numUnclosedOrphanedConnections\":\"")
-                        .append(String.valueOf(dss.getNumConnections())).append("\",");
+                        .append(String.valueOf(dss.getNumUnclosedOrphanedConnections())).append("\",");
                 json.append("\"numMinPoolSize\":\"").append(String.valueOf(dss.getMinPoolSize()))
                         .append("\",");
                 json.append("\"numMaxPoolSize\":\"").append(String.valueOf(dss.getMaxPoolSize()))
@@ -0,0 +1,206 @@
+package org.umlg.sqlg.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Encodes the rows of a list of keys on a worker thread while the caller streams the previously encoded rows.
+ * Used to overlap encoding the bulk load payload with streaming it to the database.
+ * The rows are handed off in chunks of chunkRows rows, at most bufferSize chunks are held in memory,
+ * the worker blocks until the caller catches up.
+ * <p>
+ * The encoder runs off the caller's thread, it must not touch the transaction's connection or the topology.
+ */
+public class PipelinedEncoder<K> implements AutoCloseable {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "sqlg-pipelined-encoder-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final BlockingQueue<Chunk<K>> queue;
+    private final Future<?> worker;
+    private final int size;
+    private int taken = 0;
+    //the first chunk of the key returned by next()
+    private Chunk<K> current;
+
+    @FunctionalInterface
+    public interface Encoder<K> {
+        /**
+         * Writes the key's rows, calling {@link RowWriter#endRow()} after every row.
+         */
+        void encode(K key, RowWriter<K> writer) throws IOException;
+    }
+
+    private static class Chunk<K> {
+        private final K key;
+        private final String rows;
+        private final int rowCount;
+        //the key's last chunk
+        private final boolean last;
+        private final Throwable failure;
+
+        private Chunk(K key, String rows, int rowCount, boolean last, Throwable failure) {
+            this.key = key;
+            this.rows = rows;
+            this.rowCount = rowCount;
+            this.last = last;
+            this.failure = failure;
+        }
+    }
+
+    //the caller closed the encoder while the worker was waiting to hand off a chunk
+    private static class Closed extends RuntimeException {
+    }
+
+    /**
+     * Buffers the rows written by the {@link Encoder} and hands them off to the caller every chunkRows rows.
+     */
+    public static final class RowWriter<K> extends Writer {
+
+        private final BlockingQueue<Chunk<K>> queue;
+        private final K key;
+        private final int chunkRows;
+        private StringBuilder rows = new StringBuilder();
+        private int rowCount = 0;
+
+        private RowWriter(BlockingQueue<Chunk<K>> queue, K key, int chunkRows) {
+            this.queue = queue;
+            this.key = key;
+            this.chunkRows = chunkRows;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            this.rows.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            this.rows.append(str, off, off + len);
+        }
+
+        public void endRow() {
+            if (++this.rowCount == this.chunkRows) {
+                handOff(false);
+            }
+        }
+
+        private void handOff(boolean last) {
+            try {
+                this.queue.put(new Chunk<>(this.key, this.rows.toString(), this.rowCount, last, null));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new Closed();
+            }
+            this.rows = new StringBuilder();
+            this.rowCount = 0;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    public PipelinedEncoder(List<K> keys, int bufferSize, int chunkRows, Encoder<K> encoder) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be at least 1, found " + bufferSize);
+        }
+        if (chunkRows < 1) {
+            throw new IllegalArgumentException("chunkRows must be at least 1, found " + chunkRows);
+        }
+        this.size = keys.size();
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.worker = EXECUTOR.submit(() -> {
+            for (K key : keys) {
+                try {
+                    RowWriter<K> writer = new RowWriter<>(this.queue, key, chunkRows);
+                    encoder.encode(key, writer);
+                    writer.handOff(true);
+                } catch (Closed e) {
+                    return;
+                } catch (Throwable e) {
+                    try {
+                        this.queue.put(new Chunk<>(key, null, 0, true, e));
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return;
+                }
+            }
+        });
+    }
+
+    public boolean hasNext() {
+        return this.taken < this.size;
+    }
+
+    /**
+     * Waits for the first chunk of the next key, its rows are then written with {@link #writeRows(Writer)}.
+     *
+     * @return the next key, in the order of the keys.
+     */
+    public K next() {
+        if (!hasNext()) {
+            throw new IllegalStateException("All keys have been taken.");
+        }
+        if (this.current != null) {
+            throw new IllegalStateException("The rows of " + this.current.key + " have not been written.");
+        }
+        this.current = take();
+        this.taken++;
+        return this.current.key;
+    }
+
+    /**
+     * Writes the rows of the key returned by {@link #next()} as their chunks are encoded.
+     *
+     * @return the number of rows written.
+     */
+    public int writeRows(Writer writer) throws IOException {
+        if (this.current == null) {
+            throw new IllegalStateException("next() must be called before writeRows(Writer)");
+        }
+        Chunk<K> chunk = this.current;
+        this.current = null;
+        int rowCount = 0;
+        while (true) {
+            writer.write(chunk.rows);
+            rowCount += chunk.rowCount;
+            if (chunk.last) {
+                return rowCount;
+            }
+            chunk = take();
+        }
+    }
+
+    private Chunk<K> take() {
+        Chunk<K> chunk;
+        try {
+            chunk = this.queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        if (chunk.failure != null) {
+            throw new RuntimeException("Encoding " + chunk.key + " failed", chunk.failure);
+        }
+        return chunk;
+    }
+
+    @Override
+    public void close() {
+        this.worker.cancel(true);
+        this.queue.clear();
+    }
+}
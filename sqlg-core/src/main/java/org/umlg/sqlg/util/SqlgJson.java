@@ -0,0 +1,80 @@
+package org.umlg.sqlg.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+
+/**
+ * Shared json reading for the dialects.
+ * {@link ObjectReader} is immutable and thread safe, so one instance serves every connection.
+ * <p>
+ * Json property values are loaded as a {@link Lazy} holding the raw text, the text is only parsed
+ * when the property is accessed, see {@link #resolve(Object)}.
+ * Date: 2017/05/20
+ * Time: 10:14 AM
+ */
+public final class SqlgJson {
+
+    public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectReader READER = OBJECT_MAPPER.reader();
+
+    private SqlgJson() {
+    }
+
+    public static JsonNode readTree(String json) {
+        try {
+            return READER.readTree(json);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static Lazy lazy(String json) {
+        return new Lazy(json);
+    }
+
+    /**
+     * @return the parsed json if value is a {@link Lazy}, else the value itself.
+     */
+    public static Object resolve(Object value) {
+        if (value instanceof Lazy) {
+            return ((Lazy) value).get();
+        } else {
+            return value;
+        }
+    }
+
+    /**
+     * A json value that has not been parsed yet.
+     * Elements are shared between threads, parsing twice on a race is harmless as the result is the same.
+     */
+    public static final class Lazy {
+
+        private final String json;
+        private volatile JsonNode jsonNode;
+
+        private Lazy(String json) {
+            this.json = json;
+        }
+
+        public JsonNode get() {
+            JsonNode result = this.jsonNode;
+            if (result == null) {
+                result = readTree(this.json);
+                this.jsonNode = result;
+            }
+            return result;
+        }
+
+        public boolean isParsed() {
+            return this.jsonNode != null;
+        }
+
+        @Override
+        public String toString() {
+            return this.json;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.umlg.sqlg.util;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
 import org.apache.commons.lang3.tuple.ImmutablePair;
@@ -108,6 +109,73 @@ public class SqlgUtil {
         return result;
     }
 
+    /**
+     * Loads the next path of a {@link SchemaTableTree#singleLeftJoinOptionalStack()} query.
+     * A row with a null leaf stops at the optional element whose child is null,
+     * it is the row the optional element's own left join query would have returned.
+     * Rows that stop elsewhere are skipped.
+     */
+    public static List<Emit<SqlgElement>> loadSingleLeftJoinOptionalResultSetIntoResultIterator(
+            SqlgGraph sqlgGraph,
+            ResultSetMetaData resultSetMetaData,
+            ResultSet resultSet,
+            SchemaTableTree rootSchemaTableTree,
+            LinkedList<SchemaTableTree> singleLeftJoinStack,
+            boolean first,
+            Map<String, Integer> lastElementIdCountMap
+    ) throws SQLException {
+
+        if (first) {
+            for (SchemaTableTree schemaTableTree : singleLeftJoinStack) {
+                schemaTableTree.clearColumnNamePropertNameMap();
+            }
+            populateIdCountMap(resultSetMetaData, rootSchemaTableTree, lastElementIdCountMap);
+        }
+        while (resultSet.next()) {
+            int stop = singleLeftJoinStack.size() - 1;
+            if (isNullId(resultSet, singleLeftJoinStack.getLast(), lastElementIdCountMap)) {
+                stop = -1;
+                for (int i = singleLeftJoinStack.size() - 2; i >= 0; i--) {
+                    SchemaTableTree schemaTableTree = singleLeftJoinStack.get(i);
+                    if (schemaTableTree.isOptionalLeftJoinBeforeLeaf() &&
+                            !isNullId(resultSet, schemaTableTree, lastElementIdCountMap) &&
+                            isNullId(resultSet, singleLeftJoinStack.get(i + 1), lastElementIdCountMap)) {
+                        stop = i;
+                        break;
+                    }
+                }
+                if (stop == -1) {
+                    continue;
+                }
+            }
+            LinkedList<SchemaTableTree> path = new LinkedList<>(singleLeftJoinStack.subList(0, stop + 1));
+            List<Emit<SqlgElement>> result = new ArrayList<>();
+            List<Emit<SqlgElement>> labeledElements = SqlgUtil.loadLabeledElements(sqlgGraph, resultSet, path, true, lastElementIdCountMap);
+            result.addAll(labeledElements);
+            if (labeledElements.isEmpty()) {
+                SchemaTableTree lastSchemaTableTree = path.getLast();
+                SqlgElement e = SqlgUtil.loadElement(sqlgGraph, lastElementIdCountMap, resultSet, lastSchemaTableTree);
+                Emit<SqlgElement> emit = new Emit<>(e, Collections.emptySet());
+                if (lastSchemaTableTree.isLocalStep() && lastSchemaTableTree.isOptionalLeftJoin()) {
+                    emit.setIncomingOnlyLocalOptionalStep(true);
+                }
+                result.add(emit);
+            }
+            return result;
+        }
+        return Collections.emptyList();
+    }
+
+    private static boolean isNullId(ResultSet resultSet, SchemaTableTree schemaTableTree, Map<String, Integer> lastElementIdCountMap) throws SQLException {
+        Integer columnCount = lastElementIdCountMap.get(schemaTableTree.idProperty());
+        if (columnCount == null && !schemaTableTree.getLabels().isEmpty()) {
+            columnCount = lastElementIdCountMap.get(schemaTableTree.labeledAliasId());
+        }
+        Preconditions.checkState(columnCount != null, "The id of %s is not in the result set", schemaTableTree.getSchemaTable().toString());
+        resultSet.getLong(columnCount);
+        return resultSet.wasNull();
+    }
+
     private static void populateIdCountMap(ResultSetMetaData resultSetMetaData, SchemaTableTree rootSchemaTableTree, Map<String, Integer> lastElementIdCountMap) throws SQLException {
         lastElementIdCountMap.clear();
         //First load all labeled entries from the resultSet
@@ -208,19 +276,22 @@ public class SqlgUtil {
         return p == Contains.within && ((Collection) hasContainer.getPredicate().getValue()).size() > sqlgGraph.configuration().getInt("bulk.within.count", BULK_WITHIN_COUNT);
     }
 
-    public static void setParametersOnStatement(SqlgGraph sqlgGraph, LinkedList<SchemaTableTree> schemaTableTreeStack, Connection conn, PreparedStatement preparedStatement, int parameterIndex) throws SQLException {
+    /**
+     * @return the index of the next parameter.
+     */
+    public static int setParametersOnStatement(SqlgGraph sqlgGraph, LinkedList<SchemaTableTree> schemaTableTreeStack, Connection conn, PreparedStatement preparedStatement, int parameterIndex) throws SQLException {
         Multimap<String, Object> keyValueMap = LinkedListMultimap.create();
         for (SchemaTableTree schemaTableTree : schemaTableTreeStack) {
             for (HasContainer hasContainer : schemaTableTree.getHasContainers()) {
                 if (!sqlgGraph.getSqlDialect().supportsBulkWithinOut() || !isBulkWithinAndOut(sqlgGraph, hasContainer)) {
                     WhereClause whereClause = WhereClause.from(hasContainer.getPredicate());
-                    whereClause.putKeyValueMap(hasContainer, keyValueMap);
+                    whereClause.putKeyValueMap(schemaTableTree, hasContainer, keyValueMap);
                 }
             }
         }
         List<ImmutablePair<PropertyType, Object>> typeAndValues = SqlgUtil.transformToTypeAndValue(keyValueMap);
         //This is for selects
-        setKeyValuesAsParameter(sqlgGraph, false, parameterIndex, preparedStatement, typeAndValues);
+        return setKeyValuesAsParameter(sqlgGraph, false, parameterIndex, preparedStatement, typeAndValues);
     }
 
 
@@ -9,6 +9,7 @@ import org.apache.commons.lang3.tuple.Triple;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.h2.jdbc.JdbcArray;
 import org.umlg.sqlg.sql.dialect.BaseSqlDialect;
+import org.umlg.sqlg.sql.dialect.InsertStreamingDialect;
 import org.umlg.sqlg.structure.PropertyType;
 import org.umlg.sqlg.structure.SchemaTable;
 import org.umlg.sqlg.structure.SqlgGraph;
@@ -23,7 +24,7 @@ import java.util.*;
  * @author Lukas Krejci
  * @since 1.3.0
  */
-public class H2Dialect extends BaseSqlDialect {
+public class H2Dialect extends BaseSqlDialect implements InsertStreamingDialect {
 
     public H2Dialect() {
         super();
@@ -50,6 +51,26 @@ public class H2Dialect extends BaseSqlDialect {
         return "CREATE SCHEMA IF NOT EXISTS ";
     }
 
+    @Override
+    public boolean supportsUpsert() {
+        return true;
+    }
+
+    @Override
+    public String upsertVertexSql(String schema, String table, List<String> uniqueKeys, Map<String, PropertyType> columns) {
+        StringJoiner columnNames = new StringJoiner(", ", " (", ")");
+        StringJoiner parameters = new StringJoiner(", ", " VALUES (", ")");
+        for (String columnName : sqlColumnNames(columns)) {
+            columnNames.add(maybeWrapInQoutes(columnName));
+            parameters.add("?");
+        }
+        StringJoiner keys = new StringJoiner(", ", " KEY (", ")");
+        for (String uniqueKey : uniqueKeys) {
+            keys.add(maybeWrapInQoutes(uniqueKey));
+        }
+        return "MERGE INTO " + maybeWrapInQoutes(schema) + "." + maybeWrapInQoutes(table) + columnNames + keys + parameters;
+    }
+
     @Override
     public PropertyType sqlTypeToPropertyType(SqlgGraph sqlgGraph, String schema, String table, String column,
                                               int sqlType, String typeName,  ListIterator<Triple<String, Integer, String>> metaDataIter) {
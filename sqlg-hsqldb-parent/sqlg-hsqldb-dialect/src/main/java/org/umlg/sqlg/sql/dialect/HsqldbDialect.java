@@ -5,6 +5,7 @@ import org.apache.commons.lang3.tuple.Triple;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.hsqldb.jdbc.JDBCArrayBasic;
 import org.hsqldb.types.Type;
+import org.umlg.sqlg.predicate.ArrayPredicate;
 import org.umlg.sqlg.structure.PropertyType;
 import org.umlg.sqlg.structure.SchemaTable;
 import org.umlg.sqlg.structure.SqlgGraph;
@@ -18,7 +19,7 @@ import java.util.*;
  * Date: 2014/07/16
  * Time: 3:09 PM
  */
-public class HsqldbDialect extends BaseSqlDialect {
+public class HsqldbDialect extends BaseSqlDialect implements InsertStreamingDialect {
 
     public HsqldbDialect() {
         super();
@@ -52,6 +53,55 @@ public class HsqldbDialect extends BaseSqlDialect {
         return sb.toString();
     }
 
+    @Override
+    public boolean supportsUpsert() {
+        return true;
+    }
+
+    /**
+     * HSQLDB can not type the parameters of the merge's VALUES, they are cast to their column's type.
+     */
+    @Override
+    public String upsertVertexSql(String schema, String table, List<String> uniqueKeys, Map<String, PropertyType> columns) {
+        StringJoiner values = new StringJoiner(", ", "(VALUES (", "))");
+        for (PropertyType propertyType : columns.values()) {
+            for (String sqlDefinition : propertyTypeToSqlDefinition(propertyType)) {
+                values.add("CAST(? AS " + sqlDefinition + ")");
+            }
+        }
+        List<String> columnNames = sqlColumnNames(columns);
+        StringJoiner valueColumns = new StringJoiner(", ", " AS \"v\" (", ")");
+        StringJoiner insertColumns = new StringJoiner(", ", "(", ")");
+        StringJoiner insertValues = new StringJoiner(", ", " VALUES (", ")");
+        StringJoiner on = new StringJoiner(" AND ", " ON ", "");
+        StringJoiner update = new StringJoiner(", ", " WHEN MATCHED THEN UPDATE SET ", "");
+        for (String columnName : columnNames) {
+            valueColumns.add(maybeWrapInQoutes(columnName));
+            insertColumns.add(maybeWrapInQoutes(columnName));
+            insertValues.add("\"v\"." + maybeWrapInQoutes(columnName));
+            if (uniqueKeys.contains(columnName)) {
+                on.add("\"t\"." + maybeWrapInQoutes(columnName) + " = \"v\"." + maybeWrapInQoutes(columnName));
+            } else {
+                update.add("\"t\"." + maybeWrapInQoutes(columnName) + " = \"v\"." + maybeWrapInQoutes(columnName));
+            }
+        }
+        StringBuilder sql = new StringBuilder("MERGE INTO ");
+        sql.append(maybeWrapInQoutes(schema));
+        sql.append(".");
+        sql.append(maybeWrapInQoutes(table));
+        sql.append(" AS \"t\" USING ");
+        sql.append(values);
+        sql.append(valueColumns);
+        sql.append(on);
+        if (columnNames.size() > uniqueKeys.size()) {
+            sql.append(update);
+        }
+        sql.append(" WHEN NOT MATCHED THEN INSERT ");
+        sql.append(insertColumns);
+        sql.append(insertValues);
+        return sql.toString();
+    }
+
     @Override
     public boolean supportsTransactionalSchema() {
         return false;
@@ -696,4 +746,34 @@ public class HsqldbDialect extends BaseSqlDialect {
                          Object[] values) throws SQLException {
         statement.setArray(index, createArrayOf(statement.getConnection(), type, values));
     }
+
+    @Override
+    public boolean supportsArrayPredicates() {
+        return true;
+    }
+
+    /**
+     * Hsqldb has no array operators, the predicates are expressed on the UNNEST of the column and the parameter.
+     */
+    @Override
+    public String getArrayQueryText(ArrayPredicate arrayPredicate, Object value, String column) {
+        String parameter;
+        if (arrayPredicate.isArrayValue()) {
+            parameter = "CAST(? AS " + propertyTypeToSqlDefinition(PropertyType.from(value))[0].replace(" DEFAULT ARRAY[]", "") + ")";
+        } else {
+            parameter = "?";
+        }
+        switch (arrayPredicate) {
+            case contains:
+                return "NOT EXISTS (SELECT 1 FROM UNNEST(" + parameter + ") AS \"p\"(\"v\") WHERE \"p\".\"v\" NOT IN (UNNEST(" + column + ")))";
+            case overlaps:
+                return "EXISTS (SELECT 1 FROM UNNEST(" + parameter + ") AS \"p\"(\"v\") WHERE \"p\".\"v\" IN (UNNEST(" + column + ")))";
+            case containedBy:
+                return "NOT EXISTS (SELECT 1 FROM UNNEST(" + column + ") AS \"c\"(\"v\") WHERE \"c\".\"v\" NOT IN (UNNEST(" + parameter + ")))";
+            case anyEquals:
+                return "EXISTS (SELECT 1 FROM UNNEST(" + column + ") AS \"c\"(\"v\") WHERE \"c\".\"v\" = " + parameter + ")";
+            default:
+                throw new IllegalStateException("Unhandled array predicate " + arrayPredicate.name());
+        }
+    }
 }
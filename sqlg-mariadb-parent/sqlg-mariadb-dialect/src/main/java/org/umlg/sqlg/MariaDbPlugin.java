@@ -0,0 +1,29 @@
+package org.umlg.sqlg;
+
+import org.umlg.sqlg.sql.dialect.MariaDbDialect;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+/**
+ * @since 1.3.3
+ */
+public class MariaDbPlugin implements SqlgPlugin {
+
+    @Override
+    public boolean canWorkWith(DatabaseMetaData metaData) throws SQLException {
+        return metaData.getDatabaseProductName().toLowerCase().contains("mariadb") ||
+                metaData.getDatabaseProductVersion().toLowerCase().contains("mariadb");
+    }
+
+    @Override
+    public String getDriverFor(String connectionUrl) {
+        return connectionUrl.startsWith("jdbc:mariadb") ? "org.mariadb.jdbc.Driver" : null;
+    }
+
+    @Override
+    public SqlDialect instantiateDialect() {
+        return new MariaDbDialect();
+    }
+}
@@ -0,0 +1,1074 @@
+package org.umlg.sqlg.sql.dialect;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import org.apache.commons.lang3.Range;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.metrics.StatementKind;
+import org.umlg.sqlg.structure.*;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.sql.*;
+import java.time.*;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.umlg.sqlg.structure.SchemaManager.EDGE_PREFIX;
+import static org.umlg.sqlg.structure.SchemaManager.VERTEX_PREFIX;
+
+/**
+ * MariaDB (10.2 and up) dialect.
+ * <p>
+ * The connection must run with the ANSI_QUOTES sql mode as sqlg quotes identifiers with double quotes,
+ * i.e. jdbc:mariadb://localhost:3306/?sessionVariables=sql_mode=ANSI_QUOTES
+ * <p>
+ * A sqlg schema is a MariaDB database.
+ * Arrays are stored as a json array in a LONGTEXT column.
+ * Batch mode flushes with multi-row INSERT statements, updates and deletes are sent as jdbc batches.
+ */
+public class MariaDbDialect extends BaseSqlDialect {
+
+    private static final String BATCH_NULL = "";
+    private static final int PARAMETER_LIMIT = 65535;
+    private static final int INSERT_ROW_LIMIT = 1000;
+    //MariaDB can only index a prefix of a TEXT or BLOB column.
+    private static final int INDEX_PREFIX_LENGTH = 255;
+    private Logger logger = LoggerFactory.getLogger(MariaDbDialect.class.getName());
+
+    public MariaDbDialect() {
+        super();
+    }
+
+    @Override
+    public String dialectName() {
+        return "MariaDbDialect";
+    }
+
+    @Override
+    public boolean needsSemicolon() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsCascade() {
+        return false;
+    }
+
+    @Override
+    public boolean supportSchemas() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsTransactionalSchema() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsBatchMode() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsStreamingBatchMode() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsByteValues() {
+        return true;
+    }
+
+    @Override
+    public Set<String> getDefaultSchemas() {
+        return ImmutableSet.of("information_schema", "mysql", "performance_schema", "sys");
+    }
+
+    /**
+     * A schema is a database, {@link DatabaseMetaData#getSchemas()} is empty on MariaDB.
+     */
+    @Override
+    public boolean schemaExists(DatabaseMetaData metadata, String catalog, String schema) throws SQLException {
+        try (ResultSet catalogRs = metadata.getCatalogs()) {
+            while (catalogRs.next()) {
+                if (catalogRs.getString(1).equals(schema)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks that the connection quotes identifiers with double quotes and creates the public database.
+     */
+    @Override
+    public void prepareDB(Connection conn) {
+        try (Statement statement = conn.createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery("SELECT @@SESSION.sql_mode")) {
+                resultSet.next();
+                String sqlMode = resultSet.getString(1);
+                if (sqlMode == null || !sqlMode.contains("ANSI_QUOTES")) {
+                    throw new IllegalStateException("MariaDB connections must run with the ANSI_QUOTES sql_mode, add 'sessionVariables=sql_mode=ANSI_QUOTES' to the jdbc url.");
+                }
+            }
+            statement.execute("CREATE DATABASE IF NOT EXISTS " + maybeWrapInQoutes(getPublicSchema()));
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String createSchemaStatement() {
+        return "CREATE DATABASE IF NOT EXISTS ";
+    }
+
+    @Override
+    public String insertDefaultValues() {
+        return " () VALUES ()";
+    }
+
+    @Override
+    public PropertyType sqlTypeToPropertyType(SqlgGraph sqlgGraph, String schema, String table, String column, int sqlType, String typeName, ListIterator<Triple<String, Integer, String>> metaDataIter) {
+        switch (sqlType) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return PropertyType.BOOLEAN;
+            case Types.TINYINT:
+                return PropertyType.BYTE;
+            case Types.SMALLINT:
+                return PropertyType.SHORT;
+            case Types.INTEGER:
+                return PropertyType.INTEGER;
+            case Types.BIGINT:
+                return PropertyType.LONG;
+            case Types.REAL:
+            case Types.FLOAT:
+                return PropertyType.FLOAT;
+            case Types.DOUBLE:
+                return PropertyType.DOUBLE;
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.CLOB:
+                return PropertyType.STRING;
+            case Types.TIMESTAMP:
+                return PropertyType.LOCALDATETIME;
+            case Types.DATE:
+                return PropertyType.LOCALDATE;
+            case Types.TIME:
+                return PropertyType.LOCALTIME;
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return PropertyType.byte_ARRAY;
+            default:
+                throw new IllegalStateException("Unknown sqlType " + sqlType);
+        }
+    }
+
+    @Override
+    public PropertyType sqlArrayTypeNameToPropertyType(String typeName, SqlgGraph sqlgGraph, String schema, String table, String columnName, ListIterator<Triple<String, Integer, String>> metaDataIter) {
+        throw new UnsupportedOperationException("MariaDB does not have array types, arrays are stored as json text.");
+    }
+
+    @Override
+    public void validateProperty(Object key, Object value) {
+        if (value instanceof String || value instanceof String[]) {
+            return;
+        }
+        if (value instanceof Character || value instanceof Character[]) {
+            return;
+        }
+        if (value instanceof Boolean || value instanceof Boolean[] || value instanceof boolean[]) {
+            return;
+        }
+        if (value instanceof Byte || value instanceof Byte[] || value instanceof byte[]) {
+            return;
+        }
+        if (value instanceof Short || value instanceof Short[] || value instanceof short[]) {
+            return;
+        }
+        if (value instanceof Integer || value instanceof Integer[] || value instanceof int[]) {
+            return;
+        }
+        if (value instanceof Long || value instanceof Long[] || value instanceof long[]) {
+            return;
+        }
+        if (value instanceof Double || value instanceof Double[] || value instanceof double[]) {
+            return;
+        }
+        if (value instanceof Float || value instanceof Float[] || value instanceof float[]) {
+            return;
+        }
+        if (value instanceof LocalDate || value instanceof LocalDate[]) {
+            return;
+        }
+        if (value instanceof LocalDateTime || value instanceof LocalDateTime[]) {
+            return;
+        }
+        if (value instanceof ZonedDateTime || value instanceof ZonedDateTime[]) {
+            return;
+        }
+        if (value instanceof LocalTime || value instanceof LocalTime[]) {
+            return;
+        }
+        if (value instanceof Period || value instanceof Period[]) {
+            return;
+        }
+        if (value instanceof Duration || value instanceof Duration[]) {
+            return;
+        }
+        throw Property.Exceptions.dataTypeOfPropertyValueNotSupported(value);
+    }
+
+    @Override
+    public String getColumnEscapeKey() {
+        return "\"";
+    }
+
+    @Override
+    public String getPrimaryKeyType() {
+        return "BIGINT NOT NULL PRIMARY KEY";
+    }
+
+    @Override
+    public String getAutoIncrementPrimaryKeyConstruct() {
+        return "BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY";
+    }
+
+    @Override
+    public String[] propertyTypeToSqlDefinition(PropertyType propertyType) {
+        switch (propertyType) {
+            case BOOLEAN:
+                return new String[]{"BOOLEAN"};
+            case BYTE:
+                return new String[]{"TINYINT"};
+            case byte_ARRAY:
+                return new String[]{"LONGBLOB"};
+            case BYTE_ARRAY:
+                return new String[]{"LONGBLOB"};
+            case DOUBLE:
+                return new String[]{"DOUBLE"};
+            case DURATION:
+                return new String[]{"BIGINT", "INTEGER"};
+            case FLOAT:
+                return new String[]{"FLOAT"};
+            case INTEGER:
+                return new String[]{"INTEGER"};
+            case LOCALDATE:
+                return new String[]{"DATE"};
+            case LOCALDATETIME:
+                return new String[]{"DATETIME(6)"};
+            case LOCALTIME:
+                return new String[]{"TIME"};
+            case LONG:
+                return new String[]{"BIGINT"};
+            case PERIOD:
+                return new String[]{"INTEGER", "INTEGER", "INTEGER"};
+            case SHORT:
+                return new String[]{"SMALLINT"};
+            case STRING:
+                return new String[]{"LONGTEXT"};
+            case ZONEDDATETIME:
+                return new String[]{"DATETIME(6)", "TEXT"};
+            case BOOLEAN_ARRAY:
+            case boolean_ARRAY:
+            case DOUBLE_ARRAY:
+            case double_ARRAY:
+            case FLOAT_ARRAY:
+            case float_ARRAY:
+            case int_ARRAY:
+            case INTEGER_ARRAY:
+            case LOCALDATE_ARRAY:
+            case LOCALDATETIME_ARRAY:
+            case LOCALTIME_ARRAY:
+            case LONG_ARRAY:
+            case long_ARRAY:
+            case SHORT_ARRAY:
+            case short_ARRAY:
+            case STRING_ARRAY:
+                return new String[]{"LONGTEXT"};
+            case DURATION_ARRAY:
+                return new String[]{"LONGTEXT", "LONGTEXT"};
+            case PERIOD_ARRAY:
+                return new String[]{"LONGTEXT", "LONGTEXT", "LONGTEXT"};
+            case ZONEDDATETIME_ARRAY:
+                return new String[]{"LONGTEXT", "LONGTEXT"};
+            case JSON:
+            case JSON_ARRAY:
+                throw new IllegalStateException("MariaDB does not support json types, use good ol string instead!");
+            case POINT:
+            case POLYGON:
+            case GEOGRAPHY_POINT:
+            case GEOGRAPHY_POLYGON:
+            case LINESTRING:
+                throw new IllegalStateException("MariaDB does not support gis types!");
+            default:
+                throw new IllegalStateException("Unknown propertyType " + propertyType.name());
+        }
+    }
+
+    @Override
+    public int propertyTypeToJavaSqlType(PropertyType propertyType) {
+        switch (propertyType) {
+            case BOOLEAN:
+                return Types.BOOLEAN;
+            case BYTE:
+                return Types.TINYINT;
+            case SHORT:
+                return Types.SMALLINT;
+            case INTEGER:
+                return Types.INTEGER;
+            case LONG:
+                return Types.BIGINT;
+            case FLOAT:
+                return Types.REAL;
+            case DOUBLE:
+                return Types.DOUBLE;
+            case STRING:
+                return Types.CLOB;
+            case LOCALDATETIME:
+                return Types.TIMESTAMP;
+            case LOCALDATE:
+                return Types.DATE;
+            case LOCALTIME:
+                return Types.TIME;
+            case byte_ARRAY:
+            case BYTE_ARRAY:
+                return Types.LONGVARBINARY;
+            case BOOLEAN_ARRAY:
+            case boolean_ARRAY:
+            case DOUBLE_ARRAY:
+            case double_ARRAY:
+            case DURATION_ARRAY:
+            case FLOAT_ARRAY:
+            case float_ARRAY:
+            case int_ARRAY:
+            case INTEGER_ARRAY:
+            case LOCALDATE_ARRAY:
+            case LOCALDATETIME_ARRAY:
+            case LOCALTIME_ARRAY:
+            case LONG_ARRAY:
+            case long_ARRAY:
+            case PERIOD_ARRAY:
+            case SHORT_ARRAY:
+            case short_ARRAY:
+            case STRING_ARRAY:
+            case ZONEDDATETIME_ARRAY:
+                return Types.LONGVARCHAR;
+            default:
+                throw new IllegalStateException("Unknown propertyType " + propertyType.name());
+        }
+    }
+
+    @Override
+    public String getForeignKeyTypeDefinition() {
+        return "BIGINT";
+    }
+
+    @Override
+    public String getArrayDriverType(PropertyType arrayType) {
+        return "LONGTEXT";
+    }
+
+    @Override
+    public String indexColumn(String column, PropertyType propertyType) {
+        if ("LONGTEXT".equals(propertyTypeToSqlDefinition(propertyType)[0]) || "LONGBLOB".equals(propertyTypeToSqlDefinition(propertyType)[0])) {
+            return maybeWrapInQoutes(column) + "(" + INDEX_PREFIX_LENGTH + ")";
+        } else {
+            return maybeWrapInQoutes(column);
+        }
+    }
+
+    @Override
+    public String existIndexQuery(SchemaTable schemaTable, String prefix, String indexName) {
+        StringBuilder sb = new StringBuilder("SELECT * FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = '");
+        sb.append(schemaTable.getSchema());
+        sb.append("' AND TABLE_NAME = '");
+        sb.append(prefix);
+        sb.append(schemaTable.getTable());
+        sb.append("' AND INDEX_NAME = '");
+        sb.append(indexName);
+        sb.append("'");
+        return sb.toString();
+    }
+
+    @Override
+    public String getRangeClause(Range<Long> r) {
+        return "LIMIT " + r.getMinimum() + ", " + (r.getMaximum() - r.getMinimum());
+    }
+
+    @Override
+    public Set<String> getSpacialRefTable() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public List<String> getGisSchemas() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void setJson(PreparedStatement preparedStatement, int parameterStartIndex, JsonNode right) {
+        throw new IllegalStateException("MariaDB doesn't support storing JSON.");
+    }
+
+    @Override
+    public void handleOther(Map<String, Object> properties, String columnName, Object o, PropertyType propertyType) {
+        throw new IllegalStateException("MariaDB doesn't support other types.");
+    }
+
+    @Override
+    public void setPoint(PreparedStatement preparedStatement, int parameterStartIndex, Object point) {
+        throw new IllegalStateException("MariaDB does not support gis types, this should not have happened!");
+    }
+
+    @Override
+    public void setLineString(PreparedStatement preparedStatement, int parameterStartIndex, Object lineString) {
+        throw new IllegalStateException("MariaDB does not support gis types, this should not have happened!");
+    }
+
+    @Override
+    public void setPolygon(PreparedStatement preparedStatement, int parameterStartIndex, Object point) {
+        throw new IllegalStateException("MariaDB does not support gis types, this should not have happened!");
+    }
+
+    @Override
+    public void setGeographyPoint(PreparedStatement preparedStatement, int parameterStartIndex, Object point) {
+        throw new IllegalStateException("MariaDB does not support gis types, this should not have happened!");
+    }
+
+    @Override
+    public <T> T getGis(SqlgGraph sqlgGraph) {
+        throw new IllegalStateException("MariaDB does not support gis types, this should not have happened!");
+    }
+
+    @Override
+    public void lockTable(SqlgGraph sqlgGraph, SchemaTable schemaTable, String prefix) {
+        throw new UnsupportedOperationException("MariaDB does not support table locking!");
+    }
+
+    @Override
+    public void alterSequenceCacheSize(SqlgGraph sqlgGraph, SchemaTable schemaTable, String sequence, int batchSize) {
+        throw new UnsupportedOperationException("MariaDB does not support alterSequenceCacheSize!");
+    }
+
+    @Override
+    public long nextSequenceVal(SqlgGraph sqlgGraph, SchemaTable schemaTable, String prefix) {
+        throw new UnsupportedOperationException("MariaDB does not support streaming batch mode!");
+    }
+
+    @Override
+    public long currSequenceVal(SqlgGraph sqlgGraph, SchemaTable schemaTable, String prefix) {
+        throw new UnsupportedOperationException("MariaDB does not support streaming batch mode!");
+    }
+
+    @Override
+    public String sequenceName(SqlgGraph sqlgGraph, SchemaTable outSchemaTable, String prefix) {
+        throw new UnsupportedOperationException("MariaDB does not support sequenceName!");
+    }
+
+    @Override
+    public boolean supportsBulkWithinOut() {
+        return false;
+    }
+
+    @Override
+    public String afterCreateTemporaryTableStatement() {
+        return "";
+    }
+
+    @Override
+    public List<String> sqlgTopologyCreationScripts() {
+        List<String> result = new ArrayList<>();
+
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"V_schema\" (\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, \"createdOn\" DATETIME(6), \"name\" TEXT)");
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"V_vertex\" (\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, \"createdOn\" DATETIME(6), \"name\" TEXT, \"schemaVertex\" TEXT)");
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"V_edge\" (\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, \"createdOn\" DATETIME(6), \"name\" TEXT)");
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"V_property\" (\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, \"createdOn\" DATETIME(6), \"name\" TEXT, \"type\" TEXT)");
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"V_index\" (\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, \"createdOn\" DATETIME(6), \"name\" TEXT, \"index_type\" TEXT)");
+
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"V_globalUniqueIndex\" (" +
+                "\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                "\"createdOn\" DATETIME(6), " +
+                "\"name\" TEXT)");
+
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"E_schema_vertex\"(\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, \"sqlg_schema.vertex__I\" BIGINT, \"sqlg_schema.schema__O\" BIGINT, FOREIGN KEY (\"sqlg_schema.vertex__I\") REFERENCES \"sqlg_schema\".\"V_vertex\" (\"ID\"),  FOREIGN KEY (\"sqlg_schema.schema__O\") REFERENCES \"sqlg_schema\".\"V_schema\" (\"ID\"))");
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"E_in_edges\"(\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, \"sqlg_schema.edge__I\" BIGINT, \"sqlg_schema.vertex__O\" BIGINT, FOREIGN KEY (\"sqlg_schema.edge__I\") REFERENCES \"sqlg_schema\".\"V_edge\" (\"ID\"),  FOREIGN KEY (\"sqlg_schema.vertex__O\") REFERENCES \"sqlg_schema\".\"V_vertex\" (\"ID\"))");
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"E_out_edges\"(\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, \"sqlg_schema.edge__I\" BIGINT, \"sqlg_schema.vertex__O\" BIGINT, FOREIGN KEY (\"sqlg_schema.edge__I\") REFERENCES \"sqlg_schema\".\"V_edge\" (\"ID\"),  FOREIGN KEY (\"sqlg_schema.vertex__O\") REFERENCES \"sqlg_schema\".\"V_vertex\" (\"ID\"))");
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"E_vertex_property\"(\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, \"sqlg_schema.property__I\" BIGINT, \"sqlg_schema.vertex__O\" BIGINT, FOREIGN KEY (\"sqlg_schema.property__I\") REFERENCES \"sqlg_schema\".\"V_property\" (\"ID\"),  FOREIGN KEY (\"sqlg_schema.vertex__O\") REFERENCES \"sqlg_schema\".\"V_vertex\" (\"ID\"))");
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"E_edge_property\"(\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, \"sqlg_schema.property__I\" BIGINT, \"sqlg_schema.edge__O\" BIGINT, FOREIGN KEY (\"sqlg_schema.property__I\") REFERENCES \"sqlg_schema\".\"V_property\" (\"ID\"),  FOREIGN KEY (\"sqlg_schema.edge__O\") REFERENCES \"sqlg_schema\".\"V_edge\" (\"ID\"))");
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"E_vertex_index\"(\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, \"sqlg_schema.index__I\" BIGINT, \"sqlg_schema.vertex__O\" BIGINT, FOREIGN KEY (\"sqlg_schema.index__I\") REFERENCES \"sqlg_schema\".\"V_index\" (\"ID\"), FOREIGN KEY (\"sqlg_schema.vertex__O\") REFERENCES \"sqlg_schema\".\"V_vertex\" (\"ID\"))");
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"E_edge_index\"(\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, \"sqlg_schema.index__I\" BIGINT, \"sqlg_schema.edge__O\" BIGINT, FOREIGN KEY (\"sqlg_schema.index__I\") REFERENCES \"sqlg_schema\".\"V_index\" (\"ID\"), FOREIGN KEY (\"sqlg_schema.edge__O\") REFERENCES \"sqlg_schema\".\"V_edge\" (\"ID\"))");
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"E_index_property\"(\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, \"sqlg_schema.property__I\" BIGINT, \"sqlg_schema.index__O\" BIGINT, FOREIGN KEY (\"sqlg_schema.property__I\") REFERENCES \"sqlg_schema\".\"V_property\" (\"ID\"), FOREIGN KEY (\"sqlg_schema.index__O\") REFERENCES \"sqlg_schema\".\"V_index\" (\"ID\"))");
+
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"V_log\" (\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, \"timestamp\" DATETIME(6), \"pid\" INTEGER, \"log\" LONGTEXT)");
+
+        result.add("CREATE TABLE IF NOT EXISTS \"sqlg_schema\".\"E_globalUniqueIndex_property\"(\"ID\" BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, \"sqlg_schema.property__I\" BIGINT, \"sqlg_schema.globalUniqueIndex__O\" BIGINT, FOREIGN KEY (\"sqlg_schema.property__I\") REFERENCES \"sqlg_schema\".\"V_property\" (\"ID\"), FOREIGN KEY (\"sqlg_schema.globalUniqueIndex__O\") REFERENCES \"sqlg_schema\".\"V_globalUniqueIndex\" (\"ID\"))");
+        return result;
+    }
+
+    @Override
+    public String sqlgAddPropertyIndexTypeColumn() {
+        return "ALTER TABLE \"sqlg_schema\".\"V_property\" ADD COLUMN \"index_type\" TEXT DEFAULT 'NONE'";
+    }
+
+    @Override
+    public java.sql.Array getArray(ResultSet resultSet, int columnIndex) throws SQLException {
+        String json = resultSet.getString(columnIndex);
+        return json == null ? null : new MariaDbJsonArray(json);
+    }
+
+    @Override
+    public java.sql.Array getArray(ResultSet resultSet, String columnLabel) throws SQLException {
+        String json = resultSet.getString(columnLabel);
+        return json == null ? null : new MariaDbJsonArray(json);
+    }
+
+    @Override
+    public Object convertArray(PropertyType propertyType, java.sql.Array array) throws SQLException {
+        JsonNode jsonNode = ((MariaDbJsonArray) array).getJsonNode();
+        int length = jsonNode.size();
+        switch (propertyType) {
+            case BOOLEAN_ARRAY:
+                Boolean[] booleans = new Boolean[length];
+                for (int i = 0; i < length; i++) {
+                    booleans[i] = jsonNode.get(i).isNull() ? null : jsonNode.get(i).booleanValue();
+                }
+                return booleans;
+            case boolean_ARRAY:
+                boolean[] primitiveBooleans = new boolean[length];
+                for (int i = 0; i < length; i++) {
+                    primitiveBooleans[i] = jsonNode.get(i).booleanValue();
+                }
+                return primitiveBooleans;
+            case SHORT_ARRAY:
+                Short[] shorts = new Short[length];
+                for (int i = 0; i < length; i++) {
+                    shorts[i] = jsonNode.get(i).isNull() ? null : jsonNode.get(i).shortValue();
+                }
+                return shorts;
+            case short_ARRAY:
+                short[] primitiveShorts = new short[length];
+                for (int i = 0; i < length; i++) {
+                    primitiveShorts[i] = jsonNode.get(i).shortValue();
+                }
+                return primitiveShorts;
+            case INTEGER_ARRAY:
+                Integer[] integers = new Integer[length];
+                for (int i = 0; i < length; i++) {
+                    integers[i] = jsonNode.get(i).isNull() ? null : jsonNode.get(i).intValue();
+                }
+                return integers;
+            case int_ARRAY:
+                int[] primitiveIntegers = new int[length];
+                for (int i = 0; i < length; i++) {
+                    primitiveIntegers[i] = jsonNode.get(i).intValue();
+                }
+                return primitiveIntegers;
+            case LONG_ARRAY:
+                Long[] longs = new Long[length];
+                for (int i = 0; i < length; i++) {
+                    longs[i] = jsonNode.get(i).isNull() ? null : jsonNode.get(i).longValue();
+                }
+                return longs;
+            case long_ARRAY:
+                long[] primitiveLongs = new long[length];
+                for (int i = 0; i < length; i++) {
+                    primitiveLongs[i] = jsonNode.get(i).longValue();
+                }
+                return primitiveLongs;
+            case DOUBLE_ARRAY:
+                Double[] doubles = new Double[length];
+                for (int i = 0; i < length; i++) {
+                    doubles[i] = jsonNode.get(i).isNull() ? null : jsonNode.get(i).doubleValue();
+                }
+                return doubles;
+            case double_ARRAY:
+                double[] primitiveDoubles = new double[length];
+                for (int i = 0; i < length; i++) {
+                    primitiveDoubles[i] = jsonNode.get(i).doubleValue();
+                }
+                return primitiveDoubles;
+            case FLOAT_ARRAY:
+                Float[] floats = new Float[length];
+                for (int i = 0; i < length; i++) {
+                    floats[i] = jsonNode.get(i).isNull() ? null : jsonNode.get(i).floatValue();
+                }
+                return floats;
+            case float_ARRAY:
+                float[] primitiveFloats = new float[length];
+                for (int i = 0; i < length; i++) {
+                    primitiveFloats[i] = jsonNode.get(i).floatValue();
+                }
+                return primitiveFloats;
+            case STRING_ARRAY:
+                String[] strings = new String[length];
+                for (int i = 0; i < length; i++) {
+                    strings[i] = jsonNode.get(i).isNull() ? null : jsonNode.get(i).asText();
+                }
+                return strings;
+            case LOCALDATETIME_ARRAY:
+                LocalDateTime[] localDateTimes = new LocalDateTime[length];
+                for (int i = 0; i < length; i++) {
+                    localDateTimes[i] = Timestamp.valueOf(jsonNode.get(i).asText()).toLocalDateTime();
+                }
+                return localDateTimes;
+            case LOCALDATE_ARRAY:
+                LocalDate[] localDates = new LocalDate[length];
+                for (int i = 0; i < length; i++) {
+                    localDates[i] = Timestamp.valueOf(jsonNode.get(i).asText()).toLocalDateTime().toLocalDate();
+                }
+                return localDates;
+            case LOCALTIME_ARRAY:
+                LocalTime[] localTimes = new LocalTime[length];
+                for (int i = 0; i < length; i++) {
+                    localTimes[i] = Time.valueOf(jsonNode.get(i).asText()).toLocalTime();
+                }
+                return localTimes;
+            default:
+                throw new IllegalStateException("Unhandled property type " + propertyType.name());
+        }
+    }
+
+    /**
+     * Writes the values as a json array.
+     * Dates and times arrive as {@link Timestamp} and {@link Time} and are written in their jdbc escape format.
+     */
+    @Override
+    public void setArray(PreparedStatement statement, int index, PropertyType type, Object[] values) throws SQLException {
+        ArrayNode arrayNode = new ArrayNode(JsonNodeFactory.instance);
+        for (Object value : values) {
+            if (value == null) {
+                arrayNode.addNull();
+            } else if (value instanceof Boolean) {
+                arrayNode.add((Boolean) value);
+            } else if (value instanceof Byte || value instanceof Short || value instanceof Integer) {
+                arrayNode.add(((Number) value).intValue());
+            } else if (value instanceof Long) {
+                arrayNode.add((Long) value);
+            } else if (value instanceof Float) {
+                arrayNode.add((Float) value);
+            } else if (value instanceof Double) {
+                arrayNode.add((Double) value);
+            } else {
+                arrayNode.add(value.toString());
+            }
+        }
+        statement.setString(index, arrayNode.toString());
+    }
+
+    @Override
+    public String getBatchNull() {
+        return BATCH_NULL;
+    }
+
+    @Override
+    public Map<SchemaTable, Pair<Long, Long>> flushVertexCache(SqlgGraph sqlgGraph, Map<SchemaTable, VertexBatch> vertexCache) {
+        Map<SchemaTable, Pair<Long, Long>> verticesRanges = new LinkedHashMap<>();
+        for (Map.Entry<SchemaTable, VertexBatch> vertexBatchEntry : vertexCache.entrySet()) {
+            SchemaTable schemaTable = vertexBatchEntry.getKey();
+            VertexBatch vertices = vertexBatchEntry.getValue();
+            Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(schemaTable.withPrefix(VERTEX_PREFIX));
+            List<String> keys = new ArrayList<>(vertices.getKeys());
+            List<PropertyType> propertyTypes = keys.stream().map(propertyTypeMap::get).collect(Collectors.toList());
+            List<SqlgVertex> sqlgVertices = new ArrayList<>();
+            List<Object[]> rows = new ArrayList<>();
+            for (int row = 0; row < vertices.rowCount(); row++) {
+                if (vertices.isRemoved(row)) {
+                    continue;
+                }
+                Object[] values = new Object[keys.size()];
+                for (int column = 0; column < keys.size(); column++) {
+                    values[column] = vertices.get(row, column);
+                }
+                rows.add(values);
+                sqlgVertices.add(vertices.getVertex(row));
+            }
+            if (!rows.isEmpty()) {
+                List<Long> ids = insertRows(sqlgGraph, schemaTable.getSchema(), VERTEX_PREFIX + schemaTable.getTable(), keys, propertyTypes, rows);
+                for (int i = 0; i < ids.size(); i++) {
+                    sqlgVertices.get(i).setInternalPrimaryKey(RecordId.from(schemaTable, ids.get(i)));
+                }
+                verticesRanges.put(schemaTable, Pair.of(ids.get(0), ids.get(ids.size() - 1)));
+            }
+        }
+        return verticesRanges;
+    }
+
+    @Override
+    public void flushEdgeCache(SqlgGraph sqlgGraph, Map<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> edgeCache) {
+        for (Map.Entry<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> edgeCacheEntry : edgeCache.entrySet()) {
+            MetaEdge metaEdge = edgeCacheEntry.getKey();
+            Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> triples = edgeCacheEntry.getValue();
+            if (triples.getRight().isEmpty()) {
+                continue;
+            }
+            Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(metaEdge.getSchemaTable().withPrefix(EDGE_PREFIX));
+            List<String> columns = new ArrayList<>();
+            List<PropertyType> propertyTypes = new ArrayList<>();
+            Triple<SqlgVertex, SqlgVertex, Map<String, Object>> first = triples.getRight().values().iterator().next();
+            columns.add(first.getLeft().getSchema() + "." + first.getLeft().getTable() + SchemaManager.OUT_VERTEX_COLUMN_END);
+            propertyTypes.add(PropertyType.LONG);
+            columns.add(first.getMiddle().getSchema() + "." + first.getMiddle().getTable() + SchemaManager.IN_VERTEX_COLUMN_END);
+            propertyTypes.add(PropertyType.LONG);
+            for (String key : triples.getLeft()) {
+                columns.add(key);
+                propertyTypes.add(propertyTypeMap.get(key));
+            }
+            List<SqlgEdge> sqlgEdges = new ArrayList<>();
+            List<Object[]> rows = new ArrayList<>();
+            for (Map.Entry<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> sqlgEdgeTripleEntry : triples.getRight().entrySet()) {
+                Triple<SqlgVertex, SqlgVertex, Map<String, Object>> triple = sqlgEdgeTripleEntry.getValue();
+                Object[] values = new Object[columns.size()];
+                values[0] = ((RecordId) triple.getLeft().id()).getId();
+                values[1] = ((RecordId) triple.getMiddle().id()).getId();
+                int column = 2;
+                for (String key : triples.getLeft()) {
+                    values[column++] = triple.getRight().get(key);
+                }
+                rows.add(values);
+                sqlgEdges.add(sqlgEdgeTripleEntry.getKey());
+            }
+            List<Long> ids = insertRows(sqlgGraph, metaEdge.getSchemaTable().getSchema(), EDGE_PREFIX + metaEdge.getSchemaTable().getTable(), columns, propertyTypes, rows);
+            for (int i = 0; i < ids.size(); i++) {
+                sqlgEdges.get(i).setInternalPrimaryKey(RecordId.from(metaEdge.getSchemaTable(), ids.get(i)));
+            }
+        }
+    }
+
+    @Override
+    public void flushVertexPropertyCache(SqlgGraph sqlgGraph, Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexPropertyCache) {
+        flushElementPropertyCache(sqlgGraph, true, vertexPropertyCache);
+    }
+
+    @Override
+    public void flushEdgePropertyCache(SqlgGraph sqlgGraph, Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgEdge, Map<String, Object>>>> edgePropertyCache) {
+        flushElementPropertyCache(sqlgGraph, false, edgePropertyCache);
+    }
+
+    private <T extends SqlgElement> void flushElementPropertyCache(SqlgGraph sqlgGraph, boolean forVertices, Map<SchemaTable, Pair<SortedSet<String>, Map<T, Map<String, Object>>>> propertyCache) {
+        Connection conn = sqlgGraph.tx().getConnection();
+        for (Map.Entry<SchemaTable, Pair<SortedSet<String>, Map<T, Map<String, Object>>>> propertyCacheEntry : propertyCache.entrySet()) {
+            SchemaTable schemaTable = propertyCacheEntry.getKey();
+            SortedSet<String> keys = propertyCacheEntry.getValue().getLeft();
+            Map<T, Map<String, Object>> elementPropertyCache = propertyCacheEntry.getValue().getRight();
+            if (elementPropertyCache.isEmpty()) {
+                continue;
+            }
+            String prefix = forVertices ? VERTEX_PREFIX : EDGE_PREFIX;
+            Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(schemaTable.withPrefix(prefix));
+            StringBuilder sql = new StringBuilder("UPDATE ");
+            sql.append(maybeWrapInQoutes(schemaTable.getSchema()));
+            sql.append(".");
+            sql.append(maybeWrapInQoutes(prefix + schemaTable.getTable()));
+            sql.append(" SET ");
+            List<String> columns = new ArrayList<>();
+            for (String key : keys) {
+                columns.addAll(columnNames(key, propertyTypeMap.get(key)));
+            }
+            sql.append(columns.stream().map(c -> maybeWrapInQoutes(c) + " = ?").collect(Collectors.joining(", ")));
+            sql.append(" WHERE ");
+            sql.append(maybeWrapInQoutes("ID"));
+            sql.append(" = ?");
+            if (logger.isDebugEnabled()) {
+                logger.debug(sql.toString());
+            }
+            long start = sqlgGraph.getMetrics().isEnabled() ? System.nanoTime() : 0L;
+            try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
+                for (Map.Entry<T, Map<String, Object>> elementPropertiesEntry : elementPropertyCache.entrySet()) {
+                    SqlgElement sqlgElement = elementPropertiesEntry.getKey();
+                    Map<String, Object> properties = elementPropertiesEntry.getValue();
+                    int parameterIndex = 1;
+                    for (String key : keys) {
+                        Object value = properties.get(key);
+                        if (value == null && sqlgElement.property(key).isPresent()) {
+                            value = sqlgElement.value(key);
+                        }
+                        parameterIndex = setParameter(sqlgGraph, preparedStatement, parameterIndex, propertyTypeMap.get(key), value);
+                    }
+                    preparedStatement.setLong(parameterIndex, ((RecordId) sqlgElement.id()).getId());
+                    preparedStatement.addBatch();
+                }
+                preparedStatement.executeBatch();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+            if (sqlgGraph.getMetrics().isEnabled()) {
+                sqlgGraph.getMetrics().statement(StatementKind.UPDATE, System.nanoTime() - start);
+            }
+        }
+    }
+
+    @Override
+    public void flushRemovedVertices(SqlgGraph sqlgGraph, Map<SchemaTable, List<SqlgVertex>> removeVertexCache) {
+        for (Map.Entry<SchemaTable, List<SqlgVertex>> schemaVertices : removeVertexCache.entrySet()) {
+            SchemaTable schemaTable = schemaVertices.getKey();
+            List<Object> ids = schemaVertices.getValue().stream().map(v -> ((RecordId) v.id()).getId()).collect(Collectors.toList());
+            Pair<Set<SchemaTable>, Set<SchemaTable>> tableLabels = sqlgGraph.getTopology().getTableLabels(SchemaTable.of(schemaTable.getSchema(), VERTEX_PREFIX + schemaTable.getTable()));
+            for (SchemaTable inLabel : tableLabels.getLeft()) {
+                delete(sqlgGraph, inLabel.getSchema(), inLabel.getTable(), schemaTable.toString() + SchemaManager.IN_VERTEX_COLUMN_END, ids);
+            }
+            for (SchemaTable outLabel : tableLabels.getRight()) {
+                delete(sqlgGraph, outLabel.getSchema(), outLabel.getTable(), schemaTable.toString() + SchemaManager.OUT_VERTEX_COLUMN_END, ids);
+            }
+            delete(sqlgGraph, schemaTable.getSchema(), VERTEX_PREFIX + schemaTable.getTable(), "ID", ids);
+        }
+    }
+
+    @Override
+    public void flushRemovedEdges(SqlgGraph sqlgGraph, Map<SchemaTable, List<SqlgEdge>> removeEdgeCache) {
+        for (Map.Entry<SchemaTable, List<SqlgEdge>> schemaEdges : removeEdgeCache.entrySet()) {
+            SchemaTable schemaTable = schemaEdges.getKey();
+            List<Object> ids = schemaEdges.getValue().stream().map(e -> ((RecordId) e.id()).getId()).collect(Collectors.toList());
+            delete(sqlgGraph, schemaTable.getSchema(), EDGE_PREFIX + schemaTable.getTable(), "ID", ids);
+        }
+    }
+
+    @Override
+    public void flushVertexGlobalUniqueIndexes(SqlgGraph sqlgGraph, Map<SchemaTable, VertexBatch> vertexCache) {
+        for (Map.Entry<SchemaTable, VertexBatch> vertexBatchEntry : vertexCache.entrySet()) {
+            VertexBatch vertices = vertexBatchEntry.getValue();
+            Map<String, PropertyColumn> propertyColumnMap = sqlgGraph.getTopology().getPropertiesFor(vertexBatchEntry.getKey().withPrefix(VERTEX_PREFIX));
+            for (PropertyColumn propertyColumn : propertyColumnMap.values()) {
+                for (GlobalUniqueIndex globalUniqueIndex : propertyColumn.getGlobalUniqueIndices()) {
+                    List<Object[]> rows = new ArrayList<>();
+                    for (int row = 0; row < vertices.rowCount(); row++) {
+                        if (!vertices.isRemoved(row)) {
+                            rows.add(new Object[]{vertices.get(row, propertyColumn.getName()), vertices.getVertex(row).id().toString(), propertyColumn.getName()});
+                        }
+                    }
+                    insertGlobalUniqueIndexRows(sqlgGraph, globalUniqueIndex, propertyColumn.getPropertyType(), rows);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void flushEdgeGlobalUniqueIndexes(SqlgGraph sqlgGraph, Map<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> edgeCache) {
+        for (Map.Entry<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> edgeCacheEntry : edgeCache.entrySet()) {
+            Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> edges = edgeCacheEntry.getValue().getRight();
+            Map<String, PropertyColumn> propertyColumnMap = sqlgGraph.getTopology().getPropertiesFor(edgeCacheEntry.getKey().getSchemaTable().withPrefix(EDGE_PREFIX));
+            for (PropertyColumn propertyColumn : propertyColumnMap.values()) {
+                for (GlobalUniqueIndex globalUniqueIndex : propertyColumn.getGlobalUniqueIndices()) {
+                    List<Object[]> rows = new ArrayList<>();
+                    for (Map.Entry<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> sqlgEdgeTripleEntry : edges.entrySet()) {
+                        rows.add(new Object[]{sqlgEdgeTripleEntry.getValue().getRight().get(propertyColumn.getName()), sqlgEdgeTripleEntry.getKey().id().toString(), propertyColumn.getName()});
+                    }
+                    insertGlobalUniqueIndexRows(sqlgGraph, globalUniqueIndex, propertyColumn.getPropertyType(), rows);
+                }
+            }
+        }
+    }
+
+    private void insertGlobalUniqueIndexRows(SqlgGraph sqlgGraph, GlobalUniqueIndex globalUniqueIndex, PropertyType propertyType, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            insertRows(
+                    sqlgGraph,
+                    Schema.GLOBAL_UNIQUE_INDEX_SCHEMA,
+                    VERTEX_PREFIX + globalUniqueIndex.getName(),
+                    Arrays.asList(GlobalUniqueIndex.GLOBAL_UNIQUE_INDEX_VALUE, GlobalUniqueIndex.GLOBAL_UNIQUE_INDEX_RECORD_ID, GlobalUniqueIndex.GLOBAL_UNIQUE_INDEX_PROPERTY_NAME),
+                    Arrays.asList(propertyType, PropertyType.STRING, PropertyType.STRING),
+                    rows
+            );
+        }
+    }
+
+    @Override
+    public void flushVertexGlobalUniqueIndexPropertyCache(SqlgGraph sqlgGraph, Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexPropertyCache) {
+        flushElementGlobalUniqueIndexPropertyCache(sqlgGraph, true, vertexPropertyCache);
+    }
+
+    @Override
+    public void flushEdgeGlobalUniqueIndexPropertyCache(SqlgGraph sqlgGraph, Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgEdge, Map<String, Object>>>> edgePropertyCache) {
+        flushElementGlobalUniqueIndexPropertyCache(sqlgGraph, false, edgePropertyCache);
+    }
+
+    private <T extends SqlgElement> void flushElementGlobalUniqueIndexPropertyCache(SqlgGraph sqlgGraph, boolean forVertices, Map<SchemaTable, Pair<SortedSet<String>, Map<T, Map<String, Object>>>> propertyCache) {
+        Connection conn = sqlgGraph.tx().getConnection();
+        for (Map.Entry<SchemaTable, Pair<SortedSet<String>, Map<T, Map<String, Object>>>> propertyCacheEntry : propertyCache.entrySet()) {
+            Map<String, PropertyColumn> propertyColumnMap = sqlgGraph.getTopology().getPropertiesFor(propertyCacheEntry.getKey().withPrefix(forVertices ? VERTEX_PREFIX : EDGE_PREFIX));
+            Map<T, Map<String, Object>> elementPropertyCache = propertyCacheEntry.getValue().getRight();
+            for (String key : propertyCacheEntry.getValue().getLeft()) {
+                PropertyColumn propertyColumn = propertyColumnMap.get(key);
+                if (propertyColumn == null) {
+                    continue;
+                }
+                for (GlobalUniqueIndex globalUniqueIndex : propertyColumn.getGlobalUniqueIndices()) {
+                    StringBuilder sql = new StringBuilder("UPDATE ");
+                    sql.append(maybeWrapInQoutes(Schema.GLOBAL_UNIQUE_INDEX_SCHEMA));
+                    sql.append(".");
+                    sql.append(maybeWrapInQoutes(VERTEX_PREFIX + globalUniqueIndex.getName()));
+                    sql.append(" SET ");
+                    sql.append(columnNames(GlobalUniqueIndex.GLOBAL_UNIQUE_INDEX_VALUE, propertyColumn.getPropertyType()).stream().map(c -> maybeWrapInQoutes(c) + " = ?").collect(Collectors.joining(", ")));
+                    sql.append(" WHERE ");
+                    sql.append(maybeWrapInQoutes(GlobalUniqueIndex.GLOBAL_UNIQUE_INDEX_RECORD_ID));
+                    sql.append(" = ? AND ");
+                    sql.append(maybeWrapInQoutes(GlobalUniqueIndex.GLOBAL_UNIQUE_INDEX_PROPERTY_NAME));
+                    sql.append(" = ?");
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(sql.toString());
+                    }
+                    try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
+                        for (Map.Entry<T, Map<String, Object>> elementPropertiesEntry : elementPropertyCache.entrySet()) {
+                            if (!elementPropertiesEntry.getValue().containsKey(key)) {
+                                continue;
+                            }
+                            int parameterIndex = setParameter(sqlgGraph, preparedStatement, 1, propertyColumn.getPropertyType(), elementPropertiesEntry.getValue().get(key));
+                            preparedStatement.setString(parameterIndex++, elementPropertiesEntry.getKey().id().toString());
+                            preparedStatement.setString(parameterIndex, key);
+                            preparedStatement.addBatch();
+                        }
+                        preparedStatement.executeBatch();
+                    } catch (SQLException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void flushRemovedGlobalUniqueIndexVertices(SqlgGraph sqlgGraph, Map<SchemaTable, List<SqlgVertex>> removeVertexCache) {
+        for (Map.Entry<SchemaTable, List<SqlgVertex>> schemaVertices : removeVertexCache.entrySet()) {
+            Map<String, PropertyColumn> propertyColumnMap = sqlgGraph.getTopology().getPropertiesFor(schemaVertices.getKey().withPrefix(VERTEX_PREFIX));
+            Set<GlobalUniqueIndex> globalUniqueIndices = new HashSet<>();
+            for (PropertyColumn propertyColumn : propertyColumnMap.values()) {
+                globalUniqueIndices.addAll(propertyColumn.getGlobalUniqueIndices());
+            }
+            if (!globalUniqueIndices.isEmpty()) {
+                List<Object> recordIds = schemaVertices.getValue().stream().map(v -> v.id().toString()).collect(Collectors.toList());
+                for (GlobalUniqueIndex globalUniqueIndex : globalUniqueIndices) {
+                    delete(sqlgGraph, Schema.GLOBAL_UNIQUE_INDEX_SCHEMA, VERTEX_PREFIX + globalUniqueIndex.getName(), GlobalUniqueIndex.GLOBAL_UNIQUE_INDEX_RECORD_ID, recordIds);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts the rows with multi-row INSERT statements of at most {@link #INSERT_ROW_LIMIT} rows.
+     *
+     * @param columns       The columns, the multi column property types' extra columns are added here.
+     * @param propertyTypes The property type of every column.
+     * @param rows          The values of every row in column order.
+     * @return the generated ids in the order of the rows.
+     */
+    private List<Long> insertRows(SqlgGraph sqlgGraph, String schema, String table, List<String> columns, List<PropertyType> propertyTypes, List<Object[]> rows) {
+        List<String> columnNames = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            columnNames.addAll(columnNames(columns.get(i), propertyTypes.get(i)));
+        }
+        String values = "(" + columnNames.stream().map(c -> "?").collect(Collectors.joining(", ")) + ")";
+        int rowsPerStatement = columnNames.isEmpty() ? INSERT_ROW_LIMIT : Math.max(1, Math.min(INSERT_ROW_LIMIT, PARAMETER_LIMIT / columnNames.size()));
+        List<Long> ids = new ArrayList<>(rows.size());
+        Connection conn = sqlgGraph.tx().getConnection();
+        for (List<Object[]> partition : Lists.partition(rows, rowsPerStatement)) {
+            StringBuilder sql = new StringBuilder("INSERT INTO ");
+            sql.append(maybeWrapInQoutes(schema));
+            sql.append(".");
+            sql.append(maybeWrapInQoutes(table));
+            sql.append(" (");
+            sql.append(columnNames.stream().map(this::maybeWrapInQoutes).collect(Collectors.joining(", ")));
+            sql.append(") VALUES ");
+            sql.append(String.join(", ", Collections.nCopies(partition.size(), values)));
+            if (logger.isDebugEnabled()) {
+                logger.debug(sql.toString());
+            }
+            long start = sqlgGraph.getMetrics().isEnabled() ? System.nanoTime() : 0L;
+            try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS)) {
+                int parameterIndex = 1;
+                for (Object[] row : partition) {
+                    for (int column = 0; column < columns.size(); column++) {
+                        parameterIndex = setParameter(sqlgGraph, preparedStatement, parameterIndex, propertyTypes.get(column), row[column]);
+                    }
+                }
+                preparedStatement.executeUpdate();
+                try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                    int count = 0;
+                    while (generatedKeys.next()) {
+                        ids.add(generatedKeys.getLong(1));
+                        count++;
+                    }
+                    if (count != partition.size()) {
+                        throw new IllegalStateException(String.format("Inserted %d rows into %s.%s but received %d ids", partition.size(), schema, table, count));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+            if (sqlgGraph.getMetrics().isEnabled()) {
+                sqlgGraph.getMetrics().statement(StatementKind.INSERT, System.nanoTime() - start);
+            }
+        }
+        return ids;
+    }
+
+    private void delete(SqlgGraph sqlgGraph, String schema, String table, String column, List<Object> values) {
+        Connection conn = sqlgGraph.tx().getConnection();
+        for (List<Object> partition : Lists.partition(values, PARAMETER_LIMIT)) {
+            StringBuilder sql = new StringBuilder("DELETE FROM ");
+            sql.append(maybeWrapInQoutes(schema));
+            sql.append(".");
+            sql.append(maybeWrapInQoutes(table));
+            sql.append(" WHERE ");
+            sql.append(maybeWrapInQoutes(column));
+            sql.append(" IN (");
+            sql.append(String.join(", ", Collections.nCopies(partition.size(), "?")));
+            sql.append(")");
+            if (logger.isDebugEnabled()) {
+                logger.debug(sql.toString());
+            }
+            long start = sqlgGraph.getMetrics().isEnabled() ? System.nanoTime() : 0L;
+            try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
+                int parameterIndex = 1;
+                for (Object value : partition) {
+                    preparedStatement.setObject(parameterIndex++, value);
+                }
+                preparedStatement.executeUpdate();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+            if (sqlgGraph.getMetrics().isEnabled()) {
+                sqlgGraph.getMetrics().statement(StatementKind.DELETE, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * The column and the extra columns of a multi column property type, i.e. ZONEDDATETIME, DURATION and PERIOD.
+     */
+    private List<String> columnNames(String column, PropertyType propertyType) {
+        List<String> result = new ArrayList<>();
+        result.add(column);
+        for (int i = 1; i < propertyTypeToSqlDefinition(propertyType).length; i++) {
+            result.add(column + propertyType.getPostFixes()[i - 1]);
+        }
+        return result;
+    }
+
+    /**
+     * Binds the value to all the columns of its property type, nulls included.
+     *
+     * @return the next parameter index.
+     */
+    private int setParameter(SqlgGraph sqlgGraph, PreparedStatement preparedStatement, int parameterIndex, PropertyType propertyType, Object value) throws SQLException {
+        if (value == null) {
+            for (int i = 0; i < propertyTypeToSqlDefinition(propertyType).length; i++) {
+                preparedStatement.setNull(parameterIndex++, Types.NULL);
+            }
+            return parameterIndex;
+        } else {
+            return SqlgUtil.setKeyValuesAsParameter(sqlgGraph, true, parameterIndex, preparedStatement, Collections.singletonList(ImmutablePair.of(propertyType, value)));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.umlg.sqlg.sql.dialect;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Types;
+import java.util.Map;
+
+/**
+ * MariaDB has no array type, sqlg stores arrays as a json array in a LONGTEXT column.
+ * This wraps the column's text so that it can be handed to {@link MariaDbDialect#convertArray(org.umlg.sqlg.structure.PropertyType, Array)}.
+ */
+class MariaDbJsonArray implements Array {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private final String json;
+
+    MariaDbJsonArray(String json) {
+        this.json = json;
+    }
+
+    JsonNode getJsonNode() throws SQLException {
+        try {
+            JsonNode jsonNode = OBJECT_MAPPER.readTree(this.json);
+            if (!jsonNode.isArray()) {
+                throw new SQLException("Expected a json array, found " + this.json);
+            }
+            return jsonNode;
+        } catch (IOException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    @Override
+    public String getBaseTypeName() throws SQLException {
+        return "LONGTEXT";
+    }
+
+    @Override
+    public int getBaseType() throws SQLException {
+        return Types.LONGVARCHAR;
+    }
+
+    /**
+     * @return the elements as parsed by jackson, i.e. numbers, booleans and strings.
+     */
+    @Override
+    public Object getArray() throws SQLException {
+        JsonNode jsonNode = getJsonNode();
+        Object[] result = new Object[jsonNode.size()];
+        for (int i = 0; i < jsonNode.size(); i++) {
+            JsonNode element = jsonNode.get(i);
+            if (element.isNull()) {
+                result[i] = null;
+            } else if (element.isNumber()) {
+                result[i] = element.numberValue();
+            } else if (element.isBoolean()) {
+                result[i] = element.booleanValue();
+            } else {
+                result[i] = element.asText();
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Object getArray(Map<String, Class<?>> map) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public Object getArray(long index, int count) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public Object getArray(long index, int count, Map<String, Class<?>> map) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public ResultSet getResultSet(Map<String, Class<?>> map) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public ResultSet getResultSet(long index, int count) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public ResultSet getResultSet(long index, int count, Map<String, Class<?>> map) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public void free() throws SQLException {
+    }
+}
@@ -3,8 +3,7 @@ package org.umlg.sqlg.test;
 import org.umlg.sqlg.AllTest;
 
 /**
- * Date: 2014/07/16
- * Time: 12:11 PM
+ * Runs the sqlg test suite against MariaDB.
  */
 public class MariadbAllTest extends AllTest {
 }
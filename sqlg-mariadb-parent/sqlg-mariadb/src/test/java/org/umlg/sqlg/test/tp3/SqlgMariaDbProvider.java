@@ -0,0 +1,35 @@
+package org.umlg.sqlg.test.tp3;
+
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.MariaDbPlugin;
+import org.umlg.sqlg.SqlgPlugin;
+import org.umlg.sqlg.structure.SqlgGraph;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The MariaDB server needs to be running on localhost, the tests drop every non system database.
+ */
+public class SqlgMariaDbProvider extends SqlgAbstractGraphProvider {
+
+    private Logger logger = LoggerFactory.getLogger(SqlgMariaDbProvider.class.getName());
+
+    @Override
+    public Map<String, Object> getBaseConfiguration(String graphName, Class<?> test, String testMethodName, LoadGraphWith.GraphData loadGraphWith) {
+        logger.info("MariaDB, Starting test: " + test.getSimpleName() + "." + testMethodName);
+        return new HashMap<String, Object>() {{
+            put("gremlin.graph", SqlgGraph.class.getName());
+            put("jdbc.url", "jdbc:mariadb://localhost:3306/?sessionVariables=sql_mode=ANSI_QUOTES&rewriteBatchedStatements=true");
+            put("jdbc.username", "sqlg");
+            put("jdbc.password", "password");
+        }};
+    }
+
+    @Override
+    public SqlgPlugin getSqlgPlugin() {
+        return new MariaDbPlugin();
+    }
+}
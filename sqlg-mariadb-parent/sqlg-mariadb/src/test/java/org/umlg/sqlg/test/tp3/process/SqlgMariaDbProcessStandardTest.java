@@ -0,0 +1,16 @@
+package org.umlg.sqlg.test.tp3.process;
+
+import org.apache.tinkerpop.gremlin.GraphProviderClass;
+import org.apache.tinkerpop.gremlin.process.ProcessStandardSuite;
+import org.junit.runner.RunWith;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.test.tp3.SqlgMariaDbProvider;
+
+
+/**
+ * Executes the Standard Gremlin Process Test Suite using MariaDB.
+ */
+@RunWith(ProcessStandardSuite.class)
+@GraphProviderClass(provider = SqlgMariaDbProvider.class, graph = SqlgGraph.class)
+public class SqlgMariaDbProcessStandardTest {
+}
@@ -0,0 +1,16 @@
+package org.umlg.sqlg.test.tp3.structure;
+
+import org.apache.tinkerpop.gremlin.GraphProviderClass;
+import org.apache.tinkerpop.gremlin.structure.StructureStandardSuite;
+import org.junit.runner.RunWith;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.test.tp3.SqlgMariaDbProvider;
+
+
+/**
+ * Executes the Standard Gremlin Structure Test Suite using MariaDB.
+ */
+@RunWith(StructureStandardSuite.class)
+@GraphProviderClass(provider = SqlgMariaDbProvider.class, graph = SqlgGraph.class)
+public class SqlgMariaDbStructureStandardTest {
+}
@@ -0,0 +1,246 @@
+package org.umlg.sqlg.gis;
+
+import com.google.common.base.Preconditions;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.postgis.Geometry;
+import org.postgis.LinearRing;
+import org.postgis.Point;
+import org.postgis.Polygon;
+import org.umlg.sqlg.predicate.SqlgComparator;
+import org.umlg.sqlg.predicate.SqlgPredicate;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Spatial predicates on the gis property types, compiled to PostGIS functions that can use a
+ * {@link org.umlg.sqlg.structure.IndexType#GIST} index.
+ * <p>
+ * Distances are in meters for the geography types and in the units of the srid for the geometry types.
+ * <pre>
+ * sqlgGraph.traversal().V().hasLabel("City")
+ *      .has("location", Geo.withinDistance(johannesburg, 50_000))
+ *      .order().by("location", Geo.distanceFrom(johannesburg))
+ *      .limit(10)
+ * </pre>
+ * Date: 2017/05/21
+ * Time: 4:05 PM
+ */
+public class Geo implements SqlgPredicate<Object, Object> {
+
+    private static final double EARTH_RADIUS = 6_371_008.8;
+
+    public enum Operator {
+        WITHIN_DISTANCE, INTERSECTS, CONTAINS, BOUNDING_BOX
+    }
+
+    private final Operator operator;
+    private final double distance;
+    private final int srid;
+
+    private Geo(Operator operator, double distance, int srid) {
+        this.operator = operator;
+        this.distance = distance;
+        this.srid = srid;
+    }
+
+    public static P<Object> withinDistance(Geometry geometry, double distance) {
+        return new P<>(new Geo(Operator.WITHIN_DISTANCE, distance, geometry.getSrid()), geometry);
+    }
+
+    public static P<Object> intersects(Geometry geometry) {
+        return new P<>(new Geo(Operator.INTERSECTS, 0, geometry.getSrid()), geometry);
+    }
+
+    /**
+     * The property covers the geometry, i.e. a polygon property contains the point.
+     */
+    public static P<Object> contains(Geometry geometry) {
+        return new P<>(new Geo(Operator.CONTAINS, 0, geometry.getSrid()), geometry);
+    }
+
+    /**
+     * The bounding box of the property overlaps the box, in the srid of the property's geometries.
+     */
+    public static P<Object> boundingBox(double minX, double minY, double maxX, double maxY, int srid) {
+        Preconditions.checkArgument(minX <= maxX && minY <= maxY, "boundingBox expects the minimum before the maximum.");
+        return new P<>(new Geo(Operator.BOUNDING_BOX, 0, srid), new double[]{minX, minY, maxX, maxY});
+    }
+
+    public static P<Object> boundingBox(double minX, double minY, double maxX, double maxY) {
+        return boundingBox(minX, minY, maxX, maxY, Gis.SRID);
+    }
+
+    /**
+     * Orders on the distance to the point, nearest first.
+     * Combined with a limit this is a nearest neighbour query on a {@link org.umlg.sqlg.structure.IndexType#GIST} index.
+     */
+    public static DistanceFrom distanceFrom(Point point) {
+        return new DistanceFrom(point);
+    }
+
+    public Operator getOperator() {
+        return this.operator;
+    }
+
+    @Override
+    public boolean supports(SqlDialect sqlDialect) {
+        return sqlDialect.isPostgresql();
+    }
+
+    @Override
+    public String toSql(SqlDialect sqlDialect, String column, Object value) {
+        switch (this.operator) {
+            case WITHIN_DISTANCE:
+                return "ST_DWithin(" + column + ", ?, ?)";
+            case INTERSECTS:
+                return "ST_Intersects(" + column + ", ?)";
+            case CONTAINS:
+                return "ST_Covers(" + column + ", ?)";
+            case BOUNDING_BOX:
+                return column + " && ST_MakeEnvelope(?, ?, ?, ?, " + this.srid + ")";
+            default:
+                throw new IllegalStateException("Unhandled operator " + this.operator.name());
+        }
+    }
+
+    @Override
+    public List<Object> getParameters(Object value) {
+        switch (this.operator) {
+            case WITHIN_DISTANCE:
+                return Arrays.asList(value, this.distance);
+            case BOUNDING_BOX:
+                double[] box = (double[]) value;
+                return Arrays.asList(box[0], box[1], box[2], box[3]);
+            default:
+                return Collections.singletonList(value);
+        }
+    }
+
+    @Override
+    public boolean test(Object first, Object second) {
+        if (first == null) {
+            return false;
+        }
+        switch (this.operator) {
+            case WITHIN_DISTANCE:
+                return distance(asPoint(first), asPoint(second)) <= this.distance;
+            case INTERSECTS:
+                if (first instanceof Point && second instanceof Point) {
+                    return first.equals(second);
+                } else if (first instanceof Polygon && second instanceof Point) {
+                    return covers((Polygon) first, (Point) second);
+                } else if (first instanceof Point && second instanceof Polygon) {
+                    return covers((Polygon) second, (Point) first);
+                } else {
+                    throw unsupported();
+                }
+            case CONTAINS:
+                if (first instanceof Point && second instanceof Point) {
+                    return first.equals(second);
+                } else if (first instanceof Polygon && second instanceof Point) {
+                    return covers((Polygon) first, (Point) second);
+                } else {
+                    throw unsupported();
+                }
+            case BOUNDING_BOX:
+                double[] box = (double[]) second;
+                Point point = asPoint(first);
+                return point.x >= box[0] && point.y >= box[1] && point.x <= box[2] && point.y <= box[3];
+            default:
+                throw new IllegalStateException("Unhandled operator " + this.operator.name());
+        }
+    }
+
+    private Point asPoint(Object geometry) {
+        if (!(geometry instanceof Point)) {
+            throw unsupported();
+        }
+        return (Point) geometry;
+    }
+
+    private UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Geo." + this.operator.name().toLowerCase() + " on these geometries can only be evaluated by the database");
+    }
+
+    /**
+     * Great circle distance in meters for geography points, else the planar distance.
+     */
+    static double distance(Point first, Point second) {
+        if (first instanceof GeographyPoint || second instanceof GeographyPoint) {
+            double lat1 = Math.toRadians(first.y);
+            double lat2 = Math.toRadians(second.y);
+            double dLat = lat2 - lat1;
+            double dLon = Math.toRadians(second.x - first.x);
+            double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(lat1) * Math.cos(lat2) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+            return 2 * EARTH_RADIUS * Math.asin(Math.min(1, Math.sqrt(a)));
+        } else {
+            return first.distance(second);
+        }
+    }
+
+    /**
+     * Even-odd ray casting on the outer ring, points in a hole are outside.
+     */
+    private static boolean covers(Polygon polygon, Point point) {
+        boolean inside = inRing(polygon.getRing(0), point);
+        for (int i = 1; inside && i < polygon.numRings(); i++) {
+            inside = !inRing(polygon.getRing(i), point);
+        }
+        return inside;
+    }
+
+    private static boolean inRing(LinearRing ring, Point point) {
+        boolean inside = false;
+        int count = ring.numPoints();
+        for (int i = 0, j = count - 1; i < count; j = i++) {
+            Point pi = ring.getPoint(i);
+            Point pj = ring.getPoint(j);
+            if ((pi.y > point.y) != (pj.y > point.y) &&
+                    point.x < (pj.x - pi.x) * (point.y - pi.y) / (pj.y - pi.y) + pi.x) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    @Override
+    public String toString() {
+        return "Geo(" + this.operator.name().toLowerCase() + ")";
+    }
+
+    public static class DistanceFrom implements SqlgComparator<Object> {
+
+        private final Point point;
+
+        private DistanceFrom(Point point) {
+            this.point = point;
+        }
+
+        @Override
+        public boolean supports(SqlDialect sqlDialect) {
+            return sqlDialect.isPostgresql();
+        }
+
+        /**
+         * The point is written as a literal, its text is generated from its coordinates.
+         */
+        @Override
+        public String toOrderBySql(SqlDialect sqlDialect, String column) {
+            String type = this.point instanceof GeographyPoint ? "geography" : "geometry";
+            return column + " <-> CAST('" + this.point.toString() + "' AS " + type + ") ASC";
+        }
+
+        @Override
+        public int compare(Object first, Object second) {
+            return Double.compare(distance((Point) first, this.point), distance((Point) second, this.point));
+        }
+
+        @Override
+        public String toString() {
+            return "distanceFrom(" + this.point + ")";
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package org.umlg.sqlg.sql.dialect;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 import com.mchange.v2.c3p0.C3P0ProxyConnection;
@@ -26,9 +25,14 @@ import org.slf4j.LoggerFactory;
 import org.umlg.sqlg.gis.GeographyPoint;
 import org.umlg.sqlg.gis.GeographyPolygon;
 import org.umlg.sqlg.gis.Gis;
+import org.umlg.sqlg.metrics.StatementKind;
+import org.umlg.sqlg.predicate.ArrayPredicate;
 import org.umlg.sqlg.predicate.FullText;
+import org.umlg.sqlg.predicate.Json;
 import org.umlg.sqlg.structure.*;
 import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.util.PipelinedEncoder;
+import org.umlg.sqlg.util.SqlgJson;
 import org.umlg.sqlg.util.SqlgUtil;
 
 import java.io.*;
@@ -41,6 +45,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.umlg.sqlg.structure.PropertyType.*;
@@ -63,6 +68,18 @@ public class PostgresDialect extends BaseSqlDialect {
     private static final char ESCAPE = '\\';
     private static final int PARAMETER_LIMIT = 32767;
     private static final String COPY_DUMMY = "_copy_dummy";
+    //the temp table column that groups the pending upserts of a label by the properties they set
+    private static final String UPSERT_GROUP = "_upsert_group";
+    private static final String UPSERT_ROW = "_upsert_row";
+    //How long the notification listener blocks on the socket before checking if it should stop.
+    private static final int NOTIFICATION_TIMEOUT = 1000;
+    private static final long NOTIFICATION_MIN_BACKOFF = 100;
+    private static final long NOTIFICATION_MAX_BACKOFF = 30000;
+    /**
+     * Labels with at least this many updated elements in a flush are updated from a copied temporary table, defaults to 1000.
+     */
+    public static final String BATCH_UPDATE_COPY_THRESHOLD = "batch.update.copy.threshold";
+    private static final int DEFAULT_BATCH_UPDATE_COPY_THRESHOLD = 1000;
     private Logger logger = LoggerFactory.getLogger(PostgresDialect.class.getName());
     private PropertyType postGisType;
 
@@ -195,58 +212,95 @@ public class PostgresDialect extends BaseSqlDialect {
     /**
      * flushes the cache via the copy command.
      *
-     * @param vertexCache A rather complex object.
-     *                    The map's key is the vertex being cached.
-     *                    The Triple holds,
-     *                    1) The in labels
-     *                    2) The out labels
-     *                    3) The properties as a map of key values
+     * @param vertexCache The pending vertices per label, their properties are read straight from the label's columns.
      */
     @Override
-    public Map<SchemaTable, Pair<Long, Long>> flushVertexCache(SqlgGraph sqlgGraph, Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexCache) {
+    public Map<SchemaTable, Pair<Long, Long>> flushVertexCache(SqlgGraph sqlgGraph, Map<SchemaTable, VertexBatch> vertexCache) {
 
-        C3P0ProxyConnection con = (C3P0ProxyConnection) sqlgGraph.tx().getConnection();
         Map<SchemaTable, Pair<Long, Long>> verticesRanges = new LinkedHashMap<>();
-        for (SchemaTable schemaTable : vertexCache.keySet()) {
-            Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> vertices = vertexCache.get(schemaTable);
-            Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(schemaTable.withPrefix(VERTEX_PREFIX));
-            String sql = internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, false, schemaTable.getSchema(), schemaTable.getTable(), vertices.getLeft());
-            int numberInserted = 0;
-            try (Writer writer = streamSql(sqlgGraph, sql)) {
-                for (Map<String, Object> keyValueMap : vertices.getRight().values()) {
-                    //The map must contain all the keys, so make a copy with it all.
-                    LinkedHashMap<String, Object> values = new LinkedHashMap<>();
-                    for (String key : vertices.getLeft()) {
-                        values.put(key, keyValueMap.get(key));
-                    }
-                    writeStreamingVertex(writer, values);
-                    numberInserted++;
+        BatchManager batchManager = sqlgGraph.tx().getBatchManager();
+        if (batchManager.isPipelinedFlush() && vertexCache.size() > 1) {
+            //the copy commands need the topology and the ids the connection so they are constructed on this thread.
+            List<SchemaTable> schemaTables = new ArrayList<>(vertexCache.keySet());
+            Map<SchemaTable, String> sqls = new HashMap<>();
+            for (SchemaTable schemaTable : schemaTables) {
+                sqls.put(schemaTable, internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, false, true, schemaTable.getSchema(), schemaTable.getTable(), vertexCache.get(schemaTable).getKeys()));
+                assignVertexIds(sqlgGraph, schemaTable, vertexCache.get(schemaTable), verticesRanges);
+            }
+            try (PipelinedEncoder<SchemaTable> encoder = new PipelinedEncoder<>(schemaTables, batchManager.getPipelinedFlushBuffer(), batchManager.getPipelinedFlushChunkRows(),
+                    (schemaTable, writer) -> writeVertexRows(writer, vertexCache.get(schemaTable), writer::endRow))) {
+                while (encoder.hasNext()) {
+                    SchemaTable schemaTable = encoder.next();
+                    long start = sqlgGraph.getMetrics().isEnabled() ? System.nanoTime() : 0L;
+                    try (Writer writer = streamSql(sqlgGraph, sqls.get(schemaTable))) {
+                        encoder.writeRows(writer);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                    if (sqlgGraph.getMetrics().isEnabled()) {
+                        sqlgGraph.getMetrics().statement(StatementKind.COPY, System.nanoTime() - start);
+                    }
                 }
-            } catch (IOException e) {
-                throw new RuntimeException(e);
             }
-            if (numberInserted > 0) {
-                long endHigh;
-                try (PreparedStatement preparedStatement = con.prepareStatement("SELECT CURRVAL('\"" + schemaTable.getSchema() + "\".\"" + VERTEX_PREFIX + schemaTable.getTable() + "_ID_seq\"');")) {
-                    ResultSet resultSet = preparedStatement.executeQuery();
-                    resultSet.next();
-                    endHigh = resultSet.getLong(1);
-                    resultSet.close();
-                } catch (SQLException e) {
+        } else {
+            for (SchemaTable schemaTable : vertexCache.keySet()) {
+                VertexBatch vertices = vertexCache.get(schemaTable);
+                String sql = internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, false, true, schemaTable.getSchema(), schemaTable.getTable(), vertices.getKeys());
+                assignVertexIds(sqlgGraph, schemaTable, vertices, verticesRanges);
+                long start = sqlgGraph.getMetrics().isEnabled() ? System.nanoTime() : 0L;
+                try (Writer writer = streamSql(sqlgGraph, sql)) {
+                    writeVertexRows(writer, vertices, () -> {
+                    });
+                } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
-                //set the id on the vertex
-                long id = endHigh - numberInserted + 1;
-                for (SqlgVertex sqlgVertex : vertices.getRight().keySet()) {
-                    sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, id++));
+                if (sqlgGraph.getMetrics().isEnabled()) {
+                    sqlgGraph.getMetrics().statement(StatementKind.COPY, System.nanoTime() - start);
                 }
-                verticesRanges.put(schemaTable, Pair.of(endHigh - numberInserted + 1, endHigh));
             }
-
         }
         return verticesRanges;
     }
 
+    /**
+     * @param rowWritten called after every row.
+     */
+    private int writeVertexRows(Writer writer, VertexBatch vertices, Runnable rowWritten) {
+        int numberInserted = 0;
+        List<String> keys = new ArrayList<>(vertices.getKeys());
+        //The map must contain all the keys in column order, it is refilled for every row.
+        LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+        for (int row = 0; row < vertices.rowCount(); row++) {
+            if (vertices.isRemoved(row)) {
+                continue;
+            }
+            for (int column = 0; column < keys.size(); column++) {
+                values.put(keys.get(column), vertices.get(row, column));
+            }
+            writeStreamingVertex(writer, ((RecordId) vertices.getVertex(row).id()).getId(), values);
+            rowWritten.run();
+            numberInserted++;
+        }
+        return numberInserted;
+    }
+
+    /**
+     * Sets the reserved ids on the vertices before they are copied, the copy writes the ids explicitly.
+     * The range is the lowest and highest reserved id, other transactions' ids may fall within it.
+     */
+    private void assignVertexIds(SqlgGraph sqlgGraph, SchemaTable schemaTable, VertexBatch vertices, Map<SchemaTable, Pair<Long, Long>> verticesRanges) {
+        if (vertices.size() > 0) {
+            long[] ids = reserveIds(sqlgGraph, schemaTable, VERTEX_PREFIX, vertices.size());
+            int index = 0;
+            for (int row = 0; row < vertices.rowCount(); row++) {
+                if (!vertices.isRemoved(row)) {
+                    vertices.getVertex(row).setInternalPrimaryKey(RecordId.from(schemaTable, ids[index++]));
+                }
+            }
+            verticesRanges.put(schemaTable, Pair.of(ids[0], ids[ids.length - 1]));
+        }
+    }
+
     @Override
     public void flushEdgeGlobalUniqueIndexes(SqlgGraph sqlgGraph, Map<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> edgeCache) {
         for (MetaEdge metaEdge : edgeCache.keySet()) {
@@ -288,9 +342,9 @@ public class PostgresDialect extends BaseSqlDialect {
     }
 
     @Override
-    public void flushVertexGlobalUniqueIndexes(SqlgGraph sqlgGraph, Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexCache) {
+    public void flushVertexGlobalUniqueIndexes(SqlgGraph sqlgGraph, Map<SchemaTable, VertexBatch> vertexCache) {
         for (SchemaTable schemaTable : vertexCache.keySet()) {
-            Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> vertices = vertexCache.get(schemaTable);
+            VertexBatch vertices = vertexCache.get(schemaTable);
             Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(schemaTable.withPrefix(VERTEX_PREFIX));
 
             Map<String, PropertyColumn> propertyColumnMap = sqlgGraph.getTopology().getPropertiesFor(schemaTable.withPrefix(VERTEX_PREFIX));
@@ -305,11 +359,12 @@ public class PostgresDialect extends BaseSqlDialect {
                             new HashSet<>(Arrays.asList(GlobalUniqueIndex.GLOBAL_UNIQUE_INDEX_VALUE, GlobalUniqueIndex.GLOBAL_UNIQUE_INDEX_RECORD_ID, GlobalUniqueIndex.GLOBAL_UNIQUE_INDEX_PROPERTY_NAME))
                     );
                     try (Writer writer = streamSql(sqlgGraph, sql)) {
-                        Map<SqlgVertex, Map<String, Object>> a = vertices.getRight();
-                        for (Map.Entry<SqlgVertex, Map<String, Object>> sqlgVertexMapEntry : a.entrySet()) {
-                            SqlgVertex sqlgVertex = sqlgVertexMapEntry.getKey();
-                            Map<String, Object> keyValueMap = sqlgVertexMapEntry.getValue();
-                            Object value = keyValueMap.get(propertyColumn.getName());
+                        for (int row = 0; row < vertices.rowCount(); row++) {
+                            if (vertices.isRemoved(row)) {
+                                continue;
+                            }
+                            SqlgVertex sqlgVertex = vertices.getVertex(row);
+                            Object value = vertices.get(row, propertyColumn.getName());
                             Map<String, Object> globalUniqueIndexValues = new HashMap<>();
                             if (value != null) {
                                 globalUniqueIndexValues.put(GlobalUniqueIndex.GLOBAL_UNIQUE_INDEX_VALUE, value);
@@ -332,77 +387,285 @@ public class PostgresDialect extends BaseSqlDialect {
     }
 
     @Override
-    public void flushEdgeCache(SqlgGraph sqlgGraph, Map<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> edgeCache) {
-        C3P0ProxyConnection con = (C3P0ProxyConnection) sqlgGraph.tx().getConnection();
-        try {
-            Method m = BaseConnection.class.getMethod("getCopyAPI");
-            Object[] arg = new Object[]{};
-            CopyManager copyManager = (CopyManager) con.rawConnectionOperation(m, C3P0ProxyConnection.RAW_CONNECTION, arg);
+    public boolean supportsUpsert() {
+        return true;
+    }
 
-            for (MetaEdge metaEdge : edgeCache.keySet()) {
-                Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> triples = edgeCache.get(metaEdge);
-                Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(metaEdge.getSchemaTable().withPrefix(EDGE_PREFIX));
+    @Override
+    public boolean upsertReturnsId() {
+        return true;
+    }
+
+    @Override
+    public String upsertVertexSql(String schema, String table, List<String> uniqueKeys, Map<String, PropertyType> columns) {
+        List<String> columnNames = sqlColumnNames(columns);
+        StringBuilder sql = new StringBuilder("INSERT INTO ");
+        sql.append(maybeWrapInQoutes(schema));
+        sql.append(".");
+        sql.append(maybeWrapInQoutes(table));
+        sql.append(" (");
+        appendColumnNames(sql, columnNames);
+        sql.append(") VALUES (");
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("?");
+        }
+        sql.append(")");
+        appendOnConflict(sql, uniqueKeys, columnNames);
+        sql.append(" RETURNING ");
+        sql.append(maybeWrapInQoutes(SchemaManager.ID));
+        return sql.toString();
+    }
+
+    /**
+     * Copies each label's upserts into a temporary table and upserts them with one INSERT ... SELECT ... ON CONFLICT.
+     * The vertices' ids are then read by joining the temporary table with the label's table on the unique keys.
+     */
+    @Override
+    public void flushVertexUpsertCache(SqlgGraph sqlgGraph, Map<Pair<SchemaTable, List<String>>, Map<List<Object>, Pair<SqlgVertex, Map<String, Object>>>> vertexUpsertCache) {
+        for (Map.Entry<Pair<SchemaTable, List<String>>, Map<List<Object>, Pair<SqlgVertex, Map<String, Object>>>> upsertEntry : vertexUpsertCache.entrySet()) {
+            SchemaTable schemaTable = upsertEntry.getKey().getLeft();
+            List<String> uniqueKeys = upsertEntry.getKey().getRight();
+            Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(schemaTable.withPrefix(VERTEX_PREFIX));
+            //A row only updates the properties it has, the rows are copied with the union of the properties
+            //and inserted per group of rows with the same properties.
+            Map<SortedSet<String>, Integer> groups = new LinkedHashMap<>();
+            SortedSet<String> allKeys = new TreeSet<>();
+            List<SqlgVertex> vertices = new ArrayList<>(upsertEntry.getValue().size());
+            for (Pair<SqlgVertex, Map<String, Object>> upsert : upsertEntry.getValue().values()) {
+                vertices.add(upsert.getLeft());
+                SortedSet<String> keys = new TreeSet<>(upsert.getRight().keySet());
+                groups.putIfAbsent(keys, groups.size());
+                allKeys.addAll(keys);
+            }
+            Map<String, PropertyType> columns = new LinkedHashMap<>();
+            for (String key : allKeys) {
+                columns.put(key, propertyTypeMap.get(key));
+            }
+            Map<String, PropertyType> tmpColumns = new LinkedHashMap<>(columns);
+            tmpColumns.put(UPSERT_GROUP, PropertyType.INTEGER);
+            tmpColumns.put(UPSERT_ROW, PropertyType.INTEGER);
 
-                StringBuilder sql = new StringBuilder();
-                sql.append("COPY ");
-                sql.append(maybeWrapInQoutes(metaEdge.getSchemaTable().getSchema()));
+            SecureRandom random = new SecureRandom();
+            byte bytes[] = new byte[6];
+            random.nextBytes(bytes);
+            String tmpTableIdentified = SchemaManager.BULK_TEMP_UPSERT + Base64.getEncoder().encodeToString(bytes);
+            sqlgGraph.getTopology().createTempTable(tmpTableIdentified, tmpColumns);
+
+            String copySql = copyFromStdinSql(tmpTableIdentified, sqlColumnNames(tmpColumns));
+            if (logger.isDebugEnabled()) {
+                logger.debug(copySql);
+            }
+            long start = sqlgGraph.getMetrics().isEnabled() ? System.nanoTime() : 0L;
+            try (Writer writer = streamSql(sqlgGraph, copySql)) {
+                int row = 0;
+                for (Pair<SqlgVertex, Map<String, Object>> upsert : upsertEntry.getValue().values()) {
+                    Map<String, Object> keyValueMap = upsert.getRight();
+                    writeUpsertRow(writer, columns, keyValueMap, groups.get(new TreeSet<>(keyValueMap.keySet())), row++);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            if (sqlgGraph.getMetrics().isEnabled()) {
+                sqlgGraph.getMetrics().statement(StatementKind.COPY, System.nanoTime() - start);
+            }
+
+            StringBuilder sql = new StringBuilder();
+            for (Map.Entry<SortedSet<String>, Integer> group : groups.entrySet()) {
+                Map<String, PropertyType> groupColumns = new LinkedHashMap<>();
+                for (String key : group.getKey()) {
+                    groupColumns.put(key, propertyTypeMap.get(key));
+                }
+                List<String> columnNames = sqlColumnNames(groupColumns);
+                sql.append("INSERT INTO ");
+                sql.append(maybeWrapInQoutes(schemaTable.getSchema()));
                 sql.append(".");
-                sql.append(maybeWrapInQoutes(EDGE_PREFIX + metaEdge.getSchemaTable().getTable()));
+                sql.append(maybeWrapInQoutes(VERTEX_PREFIX + schemaTable.getTable()));
                 sql.append(" (");
-                for (Triple<SqlgVertex, SqlgVertex, Map<String, Object>> triple : triples.getRight().values()) {
-                    int count = 1;
-                    sql.append(maybeWrapInQoutes(triple.getLeft().getSchema() + "." + triple.getLeft().getTable() + SchemaManager.OUT_VERTEX_COLUMN_END));
-                    sql.append(", ");
-                    sql.append(maybeWrapInQoutes(triple.getMiddle().getSchema() + "." + triple.getMiddle().getTable() + SchemaManager.IN_VERTEX_COLUMN_END));
-                    for (String key : triples.getLeft()) {
-                        if (count <= triples.getLeft().size()) {
-                            sql.append(", ");
-                        }
-                        count++;
-                        appendKeyForStream(propertyTypeMap.get(key), sql, key);
-                    }
-                    break;
+                appendColumnNames(sql, columnNames);
+                sql.append(") SELECT ");
+                appendColumnNames(sql, columnNames);
+                sql.append(" FROM ");
+                sql.append(maybeWrapInQoutes(tmpTableIdentified));
+                if (groups.size() > 1) {
+                    sql.append(" WHERE ");
+                    sql.append(maybeWrapInQoutes(UPSERT_GROUP));
+                    sql.append(" = ");
+                    sql.append(group.getValue());
                 }
-                sql.append(") ");
+                appendOnConflict(sql, uniqueKeys, columnNames);
+                sql.append(";\n");
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug(sql.toString());
+            }
+            start = sqlgGraph.getMetrics().isEnabled() ? System.nanoTime() : 0L;
+            Connection conn = sqlgGraph.tx().getConnection();
+            try (Statement statement = conn.createStatement()) {
+                statement.execute(sql.toString());
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+            if (sqlgGraph.getMetrics().isEnabled()) {
+                sqlgGraph.getMetrics().statement(StatementKind.INSERT, System.nanoTime() - start);
+            }
 
-                sql.append(" FROM stdin CSV DELIMITER '");
-                sql.append(COPY_COMMAND_DELIMITER);
-                sql.append("' ");
-                sql.append("QUOTE ");
-                sql.append(COPY_COMMAND_QUOTE);
-                sql.append(" ESCAPE '");
-                sql.append(ESCAPE);
-                sql.append("';");
-                if (logger.isDebugEnabled()) {
-                    logger.debug(sql.toString());
-                }
-                long numberInserted = 0;
-                try (Writer writer = streamSql(sqlgGraph, sql.toString())) {
-                    for (Map.Entry<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> sqlgEdgeTripleEntry : triples.getRight().entrySet()) {
-                        SqlgEdge sqlgEdge = sqlgEdgeTripleEntry.getKey();
-                        Triple<SqlgVertex, SqlgVertex, Map<String, Object>> outInVertexKeyValueMap = sqlgEdgeTripleEntry.getValue();
-                        LinkedHashMap<String, Object> values = new LinkedHashMap<>();
-                        for (String key : triples.getLeft()) {
-                            values.put(key, outInVertexKeyValueMap.getRight().get(key));
-                        }
-                        writeStreamingEdge(writer, sqlgEdge, outInVertexKeyValueMap.getLeft(), outInVertexKeyValueMap.getMiddle(), values);
-                        numberInserted++;
+            //the unique keys are single column properties
+            StringBuilder idSql = new StringBuilder("SELECT t.");
+            idSql.append(maybeWrapInQoutes(SchemaManager.ID));
+            idSql.append(", u.");
+            idSql.append(maybeWrapInQoutes(UPSERT_ROW));
+            idSql.append(" FROM ");
+            idSql.append(maybeWrapInQoutes(schemaTable.getSchema()));
+            idSql.append(".");
+            idSql.append(maybeWrapInQoutes(VERTEX_PREFIX + schemaTable.getTable()));
+            idSql.append(" t JOIN ");
+            idSql.append(maybeWrapInQoutes(tmpTableIdentified));
+            idSql.append(" u ON ");
+            for (int i = 0; i < uniqueKeys.size(); i++) {
+                if (i > 0) {
+                    idSql.append(" AND ");
+                }
+                idSql.append("t.");
+                idSql.append(maybeWrapInQoutes(uniqueKeys.get(i)));
+                idSql.append(" = u.");
+                idSql.append(maybeWrapInQoutes(uniqueKeys.get(i)));
+            }
+            idSql.append(";\nDROP TABLE ");
+            idSql.append(maybeWrapInQoutes(tmpTableIdentified));
+            idSql.append(";");
+            if (logger.isDebugEnabled()) {
+                logger.debug(idSql.toString());
+            }
+            start = sqlgGraph.getMetrics().isEnabled() ? System.nanoTime() : 0L;
+            try (Statement statement = conn.createStatement()) {
+                statement.execute(idSql.toString());
+                try (ResultSet resultSet = statement.getResultSet()) {
+                    while (resultSet.next()) {
+                        vertices.get(resultSet.getInt(2)).setInternalPrimaryKey(RecordId.from(schemaTable, resultSet.getLong(1)));
                     }
                 }
-                long endHigh;
-                try (PreparedStatement preparedStatement = con.prepareStatement(
-                        "SELECT CURRVAL('\"" + metaEdge.getSchemaTable().getSchema() + "\".\"" +
-                                EDGE_PREFIX + metaEdge.getSchemaTable().getTable() + "_ID_seq\"');")) {
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+            if (sqlgGraph.getMetrics().isEnabled()) {
+                sqlgGraph.getMetrics().statement(StatementKind.QUERY, System.nanoTime() - start);
+            }
+        }
+    }
 
-                    ResultSet resultSet = preparedStatement.executeQuery();
-                    resultSet.next();
-                    endHigh = resultSet.getLong(1);
-                    resultSet.close();
+    /**
+     * Writes the row's values in the order of the columns followed by its group and its row number.
+     * A missing or null value is a null for each of the property's sql columns.
+     */
+    private void writeUpsertRow(Writer writer, Map<String, PropertyType> columns, Map<String, Object> keyValueMap, int group, int row) throws IOException {
+        for (Map.Entry<String, PropertyType> column : columns.entrySet()) {
+            Object value = keyValueMap.get(column.getKey());
+            if (value == null) {
+                for (int i = 0; i < propertyTypeToSqlDefinition(column.getValue()).length; i++) {
+                    writer.write(getBatchNull());
+                    writer.write(COPY_COMMAND_DELIMITER);
                 }
-                //set the id on the vertex
-                long id = endHigh - numberInserted + 1;
-                for (SqlgEdge sqlgEdge : triples.getRight().keySet()) {
-                    sqlgEdge.setInternalPrimaryKey(RecordId.from(metaEdge.getSchemaTable(), id++));
+            } else {
+                valueToStreamBytes(writer, PropertyType.from(value), value);
+                writer.write(COPY_COMMAND_DELIMITER);
+            }
+        }
+        writer.write(Integer.toString(group));
+        writer.write(COPY_COMMAND_DELIMITER);
+        writer.write(Integer.toString(row));
+        writer.write("\n");
+    }
+
+    private String copyFromStdinSql(String table, List<String> columnNames) {
+        StringBuilder copySql = new StringBuilder("COPY ");
+        copySql.append(maybeWrapInQoutes(table));
+        copySql.append(" (");
+        appendColumnNames(copySql, columnNames);
+        copySql.append(") FROM stdin CSV DELIMITER '");
+        copySql.append(COPY_COMMAND_DELIMITER);
+        copySql.append("' QUOTE ");
+        copySql.append(COPY_COMMAND_QUOTE);
+        copySql.append(" ESCAPE '");
+        copySql.append(ESCAPE);
+        copySql.append("' NULL'");
+        copySql.append(BATCH_NULL);
+        copySql.append("';");
+        return copySql.toString();
+    }
+
+    private void appendColumnNames(StringBuilder sql, List<String> columnNames) {
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(maybeWrapInQoutes(columnNames.get(i)));
+        }
+    }
+
+    /**
+     * Updates the columns that are not unique keys. Without any the unique keys are set to themselves,
+     * DO NOTHING would not return the existing row's id.
+     */
+    private void appendOnConflict(StringBuilder sql, List<String> uniqueKeys, List<String> columnNames) {
+        sql.append(" ON CONFLICT (");
+        appendColumnNames(sql, uniqueKeys);
+        sql.append(") DO UPDATE SET ");
+        List<String> updateColumns = new ArrayList<>(columnNames);
+        updateColumns.removeAll(uniqueKeys);
+        if (updateColumns.isEmpty()) {
+            updateColumns = uniqueKeys;
+        }
+        for (int i = 0; i < updateColumns.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(maybeWrapInQoutes(updateColumns.get(i)));
+            sql.append(" = EXCLUDED.");
+            sql.append(maybeWrapInQoutes(updateColumns.get(i)));
+        }
+    }
+
+    @Override
+    public void flushEdgeCache(SqlgGraph sqlgGraph, Map<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> edgeCache) {
+        try {
+            BatchManager batchManager = sqlgGraph.tx().getBatchManager();
+            if (batchManager.isPipelinedFlush() && edgeCache.size() > 1) {
+                //the copy commands need the topology and the ids the connection so they are constructed on this thread.
+                List<MetaEdge> metaEdges = new ArrayList<>(edgeCache.keySet());
+                Map<MetaEdge, String> sqls = new HashMap<>();
+                for (MetaEdge metaEdge : metaEdges) {
+                    sqls.put(metaEdge, constructCopyCommandSqlEdge(sqlgGraph, metaEdge, edgeCache.get(metaEdge)));
+                    assignEdgeIds(sqlgGraph, metaEdge, edgeCache.get(metaEdge));
+                }
+                try (PipelinedEncoder<MetaEdge> encoder = new PipelinedEncoder<>(metaEdges, batchManager.getPipelinedFlushBuffer(), batchManager.getPipelinedFlushChunkRows(),
+                        (metaEdge, writer) -> writeEdgeRows(writer, edgeCache.get(metaEdge), writer::endRow))) {
+                    while (encoder.hasNext()) {
+                        MetaEdge metaEdge = encoder.next();
+                        long start = sqlgGraph.getMetrics().isEnabled() ? System.nanoTime() : 0L;
+                        try (Writer writer = streamSql(sqlgGraph, sqls.get(metaEdge))) {
+                            encoder.writeRows(writer);
+                        }
+                        if (sqlgGraph.getMetrics().isEnabled()) {
+                            sqlgGraph.getMetrics().statement(StatementKind.COPY, System.nanoTime() - start);
+                        }
+                    }
+                }
+            } else {
+                for (MetaEdge metaEdge : edgeCache.keySet()) {
+                    Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> triples = edgeCache.get(metaEdge);
+                    String sql = constructCopyCommandSqlEdge(sqlgGraph, metaEdge, triples);
+                    assignEdgeIds(sqlgGraph, metaEdge, triples);
+                    long start = sqlgGraph.getMetrics().isEnabled() ? System.nanoTime() : 0L;
+                    try (Writer writer = streamSql(sqlgGraph, sql)) {
+                        writeEdgeRows(writer, triples, () -> {
+                        });
+                    }
+                    if (sqlgGraph.getMetrics().isEnabled()) {
+                        sqlgGraph.getMetrics().statement(StatementKind.COPY, System.nanoTime() - start);
+                    }
                 }
             }
         } catch (Exception e) {
@@ -410,6 +673,75 @@ public class PostgresDialect extends BaseSqlDialect {
         }
     }
 
+    private String constructCopyCommandSqlEdge(SqlgGraph sqlgGraph, MetaEdge metaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> triples) {
+        Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(metaEdge.getSchemaTable().withPrefix(EDGE_PREFIX));
+        StringBuilder sql = new StringBuilder();
+        sql.append("COPY ");
+        sql.append(maybeWrapInQoutes(metaEdge.getSchemaTable().getSchema()));
+        sql.append(".");
+        sql.append(maybeWrapInQoutes(EDGE_PREFIX + metaEdge.getSchemaTable().getTable()));
+        sql.append(" (");
+        sql.append(maybeWrapInQoutes(SchemaManager.ID));
+        sql.append(", ");
+        for (Triple<SqlgVertex, SqlgVertex, Map<String, Object>> triple : triples.getRight().values()) {
+            int count = 1;
+            sql.append(maybeWrapInQoutes(triple.getLeft().getSchema() + "." + triple.getLeft().getTable() + SchemaManager.OUT_VERTEX_COLUMN_END));
+            sql.append(", ");
+            sql.append(maybeWrapInQoutes(triple.getMiddle().getSchema() + "." + triple.getMiddle().getTable() + SchemaManager.IN_VERTEX_COLUMN_END));
+            for (String key : triples.getLeft()) {
+                if (count <= triples.getLeft().size()) {
+                    sql.append(", ");
+                }
+                count++;
+                appendKeyForStream(propertyTypeMap.get(key), sql, key);
+            }
+            break;
+        }
+        sql.append(") ");
+
+        sql.append(" FROM stdin CSV DELIMITER '");
+        sql.append(COPY_COMMAND_DELIMITER);
+        sql.append("' ");
+        sql.append("QUOTE ");
+        sql.append(COPY_COMMAND_QUOTE);
+        sql.append(" ESCAPE '");
+        sql.append(ESCAPE);
+        sql.append("';");
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql.toString());
+        }
+        return sql.toString();
+    }
+
+    /**
+     * @param rowWritten called after every row.
+     */
+    private int writeEdgeRows(Writer writer, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> triples, Runnable rowWritten) {
+        int numberInserted = 0;
+        for (Map.Entry<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> sqlgEdgeTripleEntry : triples.getRight().entrySet()) {
+            SqlgEdge sqlgEdge = sqlgEdgeTripleEntry.getKey();
+            Triple<SqlgVertex, SqlgVertex, Map<String, Object>> outInVertexKeyValueMap = sqlgEdgeTripleEntry.getValue();
+            LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+            for (String key : triples.getLeft()) {
+                values.put(key, outInVertexKeyValueMap.getRight().get(key));
+            }
+            writeStreamingEdge(writer, ((RecordId) sqlgEdge.id()).getId(), sqlgEdge, outInVertexKeyValueMap.getLeft(), outInVertexKeyValueMap.getMiddle(), values);
+            rowWritten.run();
+            numberInserted++;
+        }
+        return numberInserted;
+    }
+
+    private void assignEdgeIds(SqlgGraph sqlgGraph, MetaEdge metaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> triples) {
+        if (!triples.getRight().isEmpty()) {
+            long[] ids = reserveIds(sqlgGraph, metaEdge.getSchemaTable(), EDGE_PREFIX, triples.getRight().size());
+            int index = 0;
+            for (SqlgEdge sqlgEdge : triples.getRight().keySet()) {
+                sqlgEdge.setInternalPrimaryKey(RecordId.from(metaEdge.getSchemaTable(), ids[index++]));
+            }
+        }
+    }
+
     //TODO this does not call ensureVertexColumnExist
 //    @Override
     public void flushEdgeCacheOld(SqlgGraph sqlgGraph, Map<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> edgeCache) {
@@ -1200,11 +1532,16 @@ public class PostgresDialect extends BaseSqlDialect {
     private <T extends SqlgElement> void flushElementPropertyCache(SqlgGraph sqlgGraph, boolean forVertices, Map<SchemaTable, Pair<SortedSet<String>, Map<T, Map<String, Object>>>> schemaVertexPropertyCache) {
 
         Connection conn = sqlgGraph.tx().getConnection();
+        int copyThreshold = sqlgGraph.configuration().getInt(BATCH_UPDATE_COPY_THRESHOLD, DEFAULT_BATCH_UPDATE_COPY_THRESHOLD);
         for (SchemaTable schemaTable : schemaVertexPropertyCache.keySet()) {
 
             Pair<SortedSet<String>, Map<T, Map<String, Object>>> vertexKeysPropertyCache = schemaVertexPropertyCache.get(schemaTable);
             SortedSet<String> keys = vertexKeysPropertyCache.getLeft();
             Map<? extends SqlgElement, Map<String, Object>> vertexPropertyCache = vertexKeysPropertyCache.getRight();
+            if (vertexPropertyCache.size() >= copyThreshold) {
+                copyElementPropertyCache(sqlgGraph, forVertices, schemaTable, keys, vertexPropertyCache);
+                continue;
+            }
 
             StringBuilder sql = new StringBuilder();
             sql.append("UPDATE ");
@@ -1286,6 +1623,99 @@ public class PostgresDialect extends BaseSqlDialect {
 
     }
 
+    /**
+     * Copies the ids and the updated properties into a temporary table and updates the label with one UPDATE ... FROM join,
+     * instead of inlining every value in the statement.
+     */
+    private void copyElementPropertyCache(SqlgGraph sqlgGraph, boolean forVertices, SchemaTable schemaTable, SortedSet<String> keys, Map<? extends SqlgElement, Map<String, Object>> elementPropertyCache) {
+        Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(schemaTable.withPrefix(forVertices ? VERTEX_PREFIX : EDGE_PREFIX));
+        Map<String, PropertyType> columns = new LinkedHashMap<>();
+        for (String key : keys) {
+            columns.put(key, propertyTypeMap.get(key));
+        }
+        List<String> columnNames = sqlColumnNames(columns);
+
+        SecureRandom random = new SecureRandom();
+        byte bytes[] = new byte[6];
+        random.nextBytes(bytes);
+        String tmpTableIdentified = SchemaManager.BULK_TEMP_UPDATE + Base64.getEncoder().encodeToString(bytes);
+        sqlgGraph.getTopology().createTempTable(tmpTableIdentified, columns);
+
+        List<String> copyColumnNames = new ArrayList<>(columnNames.size() + 1);
+        copyColumnNames.add(SchemaManager.ID);
+        copyColumnNames.addAll(columnNames);
+        String copySql = copyFromStdinSql(tmpTableIdentified, copyColumnNames);
+        if (logger.isDebugEnabled()) {
+            logger.debug(copySql);
+        }
+        long start = sqlgGraph.getMetrics().isEnabled() ? System.nanoTime() : 0L;
+        try (Writer writer = streamSql(sqlgGraph, copySql)) {
+            for (Map.Entry<? extends SqlgElement, Map<String, Object>> elementEntry : elementPropertyCache.entrySet()) {
+                SqlgElement sqlgElement = elementEntry.getKey();
+                writer.write(((RecordId) sqlgElement.id()).getId().toString());
+                for (Map.Entry<String, PropertyType> column : columns.entrySet()) {
+                    String key = column.getKey();
+                    Object value = elementEntry.getValue().get(key);
+                    if (value == null && sqlgElement.property(key).isPresent()) {
+                        value = sqlgElement.value(key);
+                    }
+                    if (value == null) {
+                        //a null writes every column of the property, multi column types included
+                        for (int i = 0; i < propertyTypeToSqlDefinition(column.getValue()).length; i++) {
+                            writer.write(COPY_COMMAND_DELIMITER);
+                            writer.write(getBatchNull());
+                        }
+                    } else {
+                        writer.write(COPY_COMMAND_DELIMITER);
+                        valueToStreamBytes(writer, PropertyType.from(value), value);
+                    }
+                }
+                writer.write("\n");
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        if (sqlgGraph.getMetrics().isEnabled()) {
+            sqlgGraph.getMetrics().statement(StatementKind.COPY, System.nanoTime() - start);
+        }
+
+        StringBuilder sql = new StringBuilder("UPDATE ");
+        sql.append(maybeWrapInQoutes(schemaTable.getSchema()));
+        sql.append(".");
+        sql.append(maybeWrapInQoutes((forVertices ? VERTEX_PREFIX : EDGE_PREFIX) + schemaTable.getTable()));
+        sql.append(" a SET ");
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(maybeWrapInQoutes(columnNames.get(i)));
+            sql.append(" = v.");
+            sql.append(maybeWrapInQoutes(columnNames.get(i)));
+        }
+        sql.append(" FROM ");
+        sql.append(maybeWrapInQoutes(tmpTableIdentified));
+        sql.append(" v WHERE a.");
+        sql.append(maybeWrapInQoutes(SchemaManager.ID));
+        sql.append(" = v.");
+        sql.append(maybeWrapInQoutes(SchemaManager.ID));
+        sql.append(";\nDROP TABLE ");
+        sql.append(maybeWrapInQoutes(tmpTableIdentified));
+        sql.append(";");
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql.toString());
+        }
+        start = sqlgGraph.getMetrics().isEnabled() ? System.nanoTime() : 0L;
+        Connection conn = sqlgGraph.tx().getConnection();
+        try (Statement statement = conn.createStatement()) {
+            statement.execute(sql.toString());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        if (sqlgGraph.getMetrics().isEnabled()) {
+            sqlgGraph.getMetrics().statement(StatementKind.UPDATE, System.nanoTime() - start);
+        }
+    }
+
     @Override
     public String constructCompleteCopyCommandTemporarySqlVertex(SqlgGraph sqlgGraph, SqlgVertex vertex, Map<String, Object> keyValueMap) {
         return internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, true, vertex, keyValueMap);
@@ -1296,16 +1726,24 @@ public class PostgresDialect extends BaseSqlDialect {
         return internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, false, vertex, keyValueMap);
     }
 
+    @Override
+    public String constructCompleteCopyCommandSqlVertexWithId(SqlgGraph sqlgGraph, SqlgVertex vertex, Map<String, Object> keyValueMap) {
+        return internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, false, true, vertex.getSchema(), vertex.getTable(), keyValueMap.keySet());
+    }
+
     @Override
     public String constructCompleteCopyCommandSqlVertex(SqlgGraph sqlgGraph, String schema, String table, Set<String> keys) {
-        return internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, false, schema, table, keys);
+        return internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, false, false, schema, table, keys);
     }
 
     private String internalConstructCompleteCopyCommandSqlVertex(SqlgGraph sqlgGraph, boolean isTemp, SqlgVertex vertex, Map<String, Object> keyValueMap) {
-        return internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, isTemp, vertex.getSchema(), vertex.getTable(), keyValueMap.keySet());
+        return internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, isTemp, false, vertex.getSchema(), vertex.getTable(), keyValueMap.keySet());
     }
 
-    private String internalConstructCompleteCopyCommandSqlVertex(SqlgGraph sqlgGraph, boolean isTemp, String schema, String table, Set<String> keys) {
+    /**
+     * @param withId the ID is copied as the first column, the ids are reserved with {@link #reserveIds(SqlgGraph, SchemaTable, String, int)}.
+     */
+    private String internalConstructCompleteCopyCommandSqlVertex(SqlgGraph sqlgGraph, boolean isTemp, boolean withId, String schema, String table, Set<String> keys) {
         Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(SchemaTable.of((!isTemp ? schema : ""), VERTEX_PREFIX + table));
         StringBuilder sql = new StringBuilder();
         sql.append("COPY ");
@@ -1315,6 +1753,10 @@ public class PostgresDialect extends BaseSqlDialect {
         }
         sql.append(maybeWrapInQoutes(VERTEX_PREFIX + table));
         sql.append(" (");
+        if (withId) {
+            sql.append(maybeWrapInQoutes(SchemaManager.ID));
+            sql.append(", ");
+        }
         if (keys.isEmpty()) {
             //copy command needs at least one field.
             //check if the dummy field exist, if not createVertexLabel it
@@ -1356,6 +1798,15 @@ public class PostgresDialect extends BaseSqlDialect {
 
     @Override
     public String constructCompleteCopyCommandSqlEdge(SqlgGraph sqlgGraph, SqlgEdge sqlgEdge, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) {
+        return internalConstructCompleteCopyCommandSqlEdge(sqlgGraph, false, sqlgEdge, outVertex, inVertex, keyValueMap);
+    }
+
+    @Override
+    public String constructCompleteCopyCommandSqlEdgeWithId(SqlgGraph sqlgGraph, SqlgEdge sqlgEdge, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) {
+        return internalConstructCompleteCopyCommandSqlEdge(sqlgGraph, true, sqlgEdge, outVertex, inVertex, keyValueMap);
+    }
+
+    private String internalConstructCompleteCopyCommandSqlEdge(SqlgGraph sqlgGraph, boolean withId, SqlgEdge sqlgEdge, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) {
         Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(SchemaTable.of(sqlgEdge.getSchema(), EDGE_PREFIX + sqlgEdge.getTable()));
         StringBuilder sql = new StringBuilder();
         sql.append("COPY ");
@@ -1363,6 +1814,10 @@ public class PostgresDialect extends BaseSqlDialect {
         sql.append(".");
         sql.append(maybeWrapInQoutes(EDGE_PREFIX + sqlgEdge.getTable()));
         sql.append(" (");
+        if (withId) {
+            sql.append(maybeWrapInQoutes(SchemaManager.ID));
+            sql.append(", ");
+        }
         sql.append(maybeWrapInQoutes(outVertex.getSchema() + "." + outVertex.getTable() + SchemaManager.OUT_VERTEX_COLUMN_END));
         sql.append(", ");
         sql.append(maybeWrapInQoutes(inVertex.getSchema() + "." + inVertex.getTable() + SchemaManager.IN_VERTEX_COLUMN_END));
@@ -1493,6 +1948,28 @@ public class PostgresDialect extends BaseSqlDialect {
         }
     }
 
+    @Override
+    public void writeStreamingVertex(Writer writer, long id, Map<String, Object> keyValueMap) {
+        try {
+            writer.write(Long.toString(id));
+            writer.write(COPY_COMMAND_DELIMITER);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        writeStreamingVertex(writer, keyValueMap);
+    }
+
+    @Override
+    public void writeStreamingEdge(Writer writer, long id, SqlgEdge sqlgEdge, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) {
+        try {
+            writer.write(Long.toString(id));
+            writer.write(COPY_COMMAND_DELIMITER);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        writeStreamingEdge(writer, sqlgEdge, outVertex, inVertex, keyValueMap);
+    }
+
     @Override
     public void writeStreamingEdge(Writer writer, SqlgEdge sqlgEdge, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) {
         try {
@@ -2048,45 +2525,6 @@ public class PostgresDialect extends BaseSqlDialect {
     }
 
 
-    private InputStream mapVertexToInputStream(Map<String, PropertyType> propertyTypeMap, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> vertexCache) throws SQLException {
-        //String str = "2,peter\n3,john";
-        StringBuilder sb = new StringBuilder();
-        int count = 1;
-        for (SqlgVertex sqlgVertex : vertexCache.getRight().keySet()) {
-            Map<String, Object> triple = vertexCache.getRight().get(sqlgVertex);
-            //set the internal batch id to be used with inserting batch edges
-            if (!vertexCache.getLeft().isEmpty()) {
-                int countKeys = 1;
-                for (String key : vertexCache.getLeft()) {
-                    PropertyType propertyType = propertyTypeMap.get(key);
-                    if (countKeys > 1 && countKeys <= vertexCache.getLeft().size()) {
-                        sb.append(COPY_COMMAND_DELIMITER);
-                    }
-                    countKeys++;
-                    Object value = triple.get(key);
-                    switch (propertyType) {
-                        case BYTE_ARRAY:
-                            String valueOfArrayAsString = PGbytea.toPGString((byte[]) SqlgUtil.convertByteArrayToPrimitiveArray((Byte[]) value));
-                            sb.append(valueOfArrayAsString);
-                            break;
-                        case byte_ARRAY:
-                            valueOfArrayAsString = PGbytea.toPGString((byte[]) value);
-                            sb.append(valueOfArrayAsString);
-                            break;
-                        default:
-                            sb.append(valueToStreamString(propertyType, value));
-                    }
-                }
-            } else {
-                sb.append("0");
-            }
-            if (count++ < vertexCache.getRight().size()) {
-                sb.append("\n");
-            }
-        }
-        return new ByteArrayInputStream(sb.toString().getBytes());
-    }
-
     private InputStream mapEdgeToInputStream(Map<String, PropertyType> propertyTypeMap, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> edgeCache) throws SQLException {
         StringBuilder sb = new StringBuilder();
         int count = 1;
@@ -2674,13 +3112,8 @@ public class PostgresDialect extends BaseSqlDialect {
                 properties.put(columnName, ((PGgeometry) o).getGeometry());
                 break;
             case JSON:
-                ObjectMapper objectMapper = new ObjectMapper();
-                try {
-                    JsonNode jsonNode = objectMapper.readTree(((PGobject) o).getValue());
-                    properties.put(columnName, jsonNode);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
+                //parsed on first access
+                properties.put(columnName, SqlgJson.lazy(((PGobject) o).getValue()));
                 break;
             case BYTE_ARRAY:
                 java.sql.Array array = (java.sql.Array) o;
@@ -2758,9 +3191,18 @@ public class PostgresDialect extends BaseSqlDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsJsonPredicates() {
+        return true;
+    }
+
     @Override
     public Writer streamSql(SqlgGraph sqlgGraph, String sql) {
-        C3P0ProxyConnection conn = (C3P0ProxyConnection) sqlgGraph.tx().getConnection();
+        return streamSql(sqlgGraph.tx().getConnection(), sql);
+    }
+
+    @Override
+    public Writer streamSql(Connection conn, String sql) {
         PGConnection pgConnection;
         try {
             pgConnection = conn.unwrap(PGConnection.class);
@@ -2771,6 +3213,92 @@ public class PostgresDialect extends BaseSqlDialect {
         }
     }
 
+    @Override
+    public String constructCompleteCopyCommandSqlBulkLoad(SqlgGraph sqlgGraph, SchemaTable schemaTable, List<String> internalColumns, Set<String> keys) {
+        Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(schemaTable);
+        StringBuilder sql = new StringBuilder();
+        sql.append("COPY ");
+        sql.append(maybeWrapInQoutes(schemaTable.getSchema()));
+        sql.append(".");
+        sql.append(maybeWrapInQoutes(schemaTable.getTable()));
+        sql.append(" (");
+        int count = 1;
+        for (String internalColumn : internalColumns) {
+            if (count++ > 1) {
+                sql.append(", ");
+            }
+            sql.append(maybeWrapInQoutes(internalColumn));
+        }
+        for (String key : keys) {
+            if (count++ > 1) {
+                sql.append(", ");
+            }
+            appendKeyForStream(propertyTypeMap.get(key), sql, key);
+        }
+        sql.append(")");
+        sql.append(" FROM stdin CSV DELIMITER '");
+        sql.append(COPY_COMMAND_DELIMITER);
+        sql.append("' ");
+        sql.append("QUOTE ");
+        sql.append(COPY_COMMAND_QUOTE);
+        sql.append(" ESCAPE '");
+        sql.append(ESCAPE);
+        sql.append("'");
+        sql.append(" NULL'");
+        sql.append(BATCH_NULL);
+        sql.append("';");
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql.toString());
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public List<String> dropIndexesAndForeignKeys(SqlgGraph sqlgGraph, SchemaTable schemaTable) {
+        String table = maybeWrapInQoutes(schemaTable.getSchema()) + "." + maybeWrapInQoutes(schemaTable.getTable());
+        List<String> drops = new ArrayList<>();
+        List<String> creates = new ArrayList<>();
+        Connection conn = sqlgGraph.tx().getConnection();
+        String foreignKeys = "SELECT c.conname, pg_get_constraintdef(c.oid) FROM pg_constraint c " +
+                "JOIN pg_class t ON c.conrelid = t.oid JOIN pg_namespace n ON t.relnamespace = n.oid " +
+                "WHERE n.nspname = ? AND t.relname = ? AND c.contype = 'f';";
+        String indexes = "SELECT i.relname, pg_get_indexdef(i.oid) FROM pg_index x " +
+                "JOIN pg_class i ON i.oid = x.indexrelid JOIN pg_class t ON t.oid = x.indrelid JOIN pg_namespace n ON t.relnamespace = n.oid " +
+                "WHERE n.nspname = ? AND t.relname = ? AND NOT x.indisprimary AND NOT x.indisunique " +
+                "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = x.indexrelid);";
+        try {
+            try (PreparedStatement preparedStatement = conn.prepareStatement(foreignKeys)) {
+                preparedStatement.setString(1, schemaTable.getSchema());
+                preparedStatement.setString(2, schemaTable.getTable());
+                ResultSet resultSet = preparedStatement.executeQuery();
+                while (resultSet.next()) {
+                    drops.add("ALTER TABLE " + table + " DROP CONSTRAINT " + maybeWrapInQoutes(resultSet.getString(1)) + ";");
+                    creates.add("ALTER TABLE " + table + " ADD CONSTRAINT " + maybeWrapInQoutes(resultSet.getString(1)) + " " + resultSet.getString(2) + ";");
+                }
+            }
+            try (PreparedStatement preparedStatement = conn.prepareStatement(indexes)) {
+                preparedStatement.setString(1, schemaTable.getSchema());
+                preparedStatement.setString(2, schemaTable.getTable());
+                ResultSet resultSet = preparedStatement.executeQuery();
+                while (resultSet.next()) {
+                    drops.add("DROP INDEX " + maybeWrapInQoutes(schemaTable.getSchema()) + "." + maybeWrapInQoutes(resultSet.getString(1)) + ";");
+                    creates.add(resultSet.getString(2) + ";");
+                }
+            }
+            for (String drop : drops) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug(drop);
+                }
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute(drop);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return creates;
+    }
+
     @Override
     public InputStream inputStreamSql(SqlgGraph sqlgGraph, String sql) {
         C3P0ProxyConnection conn = (C3P0ProxyConnection) sqlgGraph.tx().getConnection();
@@ -2979,6 +3507,39 @@ public class PostgresDialect extends BaseSqlDialect {
         return result;
     }
 
+    @Override
+    public boolean supportsIdReservation() {
+        return true;
+    }
+
+    /**
+     * Every NEXTVAL is atomic so concurrent transactions never receive the same id, no lock is taken.
+     * The ids ascend but are not necessarily contiguous when other transactions use the sequence at the same time.
+     */
+    @Override
+    public long[] reserveIds(SqlgGraph sqlgGraph, SchemaTable schemaTable, String prefix, int count) {
+        Preconditions.checkArgument(prefix.equals(VERTEX_PREFIX) || prefix.equals(EDGE_PREFIX), "prefix must be " + VERTEX_PREFIX + " or " + EDGE_PREFIX);
+        long[] result = new long[count];
+        Connection conn = sqlgGraph.tx().getConnection();
+        String sql = "SELECT NEXTVAL('\"" + schemaTable.getSchema() + "\".\"" + prefix + schemaTable.getTable() + "_ID_seq\"') FROM generate_series(1, ?);";
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql);
+        }
+        try (PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
+            preparedStatement.setInt(1, count);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                int index = 0;
+                while (resultSet.next()) {
+                    result[index++] = resultSet.getLong(1);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
     @Override
     public String sequenceName(SqlgGraph sqlgGraph, SchemaTable outSchemaTable, String prefix) {
         Preconditions.checkArgument(prefix.equals(VERTEX_PREFIX) || prefix.equals(EDGE_PREFIX), "prefix must be " + VERTEX_PREFIX + " or " + EDGE_PREFIX);
@@ -3178,15 +3739,9 @@ public class PostgresDialect extends BaseSqlDialect {
                 arrayAsString = arrayAsString.substring(0, arrayAsString.length() - 1);
                 String[] jsons = arrayAsString.split("\",\"");
                 JsonNode[] jsonNodes = new JsonNode[jsons.length];
-                ObjectMapper objectMapper = new ObjectMapper();
                 int count = 0;
                 for (String json : jsons) {
-                    try {
-                        JsonNode jsonNode = objectMapper.readTree(json);
-                        jsonNodes[count++] = jsonNode;
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
+                    jsonNodes[count++] = SqlgJson.readTree(json);
                 }
                 return jsonNodes;
             default:
@@ -3383,63 +3938,79 @@ public class PostgresDialect extends BaseSqlDialect {
 
         @Override
         public void run() {
-            try {
-                Connection connection = this.sqlgGraph.tx().getConnection();
-                while (run.get()) {
+            long backoff = NOTIFICATION_MIN_BACKOFF;
+            boolean listening = false;
+            while (run.get()) {
+                try {
+                    Connection connection = this.sqlgGraph.tx().getConnection();
                     PGConnection pgConnection = connection.unwrap(org.postgresql.PGConnection.class);
-                    Statement stmt = connection.createStatement();
-                    stmt.execute("LISTEN " + SQLG_NOTIFICATION_CHANNEL);
-                    stmt.close();
+                    try (Statement stmt = connection.createStatement()) {
+                        stmt.execute("LISTEN " + SQLG_NOTIFICATION_CHANNEL);
+                    }
                     connection.commit();
-                    this.semaphore.release();
-                    // issue a dummy query to contact the backend
-                    // and receive any pending notifications.
-                    stmt = connection.createStatement();
-                    ResultSet rs = stmt.executeQuery("SELECT 1");
-                    rs.close();
-                    stmt.close();
-                    //Does not work while in a transaction.
-                    connection.rollback();
-                    PGNotification notifications[] = pgConnection.getNotifications();
-                    if (notifications != null) {
-                        for (int i = 0; i < notifications.length; i++) {
-                            int pid = notifications[i].getPID();
-                            String notify = notifications[i].getParameter();
-                            LocalDateTime timestamp = LocalDateTime.parse(notify, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-                            PostgresDialect.this.executorService.submit(() -> {
-                                try {
-                                    Topology topology = this.sqlgGraph.getTopology();
-                                    //It is possible for the topology to be null when a notification is received just
-                                    // after the connection pool is setup but before the topology is created.
-                                    if (topology != null) {
-                                        topology.fromNotifyJson(pid, timestamp);
-                                    }
-                                } catch (Exception e) {
-                                    // we may get InterruptedException when we shut down
-                                    if (run.get()) {
-                                        logger.error("Error in Postgresql notification", e);
-                                    }
-                                } finally {
-                                    this.sqlgGraph.tx().rollback();
-                                }
-                            });
+                    if (!listening) {
+                        listening = true;
+                        this.semaphore.release();
+                    } else {
+                        //Notifications are not queued for a connection that is not listening, load the logs that were missed.
+                        submit(Topology::fromNotifyJsonSinceLastNotification);
+                    }
+                    backoff = NOTIFICATION_MIN_BACKOFF;
+                    while (run.get()) {
+                        //Blocks on the socket till a notification arrives, the timeout is only there to check if we should stop.
+                        PGNotification notifications[] = pgConnection.getNotifications(NOTIFICATION_TIMEOUT);
+                        if (notifications != null) {
+                            for (PGNotification notification : notifications) {
+                                int pid = notification.getPID();
+                                LocalDateTime timestamp = LocalDateTime.parse(notification.getParameter(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                                submit(topology -> topology.fromNotifyJson(pid, timestamp));
+                            }
                         }
                     }
-                    Thread.sleep(500);
-                }
-                this.sqlgGraph.tx().rollback();
-            } catch (SQLException e) {
-                logger.error(String.format("change listener on graph %s error", this.sqlgGraph.toString()), e);
-                this.sqlgGraph.tx().rollback();
-                throw new RuntimeException(e);
-            } catch (InterruptedException e) {
-                if (run.get()) {
-                    logger.warn(String.format("change listener on graph %s interrupted.", this.sqlgGraph.toString()));
+                    this.sqlgGraph.tx().rollback();
+                } catch (SQLException | RuntimeException e) {
+                    if (!run.get()) {
+                        break;
+                    }
+                    logger.error(String.format("change listener on graph %s error, reconnecting in %d ms", this.sqlgGraph.toString(), backoff), e);
+                    try {
+                        this.sqlgGraph.tx().rollback();
+                    } catch (RuntimeException e1) {
+                        logger.debug("rollback of the change listener's broken connection failed", e1);
+                    }
+                    try {
+                        Thread.sleep(backoff);
+                    } catch (InterruptedException e1) {
+                        if (run.get()) {
+                            logger.warn(String.format("change listener on graph %s interrupted.", this.sqlgGraph.toString()));
+                        }
+                        //swallow
+                        return;
+                    }
+                    backoff = Math.min(backoff * 2, NOTIFICATION_MAX_BACKOFF);
                 }
-                this.sqlgGraph.tx().rollback();
-                //swallow
             }
         }
+
+        private void submit(Consumer<Topology> notification) {
+            PostgresDialect.this.executorService.submit(() -> {
+                try {
+                    Topology topology = this.sqlgGraph.getTopology();
+                    //It is possible for the topology to be null when a notification is received just
+                    // after the connection pool is setup but before the topology is created.
+                    if (topology != null) {
+                        notification.accept(topology);
+                    }
+                } catch (Exception e) {
+                    // we may get InterruptedException when we shut down
+                    if (run.get()) {
+                        logger.error("Error in Postgresql notification", e);
+                    }
+                } finally {
+                    this.sqlgGraph.tx().rollback();
+                }
+            });
+        }
     }
 
     /**
@@ -3474,4 +4045,135 @@ public class PostgresDialect extends BaseSqlDialect {
     	}
     	return "to_tsvector('"+fullText.getConfiguration()+"', "+leftHand+") @@ "+toQuery+"('"+fullText.getConfiguration()+"',?)";
     }
+
+    @Override
+    public String getStoredFullTextQueryText(FullText fullText, String tsvectorColumn) {
+        String toQuery = fullText.isPlain() ? "plainto_tsquery" : "to_tsquery";
+        return tsvectorColumn + " @@ " + toQuery + "('" + fullText.getConfiguration() + "',?)";
+    }
+
+    /**
+     * The generated column needs postgresql 12, to_tsvector is only immutable with an explicit configuration.
+     */
+    @Override
+    public String addStoredFullTextColumn(String schema, String table, String column, String configuration, List<String> properties) {
+        Preconditions.checkArgument(configuration != null, "A stored full text index needs a configuration.");
+        StringBuilder sql = new StringBuilder("ALTER TABLE ");
+        sql.append(maybeWrapInQoutes(schema));
+        sql.append(".");
+        sql.append(maybeWrapInQoutes(table));
+        sql.append(" ADD COLUMN ");
+        sql.append(maybeWrapInQoutes(column));
+        sql.append(" tsvector GENERATED ALWAYS AS (to_tsvector('").append(configuration).append("', ");
+        int count = 1;
+        for (String property : properties) {
+            sql.append("coalesce(").append(maybeWrapInQoutes(property)).append(", '')");
+            if (count++ < properties.size()) {
+                sql.append(" || ' ' || ");
+            }
+        }
+        sql.append(")) STORED");
+        return sql.toString();
+    }
+
+    @Override
+    public String getFullTextRankText(FullText.Rank rank, String column) {
+        FullText fullText = rank.getFullText();
+        String toQuery = fullText.isPlain() ? "plainto_tsquery" : "to_tsquery";
+        return "ts_rank(to_tsvector('" + fullText.getConfiguration() + "', " + column + "), " +
+                toQuery + "('" + fullText.getConfiguration() + "', " + quoteLiteral(rank.getValue()) + ")) DESC";
+    }
+
+    @Override
+    public String getJsonQueryText(Json json, String column) {
+        switch (json.getOperator()) {
+            case PATH_EQUALS:
+                if (json.getPath().size() == 1) {
+                    return column + " ->> " + quoteLiteral(json.getPath().get(0)) + " = ?";
+                } else {
+                    StringBuilder path = new StringBuilder("{");
+                    int count = 1;
+                    for (String element : json.getPath()) {
+                        path.append("\"").append(element.replace("\\", "\\\\").replace("\"", "\\\"")).append("\"");
+                        if (count++ < json.getPath().size()) {
+                            path.append(",");
+                        }
+                    }
+                    path.append("}");
+                    return column + " #>> " + quoteLiteral(path.toString()) + " = ?";
+                }
+            case CONTAINS:
+                return column + " @> ?";
+            case PATH_EXISTS:
+                return "jsonb_path_exists(" + column + ", CAST(? AS jsonpath))";
+            default:
+                throw new IllegalStateException("Unhandled json operator " + json.getOperator().name());
+        }
+    }
+
+    @Override
+    public boolean supportsTrigramIndex() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsConcurrentIndexBuild() {
+        return true;
+    }
+
+    @Override
+    public void dropInvalidIndex(Connection connection, String schema, String indexName) throws SQLException {
+        boolean invalid;
+        try (PreparedStatement preparedStatement = connection.prepareStatement(
+                "SELECT NOT i.indisvalid FROM pg_index i " +
+                        "JOIN pg_class c ON c.oid = i.indexrelid " +
+                        "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                        "WHERE n.nspname = ? AND c.relname = ?")) {
+            preparedStatement.setString(1, schema);
+            preparedStatement.setString(2, indexName);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                invalid = resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+        if (invalid) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP INDEX CONCURRENTLY " + maybeWrapInQoutes(schema) + "." + maybeWrapInQoutes(indexName));
+            }
+        }
+    }
+
+    @Override
+    public String createTrigramExtension() {
+        return "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+    }
+
+    @Override
+    public boolean supportsArrayPredicates() {
+        return true;
+    }
+
+    /**
+     * anyEquals is written as containment of a one element array so that it too can use a GIN index.
+     * The parameter is cast to the column's type as the array operators do not coerce varchar[] to text[].
+     */
+    @Override
+    public String getArrayQueryText(ArrayPredicate arrayPredicate, Object value, String column) {
+        String type = propertyTypeToSqlDefinition(PropertyType.from(value))[0];
+        switch (arrayPredicate) {
+            case contains:
+                return column + " @> CAST(? AS " + type + ")";
+            case overlaps:
+                return column + " && CAST(? AS " + type + ")";
+            case containedBy:
+                return column + " <@ CAST(? AS " + type + ")";
+            case anyEquals:
+                return column + " @> ARRAY[CAST(? AS " + type + ")]";
+            default:
+                throw new IllegalStateException("Unhandled array predicate " + arrayPredicate.name());
+        }
+    }
+
+    private static String quoteLiteral(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
 }
@@ -0,0 +1,97 @@
+package org.umlg.sqlg.test.gis;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Assert;
+import org.junit.Test;
+import org.postgis.LinearRing;
+import org.postgis.Point;
+import org.postgis.Polygon;
+import org.umlg.sqlg.gis.GeographyPoint;
+import org.umlg.sqlg.gis.Geo;
+import org.umlg.sqlg.structure.IndexType;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.VertexLabel;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Date: 2017/05/21
+ * Time: 5:20 PM
+ */
+public class TestGeoPredicates extends BaseTest {
+
+    private static final GeographyPoint JOHANNESBURG = new GeographyPoint(28.0473, -26.2041);
+    private static final GeographyPoint PRETORIA = new GeographyPoint(28.1881, -25.7461);
+    private static final GeographyPoint DURBAN = new GeographyPoint(31.0218, -29.8587);
+    private static final GeographyPoint CAPE_TOWN = new GeographyPoint(18.4241, -33.9249);
+
+    @Test
+    public void testWithinDistanceAndNearest() {
+        addCities();
+        List<String> near = this.sqlgGraph.traversal().V().hasLabel("City")
+                .has("location", Geo.withinDistance(JOHANNESBURG, 100_000))
+                .<String>values("name").toList().stream().sorted().collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList("johannesburg", "pretoria"), near);
+        List<String> nearest = this.sqlgGraph.traversal().V().hasLabel("City")
+                .order().by("location", Geo.distanceFrom(JOHANNESBURG))
+                .limit(3)
+                .<String>values("name").toList();
+        Assert.assertEquals(Arrays.asList("johannesburg", "pretoria", "durban"), nearest);
+    }
+
+    @Test
+    public void testBoundingBox() {
+        addCities();
+        List<String> names = this.sqlgGraph.traversal().V().hasLabel("City")
+                .has("location", Geo.boundingBox(27, -27, 32, -25))
+                .<String>values("name").toList().stream().sorted().collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList("johannesburg", "pretoria"), names);
+    }
+
+    @Test
+    public void testPolygonContainsAndIntersects() {
+        Polygon square = new Polygon(new LinearRing[]{new LinearRing(new Point[]{
+                new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(0, 10), new Point(0, 0)})});
+        this.sqlgGraph.addVertex(T.label, "Area", "name", "square", "area", square);
+        this.sqlgGraph.addVertex(T.label, "Spot", "name", "inside", "spot", new Point(5, 5));
+        this.sqlgGraph.addVertex(T.label, "Spot", "name", "outside", "spot", new Point(15, 5));
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("Area").has("area", Geo.contains(new Point(5, 5))).count().next(), 0);
+        Assert.assertEquals(0, this.sqlgGraph.traversal().V().hasLabel("Area").has("area", Geo.contains(new Point(15, 5))).count().next(), 0);
+        Assert.assertEquals("inside", this.sqlgGraph.traversal().V().hasLabel("Spot").has("spot", Geo.intersects(square)).values("name").next());
+        Assert.assertEquals("inside", this.sqlgGraph.traversal().V().hasLabel("Spot").has("spot", Geo.boundingBox(0, 0, 10, 10, 0)).values("name").next());
+    }
+
+    @Test
+    public void testGistIndex() {
+        VertexLabel cityVertexLabel = this.sqlgGraph.getTopology().ensureVertexLabelExist("City", Collections.singletonMap("location", PropertyType.GEOGRAPHY_POINT));
+        cityVertexLabel.ensureIndexExists(IndexType.GIST, Collections.singletonList(cityVertexLabel.getProperty("location").get()));
+        this.sqlgGraph.tx().commit();
+        addCities();
+        Assert.assertEquals(IndexType.GIST, cityVertexLabel.getIndexes().values().iterator().next().getIndexType());
+        Assert.assertEquals("durban", this.sqlgGraph.traversal().V().hasLabel("City")
+                .order().by("location", Geo.distanceFrom(new GeographyPoint(30.9, -29.8)))
+                .limit(1).values("name").next());
+    }
+
+    @Test
+    public void testInMemoryEvaluation() {
+        Assert.assertTrue(Geo.withinDistance(JOHANNESBURG, 60_000).test(PRETORIA));
+        Assert.assertFalse(Geo.withinDistance(JOHANNESBURG, 40_000).test(PRETORIA));
+        Assert.assertTrue(Geo.boundingBox(27, -27, 32, -25).test(JOHANNESBURG));
+        Assert.assertFalse(Geo.boundingBox(27, -27, 32, -25).test(CAPE_TOWN));
+        Assert.assertTrue(Geo.distanceFrom(JOHANNESBURG).compare(PRETORIA, DURBAN) < 0);
+    }
+
+    private void addCities() {
+        this.sqlgGraph.addVertex(T.label, "City", "name", "johannesburg", "location", JOHANNESBURG);
+        this.sqlgGraph.addVertex(T.label, "City", "name", "pretoria", "location", PRETORIA);
+        this.sqlgGraph.addVertex(T.label, "City", "name", "durban", "location", DURBAN);
+        this.sqlgGraph.addVertex(T.label, "City", "name", "cape town", "location", CAPE_TOWN);
+        this.sqlgGraph.tx().commit();
+    }
+}
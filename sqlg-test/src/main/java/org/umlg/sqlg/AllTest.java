@@ -13,18 +13,25 @@ import org.umlg.sqlg.test.graph.TestEmptyGraph;
 import org.umlg.sqlg.test.graph.TestGraphStepWithIds;
 import org.umlg.sqlg.test.gremlincompile.*;
 import org.umlg.sqlg.test.index.TestIndex;
+import org.umlg.sqlg.test.index.TestIndexAsync;
 import org.umlg.sqlg.test.index.TestIndexTopologyTraversal;
+import org.umlg.sqlg.test.index.TestTrigramIndex;
 import org.umlg.sqlg.test.json.JsonTest;
 import org.umlg.sqlg.test.json.TestJsonUpdate;
+import org.umlg.sqlg.test.json.TestJsonPredicates;
 import org.umlg.sqlg.test.labels.TestLabelsSchema;
 import org.umlg.sqlg.test.labels.TestMultipleLabels;
 import org.umlg.sqlg.test.localdate.LocalDateTest;
 import org.umlg.sqlg.test.memory.TestMemoryUsage;
+import org.umlg.sqlg.test.metrics.TestMetrics;
 import org.umlg.sqlg.test.mod.*;
+import org.umlg.sqlg.test.properties.TestArrayPredicates;
 import org.umlg.sqlg.test.properties.TestEscapedValues;
 import org.umlg.sqlg.test.remove.TestRemoveEdge;
 import org.umlg.sqlg.test.rollback.TestRollback;
 import org.umlg.sqlg.test.schema.*;
+import org.umlg.sqlg.test.topology.TestLazyTopology;
+import org.umlg.sqlg.test.topology.TestSchemaChange;
 import org.umlg.sqlg.test.topology.TestTopologyChangeListener;
 import org.umlg.sqlg.test.topology.TestTopologyMultipleGraphs;
 import org.umlg.sqlg.test.topology.TestTopologyUpgrade;
@@ -167,7 +174,23 @@ import org.umlg.sqlg.test.vertexstep.localvertexstep.*;
         TestSqlgSchema.class,
         TestValidateTopology.class,
         TestBatchNormalUpdateDateTimeArrays.class,
-        TestTopologyChangeListener.class
+        TestTopologyChangeListener.class,
+        TestMetrics.class,
+        TestBatchPipelinedFlush.class,
+        TestBatchBudget.class,
+        TestBatchColumnar.class,
+        TestBulkLoader.class,
+        TestJsonPredicates.class,
+        TestArrayPredicates.class,
+        TestTrigramIndex.class,
+        TestGremlinCompileDedup.class,
+        TestKeysetPagination.class,
+        TestLazyTopology.class,
+        TestSchemaChange.class,
+        TestIndexAsync.class,
+        TestBatchStreamingInsert.class,
+        TestUpsertVertex.class,
+        TestBatchStreamingIdReservation.class
 })
 public class AllTest {
 }
@@ -0,0 +1,91 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.structure.RecordId;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Date: 2017/05/14
+ * Time: 3:12 PM
+ */
+public class TestBatchBudget extends BaseTest {
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+    }
+
+    @Test
+    public void testElementBudgetFlushes() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        this.sqlgGraph.tx().batchBudget(100, 0);
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            vertices.add(this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i));
+        }
+        //the first 200 have been flushed and have ids
+        for (int i = 0; i < 200; i++) {
+            Assert.assertNotNull(vertices.get(i).id());
+        }
+        Assert.assertNull(vertices.get(249).id());
+        Assert.assertEquals(50, this.sqlgGraph.tx().getBatchManager().getPendingElements());
+        this.sqlgGraph.tx().commit();
+        Set<Object> ids = new HashSet<>();
+        for (Vertex vertex : vertices) {
+            Assert.assertTrue(ids.add(vertex.id()));
+        }
+        Assert.assertEquals(250, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        Assert.assertEquals("a123", this.sqlgGraph.traversal().V(vertices.get(123).id()).next().value("name"));
+    }
+
+    @Test
+    public void testByteBudgetFlushesEdgesAfterVertices() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        this.sqlgGraph.tx().batchBudget(0, 10_000);
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "aaaaaaaaaaaaaaaaaaaa" + i);
+            Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "bbbbbbbbbbbbbbbbbbbb" + i);
+            edges.add(a.addEdge("ab", b, "name", "ab" + i));
+            Assert.assertTrue(this.sqlgGraph.tx().getBatchManager().getPendingBytes() < 10_000);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1000, this.sqlgGraph.traversal().E().hasLabel("ab").count().next(), 0);
+        Edge edge = this.sqlgGraph.traversal().E(edges.get(500).id()).next();
+        Assert.assertEquals("ab500", edge.value("name"));
+        Assert.assertEquals("aaaaaaaaaaaaaaaaaaaa500", edge.outVertex().value("name"));
+        Assert.assertEquals("bbbbbbbbbbbbbbbbbbbb500", edge.inVertex().value("name"));
+    }
+
+    @Test
+    public void testBudgetWithUpdatesAndRemoves() {
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add(this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i));
+        }
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        this.sqlgGraph.tx().batchBudget(10, 0);
+        for (int i = 0; i < 50; i++) {
+            vertices.get(i).property("name", "b" + i);
+        }
+        for (int i = 50; i < 100; i++) {
+            vertices.get(i).remove();
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(50, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        Assert.assertEquals("b7", this.sqlgGraph.traversal().V(vertices.get(7).id()).next().value("name"));
+        Assert.assertTrue(vertices.get(7).id() instanceof RecordId);
+    }
+}
@@ -0,0 +1,126 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Date: 2017/05/16
+ * Time: 9:40 PM
+ */
+public class TestBatchColumnar extends BaseTest {
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+    }
+
+    @Test
+    public void testPrimitiveColumnsWithNulls() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            if (i % 3 == 0) {
+                vertices.add(this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i, "age", i, "weight", (double) i, "flag", i % 2 == 0));
+            } else if (i % 3 == 1) {
+                vertices.add(this.sqlgGraph.addVertex(T.label, "A", "age", i, "count", (long) i));
+            } else {
+                vertices.add(this.sqlgGraph.addVertex(T.label, "A"));
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(100, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        for (int i = 0; i < 100; i++) {
+            Vertex vertex = this.sqlgGraph.traversal().V(vertices.get(i).id()).next();
+            if (i % 3 == 0) {
+                Assert.assertEquals("a" + i, vertex.value("name"));
+                Assert.assertEquals(i, vertex.<Integer>value("age").intValue());
+                Assert.assertEquals(i, vertex.<Double>value("weight"), 0);
+                Assert.assertEquals(i % 2 == 0, vertex.value("flag"));
+                Assert.assertFalse(vertex.property("count").isPresent());
+            } else if (i % 3 == 1) {
+                Assert.assertFalse(vertex.property("name").isPresent());
+                Assert.assertEquals(i, vertex.<Integer>value("age").intValue());
+                Assert.assertEquals(i, vertex.<Long>value("count").longValue());
+            } else {
+                Assert.assertFalse(vertex.property("age").isPresent());
+                Assert.assertFalse(vertex.property("flag").isPresent());
+            }
+        }
+    }
+
+    @Test
+    public void testUpdateAndRemovePendingVertices() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add(this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i, "age", i));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            vertices.get(i).property("age", i * 10);
+            vertices.get(i).property("surname", "s" + i);
+        }
+        for (int i = 1; i < 100; i += 4) {
+            vertices.get(i).property("name").remove();
+        }
+        for (int i = 3; i < 100; i += 4) {
+            vertices.get(i).remove();
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(75, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        for (int i = 0; i < 100; i++) {
+            if (i % 4 == 3) {
+                continue;
+            }
+            Vertex vertex = this.sqlgGraph.traversal().V(vertices.get(i).id()).next();
+            if (i % 2 == 0) {
+                Assert.assertEquals(i * 10, vertex.<Integer>value("age").intValue());
+                Assert.assertEquals("s" + i, vertex.value("surname"));
+                Assert.assertEquals("a" + i, vertex.value("name"));
+            } else {
+                Assert.assertEquals(i, vertex.<Integer>value("age").intValue());
+                Assert.assertFalse(vertex.property("surname").isPresent());
+                Assert.assertFalse(vertex.property("name").isPresent());
+            }
+        }
+    }
+
+    @Test
+    public void testRemovedPendingVertexIsNotFlushedWithEdges() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "A", "name", "a3");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        a1.addEdge("ab", b);
+        a2.addEdge("ab", b);
+        a3.addEdge("ab", b);
+        a2.remove();
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        Assert.assertEquals(2, this.sqlgGraph.traversal().E().hasLabel("ab").count().next(), 0);
+        Assert.assertEquals("a3", this.sqlgGraph.traversal().V(a3.id()).next().value("name"));
+        Assert.assertEquals("b", this.sqlgGraph.traversal().V(a3.id()).out("ab").values("name").next());
+    }
+
+    @Test
+    public void testManyRowsGrowTheColumns() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            vertices.add(this.sqlgGraph.addVertex(T.label, "A", "index", i, "value", (long) i * 1000L));
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(10_000, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        Vertex vertex = this.sqlgGraph.traversal().V(vertices.get(9_999).id()).next();
+        Assert.assertEquals(9_999, vertex.<Integer>value("index").intValue());
+        Assert.assertEquals(9_999_000L, vertex.<Long>value("value").longValue());
+    }
+}
@@ -10,6 +10,11 @@ import org.umlg.sqlg.test.BaseTest;
 
 import java.beans.PropertyVetoException;
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.lang.Thread.sleep;
 
@@ -568,4 +573,60 @@ public class TestBatchNormalUpdate extends BaseTest {
         Assert.assertEquals(Double.valueOf("2.2"), e1.value("name"));
     }
 
+    //more elements than the dialect's copy threshold, postgres updates them from a copied temporary table
+    @Test
+    public void testUpdateManyVertices() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            vertices.add(this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i, "surname", "s" + i, "age", i));
+        }
+        this.sqlgGraph.tx().commit();
+        ZonedDateTime zonedDateTime = ZonedDateTime.of(LocalDateTime.of(2017, 1, 1, 1, 1), ZoneId.of("Africa/Johannesburg"));
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (int i = 0; i < vertices.size(); i++) {
+            Vertex vertex = vertices.get(i);
+            vertex.property("name", "aa" + i);
+            if (i % 2 == 0) {
+                vertex.property("age", i * 2);
+                vertex.property("zoned", zonedDateTime);
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(2_000, this.sqlgGraph.traversal().V().hasLabel("A").has("name").count().next(), 0);
+        for (int i = 0; i < vertices.size(); i += 99) {
+            Vertex vertex = this.sqlgGraph.traversal().V(vertices.get(i).id()).next();
+            Assert.assertEquals("aa" + i, vertex.value("name"));
+            Assert.assertEquals("s" + i, vertex.value("surname"));
+            if (i % 2 == 0) {
+                Assert.assertEquals(i * 2, vertex.<Integer>value("age"), 0);
+                Assert.assertEquals(zonedDateTime, vertex.value("zoned"));
+            } else {
+                Assert.assertEquals(i, vertex.<Integer>value("age"), 0);
+                Assert.assertFalse(vertex.property("zoned").isPresent());
+            }
+        }
+    }
+
+    @Test
+    public void testUpdateManyEdges() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A");
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Vertex b = this.sqlgGraph.addVertex(T.label, "B");
+            edges.add(a.addEdge("ab", b, "weight", i));
+        }
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (int i = 0; i < edges.size(); i++) {
+            edges.get(i).property("weight", i + 1);
+        }
+        this.sqlgGraph.tx().commit();
+        for (int i = 0; i < edges.size(); i += 99) {
+            Edge edge = this.sqlgGraph.traversal().E(edges.get(i).id()).next();
+            Assert.assertEquals(i + 1, edge.<Integer>value("weight"), 0);
+        }
+    }
+
 }
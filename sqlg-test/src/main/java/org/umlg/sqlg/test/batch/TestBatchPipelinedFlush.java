@@ -0,0 +1,98 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.test.BaseTest;
+import org.umlg.sqlg.util.PipelinedEncoder;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test {@link PipelinedEncoder} and flushing in normal batch mode with a pipelined flush.
+ */
+public class TestBatchPipelinedFlush extends BaseTest {
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+    }
+
+    @Test
+    public void testPipelinedEncoderKeepsOrder() {
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            keys.add(i);
+        }
+        //the key is the number of rows, the rows are handed off in chunks of 7 rows
+        try (PipelinedEncoder<Integer> encoder = new PipelinedEncoder<>(keys, 1, 7, (key, writer) -> {
+            for (int row = 0; row < key; row++) {
+                writer.write(key + ":" + row + "\n");
+                writer.endRow();
+            }
+        })) {
+            int count = 0;
+            while (encoder.hasNext()) {
+                Assert.assertEquals(count, encoder.next().intValue());
+                StringWriter writer = new StringWriter();
+                Assert.assertEquals(count, encoder.writeRows(writer));
+                StringBuilder expected = new StringBuilder();
+                for (int row = 0; row < count; row++) {
+                    expected.append(count).append(":").append(row).append("\n");
+                }
+                Assert.assertEquals(expected.toString(), writer.toString());
+                count++;
+            }
+            Assert.assertEquals(100, count);
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testPipelinedEncoderFailure() throws IOException {
+        try (PipelinedEncoder<String> encoder = new PipelinedEncoder<>(Arrays.asList("a", "b"), 2, 1, (key, writer) -> {
+            if (key.equals("b")) {
+                throw new IOException("b");
+            }
+            writer.write(key);
+            writer.endRow();
+        })) {
+            encoder.next();
+            encoder.writeRows(new StringWriter());
+            encoder.next();
+        }
+    }
+
+    @Test
+    public void testPipelinedFlush() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        this.sqlgGraph.tx().pipelinedFlush(true);
+        List<Vertex> as = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i);
+            Vertex c = this.sqlgGraph.addVertex(T.label, "C", "name", "c" + i, "age", i);
+            a.addEdge("ab", b, "weight", i);
+            a.addEdge("ac", c);
+            as.add(a);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1000, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        Assert.assertEquals(1000, this.sqlgGraph.traversal().V().hasLabel("B").count().next(), 0);
+        Assert.assertEquals(1000, this.sqlgGraph.traversal().V().hasLabel("C").count().next(), 0);
+        Assert.assertEquals(1000, this.sqlgGraph.traversal().E().hasLabel("ab").count().next(), 0);
+        Assert.assertEquals(1000, this.sqlgGraph.traversal().E().hasLabel("ac").count().next(), 0);
+        for (int i = 0; i < 1000; i += 100) {
+            Vertex a = this.sqlgGraph.traversal().V(as.get(i).id()).next();
+            Assert.assertEquals("a" + i, a.value("name"));
+            Assert.assertEquals("b" + i, this.sqlgGraph.traversal().V(a).out("ab").values("name").next());
+            Assert.assertEquals(i, this.sqlgGraph.traversal().V(a).out("ac").values("age").next());
+        }
+    }
+}
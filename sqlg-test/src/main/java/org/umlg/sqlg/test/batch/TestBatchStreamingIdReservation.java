@@ -0,0 +1,122 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.structure.RecordId;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Streaming with lock on a dialect that reserves ids, the table is not locked.
+ */
+public class TestBatchStreamingIdReservation extends BaseTest {
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsIdReservation());
+    }
+
+    @Test
+    public void testReservedIdsAreTheVertexIds() {
+        this.sqlgGraph.tx().streamingWithLockBatchModeOn();
+        Map<Object, String> idNames = new LinkedHashMap<>();
+        LinkedHashMap<String, Object> properties = new LinkedHashMap<>();
+        //crosses the id block size
+        for (int i = 0; i < 2_500; i++) {
+            properties.put("name", "john" + i);
+            Vertex v = this.sqlgGraph.addVertex("Person", properties);
+            idNames.put(v.id(), "john" + i);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(2_500, idNames.size());
+        Assert.assertEquals(2_500, this.sqlgGraph.traversal().V().hasLabel("Person").count().next().intValue());
+        for (Map.Entry<Object, String> idName : idNames.entrySet()) {
+            Assert.assertEquals(idName.getValue(), this.sqlgGraph.traversal().V(idName.getKey()).next().value("name"));
+        }
+    }
+
+    @Test
+    public void testReservedIdsWithoutProperties() {
+        this.sqlgGraph.tx().streamingWithLockBatchModeOn();
+        List<Object> ids = new ArrayList<>();
+        for (int i = 0; i < 1_500; i++) {
+            ids.add(this.sqlgGraph.addVertex(T.label, "Person").id());
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1_500, this.sqlgGraph.traversal().V(ids).count().next().intValue());
+    }
+
+    @Test
+    public void testReservedIdsAreTheEdgeIds() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A");
+        List<Vertex> bs = new ArrayList<>();
+        for (int i = 0; i < 1_500; i++) {
+            bs.add(this.sqlgGraph.addVertex(T.label, "B"));
+        }
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().streamingWithLockBatchModeOn();
+        Map<Object, Integer> idWeights = new HashMap<>();
+        for (int i = 0; i < bs.size(); i++) {
+            Edge edge = a.addEdge("ab", bs.get(i), "weight", i);
+            idWeights.put(edge.id(), i);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1_500, idWeights.size());
+        for (Map.Entry<Object, Integer> idWeight : idWeights.entrySet()) {
+            Assert.assertEquals(idWeight.getValue(), this.sqlgGraph.traversal().E(idWeight.getKey()).next().value("weight"));
+        }
+    }
+
+    @Test
+    public void testConcurrentStreamsIntoTheSameLabel() throws Exception {
+        //create the label up front, the streams only insert rows
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "john", "thread", 0);
+        this.sqlgGraph.tx().commit();
+        int threads = 4;
+        int count = 2_000;
+        //every stream waits until all of them have written rows, with a table lock they would block each other
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int t = 1; t <= threads; t++) {
+            int thread = t;
+            futures.add(executorService.submit(() -> {
+                List<Long> ids = new ArrayList<>();
+                try {
+                    this.sqlgGraph.tx().streamingWithLockBatchModeOn();
+                    LinkedHashMap<String, Object> properties = new LinkedHashMap<>();
+                    for (int i = 0; i < count; i++) {
+                        properties.put("name", "john" + i);
+                        properties.put("thread", thread);
+                        ids.add(((RecordId) this.sqlgGraph.addVertex("Person", properties).id()).getId());
+                        if (i == count / 2) {
+                            barrier.await(30, TimeUnit.SECONDS);
+                        }
+                    }
+                    this.sqlgGraph.tx().commit();
+                } catch (Exception e) {
+                    this.sqlgGraph.tx().rollback();
+                    throw e;
+                }
+                return ids;
+            }));
+        }
+        Set<Long> allIds = new HashSet<>();
+        for (Future<List<Long>> future : futures) {
+            allIds.addAll(future.get(2, TimeUnit.MINUTES));
+        }
+        executorService.shutdown();
+        Assert.assertEquals(threads * count, allIds.size());
+        Assert.assertEquals(threads * count + 1, this.sqlgGraph.traversal().V().hasLabel("Person").count().next().intValue());
+        for (int t = 1; t <= threads; t++) {
+            Assert.assertEquals(count, this.sqlgGraph.traversal().V().hasLabel("Person").has("thread", t).count().next().intValue());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.sql.dialect.InsertStreamWriter;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.SqlgVertex;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Streaming batch mode on every dialect that supports it, including the dialects that stream through {@link InsertStreamWriter}.
+ * The row counts cross the writer's jdbc batch size.
+ */
+public class TestBatchStreamingInsert extends BaseTest {
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStreamingBatchMode());
+    }
+
+    @Test
+    public void testStreamVertices() {
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        LinkedHashMap<String, Object> properties = new LinkedHashMap<>();
+        for (int i = 0; i < 2_500; i++) {
+            properties.put("name", "john" + i);
+            properties.put("age", i);
+            properties.put("createdOn", LocalDateTime.of(2017, 1, 1, 1, 1));
+            properties.put("zoned", ZonedDateTime.of(2017, 1, 1, 1, 1, 1, 0, ZonedDateTime.now().getZone()));
+            this.sqlgGraph.streamVertex("Person", properties);
+            properties.clear();
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(2_500, this.sqlgGraph.traversal().V().hasLabel("Person").count().next().intValue());
+        Vertex john = this.sqlgGraph.traversal().V().hasLabel("Person").has("name", "john1001").next();
+        Assert.assertEquals(1001, (int) john.value("age"));
+        Assert.assertEquals(LocalDateTime.of(2017, 1, 1, 1, 1), john.value("createdOn"));
+    }
+
+    @Test
+    public void testStreamNullMultiColumnProperty() {
+        ZonedDateTime zoned = ZonedDateTime.of(2017, 1, 1, 1, 1, 1, 0, ZonedDateTime.now().getZone());
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "john", "zoned", zoned);
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        LinkedHashMap<String, Object> properties = new LinkedHashMap<>();
+        for (int i = 0; i < 1_500; i++) {
+            properties.put("name", "john" + i);
+            //a ZonedDateTime is more than one column, a null binds a null for each of them
+            properties.put("zoned", i % 2 == 0 ? null : zoned);
+            this.sqlgGraph.streamVertex("Person", properties);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1_501, this.sqlgGraph.traversal().V().hasLabel("Person").count().next().intValue());
+        Assert.assertFalse(this.sqlgGraph.traversal().V().hasLabel("Person").has("name", "john0").next().property("zoned").isPresent());
+        Assert.assertEquals(zoned, this.sqlgGraph.traversal().V().hasLabel("Person").has("name", "john1").next().value("zoned"));
+    }
+
+    @Test
+    public void testStreamVerticesWithoutProperties() {
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        for (int i = 0; i < 1_500; i++) {
+            this.sqlgGraph.streamVertex("Person");
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1_500, this.sqlgGraph.traversal().V().hasLabel("Person").count().next().intValue());
+    }
+
+    @Test
+    public void testFlushBetweenLabels() {
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        LinkedHashMap<String, Object> properties = new LinkedHashMap<>();
+        properties.put("name", "john");
+        for (int i = 0; i < 1_200; i++) {
+            this.sqlgGraph.streamVertex("Person", properties);
+        }
+        this.sqlgGraph.tx().flush();
+        for (int i = 0; i < 800; i++) {
+            this.sqlgGraph.streamVertex("Dog", properties);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1_200, this.sqlgGraph.traversal().V().hasLabel("Person").count().next().intValue());
+        Assert.assertEquals(800, this.sqlgGraph.traversal().V().hasLabel("Dog").count().next().intValue());
+    }
+
+    @Test
+    public void testStreamEdges() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        for (int i = 0; i < 1_100; i++) {
+            this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i);
+        }
+        this.sqlgGraph.tx().commit();
+        List<Vertex> bs = this.sqlgGraph.traversal().V().hasLabel("B").toList();
+
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        LinkedHashMap<String, Object> properties = new LinkedHashMap<>();
+        for (Vertex b : bs) {
+            properties.put("weight", 1.5D);
+            ((SqlgVertex) a).streamEdge("ab", b, properties);
+            properties.clear();
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1_100, this.sqlgGraph.traversal().V(a).out("ab").count().next().intValue());
+        Assert.assertEquals(1.5D, this.sqlgGraph.traversal().V(a).outE("ab").next().value("weight"), 0D);
+    }
+
+    @Test
+    public void testStreamTemporaryVertices() throws SQLException {
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        for (int i = 0; i < 1_500; i++) {
+            this.sqlgGraph.streamTemporaryVertex("halo", new LinkedHashMap<String, Object>() {{
+                put("this", "that");
+            }});
+        }
+        this.sqlgGraph.tx().flush();
+        int count = 0;
+        Connection conn = this.sqlgGraph.tx().getConnection();
+        try (PreparedStatement s = conn.prepareStatement("select * from " + this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("V_halo"))) {
+            ResultSet resultSet = s.executeQuery();
+            while (resultSet.next()) {
+                count++;
+                Assert.assertEquals("that", resultSet.getString(2));
+            }
+        }
+        Assert.assertEquals(1_500, count);
+        this.sqlgGraph.tx().commit();
+    }
+
+    @Test
+    public void testBatchRowsConfiguration() throws Exception {
+        configuration.setProperty(InsertStreamWriter.BATCH_ROWS, 7);
+        try (SqlgGraph sqlgGraph1 = SqlgGraph.open(configuration)) {
+            sqlgGraph1.tx().streamingBatchModeOn();
+            LinkedHashMap<String, Object> properties = new LinkedHashMap<>();
+            properties.put("name", "john");
+            for (int i = 0; i < 100; i++) {
+                sqlgGraph1.streamVertex("Person", properties);
+            }
+            sqlgGraph1.tx().commit();
+            Assert.assertEquals(100, sqlgGraph1.traversal().V().hasLabel("Person").count().next().intValue());
+        } finally {
+            configuration.clearProperty(InsertStreamWriter.BATCH_ROWS);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.structure.*;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.*;
+
+/**
+ * Date: 2017/05/18
+ * Time: 9:05 PM
+ */
+public class TestBulkLoader extends BaseTest {
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+    }
+
+    @Test
+    public void testBulkLoadVerticesAndEdges() {
+        Map<String, PropertyType> personColumns = new LinkedHashMap<>();
+        personColumns.put("name", PropertyType.STRING);
+        personColumns.put("age", PropertyType.INTEGER);
+        List<Map<String, Object>> persons = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("name", "p" + i);
+            if (i % 2 == 0) {
+                row.put("age", i);
+            }
+            persons.add(row);
+        }
+        try (BulkLoader bulkLoader = this.sqlgGraph.bulkLoader().connections(3).chunkSize(150).create()) {
+            List<Pair<Long, Long>> ranges = bulkLoader.addVertices("Person", personColumns, persons.iterator());
+            Assert.assertEquals(7, ranges.size());
+            List<Long> ids = ids(ranges);
+            Assert.assertEquals(1000, ids.size());
+
+            List<Triple<Long, Long, Map<String, Object>>> knows = new ArrayList<>();
+            for (int i = 0; i < 999; i++) {
+                knows.add(Triple.of(ids.get(i), ids.get(i + 1), Collections.singletonMap("weight", (double) i)));
+            }
+            bulkLoader.addEdges("knows", "Person", "Person", Collections.singletonMap("weight", PropertyType.DOUBLE), knows.iterator());
+            Map<SchemaTable, Long> counts = bulkLoader.finish();
+            String schema = this.sqlgGraph.getSqlDialect().getPublicSchema();
+            Assert.assertEquals(1000L, counts.get(SchemaTable.of(schema, "V_Person")).longValue());
+            Assert.assertEquals(999L, counts.get(SchemaTable.of(schema, "E_knows")).longValue());
+
+            Assert.assertEquals(1000, this.sqlgGraph.traversal().V().hasLabel("Person").count().next(), 0);
+            Assert.assertEquals(999, this.sqlgGraph.traversal().E().hasLabel("knows").count().next(), 0);
+            Vertex p10 = this.sqlgGraph.traversal().V(RecordId.from(SchemaTable.of(schema, "Person"), ids.get(10))).next();
+            Assert.assertEquals("p10", p10.value("name"));
+            Assert.assertEquals(10, p10.<Integer>value("age").intValue());
+            Assert.assertEquals("p11", this.sqlgGraph.traversal().V(p10).out("knows").values("name").next());
+            Assert.assertFalse(this.sqlgGraph.traversal().V(p10).out("knows").next().property("age").isPresent());
+        }
+    }
+
+    @Test
+    public void testBulkLoadWithDeferredIndexes() {
+        VertexLabel personVertexLabel = this.sqlgGraph.getTopology().ensureVertexLabelExist("Person", Collections.singletonMap("name", PropertyType.STRING));
+        personVertexLabel.ensureIndexExists(IndexType.NON_UNIQUE, Collections.singletonList(personVertexLabel.getProperty("name").get()));
+        this.sqlgGraph.tx().commit();
+        List<Map<String, Object>> persons = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            persons.add(Collections.singletonMap("name", "p" + i));
+        }
+        try (BulkLoader bulkLoader = this.sqlgGraph.bulkLoader().connections(2).chunkSize(100).deferIndexes(true).create()) {
+            List<Long> ids = ids(bulkLoader.addVertices("Person", Collections.singletonMap("name", PropertyType.STRING), persons.iterator()));
+            List<Triple<Long, Long, Map<String, Object>>> knows = new ArrayList<>();
+            for (int i = 0; i < 250; i++) {
+                knows.add(Triple.of(ids.get(i), ids.get(499 - i), Collections.emptyMap()));
+            }
+            bulkLoader.addEdges("knows", "Person", "Person", Collections.emptyMap(), knows.iterator());
+            bulkLoader.finish();
+        }
+        Assert.assertEquals(500, this.sqlgGraph.traversal().V().hasLabel("Person").count().next(), 0);
+        Assert.assertEquals("p499", this.sqlgGraph.traversal().V().hasLabel("Person").has("name", "p0").out("knows").values("name").next());
+        //the deferred foreign keys are back
+        try (BulkLoader bulkLoader = this.sqlgGraph.bulkLoader().connections(1).create()) {
+            bulkLoader.addEdges("knows", "Person", "Person", Collections.emptyMap(), Collections.singletonList(Triple.of(-1L, -2L, Collections.<String, Object>emptyMap())).iterator());
+            Assert.fail("dangling edge must fail the foreign key");
+        } catch (RuntimeException e) {
+            //expected
+        }
+        Assert.assertEquals(250, this.sqlgGraph.traversal().E().hasLabel("knows").count().next(), 0);
+    }
+
+    @Test
+    public void testDeferredIndexesKeepUniqueIndexes() {
+        VertexLabel personVertexLabel = this.sqlgGraph.getTopology().ensureVertexLabelExist("Person", Collections.singletonMap("name", PropertyType.STRING));
+        personVertexLabel.ensureIndexExists(IndexType.UNIQUE, Collections.singletonList(personVertexLabel.getProperty("name").get()));
+        this.sqlgGraph.tx().commit();
+        List<Map<String, Object>> persons = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            persons.add(Collections.singletonMap("name", "p" + i % 5));
+        }
+        try (BulkLoader bulkLoader = this.sqlgGraph.bulkLoader().connections(1).chunkSize(20).deferIndexes(true).create()) {
+            bulkLoader.addVertices("Person", Collections.singletonMap("name", PropertyType.STRING), persons.iterator());
+            Assert.fail("duplicate names must fail the unique index");
+        } catch (RuntimeException e) {
+            //expected
+        }
+        Assert.assertEquals(0, this.sqlgGraph.traversal().V().hasLabel("Person").count().next(), 0);
+    }
+
+    private static List<Long> ids(List<Pair<Long, Long>> ranges) {
+        List<Long> ids = new ArrayList<>();
+        for (Pair<Long, Long> range : ranges) {
+            for (long id = range.getLeft(); id <= range.getRight(); id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,113 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Date: 2017/05/23
+ * Time: 3:40 PM
+ */
+public class TestGremlinCompileDedup extends BaseTest {
+
+    @Test
+    public void testDedupIsDistinct() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
+        Vertex c1 = this.sqlgGraph.addVertex(T.label, "C", "name", "c1");
+        Vertex c2 = this.sqlgGraph.addVertex(T.label, "C", "name", "c2");
+        a1.addEdge("ab", b1);
+        a1.addEdge("ab", b2);
+        b1.addEdge("bc", c1);
+        b2.addEdge("bc", c1);
+        b1.addEdge("bc", c2);
+        this.sqlgGraph.tx().commit();
+
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V(a1).out().out().dedup();
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertEquals(new HashSet<>(vertices), new HashSet<>(Arrays.asList(c1, c2)));
+        Assert.assertTrue(traversal.getSteps().stream().noneMatch(s -> s instanceof DedupGlobalStep));
+        Assert.assertEquals("c1", this.sqlgGraph.traversal().V(a1).out().out().dedup().has("name", "c1").values("name").next());
+    }
+
+    @Test
+    public void testDedupByProperty() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "x");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "x");
+        Vertex b3 = this.sqlgGraph.addVertex(T.label, "B", "name", "y");
+        a1.addEdge("ab", b1);
+        a1.addEdge("ab", b2);
+        a1.addEdge("ab", b3);
+        this.sqlgGraph.tx().commit();
+
+        List<Vertex> vertices = this.sqlgGraph.traversal().V(a1).out().dedup().by("name").toList();
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("x", "y")), new HashSet<>(this.sqlgGraph.traversal().V(a1).out().dedup().by("name").values("name").toList()));
+        Assert.assertTrue(vertices.contains(b3));
+    }
+
+    @Test
+    public void testDedupOverLabels() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex c1 = this.sqlgGraph.addVertex(T.label, "C", "name", "c1");
+        Vertex d1 = this.sqlgGraph.addVertex(T.label, "D", "name", "d1");
+        a1.addEdge("ab", b1);
+        a1.addEdge("ac", c1);
+        b1.addEdge("bd", d1);
+        c1.addEdge("cd", d1);
+        this.sqlgGraph.tx().commit();
+
+        //two queries, the in memory dedup removes the duplicates across them
+        List<Vertex> vertices = this.sqlgGraph.traversal().V(a1).out().out().dedup().toList();
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertEquals(d1, vertices.get(0));
+    }
+
+    @Test
+    public void testBulk() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
+        Vertex c1 = this.sqlgGraph.addVertex(T.label, "C", "name", "c1");
+        Vertex c2 = this.sqlgGraph.addVertex(T.label, "C", "name", "c2");
+        a1.addEdge("ab", b1);
+        a1.addEdge("ab", b2);
+        b1.addEdge("bc", c1);
+        b2.addEdge("bc", c1);
+        b1.addEdge("bc", c2);
+        this.sqlgGraph.tx().commit();
+
+        Assert.assertEquals(3, this.sqlgGraph.traversal().V(a1).out().out().toList().size());
+        Assert.assertEquals(3, this.sqlgGraph.traversal().V(a1).out().out().count().next(), 0);
+        Assert.assertEquals(3, this.sqlgGraph.traversal().V(a1).out().out().path().toList().size());
+
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal().V(a1).out().out();
+        Map<Vertex, Long> bulks = new HashMap<>();
+        int traversers = 0;
+        while (traversal.hasNext()) {
+            Traverser.Admin<Vertex> traverser = traversal.nextTraverser();
+            bulks.merge(traverser.get(), traverser.bulk(), Long::sum);
+            traversers++;
+        }
+        //c1 is reached twice but returned once
+        Assert.assertEquals(2, traversers);
+        Assert.assertEquals(2L, bulks.get(c1), 0);
+        Assert.assertEquals(1L, bulks.get(c2), 0);
+    }
+}
@@ -208,4 +208,54 @@ public class TestGremlinCompileFullTextPredicate extends BaseTest {
 		 System.out.println("query time:"+delta+"ms");
 		 
 	}
+	@Test
+	public void testStoredIndex() throws SQLException {
+		 assumeTrue(configuration.getString("jdbc.url").contains("postgresql"));
+		 Vertex v0=this.sqlgGraph.addVertex(T.label, "Sentence", "name", "a fat cat sat on a mat and ate a fat rat");
+		 this.sqlgGraph.addVertex(T.label, "Sentence", "name", "fatal error");
+		 this.sqlgGraph.tx().commit();
+		 
+		 VertexLabel vl=this.sqlgGraph.getTopology().getVertexLabel("public", "Sentence").get();
+		 vl.ensureIndexExists(IndexType.getFullTextGIN("english", true), Collections.singletonList(vl.getProperty("name").get()));
+		 this.sqlgGraph.tx().commit();
+		 Vertex v2=this.sqlgGraph.addVertex(T.label, "Sentence", "name", "error is not fatal");
+		 this.sqlgGraph.tx().commit();
+		 
+		 List<Vertex> vts=this.sqlgGraph.traversal().V().hasLabel("Sentence").has("name",FullText.fullTextMatch("english", "fat & rat")).toList();
+		 assertEquals(1,vts.size());
+		 assertTrue(vts.contains(v0));
+		 vts=this.sqlgGraph.traversal().V().hasLabel("Sentence").has("name",FullText.fullTextMatch("english",true, "fatal error")).toList();
+		 assertEquals(2,vts.size());
+		 assertTrue(vts.contains(v2));
+		 //the tsvector column is not a property
+		 assertEquals(1, this.sqlgGraph.traversal().V(v2.id()).next().keys().size());
+		 assertEquals(IndexType.getFullTextGIN("english", true), vl.getIndexes().values().iterator().next().getIndexType());
+	}
+	
+	@Test
+	public void testRankTopK() throws SQLException {
+		 assumeTrue(configuration.getString("jdbc.url").contains("postgresql"));
+		 this.sqlgGraph.addVertex(T.label, "Sentence", "name", "a fat cat sat on a mat and ate a fat rat");
+		 this.sqlgGraph.addVertex(T.label, "Sentence", "name", "the cat is fat");
+		 this.sqlgGraph.addVertex(T.label, "Sentence", "name", "a fat fat fat cat, the fattest cat");
+		 this.sqlgGraph.addVertex(T.label, "Sentence", "name", "error is not fatal");
+		 VertexLabel vl=this.sqlgGraph.getTopology().getVertexLabel("public", "Sentence").get();
+		 vl.ensureIndexExists(IndexType.getFullTextGIN("english", true), Collections.singletonList(vl.getProperty("name").get()));
+		 this.sqlgGraph.tx().commit();
+		 
+		 List<String> names=this.sqlgGraph.traversal().V().hasLabel("Sentence")
+				 .has("name",FullText.fullTextMatch("english", "fat & cat"))
+				 .order().by("name", FullText.rank("english", "fat & cat"))
+				 .limit(2)
+				 .<String>values("name").toList();
+		 assertEquals(Arrays.asList("a fat fat fat cat, the fattest cat", "a fat cat sat on a mat and ate a fat rat"), names);
+	}
+	
+	@Test
+	public void testRankInMemory(){
+		FullText.Rank rank=FullText.rank("english", "fat cat");
+		assertTrue(rank.compare("the fat cat", "the cat") < 0);
+		assertTrue(rank.compare("the dog", "the cat") > 0);
+		assertEquals(0, rank.compare("fat", "cat"));
+	}
 }
@@ -1,8 +1,11 @@
 package org.umlg.sqlg.test.gremlincompile;
 
+import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.AbstractGremlinTest;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.*;
 import org.apache.tinkerpop.gremlin.structure.io.GraphReader;
@@ -10,6 +13,10 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoIo;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoReader;
 import org.junit.Assert;
 import org.junit.Test;
+import org.umlg.sqlg.metrics.SqlgMetrics;
+import org.umlg.sqlg.metrics.SqlgMetricsRegistry;
+import org.umlg.sqlg.metrics.StatementKind;
+import org.umlg.sqlg.structure.SqlgGraph;
 import org.umlg.sqlg.test.BaseTest;
 
 import java.io.IOException;
@@ -17,6 +24,7 @@ import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -100,7 +108,7 @@ public class TestGremlinOptional extends BaseTest {
     }
 
     @Test
-    public void testOptional() {
+    public void testOptional() throws Exception {
         Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
         Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
         Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
@@ -123,10 +131,11 @@ public class TestGremlinOptional extends BaseTest {
             Assert.assertTrue(paths.remove(path.get()));
         }
         Assert.assertTrue(paths.isEmpty());
+        Assert.assertEquals(1, queryCount(g -> g.V(a1.id()).optional(__.out()).path()));
     }
 
     @Test
-    public void testOptionalNested() {
+    public void testOptionalNested() throws Exception {
         Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
         Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
         Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
@@ -152,6 +161,7 @@ public class TestGremlinOptional extends BaseTest {
             Assert.assertTrue(paths.remove(path.get()));
         }
         Assert.assertTrue(paths.isEmpty());
+        Assert.assertEquals(1, queryCount(g -> g.V(a1.id()).optional(__.out().optional(__.out())).path()));
 
         DefaultGraphTraversal<Vertex, Path> traversal1 = (DefaultGraphTraversal<Vertex, Path>) this.sqlgGraph.traversal()
                 .V().hasLabel("A").optional(__.out().optional(__.out())).path();
@@ -170,6 +180,41 @@ public class TestGremlinOptional extends BaseTest {
             Assert.assertTrue(paths.remove(path.get()));
         }
         Assert.assertTrue(paths.isEmpty());
+        Assert.assertEquals(1, queryCount(g -> g.V().hasLabel("A").optional(__.out().optional(__.out())).path()));
+    }
+
+    @Test
+    public void testOptionalNestedIsOneQuery() throws Exception {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
+        Vertex c1 = this.sqlgGraph.addVertex(T.label, "C", "name", "c1");
+        a1.addEdge("ab", b1);
+        a1.addEdge("ab", b2);
+        b1.addEdge("bc", c1);
+        this.sqlgGraph.tx().commit();
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(SqlgMetrics.METRICS_CLASS, SqlgMetricsRegistry.class.getName());
+        try (SqlgGraph sqlgGraph = SqlgGraph.open(conf)) {
+            SqlgMetricsRegistry metrics = (SqlgMetricsRegistry) sqlgGraph.getMetrics();
+            metrics.reset();
+            List<Path> paths = sqlgGraph.traversal().V().hasLabel("A").optional(__.out().optional(__.out())).path().toList();
+            //the regular query and the two optional queries are one left join query
+            Assert.assertEquals(1, metrics.getStatementHistogram(StatementKind.QUERY).getCount());
+            Assert.assertEquals(3, paths.size());
+            List<Predicate<Path>> pathsToAssert = Arrays.asList(
+                    p -> p.size() == 3 && p.get(0).equals(a1) && p.get(1).equals(b1) && p.get(2).equals(c1),
+                    p -> p.size() == 2 && p.get(0).equals(a1) && p.get(1).equals(b2),
+                    p -> p.size() == 1 && p.get(0).equals(a2)
+            );
+            for (Predicate<Path> pathPredicate : pathsToAssert) {
+                Optional<Path> path = paths.stream().filter(pathPredicate).findAny();
+                Assert.assertTrue(path.isPresent());
+                Assert.assertTrue(paths.remove(path.get()));
+            }
+            Assert.assertTrue(paths.isEmpty());
+        }
     }
 
     @Test
@@ -573,4 +618,18 @@ public class TestGremlinOptional extends BaseTest {
         Assert.assertTrue(paths.isEmpty());
     }
 
+    /**
+     * Runs the traversal on a graph with metrics and returns the number of queries it executed.
+     */
+    private long queryCount(Function<GraphTraversalSource, GraphTraversal<?, ?>> traversal) throws Exception {
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(SqlgMetrics.METRICS_CLASS, SqlgMetricsRegistry.class.getName());
+        try (SqlgGraph sqlgGraph = SqlgGraph.open(conf)) {
+            SqlgMetricsRegistry metrics = (SqlgMetricsRegistry) sqlgGraph.getMetrics();
+            metrics.reset();
+            traversal.apply(sqlgGraph.traversal()).toList();
+            return metrics.getStatementHistogram(StatementKind.QUERY).getCount();
+        }
+    }
+
 }
@@ -0,0 +1,155 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.predicate.Keyset;
+import org.umlg.sqlg.structure.RecordId;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Date: 2017/05/24
+ * Time: 11:20 AM
+ */
+public class TestKeysetPagination extends BaseTest {
+
+    private static final Comparator<Vertex> CREATED_ON_AND_ID = Comparator.<Vertex, Integer>comparing(v -> v.value("createdOn"))
+            .thenComparing((v1, v2) -> ((RecordId) v1.id()).compareTo(v2.id()));
+
+    @Test
+    public void testKeysetPages() {
+        for (int i = 0; i < 100; i++) {
+            //three items per sort key, the pages must break on ties
+            this.sqlgGraph.addVertex(T.label, "Item", "createdOn", i / 3);
+        }
+        this.sqlgGraph.tx().commit();
+        List<Vertex> expected = this.sqlgGraph.traversal().V().hasLabel("Item").toList().stream()
+                .sorted(CREATED_ON_AND_ID)
+                .collect(Collectors.toList());
+        List<Vertex> pages = page(Keyset.first(), Keyset::after, Order.incr, "Item");
+        Assert.assertEquals(expected, pages);
+    }
+
+    @Test
+    public void testKeysetPagesDescending() {
+        for (int i = 0; i < 100; i++) {
+            this.sqlgGraph.addVertex(T.label, "Item", "createdOn", i / 4);
+        }
+        this.sqlgGraph.tx().commit();
+        List<Vertex> expected = this.sqlgGraph.traversal().V().hasLabel("Item").toList().stream()
+                .sorted(CREATED_ON_AND_ID.reversed())
+                .collect(Collectors.toList());
+        List<Vertex> pages = page(Keyset.firstDescending(), Keyset::before, Order.decr, "Item");
+        Assert.assertEquals(expected, pages);
+    }
+
+    @Test
+    public void testKeysetPagesAcrossLabels() {
+        for (int i = 0; i < 50; i++) {
+            //the labels tie on the sort key
+            this.sqlgGraph.addVertex(T.label, "A", "createdOn", i / 2);
+            this.sqlgGraph.addVertex(T.label, "B", "createdOn", i / 2);
+        }
+        this.sqlgGraph.tx().commit();
+        List<Vertex> expected = this.sqlgGraph.traversal().V().hasLabel("A", "B").toList().stream()
+                .sorted(CREATED_ON_AND_ID)
+                .collect(Collectors.toList());
+        List<Vertex> pages = page(Keyset.first(), Keyset::after, Order.incr, "A", "B");
+        Assert.assertEquals(100, new HashSet<>(pages).size());
+        Assert.assertEquals(expected, pages);
+    }
+
+    @Test
+    public void testKeysetWithOtherPredicates() {
+        for (int i = 0; i < 30; i++) {
+            this.sqlgGraph.addVertex(T.label, "Item", "createdOn", i / 3, "even", i % 2 == 0);
+        }
+        this.sqlgGraph.addVertex(T.label, "Item", "even", true);
+        this.sqlgGraph.tx().commit();
+        List<Vertex> first = this.sqlgGraph.traversal().V().hasLabel("Item")
+                .has("even", true)
+                .has("createdOn", Keyset.first())
+                .order().by("createdOn")
+                .limit(5)
+                .toList();
+        Assert.assertEquals(5, first.size());
+        Keyset.Token token = Keyset.Token.of(first.get(4), "createdOn");
+        List<Vertex> rest = this.sqlgGraph.traversal().V().hasLabel("Item")
+                .has("even", true)
+                .has("createdOn", Keyset.after(token))
+                .order().by("createdOn")
+                .toList();
+        //the item without a sort key is not paged
+        Assert.assertEquals(10, rest.size());
+        Assert.assertTrue(rest.stream().allMatch(v -> v.<Boolean>value("even")));
+        Assert.assertTrue(rest.stream().noneMatch(first::contains));
+    }
+
+    @Test
+    public void testKeysetTiesInMemory() {
+        for (int i = 0; i < 30; i++) {
+            this.sqlgGraph.addVertex(T.label, "Item", "createdOn", i / 3);
+        }
+        this.sqlgGraph.tx().commit();
+        List<Vertex> expected = this.sqlgGraph.traversal().V().hasLabel("Item").toList().stream()
+                .sorted(CREATED_ON_AND_ID)
+                .collect(Collectors.toList());
+        //the token is in the middle of the ties on createdOn 3
+        Keyset.Token token = Keyset.Token.of(expected.get(10), "createdOn");
+        List<Vertex> filtered = this.sqlgGraph.traversal().V().hasLabel("Item")
+                .filter(__.has("createdOn", Keyset.after(token)))
+                .toList();
+        Assert.assertEquals(new HashSet<>(expected.subList(11, 30)), new HashSet<>(filtered));
+        List<Vertex> where = this.sqlgGraph.traversal().V().hasLabel("Item").as("a")
+                .where(__.select("a").has("createdOn", Keyset.before(token)))
+                .toList();
+        Assert.assertEquals(new HashSet<>(expected.subList(0, 10)), new HashSet<>(where));
+    }
+
+    @Test
+    public void testKeysetTestOnTokens() {
+        for (int i = 0; i < 6; i++) {
+            this.sqlgGraph.addVertex(T.label, "Item", "createdOn", i / 3);
+        }
+        this.sqlgGraph.tx().commit();
+        List<Vertex> expected = this.sqlgGraph.traversal().V().hasLabel("Item").toList().stream()
+                .sorted(CREATED_ON_AND_ID)
+                .collect(Collectors.toList());
+        Keyset.Token token = Keyset.Token.of(expected.get(1), "createdOn");
+        P<Object> after = Keyset.after(token);
+        P<Object> before = Keyset.before(token);
+        for (int i = 0; i < expected.size(); i++) {
+            Keyset.Token element = Keyset.Token.of(expected.get(i), "createdOn");
+            Assert.assertEquals(i > 1, after.getBiPredicate().test(element, token));
+            Assert.assertEquals(i < 1, before.getBiPredicate().test(element, token));
+        }
+    }
+
+    private List<Vertex> page(P<Object> first, Function<Keyset.Token, P<Object>> next, Order order, String label, String... labels) {
+        List<Vertex> result = new ArrayList<>();
+        P<Object> keyset = first;
+        while (true) {
+            List<Vertex> page = this.sqlgGraph.traversal().V().hasLabel(label, labels)
+                    .has("createdOn", keyset)
+                    .order().by("createdOn", order)
+                    .limit(7)
+                    .toList();
+            result.addAll(page);
+            if (page.size() < 7) {
+                return result;
+            }
+            keyset = next.apply(Keyset.Token.of(page.get(page.size() - 1), "createdOn"));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.umlg.sqlg.test.index;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Assume;
+import org.junit.Test;
+import org.umlg.sqlg.structure.*;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test building an index outside of the current transaction with {@link AbstractLabel#ensureIndexExistsAsync(IndexType, java.util.List)}.
+ */
+public class TestIndexAsync extends BaseTest {
+
+    @SuppressWarnings("OptionalGetWithoutIsPresent")
+    @Test
+    public void testEnsureIndexExistsAsync() throws Exception {
+        for (int i = 0; i < 10_000; i++) {
+            this.sqlgGraph.addVertex(T.label, "Person", "name", "john" + i);
+        }
+        this.sqlgGraph.tx().commit();
+        VertexLabel personVertexLabel = this.sqlgGraph.getTopology().getVertexLabel(this.sqlgGraph.getSqlDialect().getPublicSchema(), "Person").get();
+        PropertyColumn name = personVertexLabel.getProperty("name").get();
+
+        CompletableFuture<Index> future = personVertexLabel.ensureIndexExistsAsync(IndexType.NON_UNIQUE, Collections.singletonList(name));
+        //writes to the label carry on while the index builds.
+        for (int i = 0; i < 100; i++) {
+            this.sqlgGraph.addVertex(T.label, "Person", "name", "joe" + i);
+        }
+        this.sqlgGraph.tx().commit();
+        Index index = future.get(1, TimeUnit.MINUTES);
+
+        assertFalse(personVertexLabel.isIndexBuilding(index.getName()));
+        assertEquals(index, personVertexLabel.getIndex(index.getName()).get());
+        assertEquals(IndexType.NON_UNIQUE, index.getIndexType());
+        assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("Person").has("name", "joe1").count().next().intValue());
+        //an existing index completes immediately
+        assertEquals(index, personVertexLabel.ensureIndexExistsAsync(IndexType.NON_UNIQUE, Collections.singletonList(name)).get());
+
+        try (SqlgGraph sqlgGraph1 = SqlgGraph.open(configuration)) {
+            assertTrue(sqlgGraph1.getTopology().getVertexLabel(this.sqlgGraph.getSqlDialect().getPublicSchema(), "Person").get().getIndex(index.getName()).isPresent());
+        }
+    }
+
+    @SuppressWarnings("OptionalGetWithoutIsPresent")
+    @Test
+    public void testFailedConcurrentBuildLeavesNoIndex() throws Exception {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsConcurrentIndexBuild());
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "john");
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "john");
+        this.sqlgGraph.tx().commit();
+        VertexLabel personVertexLabel = this.sqlgGraph.getTopology().getVertexLabel(this.sqlgGraph.getSqlDialect().getPublicSchema(), "Person").get();
+        PropertyColumn name = personVertexLabel.getProperty("name").get();
+
+        try {
+            personVertexLabel.ensureIndexExistsAsync(IndexType.UNIQUE, Collections.singletonList(name)).get(1, TimeUnit.MINUTES);
+            fail("the unique index build must fail on the duplicate names");
+        } catch (ExecutionException e) {
+            //expected
+        }
+        assertTrue(personVertexLabel.getIndexes().isEmpty());
+        //the invalid index has been dropped, an index with the same name can be created.
+        Index index = personVertexLabel.ensureIndexExists(IndexType.NON_UNIQUE, Collections.singletonList(name));
+        this.sqlgGraph.tx().commit();
+        assertTrue(personVertexLabel.getIndex(index.getName()).isPresent());
+    }
+}
@@ -0,0 +1,73 @@
+package org.umlg.sqlg.test.index;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.umlg.sqlg.predicate.Text;
+import org.umlg.sqlg.structure.IndexType;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.VertexLabel;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+
+/**
+ * Date: 2017/05/22
+ * Time: 8:50 AM
+ */
+public class TestTrigramIndex extends BaseTest {
+
+    @Test
+    public void testTrigramIndexServesTextPredicates() {
+        createPersons(IndexType.getTrigram(false));
+        assertTextPredicates();
+    }
+
+    @Test
+    public void testGistTrigramIndex() {
+        createPersons(IndexType.getTrigram(true));
+        assertTextPredicates();
+    }
+
+    @Test
+    public void testTrigramIndexIsUsed() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsTrigramIndex());
+        createPersons(IndexType.getTrigram(false));
+        Connection conn = this.sqlgGraph.tx().getConnection();
+        try (Statement statement = conn.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            ResultSet rs = statement.executeQuery("explain SELECT * FROM \"public\".\"V_Person\" a WHERE a.\"name\" ILIKE '%ohn1%'");
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                plan.append(rs.getString(1));
+            }
+            Assert.assertTrue(plan.toString(), plan.toString().contains("Bitmap Index Scan") || plan.toString().contains("Index Scan"));
+        } catch (SQLException e) {
+            Assert.fail(e.getMessage());
+        }
+        this.sqlgGraph.tx().rollback();
+    }
+
+    private void createPersons(IndexType indexType) {
+        VertexLabel personVertexLabel = this.sqlgGraph.getTopology().ensureVertexLabelExist("Person", Collections.singletonMap("name", PropertyType.STRING));
+        personVertexLabel.ensureIndexExists(indexType, Collections.singletonList(personVertexLabel.getProperty("name").get()));
+        this.sqlgGraph.tx().commit();
+        for (int i = 0; i < 1000; i++) {
+            this.sqlgGraph.addVertex(T.label, "Person", "name", (i % 2 == 0 ? "John" : "peter") + i);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(indexType, personVertexLabel.getIndexes().values().iterator().next().getIndexType());
+    }
+
+    private void assertTextPredicates() {
+        Assert.assertEquals(55, this.sqlgGraph.traversal().V().hasLabel("Person").has("name", Text.contains("ohn1")).count().next(), 0);
+        Assert.assertEquals(55, this.sqlgGraph.traversal().V().hasLabel("Person").has("name", Text.containsCIS("JOHN1")).count().next(), 0);
+        Assert.assertEquals(100, this.sqlgGraph.traversal().V().hasLabel("Person").has("name", Text.endsWith("1")).count().next(), 0);
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("Person").has("name", Text.startsWith("peter999")).count().next(), 0);
+    }
+}
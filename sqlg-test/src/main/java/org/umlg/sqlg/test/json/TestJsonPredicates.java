@@ -0,0 +1,105 @@
+package org.umlg.sqlg.test.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.predicate.Json;
+import org.umlg.sqlg.structure.IndexType;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.VertexLabel;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Date: 2017/05/20
+ * Time: 2:15 PM
+ */
+public class TestJsonPredicates extends BaseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsJson());
+    }
+
+    @Test
+    public void testLazyJsonIsParsedOnAccess() throws IOException {
+        JsonNode doc = this.objectMapper.readTree("{\"name\":\"john\",\"address\":{\"city\":\"Paris\"}}");
+        Vertex v1 = this.sqlgGraph.addVertex(T.label, "Person", "doc", doc, "name", "john");
+        this.sqlgGraph.tx().commit();
+        Vertex vertex = this.sqlgGraph.traversal().V(v1.id()).next();
+        Assert.assertEquals("john", vertex.value("name"));
+        Assert.assertEquals(doc, vertex.value("doc"));
+        Assert.assertEquals(doc, this.sqlgGraph.traversal().V(v1.id()).values("doc").next());
+    }
+
+    @Test
+    public void testKeyAndPathEquals() throws IOException {
+        addPersons();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("Person").has("doc", Json.keyEquals("name", "john")).toList();
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertEquals("p1", vertices.get(0).value("name"));
+        vertices = this.sqlgGraph.traversal().V().hasLabel("Person").has("doc", Json.pathEquals(Arrays.asList("address", "city"), "Paris")).toList();
+        Assert.assertEquals(2, vertices.size());
+        vertices = this.sqlgGraph.traversal().V().hasLabel("Person").has("doc", Json.pathEquals(Arrays.asList("tags", "0"), "b")).toList();
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertEquals("p3", vertices.get(0).value("name"));
+        Assert.assertEquals(0, this.sqlgGraph.traversal().V().hasLabel("Person").has("doc", Json.keyEquals("it's", "x")).count().next(), 0);
+    }
+
+    @Test
+    public void testContains() throws IOException {
+        addPersons();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("Person")
+                .has("doc", Json.contains(this.objectMapper.readTree("{\"address\":{\"city\":\"Paris\"},\"tags\":[\"a\"]}")))
+                .toList();
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertEquals("p1", vertices.get(0).value("name"));
+    }
+
+    @Test
+    public void testPathExists() throws IOException {
+        addPersons();
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("Person").has("doc", Json.pathExists("$.address.city")).count().next(), 0);
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("Person").has("doc", Json.pathExists("$.tags[*] ? (@ == \"c\")")).count().next(), 0);
+    }
+
+    @Test
+    public void testInMemoryEvaluation() throws IOException {
+        JsonNode doc = this.objectMapper.readTree("{\"name\":\"john\",\"address\":{\"city\":\"Paris\"},\"tags\":[\"a\",{\"x\":1}]}");
+        Assert.assertTrue(Json.keyEquals("name", "john").test(doc));
+        Assert.assertFalse(Json.keyEquals("name", "joe").test(doc));
+        Assert.assertTrue(Json.pathEquals(Arrays.asList("tags", "0"), "a").test(doc));
+        Assert.assertTrue(Json.contains(this.objectMapper.readTree("{\"tags\":[{\"x\":1}]}")).test(doc));
+        Assert.assertFalse(Json.contains(this.objectMapper.readTree("{\"tags\":[\"b\"]}")).test(doc));
+        Assert.assertTrue(Json.pathExists("$.address.city").test(doc));
+        Assert.assertFalse(Json.pathExists("$.address.street").test(doc));
+    }
+
+    @Test
+    public void testJsonGINIndex() throws IOException {
+        VertexLabel personVertexLabel = this.sqlgGraph.getTopology().ensureVertexLabelExist("Person", Collections.singletonMap("doc", PropertyType.JSON));
+        personVertexLabel.ensureIndexExists(IndexType.getJsonGIN(true), Collections.singletonList(personVertexLabel.getProperty("doc").get()));
+        this.sqlgGraph.tx().commit();
+        addPersons();
+        Assert.assertEquals(IndexType.getJsonGIN(true), personVertexLabel.getIndexes().values().iterator().next().getIndexType());
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("Person").has("doc", Json.contains(this.objectMapper.readTree("{\"name\":\"john\"}"))).count().next(), 0);
+    }
+
+    private void addPersons() throws IOException {
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "p1", "doc", this.objectMapper.readTree("{\"name\":\"john\",\"address\":{\"city\":\"Paris\"},\"tags\":[\"a\",\"c\"]}"));
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "p2", "doc", this.objectMapper.readTree("{\"name\":\"joe\",\"address\":{\"city\":\"Paris\"}}"));
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "p3", "doc", this.objectMapper.readTree("{\"name\":\"jack\",\"tags\":[\"b\"]}"));
+        this.sqlgGraph.tx().commit();
+    }
+}
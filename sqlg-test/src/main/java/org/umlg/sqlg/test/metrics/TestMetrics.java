@@ -0,0 +1,97 @@
+package org.umlg.sqlg.test.metrics;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.umlg.sqlg.metrics.Histogram;
+import org.umlg.sqlg.metrics.SqlgMetrics;
+import org.umlg.sqlg.metrics.SqlgMetricsRegistry;
+import org.umlg.sqlg.metrics.StatementKind;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.test.BaseTest;
+
+/**
+ * Date: 2017/05/06
+ * Time: 2:05 PM
+ */
+public class TestMetrics extends BaseTest {
+
+    @Test
+    public void testNoOpByDefault() {
+        Assert.assertSame(SqlgMetrics.NO_OP, this.sqlgGraph.getMetrics());
+        Assert.assertFalse(this.sqlgGraph.getMetrics().isEnabled());
+    }
+
+    @Test
+    public void testHistogram() {
+        Histogram histogram = new Histogram();
+        Assert.assertEquals(0, histogram.getPercentile(0.5));
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        Assert.assertEquals(1000, histogram.getCount());
+        Assert.assertEquals(500500, histogram.getSum());
+        Assert.assertEquals(1000, histogram.getMax());
+        Assert.assertEquals(500.5, histogram.getMean(), 0.001);
+        long p50 = histogram.getPercentile(0.5);
+        Assert.assertTrue(p50 >= 500 && p50 < 1024);
+        Assert.assertEquals(1000, histogram.getPercentile(1));
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void testStatementAndTopologyMetrics() throws Exception {
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(SqlgMetrics.METRICS_CLASS, SqlgMetricsRegistry.class.getName());
+        try (SqlgGraph sqlgGraph = SqlgGraph.open(conf)) {
+            SqlgMetricsRegistry metrics = (SqlgMetricsRegistry) sqlgGraph.getMetrics();
+            metrics.reset();
+            Vertex a = sqlgGraph.addVertex(T.label, "A", "name", "a");
+            Vertex b = sqlgGraph.addVertex(T.label, "B", "name", "b");
+            a.addEdge("ab", b);
+            sqlgGraph.tx().commit();
+            Assert.assertTrue(metrics.getStatementHistogram(StatementKind.INSERT).getCount() >= 3);
+            Assert.assertTrue(metrics.getTopologyLockWaitHistogram().getCount() > 0);
+            Assert.assertTrue(metrics.getTopologyLockHoldHistogram().getCount() > 0);
+
+            a.property("name", "aa");
+            sqlgGraph.tx().commit();
+            Assert.assertEquals(1, metrics.getStatementHistogram(StatementKind.UPDATE).getCount());
+
+            Assert.assertEquals(1, sqlgGraph.traversal().V().hasLabel("A").out("ab").toList().size());
+            Assert.assertTrue(metrics.getStatementHistogram(StatementKind.QUERY).getCount() > 0);
+
+            b.remove();
+            sqlgGraph.tx().commit();
+            Assert.assertTrue(metrics.getStatementHistogram(StatementKind.DELETE).getCount() > 0);
+            Assert.assertTrue(metrics.toJson().contains("\"statements\""));
+        }
+    }
+
+    @Test
+    public void testBatchFlushMetrics() throws Exception {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(SqlgMetrics.METRICS_CLASS, SqlgMetricsRegistry.class.getName());
+        try (SqlgGraph sqlgGraph = SqlgGraph.open(conf)) {
+            SqlgMetricsRegistry metrics = (SqlgMetricsRegistry) sqlgGraph.getMetrics();
+            sqlgGraph.tx().normalBatchModeOn();
+            for (int i = 0; i < 100; i++) {
+                Vertex a = sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+                Vertex b = sqlgGraph.addVertex(T.label, "B", "name", "b" + i);
+                a.addEdge("ab", b);
+            }
+            sqlgGraph.tx().commit();
+            Assert.assertEquals(1, metrics.getBatchFlushHistogram().getCount());
+            String schema = sqlgGraph.getSqlDialect().getPublicSchema();
+            Assert.assertEquals(100, metrics.getBatchFlushRows(schema + ".V_A"));
+            Assert.assertEquals(100, metrics.getBatchFlushRows(schema + ".V_B"));
+            Assert.assertEquals(100, metrics.getBatchFlushRows(schema + ".E_ab"));
+        }
+    }
+}
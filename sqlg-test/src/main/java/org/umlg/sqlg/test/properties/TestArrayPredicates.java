@@ -0,0 +1,91 @@
+package org.umlg.sqlg.test.properties;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.predicate.ArrayPredicate;
+import org.umlg.sqlg.structure.IndexType;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.VertexLabel;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Date: 2017/05/21
+ * Time: 10:30 AM
+ */
+public class TestArrayPredicates extends BaseTest {
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStringArrayValues());
+    }
+
+    @Test
+    public void testStringArrayPredicates() {
+        addTagged();
+        Assert.assertEquals(names("a2", "a3"), names(ArrayPredicate.contains(new String[]{"x", "y"})));
+        Assert.assertEquals(names("a1", "a2", "a3"), names(ArrayPredicate.overlaps(new String[]{"x", "q"})));
+        Assert.assertEquals(names("a1", "a2", "a4"), names(ArrayPredicate.containedBy(new String[]{"x", "y", "w"})));
+        Assert.assertEquals(names("a3", "a4"), names(ArrayPredicate.anyEquals("w")));
+        Assert.assertEquals(names(), names(ArrayPredicate.anyEquals("q")));
+    }
+
+    @Test
+    public void testIntegerArrayPredicates() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsIntegerArrayValues());
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a1", "numbers", new int[]{1, 2, 3});
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a2", "numbers", new int[]{3, 4});
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").has("numbers", ArrayPredicate.contains(new int[]{1, 3})).count().next(), 0);
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("A").has("numbers", ArrayPredicate.anyEquals(3)).count().next(), 0);
+        Assert.assertEquals("a2", this.sqlgGraph.traversal().V().hasLabel("A").has("numbers", ArrayPredicate.anyEquals(4)).values("name").next());
+    }
+
+    @Test
+    public void testArrayPredicateAfterNavigation() {
+        addTagged();
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B");
+        this.sqlgGraph.traversal().V().hasLabel("A").forEachRemaining(a -> b.addEdge("ab", a));
+        this.sqlgGraph.tx().commit();
+        List<Object> names = this.sqlgGraph.traversal().V(b).out("ab").has("tags", ArrayPredicate.anyEquals("y")).values("name").toList();
+        Assert.assertEquals(names("a2", "a3", "a4"), names.stream().map(Object::toString).sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testArrayGINIndex() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().isPostgresql());
+        VertexLabel aVertexLabel = this.sqlgGraph.getTopology().ensureVertexLabelExist("A", Collections.singletonMap("tags", PropertyType.STRING_ARRAY));
+        aVertexLabel.ensureIndexExists(IndexType.getArrayGIN(), Collections.singletonList(aVertexLabel.getProperty("tags").get()));
+        this.sqlgGraph.tx().commit();
+        addTagged();
+        Assert.assertEquals(IndexType.getArrayGIN(), aVertexLabel.getIndexes().values().iterator().next().getIndexType());
+        Assert.assertEquals(names("a2", "a3"), names(ArrayPredicate.contains(new String[]{"x", "y"})));
+        Assert.assertEquals(names("a3", "a4"), names(ArrayPredicate.anyEquals("w")));
+    }
+
+    private void addTagged() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a1", "tags", new String[]{"x"});
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a2", "tags", new String[]{"x", "y"});
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a3", "tags", new String[]{"x", "y", "z", "w"});
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a4", "tags", new String[]{"y", "w"});
+        this.sqlgGraph.tx().commit();
+    }
+
+    private List<String> names(P<Object> predicate) {
+        return this.sqlgGraph.traversal().V().hasLabel("A").has("tags", predicate).<String>values("name").toList()
+                .stream().sorted().collect(Collectors.toList());
+    }
+
+    private static List<String> names(String... names) {
+        return Arrays.asList(names);
+    }
+}
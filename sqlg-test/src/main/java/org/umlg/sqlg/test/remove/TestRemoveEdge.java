@@ -29,4 +29,28 @@ public class TestRemoveEdge extends BaseTest {
         this.sqlgGraph.tx().commit();
         Assert.assertEquals(0, this.sqlgGraph.traversal().E().count().next().intValue());
     }
+
+    @Test
+    public void testRemoveVertexWithInAndOutEdgesOnManyLabels() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        //the edge table has both an in and an out foreign key to A
+        a1.addEdge("aa", a2);
+        a2.addEdge("aa", a1);
+        a2.addEdge("aa", a2);
+        for (int i = 0; i < 10; i++) {
+            a1.addEdge("ab" + i, b1);
+            b1.addEdge("ba" + i, a1);
+            a2.addEdge("ab" + i, b1);
+        }
+        this.sqlgGraph.tx().commit();
+        a1.remove();
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().count().next().intValue());
+        Assert.assertEquals(11, this.sqlgGraph.traversal().E().count().next().intValue());
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V(a2).out("aa").count().next().intValue());
+        Assert.assertEquals(10, this.sqlgGraph.traversal().V(b1).in().count().next().intValue());
+        Assert.assertEquals(0, this.sqlgGraph.traversal().V(b1).out().count().next().intValue());
+    }
 }
@@ -396,4 +396,28 @@ public class TestMultipleThreadMultipleJvm extends BaseTest {
         }
     }
 
+    @Test
+    public void testNotificationLatency() throws Exception {
+        int NUMBER_OF_CHANGES = 20;
+        try (SqlgGraph sqlgGraph1 = SqlgGraph.open(configuration)) {
+            long totalLatency = 0;
+            for (int i = 0; i < NUMBER_OF_CHANGES; i++) {
+                this.sqlgGraph.addVertex(T.label, "Latency" + i, "name", "a");
+                this.sqlgGraph.tx().commit();
+                long start = System.nanoTime();
+                //wait for the notification instead of sleeping a fixed time
+                while (!sqlgGraph1.getTopology().getVertexLabel(sqlgGraph1.getSqlDialect().getPublicSchema(), "Latency" + i).isPresent()) {
+                    assertTrue("notification not received within 10 seconds", System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+                    Thread.sleep(1);
+                }
+                totalLatency += System.nanoTime() - start;
+            }
+            long averageLatency = TimeUnit.NANOSECONDS.toMillis(totalLatency / NUMBER_OF_CHANGES);
+            logger.info(String.format("average topology notification latency %d ms", averageLatency));
+            //the listener used to poll every 500 ms
+            assertTrue(String.format("average notification latency %d ms", averageLatency), averageLatency < 500);
+            assertEquals(this.sqlgGraph.getTopology(), sqlgGraph1.getTopology());
+        }
+    }
+
 }
@@ -0,0 +1,149 @@
+package org.umlg.sqlg.test.topology;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+import org.umlg.sqlg.structure.*;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the topology.lazy mode, schemas are loaded when first referenced and the least recently used are unloaded.
+ */
+public class TestLazyTopology extends BaseTest {
+
+    @Test
+    public void testSchemaLoadsOnFirstReference() throws Exception {
+        this.sqlgGraph.addVertex(T.label, "A.A", "name", "a");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B.B", "name", "b");
+        Vertex c = this.sqlgGraph.addVertex(T.label, "C.C", "name", "c");
+        b.addEdge("bc", c, "weight", 1);
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.close();
+
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("topology.lazy", true);
+        try (SqlgGraph lazyGraph = SqlgGraph.open(conf)) {
+            Topology topology = lazyGraph.getTopology();
+            assertFalse(topology.getSchema("A").get().isLoaded());
+            assertFalse(topology.getSchema("B").get().isLoaded());
+            assertFalse(topology.getSchema("C").get().isLoaded());
+
+            //queries only need the topology's caches
+            assertEquals(1, lazyGraph.traversal().V().hasLabel("B.B").out("bc").has("name", "c").count().next().intValue());
+            assertFalse(topology.getSchema("B").get().isLoaded());
+
+            //C is loaded with B as they are connected by the edge
+            EdgeLabel edgeLabel = topology.getSchema("B").get().getEdgeLabel("bc").get();
+            assertTrue(topology.getSchema("B").get().isLoaded());
+            assertTrue(topology.getSchema("C").get().isLoaded());
+            assertFalse(topology.getSchema("A").get().isLoaded());
+            assertEquals(PropertyType.INTEGER, edgeLabel.getProperties().get("weight").getPropertyType());
+            assertEquals(topology.getVertexLabel("C", "C").get(), edgeLabel.getInVertexLabels().iterator().next());
+
+            //new labels can be added to a schema that is not loaded yet
+            lazyGraph.addVertex(T.label, "A.A2", "name", "a2");
+            lazyGraph.tx().commit();
+            assertTrue(topology.getSchema("A").get().isLoaded());
+            assertTrue(topology.getVertexLabel("A", "A").isPresent());
+            assertTrue(topology.getVertexLabel("A", "A2").isPresent());
+        }
+        this.sqlgGraph = SqlgGraph.open(configuration);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedSchemaUnloads() throws Exception {
+        this.sqlgGraph.addVertex(T.label, "A.A", "name", "a");
+        this.sqlgGraph.addVertex(T.label, "B.B", "name", "b");
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.close();
+
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("topology.lazy", true);
+        conf.setProperty("topology.lazy.maxSchemas", 1);
+        try (SqlgGraph lazyGraph = SqlgGraph.open(conf)) {
+            Topology topology = lazyGraph.getTopology();
+            assertTrue(topology.getVertexLabel("A", "A").get().getProperty("name").isPresent());
+            assertTrue(topology.getSchema("A").get().isLoaded());
+            assertTrue(topology.getVertexLabel("B", "B").get().getProperty("name").isPresent());
+            assertTrue(topology.getSchema("B").get().isLoaded());
+            assertFalse(topology.getSchema("A").get().isLoaded());
+
+            //an unloaded schema loads again
+            assertTrue(topology.getVertexLabel("A", "A").get().getProperty("name").isPresent());
+            assertFalse(topology.getSchema("B").get().isLoaded());
+            assertEquals(1, lazyGraph.traversal().V().hasLabel("B.B").count().next().intValue());
+        }
+        this.sqlgGraph = SqlgGraph.open(configuration);
+    }
+
+    @Test
+    public void testConcurrentReadersWhileSchemasUnload() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            this.sqlgGraph.addVertex(T.label, "S" + i + ".A", "name", "a");
+        }
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.close();
+
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("topology.lazy", true);
+        conf.setProperty("topology.lazy.maxSchemas", 1);
+        try (SqlgGraph lazyGraph = SqlgGraph.open(conf)) {
+            Topology topology = lazyGraph.getTopology();
+            //every read loads a schema and unloads another, the readers must always see the committed labels
+            ExecutorService executorService = Executors.newFixedThreadPool(4);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        String schema = "S" + ((thread + i) % 4);
+                        assertTrue(schema, topology.getVertexLabel(schema, "A").isPresent());
+                        assertEquals(1, topology.getSchema(schema).get().getVertexLabels().size());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            executorService.shutdown();
+        }
+        this.sqlgGraph = SqlgGraph.open(configuration);
+    }
+
+    @Test
+    public void testGlobalUniqueIndexSchemaIsNotUnloaded() throws Exception {
+        Map<String, PropertyType> properties = new HashMap<>();
+        properties.put("name", PropertyType.STRING);
+        VertexLabel aVertexLabel = this.sqlgGraph.getTopology().ensureVertexLabelExist("A", "A", properties);
+        this.sqlgGraph.getTopology().getSchema("A").get().ensureGlobalUniqueIndexExist(new HashSet<>(aVertexLabel.getProperties().values()));
+        this.sqlgGraph.addVertex(T.label, "B.B", "name", "b");
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.close();
+
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("topology.lazy", true);
+        conf.setProperty("topology.lazy.maxSchemas", 1);
+        try (SqlgGraph lazyGraph = SqlgGraph.open(conf)) {
+            Topology topology = lazyGraph.getTopology();
+            assertTrue(topology.getSchema("A").get().isLoaded());
+            assertTrue(topology.getVertexLabel("B", "B").isPresent());
+            assertTrue(topology.getSchema("A").get().isLoaded());
+            GlobalUniqueIndex globalUniqueIndex = new ArrayList<>(topology.getGlobalUniqueIndexes()).get(0);
+            assertEquals(topology.getVertexLabel("A", "A").get().getProperty("name").get(), globalUniqueIndex.getProperties().iterator().next());
+        }
+        this.sqlgGraph = SqlgGraph.open(configuration);
+    }
+}
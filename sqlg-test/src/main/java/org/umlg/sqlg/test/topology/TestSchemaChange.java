@@ -0,0 +1,101 @@
+package org.umlg.sqlg.test.topology;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assume;
+import org.junit.Test;
+import org.umlg.sqlg.structure.*;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test creating many labels, properties and indexes with one {@link SchemaChange}.
+ */
+public class TestSchemaChange extends BaseTest {
+
+    @Test
+    public void testSchemaChange() throws Exception {
+        Map<String, PropertyType> properties = new HashMap<>();
+        properties.put("name", PropertyType.STRING);
+        properties.put("age", PropertyType.INTEGER);
+        SchemaChange schemaChange = SchemaChange.build(this.sqlgGraph);
+        for (int i = 0; i < 100; i++) {
+            schemaChange.vertexLabel("A" + (i % 5), "V" + i, properties);
+            schemaChange.vertexIndex("A" + (i % 5), "V" + i, IndexType.NON_UNIQUE, Collections.singletonList("name"));
+        }
+        for (int i = 0; i < 99; i++) {
+            //the edge is defined before its in vertex label
+            schemaChange.edgeLabel("e" + i, SchemaTable.of("A" + (i % 5), "V" + i), SchemaTable.of("A" + ((i + 1) % 5), "V" + (i + 1)), Collections.singletonMap("weight", PropertyType.DOUBLE));
+        }
+        schemaChange.apply();
+        this.sqlgGraph.tx().commit();
+
+        Topology topology = this.sqlgGraph.getTopology();
+        for (int i = 0; i < 100; i++) {
+            VertexLabel vertexLabel = topology.getVertexLabel("A" + (i % 5), "V" + i).get();
+            assertEquals(2, vertexLabel.getProperties().size());
+            assertEquals(1, vertexLabel.getIndexes().size());
+        }
+        EdgeLabel edgeLabel = topology.getEdgeLabel("A0", "e0").get();
+        assertEquals(PropertyType.DOUBLE, edgeLabel.getProperty("weight").get().getPropertyType());
+
+        Vertex v0 = this.sqlgGraph.addVertex(T.label, "A0.V0", "name", "v0", "age", 1);
+        Vertex v1 = this.sqlgGraph.addVertex(T.label, "A1.V1", "name", "v1", "age", 2);
+        v0.addEdge("e0", v1, "weight", 1.5D);
+        this.sqlgGraph.tx().commit();
+        assertEquals(v1, this.sqlgGraph.traversal().V().hasLabel("A0.V0").out("e0").has("name", "v1").next());
+
+        //the topology written to sqlg_schema must load the same
+        try (SqlgGraph sqlgGraph1 = SqlgGraph.open(configuration)) {
+            assertEquals(topology, sqlgGraph1.getTopology());
+        }
+    }
+
+    @Test
+    public void testSchemaChangeExtendsExistingLabels() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A.A", "name", "a");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B.B", "name", "b");
+        a.addEdge("ab", b);
+        this.sqlgGraph.tx().commit();
+
+        SchemaChange.build(this.sqlgGraph)
+                .vertexLabel("A", "A", Collections.singletonMap("surname", PropertyType.STRING))
+                .edgeProperties("A", "ab", Collections.singletonMap("weight", PropertyType.INTEGER))
+                .edgeLabel("ab", SchemaTable.of("A", "A"), SchemaTable.of("A", "A"), Collections.emptyMap())
+                .edgeIndex("A", "ab", IndexType.UNIQUE, Collections.singletonList("weight"))
+                .apply();
+        this.sqlgGraph.tx().commit();
+
+        Topology topology = this.sqlgGraph.getTopology();
+        assertTrue(topology.getVertexLabel("A", "A").get().getProperty("surname").isPresent());
+        EdgeLabel edgeLabel = topology.getEdgeLabel("A", "ab").get();
+        assertTrue(edgeLabel.getProperty("weight").isPresent());
+        assertEquals(1, edgeLabel.getIndexes().size());
+        assertEquals(2, edgeLabel.getInVertexLabels().size());
+        a.addEdge("ab", a, "weight", 1);
+        this.sqlgGraph.tx().commit();
+        assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("A.A").out("ab").count().next().intValue());
+    }
+
+    @Test
+    public void testSchemaChangeRollback() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsTransactionalSchema());
+        SchemaChange.build(this.sqlgGraph)
+                .vertexLabel("A", "A", Collections.singletonMap("name", PropertyType.STRING))
+                .vertexLabel("B", "B", Collections.singletonMap("name", PropertyType.STRING))
+                .edgeLabel("ab", SchemaTable.of("A", "A"), SchemaTable.of("B", "B"), Collections.emptyMap())
+                .apply();
+        this.sqlgGraph.tx().rollback();
+        assertFalse(this.sqlgGraph.getTopology().getSchema("A").isPresent());
+        assertFalse(this.sqlgGraph.getTopology().getSchema("B").isPresent());
+
+        this.sqlgGraph.addVertex(T.label, "A.A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A.A").count().next().intValue());
+    }
+}
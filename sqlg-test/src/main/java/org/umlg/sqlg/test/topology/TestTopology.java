@@ -10,15 +10,11 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Assert;
 import org.junit.Test;
-import org.umlg.sqlg.structure.PropertyType;
-import org.umlg.sqlg.structure.TopologyInf;
-import org.umlg.sqlg.structure.VertexLabel;
+import org.umlg.sqlg.structure.*;
 import org.umlg.sqlg.test.BaseTest;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Date: 2016/06/27
@@ -113,4 +109,42 @@ public class TestTopology extends BaseTest {
         Assert.assertTrue(labelAndProperties.get(this.sqlgGraph.getSqlDialect().getPublicSchema() + ".V_Cat").get("name") == PropertyType.STRING);
     }
 
+    @Test
+    public void testTopologyReloads() throws Exception {
+        Map<String, PropertyType> properties = new HashMap<>();
+        properties.put("name", PropertyType.STRING);
+        properties.put("surname", PropertyType.STRING);
+        VertexLabel aVertexLabel = this.sqlgGraph.getTopology().ensureVertexLabelExist("A", "A", properties);
+        VertexLabel bVertexLabel = this.sqlgGraph.getTopology().ensureVertexLabelExist("B", "B", properties);
+        aVertexLabel.ensureIndexExists(IndexType.NON_UNIQUE, Arrays.asList(aVertexLabel.getProperty("surname").get(), aVertexLabel.getProperty("name").get()));
+        EdgeLabel abEdgeLabel = aVertexLabel.ensureEdgeLabelExist("ab", bVertexLabel, properties);
+        abEdgeLabel.ensureIndexExists(IndexType.UNIQUE, Collections.singletonList(abEdgeLabel.getProperty("name").get()));
+        bVertexLabel.ensureEdgeLabelExist("ba", aVertexLabel);
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.close();
+        this.sqlgGraph = SqlgGraph.open(configuration);
+
+        aVertexLabel = this.sqlgGraph.getTopology().getVertexLabel("A", "A").get();
+        bVertexLabel = this.sqlgGraph.getTopology().getVertexLabel("B", "B").get();
+        Assert.assertEquals(properties.keySet(), aVertexLabel.getProperties().keySet());
+        Assert.assertEquals(1, aVertexLabel.getIndexes().size());
+        Index index = aVertexLabel.getIndexes().values().iterator().next();
+        Assert.assertEquals(Arrays.asList("surname", "name"), index.getProperties().stream().map(PropertyColumn::getName).collect(Collectors.toList()));
+
+        abEdgeLabel = aVertexLabel.getOutEdgeLabel("ab").get();
+        Assert.assertEquals("A", abEdgeLabel.getSchema().getName());
+        Assert.assertEquals(properties.keySet(), abEdgeLabel.getProperties().keySet());
+        Assert.assertEquals(1, abEdgeLabel.getIndexes().size());
+        Assert.assertEquals(IndexType.UNIQUE, abEdgeLabel.getIndexes().values().iterator().next().getIndexType());
+        Assert.assertEquals(Collections.singleton(bVertexLabel), abEdgeLabel.getInVertexLabels());
+        Assert.assertEquals(Collections.singleton(aVertexLabel), this.sqlgGraph.getTopology().getEdgeLabel("B", "ba").get().getInVertexLabels());
+
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A.A", "name", "a", "surname", "a");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B.B", "name", "b", "surname", "b");
+        a.addEdge("ab", b, "name", "ab");
+        b.addEdge("ba", a);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(b, this.sqlgGraph.traversal().V(a).out("ab").next());
+        Assert.assertEquals(a, this.sqlgGraph.traversal().V(a).in("ba").next());
+    }
 }
@@ -3,10 +3,17 @@ package org.umlg.sqlg.test.union;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.commons.configuration.Configuration;
 import org.junit.Assert;
 import org.junit.Test;
+import org.umlg.sqlg.metrics.SqlgMetrics;
+import org.umlg.sqlg.metrics.SqlgMetricsRegistry;
+import org.umlg.sqlg.metrics.StatementKind;
+import org.umlg.sqlg.structure.SqlgGraph;
 import org.umlg.sqlg.test.BaseTest;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -41,6 +48,78 @@ public class TestUnion extends BaseTest {
         assertEquals(4, vertices.size());
     }
 
+    @Test
+    public void testUnionIsOneQueryPerLabel() throws Exception {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
+        Vertex c1 = this.sqlgGraph.addVertex(T.label, "C", "name", "c1");
+        a1.addEdge("ab", b1);
+        a1.addEdge("ac", c1);
+        c1.addEdge("cb", b2);
+        a2.addEdge("ab", b2);
+        this.sqlgGraph.tx().commit();
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(SqlgMetrics.METRICS_CLASS, SqlgMetricsRegistry.class.getName());
+        try (SqlgGraph sqlgGraph = SqlgGraph.open(conf)) {
+            SqlgMetricsRegistry metrics = (SqlgMetricsRegistry) sqlgGraph.getMetrics();
+            metrics.reset();
+            List<String> names = sqlgGraph.traversal().V().hasLabel("A")
+                    .union(out("ab"), out("ac").out("cb"))
+                    .<String>values("name").toList();
+            //both branches end on B
+            Assert.assertEquals(1, metrics.getStatementHistogram(StatementKind.QUERY).getCount());
+            Collections.sort(names);
+            Assert.assertEquals(Arrays.asList("b1", "b2", "b2"), names);
+
+            metrics.reset();
+            List<Vertex> vertices = sqlgGraph.traversal().V().hasLabel("A").has("name", "a1")
+                    .union(out("ab").has("name", "b1"), out("ac"))
+                    .toList();
+            Assert.assertEquals(2, metrics.getStatementHistogram(StatementKind.QUERY).getCount());
+            Assert.assertEquals(2, vertices.size());
+            Assert.assertTrue(vertices.containsAll(Arrays.asList(b1, c1)));
+        }
+    }
+
+    @Test
+    public void testUnionWithDuplicateLabels() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        a1.addEdge("ab", b1);
+        a2.addEdge("ab", b1);
+        this.sqlgGraph.tx().commit();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V(a1).union(out("ab"), out("ab").in("ab")).toList();
+        Assert.assertEquals(3, vertices.size());
+        Assert.assertTrue(vertices.containsAll(Arrays.asList(b1, a1, a2)));
+    }
+
+    @Test
+    public void testCoalesce() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "A", "name", "a3");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
+        Vertex c1 = this.sqlgGraph.addVertex(T.label, "C", "name", "c1");
+        Vertex c2 = this.sqlgGraph.addVertex(T.label, "C", "name", "c2");
+        a1.addEdge("ab", b1);
+        a1.addEdge("ab", b2);
+        a1.addEdge("ac", c1);
+        a2.addEdge("ac", c2);
+        this.sqlgGraph.tx().commit();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").coalesce(out("ab"), out("ac")).toList();
+        Assert.assertEquals(3, vertices.size());
+        Assert.assertTrue(vertices.containsAll(Arrays.asList(b1, b2, c2)));
+        //the duplicate A in the second branch is loaded with its own query
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A").coalesce(out("ac").has("name", "c1"), out("ac").in("ac")).toList();
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertTrue(vertices.containsAll(Arrays.asList(c1, a2)));
+        Assert.assertFalse(vertices.contains(a3));
+    }
+
     @Test
     public void testUnionFailure() {
         loadModern();
@@ -0,0 +1,189 @@
+package org.umlg.sqlg.test.vertex;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.structure.Index;
+import org.umlg.sqlg.structure.IndexType;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.VertexLabel;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.*;
+
+/**
+ * Test {@link SqlgGraph#upsertVertex(String, List, Map)}.
+ */
+public class TestUpsertVertex extends BaseTest {
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsUpsert());
+    }
+
+    @Test
+    public void testUpsertInsertsThenUpdates() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("code", "a1");
+        properties.put("name", "john");
+        Vertex inserted = this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), properties);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals("john", inserted.value("name"));
+
+        properties.put("name", "joe");
+        Vertex updated = this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), properties);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(inserted.id(), updated.id());
+        Assert.assertEquals("joe", updated.value("name"));
+        List<Vertex> persons = this.sqlgGraph.traversal().V().hasLabel("Person").toList();
+        Assert.assertEquals(1, persons.size());
+        Assert.assertEquals("joe", persons.get(0).value("name"));
+    }
+
+    @SuppressWarnings("OptionalGetWithoutIsPresent")
+    @Test
+    public void testUpsertCreatesUniqueIndex() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("code", "a1");
+        properties.put("country", "za");
+        this.sqlgGraph.upsertVertex("Person", Arrays.asList("code", "country"), properties);
+        this.sqlgGraph.tx().commit();
+        VertexLabel personVertexLabel = this.sqlgGraph.getTopology().getVertexLabel(this.sqlgGraph.getSqlDialect().getPublicSchema(), "Person").get();
+        Assert.assertEquals(1, personVertexLabel.getIndexes().size());
+        Index index = personVertexLabel.getIndexes().values().iterator().next();
+        Assert.assertEquals(IndexType.UNIQUE, index.getIndexType());
+        Assert.assertEquals(2, index.getProperties().size());
+
+        //a different country is a different vertex
+        properties.put("country", "nl");
+        this.sqlgGraph.upsertVertex("Person", Arrays.asList("code", "country"), properties);
+        //only unique keys, the existing vertex is returned
+        properties.put("country", "za");
+        this.sqlgGraph.upsertVertex("Person", Arrays.asList("code", "country"), properties);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("Person").count().next().intValue());
+    }
+
+    @Test
+    public void testUpsertRefreshesCachedVertex() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("code", "a1");
+        properties.put("name", "john");
+        Vertex vertex = this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), properties);
+        Assert.assertEquals("john", vertex.value("name"));
+        properties.put("name", "joe");
+        Vertex updated = this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), properties);
+        Assert.assertEquals("joe", updated.value("name"));
+        this.sqlgGraph.tx().commit();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUniqueKeyMustHaveAValue() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("name", "john");
+        this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), properties);
+    }
+
+    @Test
+    public void testUpsertInNormalBatchMode() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+        Map<String, Object> properties = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            properties.put("code", "a" + i);
+            properties.put("name", "john");
+            this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), properties);
+        }
+        this.sqlgGraph.tx().commit();
+
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> upserted = new ArrayList<>();
+        for (int i = 50; i < 150; i++) {
+            properties.put("code", "a" + i);
+            properties.put("name", "joe");
+            Vertex vertex = this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), properties);
+            Assert.assertNull(vertex.id());
+            upserted.add(vertex);
+        }
+        //the last upsert of a key in the batch wins
+        properties.put("code", "a149");
+        properties.put("name", "peter");
+        Assert.assertSame(upserted.get(99), this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), properties));
+        this.sqlgGraph.tx().flush();
+        //the vertices of the existing rows keep their ids
+        Vertex a50 = this.sqlgGraph.traversal().V().hasLabel("Person").has("code", "a50").next();
+        Assert.assertEquals(a50.id(), upserted.get(0).id());
+        Assert.assertEquals(100, upserted.stream().map(Vertex::id).filter(Objects::nonNull).distinct().count());
+        Assert.assertEquals("peter", upserted.get(99).value("name"));
+        this.sqlgGraph.tx().commit();
+
+        Assert.assertEquals(150, this.sqlgGraph.traversal().V().hasLabel("Person").count().next().intValue());
+        Assert.assertEquals(50, this.sqlgGraph.traversal().V().hasLabel("Person").has("name", "john").count().next().intValue());
+        Assert.assertEquals(99, this.sqlgGraph.traversal().V().hasLabel("Person").has("name", "joe").count().next().intValue());
+        Assert.assertEquals("peter", this.sqlgGraph.traversal().V().hasLabel("Person").has("code", "a149").next().value("name"));
+    }
+
+    @Test
+    public void testUpsertInNormalBatchModeWithDifferentProperties() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("code", "a0");
+        properties.put("name", "john");
+        properties.put("age", 1);
+        this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), properties);
+        this.sqlgGraph.tx().commit();
+
+        this.sqlgGraph.tx().normalBatchModeOn();
+        //only the name is updated, the age is kept
+        this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), map("code", "a0", "name", "joe"));
+        //the upserts of a1 are merged
+        this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), map("code", "a1", "age", 5));
+        this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), map("code", "a1", "name", "peter"));
+        this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), new HashMap<>(Collections.singletonMap("code", "a2")));
+        this.sqlgGraph.tx().commit();
+
+        Assert.assertEquals(3, this.sqlgGraph.traversal().V().hasLabel("Person").count().next().intValue());
+        Vertex a0 = this.sqlgGraph.traversal().V().hasLabel("Person").has("code", "a0").next();
+        Assert.assertEquals("joe", a0.value("name"));
+        Assert.assertEquals(1, a0.<Integer>value("age").intValue());
+        Vertex a1 = this.sqlgGraph.traversal().V().hasLabel("Person").has("code", "a1").next();
+        Assert.assertEquals("peter", a1.value("name"));
+        Assert.assertEquals(5, a1.<Integer>value("age").intValue());
+        Vertex a2 = this.sqlgGraph.traversal().V().hasLabel("Person").has("code", "a2").next();
+        Assert.assertFalse(a2.property("name").isPresent());
+        Assert.assertFalse(a2.property("age").isPresent());
+    }
+
+    @Test
+    public void testUpsertInNormalBatchModeAfterPropertyUpdate() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+        Vertex a0 = this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), map("code", "a0", "name", "john"));
+        this.sqlgGraph.tx().commit();
+
+        this.sqlgGraph.tx().normalBatchModeOn();
+        a0.property("name", "joe");
+        //the later upsert wins over the earlier property update
+        this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), map("code", "a0", "name", "peter"));
+        //a property update of a pending upsert is part of the upsert
+        Vertex a1 = this.sqlgGraph.upsertVertex("Person", Collections.singletonList("code"), map("code", "a1", "name", "john"));
+        a1.property("age", 5);
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "Person", "code", "x");
+        a1.addEdge("knows", a2);
+        this.sqlgGraph.tx().commit();
+
+        Assert.assertEquals("peter", this.sqlgGraph.traversal().V(a0.id()).next().value("name"));
+        Vertex a1Db = this.sqlgGraph.traversal().V().hasLabel("Person").has("code", "a1").next();
+        Assert.assertEquals(a1Db.id(), a1.id());
+        Assert.assertEquals(5, a1Db.<Integer>value("age").intValue());
+        Assert.assertEquals(a2, this.sqlgGraph.traversal().V(a1.id()).out("knows").next());
+    }
+
+    private static Map<String, Object> map(String key1, Object value1, String key2, Object value2) {
+        Map<String, Object> result = new HashMap<>();
+        result.put(key1, value1);
+        result.put(key2, value2);
+        return result;
+    }
+}
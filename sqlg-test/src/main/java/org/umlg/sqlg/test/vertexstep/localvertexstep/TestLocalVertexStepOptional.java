@@ -1,17 +1,25 @@
 package org.umlg.sqlg.test.vertexstep.localvertexstep;
 
+import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.junit.Test;
+import org.umlg.sqlg.metrics.SqlgMetrics;
+import org.umlg.sqlg.metrics.SqlgMetricsRegistry;
+import org.umlg.sqlg.metrics.StatementKind;
+import org.umlg.sqlg.structure.SqlgGraph;
 import org.umlg.sqlg.test.BaseTest;
 
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.*;
@@ -147,7 +155,7 @@ public class TestLocalVertexStepOptional extends BaseTest {
     }
 
     @Test
-    public void testOptional() {
+    public void testOptional() throws Exception {
         Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
         Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
         Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
@@ -166,10 +174,12 @@ public class TestLocalVertexStepOptional extends BaseTest {
             assertTrue(paths.remove(path.get()));
         }
         assertTrue(paths.isEmpty());
+        //one query for a1 and one left join query for its optional path
+        assertEquals(2, queryCount(g -> g.V(a1.id()).local(__.optional(out()).path())));
     }
 
     @Test
-    public void testOptionalNested() {
+    public void testOptionalNested() throws Exception {
         Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
         Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
         Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
@@ -191,6 +201,7 @@ public class TestLocalVertexStepOptional extends BaseTest {
             assertTrue(paths.remove(path.get()));
         }
         assertTrue(paths.isEmpty());
+        assertEquals(2, queryCount(g -> g.V(a1.id()).local(__.optional(out().optional(out())).path())));
 
         paths = this.sqlgGraph.traversal().V().hasLabel("A").local(__.optional(out().optional(out())).path()).toList();
         assertEquals(3, paths.size());
@@ -205,6 +216,8 @@ public class TestLocalVertexStepOptional extends BaseTest {
             assertTrue(paths.remove(path.get()));
         }
         assertTrue(paths.isEmpty());
+        //one query for the A vertices and one left join query per A
+        assertEquals(3, queryCount(g -> g.V().hasLabel("A").local(__.optional(out().optional(out())).path())));
     }
 
     @Test
@@ -531,4 +544,18 @@ public class TestLocalVertexStepOptional extends BaseTest {
         }
         assertTrue(paths.isEmpty());
     }
+
+    /**
+     * Runs the traversal on a graph with metrics and returns the number of queries it executed.
+     */
+    private long queryCount(Function<GraphTraversalSource, GraphTraversal<?, ?>> traversal) throws Exception {
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(SqlgMetrics.METRICS_CLASS, SqlgMetricsRegistry.class.getName());
+        try (SqlgGraph sqlgGraph = SqlgGraph.open(conf)) {
+            SqlgMetricsRegistry metrics = (SqlgMetricsRegistry) sqlgGraph.getMetrics();
+            metrics.reset();
+            traversal.apply(sqlgGraph.traversal()).toList();
+            return metrics.getStatementHistogram(StatementKind.QUERY).getCount();
+        }
+    }
 }